@@ -31,6 +31,8 @@ import org.bukkit.event.Listener;
 import org.bukkit.event.server.PluginDisableEvent;
 import org.bukkit.plugin.Plugin;
 
+import me.prisonranksx.bukkitutils.scheduler.Schedulers;
+
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -74,7 +76,7 @@ public class BukkitTaskChainFactory extends TaskChainFactory {
         @Override
         public void postToMain(Runnable run) {
             if (plugin.isEnabled()) {
-                Bukkit.getScheduler().scheduleSyncDelayedTask(plugin, run);
+                Schedulers.get().runTask(plugin, run);
             } else {
                 run.run();
             }
@@ -83,7 +85,7 @@ public class BukkitTaskChainFactory extends TaskChainFactory {
         @Override
         public void scheduleTask(int ticks, Runnable run) {
             if (plugin.isEnabled()) {
-                Bukkit.getScheduler().scheduleSyncDelayedTask(plugin, run, ticks);
+                Schedulers.get().runTaskLater(plugin, run, ticks);
             } else {
                 run.run();
             }
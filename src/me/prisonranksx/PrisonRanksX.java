@@ -2,6 +2,9 @@ package me.prisonranksx;
 
 import co.aikar.taskchain.TaskChain;
 import co.aikar.taskchain.TaskChainFactory;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.BukkitTickBalancer;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.KeyedAsyncExecutor;
+import me.prisonranksx.bukkitutils.scheduler.Schedulers;
 import me.prisonranksx.commands.*;
 import me.prisonranksx.data.*;
 import me.prisonranksx.executors.*;
@@ -17,11 +20,12 @@ import me.prisonranksx.permissions.PlayerGroupUpdater;
 import me.prisonranksx.reflections.UniqueId;
 import me.prisonranksx.settings.*;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.command.ConsoleCommandSender;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitScheduler;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.util.Objects;
@@ -35,7 +39,6 @@ public class PrisonRanksX extends JavaPlugin {
 	 * Prefix used for log messages.
 	 */
 	private static final String PREFIX = "§e[§3PrisonRanks§cX§e]";
-	private static final BukkitScheduler SCHEDULER = Bukkit.getScheduler();
 	private static final ConsoleCommandSender CONSOLE = Bukkit.getConsoleSender();
 	private static PrisonRanksX instance;
 
@@ -92,6 +95,10 @@ public class PrisonRanksX extends JavaPlugin {
 	 * ranks, and managing players data
 	 */
 	private AdminExecutor adminExecutor;
+	/**
+	 * Limits side effects of all promotions per tick
+	 */
+	private PromotionGovernor promotionGovernor;
 
 	// Interfaces holding classes
 	/**
@@ -195,11 +202,15 @@ public class PrisonRanksX extends JavaPlugin {
 	@Override
 	public void onDisable() {
 		CommandLoader.unregisterCommand(prxCommand, rankupCommand, ranksCommand, prestigeCommand);
+		if (promotionGovernor != null) promotionGovernor.stop();
+		TaskMetricsManager.stopWriter();
 		userController.saveUsers(true).thenRun(() -> log("Data saved.")).thenRunAsync(() -> {
 			userController.unloadUsers();
 			if (prestigeExecutor != null) prestigeExecutor.stopTasks();
 			if (rankupExecutor != null) rankupExecutor.stopTasks();
 			if (rebirthExecutor != null) rebirthExecutor.stopTasks();
+			KeyedAsyncExecutor asyncExecutor = BukkitTickBalancer.getAsyncExecutor();
+			if (asyncExecutor != null) asyncExecutor.shutdown();
 		}).exceptionally(throwable -> {
 			logSevere("Failed to save data. Please report the stack trace below to the developer.");
 			throwable.printStackTrace();
@@ -370,35 +381,59 @@ public class PrisonRanksX extends JavaPlugin {
 	}
 
 	public BukkitTask doSyncLater(Runnable runnable, long delay) {
-		return SCHEDULER.runTaskLater(this, runnable, delay);
+		return Schedulers.get().runTaskLater(this, runnable, delay);
 	}
 
 	public BukkitTask doSync(Runnable runnable) {
-		return SCHEDULER.runTask(this, runnable);
+		return Schedulers.get().runTask(this, runnable);
+	}
+
+	/**
+	 * Runs the runnable on the thread that owns the entity, which is the main thread
+	 * unless the server is region threaded.
+	 */
+	public BukkitTask doSync(Entity entity, Runnable runnable) {
+		return Schedulers.get().runTask(this, entity, runnable);
+	}
+
+	public BukkitTask doSyncLater(Entity entity, Runnable runnable, long delay) {
+		return Schedulers.get().runTaskLater(this, entity, runnable, delay);
+	}
+
+	/**
+	 * Same as {@link #doSyncLater(Entity, Runnable, long)}, but runs {@code retired}
+	 * instead if the entity is removed before the runnable runs.
+	 */
+	public BukkitTask doSyncLater(Entity entity, Runnable runnable, Runnable retired, long delay) {
+		return Schedulers.get().runTaskLater(this, entity, runnable, retired, delay);
+	}
+
+	public BukkitTask doSyncLater(Location location, Runnable runnable, long delay) {
+		return Schedulers.get().runTaskLater(this, location, runnable, delay);
 	}
 
 	public static BukkitTask sync(Runnable runnable) {
-		return SCHEDULER.runTask(instance, runnable);
+		return Schedulers.get().runTask(instance, runnable);
 	}
 
 	public BukkitTask doSyncRepeating(Runnable runnable, long delay, long speed) {
-		return SCHEDULER.runTaskTimer(this, runnable, delay, speed);
+		return Schedulers.get().runTaskTimer(this, runnable, delay, speed);
 	}
 
 	public BukkitTask doAsync(Runnable runnable) {
-		return SCHEDULER.runTaskAsynchronously(this, runnable);
+		return Schedulers.get().runTaskAsynchronously(this, runnable);
 	}
 
 	public static BukkitTask async(Runnable runnable) {
-		return SCHEDULER.runTaskAsynchronously(instance, runnable);
+		return Schedulers.get().runTaskAsynchronously(instance, runnable);
 	}
 
 	public BukkitTask doAsyncRepeating(Runnable runnable, long delay, long speed) {
-		return SCHEDULER.runTaskTimerAsynchronously(this, runnable, delay, speed);
+		return Schedulers.get().runTaskTimerAsynchronously(this, runnable, delay, speed);
 	}
 
 	public BukkitTask doAsyncLater(Runnable runnable, long delay) {
-		return SCHEDULER.runTaskLaterAsynchronously(this, runnable, delay);
+		return Schedulers.get().runTaskLaterAsynchronously(this, runnable, delay);
 	}
 
 	public static BukkitTask task(boolean async, Runnable runnable) {
@@ -417,6 +452,14 @@ public class PrisonRanksX extends JavaPlugin {
 		return async ? doAsyncLater(runnable, delay) : doSyncLater(runnable, delay);
 	}
 
+	public BukkitTask doTaskLater(boolean async, Entity entity, Runnable runnable, long delay) {
+		return async ? doAsyncLater(runnable, delay) : doSyncLater(entity, runnable, delay);
+	}
+
+	public BukkitTask doTaskLater(boolean async, Location location, Runnable runnable, long delay) {
+		return async ? doAsyncLater(runnable, delay) : doSyncLater(location, runnable, delay);
+	}
+
 	public GlobalSettings getGlobalSettings() {
 		return globalSettings;
 	}
@@ -441,6 +484,14 @@ public class PrisonRanksX extends JavaPlugin {
 		return placeholderAPISettings;
 	}
 
+	public PlaceholderAPIHook getPlaceholderAPIHook() {
+		return placeholderAPIHook;
+	}
+
+	public PlayerChatListener getPlayerChatListener() {
+		return playerChatListener;
+	}
+
 	public RankupExecutor getRankupExecutor() {
 		return rankupExecutor;
 	}
@@ -479,6 +530,10 @@ public class PrisonRanksX extends JavaPlugin {
 		return playerGroupUpdater;
 	}
 
+	public PromotionGovernor getPromotionGovernor() {
+		return promotionGovernor;
+	}
+
 	public HologramSettings getHologramSettings() {
 		return hologramSettings;
 	}
@@ -530,6 +585,27 @@ public class PrisonRanksX extends JavaPlugin {
 	public void initGlobalSettings() {
 		globalSettings = new GlobalSettings();
 		forceSave = globalSettings.isForceSave();
+		if (promotionGovernor == null)
+			promotionGovernor = new PromotionGovernor(this);
+		else
+			promotionGovernor.loadBudgets();
+		BukkitTickBalancer.getSyncBudget()
+				.setBounds(globalSettings.getTickBalancerMinMillis(), globalSettings.getTickBalancerMaxMillis());
+		BukkitTickBalancer.getAsyncBudget()
+				.setBounds(globalSettings.getAsyncTickBalancerMinMillis(),
+						globalSettings.getAsyncTickBalancerMaxMillis());
+		BukkitTickBalancer.setMsptThresholds(globalSettings.getTickBalancerOverloadedMspt(),
+				globalSettings.getTickBalancerIdleMspt());
+		TaskMetricsManager.startWriter(this, globalSettings.getTaskMetricsFileInterval());
+		KeyedAsyncExecutor asyncExecutor = BukkitTickBalancer.getAsyncExecutor();
+		if (globalSettings.isAsyncWorkloadThreads() && asyncExecutor == null) {
+			asyncExecutor = KeyedAsyncExecutor.create(globalSettings.getAsyncWorkloadPoolSize());
+			BukkitTickBalancer.setAsyncExecutor(asyncExecutor);
+			log("Async workloads will run on " + (asyncExecutor.isVirtual() ? "virtual threads." : "a thread pool."));
+		} else if (!globalSettings.isAsyncWorkloadThreads() && asyncExecutor != null) {
+			BukkitTickBalancer.setAsyncExecutor(null);
+			asyncExecutor.shutdown();
+		}
 	}
 
 	public void forceSave(User user) {
@@ -3,12 +3,12 @@ package me.prisonranksx.api;
 import me.prisonranksx.PrisonRanksX;
 import me.prisonranksx.common.Common;
 import me.prisonranksx.components.RequirementsComponent;
+import me.prisonranksx.components.RequirementsComponent.PlaceholderValues;
 import me.prisonranksx.data.PrestigeStorage;
 import me.prisonranksx.data.RankStorage;
 import me.prisonranksx.data.RebirthStorage;
 import me.prisonranksx.holders.*;
 import me.prisonranksx.managers.EconomyManager;
-import me.prisonranksx.managers.StringManager;
 import me.prisonranksx.reflections.UniqueId;
 import me.prisonranksx.utils.NumParser;
 import me.prisonranksx.utils.SumMath;
@@ -16,6 +16,9 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
@@ -241,11 +244,12 @@ public class PRXAPI {
 		double percentage = EconomyManager.getBalance(player) / Math.max(costFunc.apply(level), 1) * 100;
 		RequirementsComponent requirementsComponent = level.getRequirementsComponent();
 		if (requirementsComponent == null) return percentage;
+		PlaceholderValues placeholderValues = requirementsComponent.resolvePlaceholders(player);
 		final byte[] numberOfRequirements = {1};
 		final double[] addedPercentage = {0};
 		requirementsComponent.forEachNumberRequirement((string, doubleValue) -> {
 			numberOfRequirements[0]++;
-			addedPercentage[0] += (NumParser.readDouble(StringManager.parsePlaceholders(string, player))
+			addedPercentage[0] += (NumParser.readDouble(placeholderValues.apply(string))
 					/ Math.max(doubleValue, 1)) * 100;
 		});
 		return Math.min(percentage, 100) + Math.min(addedPercentage[0], 100) / numberOfRequirements[0];
@@ -300,11 +304,12 @@ public class PRXAPI {
 		double percentage = EconomyManager.getBalance(player) / Math.max(costFunc.apply(level), 1) * 100;
 		RequirementsComponent requirementsComponent = level.getRequirementsComponent();
 		if (requirementsComponent == null) return percentage;
+		PlaceholderValues placeholderValues = requirementsComponent.resolvePlaceholders(player);
 		final byte[] numberOfRequirements = {1};
 		final double[] addedPercentage = {0};
 		requirementsComponent.forEachNumberRequirement((string, doubleValue) -> {
 			numberOfRequirements[0]++;
-			addedPercentage[0] += (NumParser.readDouble(StringManager.parsePlaceholders(string, player))
+			addedPercentage[0] += (NumParser.readDouble(placeholderValues.apply(string))
 					/ Math.max(doubleValue, 1)) * 100;
 		});
 		return Math.min(percentage, 100) + Math.min(addedPercentage[0], 100) / numberOfRequirements[0];
@@ -318,6 +323,145 @@ public class PRXAPI {
 		return getLevelProgressPercentage(level, UniqueId.getUUID(player));
 	}
 
+	/**
+	 * Simulates a max rankup without firing events, taking money or changing the
+	 * user.
+	 *
+	 * @param player            player to simulate for
+	 * @param balance           balance to simulate with
+	 * @param checkRequirements whether requirements of the ranks should be
+	 *                          evaluated or not
+	 * @return outcome of the simulation, null if player's data isn't loaded
+	 */
+	@Nullable
+	public static PromotionSimulation simulateRankup(Player player, double balance, boolean checkRequirements) {
+		return simulateRankup(player, balance, checkRequirements, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param limit maximum amount of rankups to simulate
+	 * @see #simulateRankup(Player, double, boolean)
+	 */
+	@Nullable
+	public static PromotionSimulation simulateRankup(Player player, double balance, boolean checkRequirements,
+													 int limit) {
+		User user = getUser(player);
+		return user == null ? null
+				: PromotionSimulator.simulateRankup(player, user, balance, checkRequirements, limit, null);
+	}
+
+	/**
+	 * Simulates a max rankup for each player with their available balance. Rank
+	 * costs are calculated once for players with the same prestige.
+	 *
+	 * @param players           players to simulate for
+	 * @param checkRequirements whether requirements of the ranks should be
+	 *                          evaluated or not
+	 * @param limit             maximum amount of rankups to simulate for each player
+	 * @return outcome of the simulation of each player whose data is loaded
+	 */
+	public static Map<UUID, PromotionSimulation> simulateRankups(Collection<? extends Player> players,
+																 boolean checkRequirements, int limit) {
+		Map<UUID, PromotionSimulation> simulations = new HashMap<>(players.size() * 2);
+		Map<String, Map<Rank, Double>> costCache = new HashMap<>();
+		for (Player player : players) {
+			User user = getUser(player);
+			if (user == null) continue;
+			simulations.put(user.getUniqueId(), PromotionSimulator.simulateRankup(player, user,
+					EconomyManager.getAvailableBalance(player), checkRequirements, limit, costCache));
+		}
+		return simulations;
+	}
+
+	/**
+	 * Simulates a max prestige without firing events, taking money or changing the
+	 * user.
+	 *
+	 * @param player            player to simulate for
+	 * @param balance           balance to simulate with
+	 * @param checkRequirements whether requirements of the prestiges should be
+	 *                          evaluated or not
+	 * @return outcome of the simulation, null if player's data isn't loaded
+	 */
+	@Nullable
+	public static PromotionSimulation simulatePrestige(Player player, double balance, boolean checkRequirements) {
+		return simulatePrestige(player, balance, checkRequirements, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param limit maximum amount of prestiges to simulate, recommended for
+	 *              infinite prestiges
+	 * @see #simulatePrestige(Player, double, boolean)
+	 */
+	@Nullable
+	public static PromotionSimulation simulatePrestige(Player player, double balance, boolean checkRequirements,
+													   int limit) {
+		User user = getUser(player);
+		return user == null ? null
+				: PromotionSimulator.simulatePrestige(player, user, balance, checkRequirements, limit);
+	}
+
+	/**
+	 * Simulates a max prestige for each player with their available balance.
+	 *
+	 * @see #simulatePrestige(Player, double, boolean, int)
+	 */
+	public static Map<UUID, PromotionSimulation> simulatePrestiges(Collection<? extends Player> players,
+																   boolean checkRequirements, int limit) {
+		Map<UUID, PromotionSimulation> simulations = new HashMap<>(players.size() * 2);
+		for (Player player : players) {
+			User user = getUser(player);
+			if (user == null) continue;
+			simulations.put(user.getUniqueId(), PromotionSimulator.simulatePrestige(player, user,
+					EconomyManager.getAvailableBalance(player), checkRequirements, limit));
+		}
+		return simulations;
+	}
+
+	/**
+	 * Simulates a max rebirth without firing events, taking money or changing the
+	 * user.
+	 *
+	 * @param player            player to simulate for
+	 * @param balance           balance to simulate with
+	 * @param checkRequirements whether requirements of the rebirths should be
+	 *                          evaluated or not
+	 * @return outcome of the simulation, null if player's data isn't loaded
+	 */
+	@Nullable
+	public static PromotionSimulation simulateRebirth(Player player, double balance, boolean checkRequirements) {
+		return simulateRebirth(player, balance, checkRequirements, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * @param limit maximum amount of rebirths to simulate
+	 * @see #simulateRebirth(Player, double, boolean)
+	 */
+	@Nullable
+	public static PromotionSimulation simulateRebirth(Player player, double balance, boolean checkRequirements,
+													  int limit) {
+		User user = getUser(player);
+		return user == null ? null
+				: PromotionSimulator.simulateRebirth(player, user, balance, checkRequirements, limit);
+	}
+
+	/**
+	 * Simulates a max rebirth for each player with their available balance.
+	 *
+	 * @see #simulateRebirth(Player, double, boolean, int)
+	 */
+	public static Map<UUID, PromotionSimulation> simulateRebirths(Collection<? extends Player> players,
+																  boolean checkRequirements, int limit) {
+		Map<UUID, PromotionSimulation> simulations = new HashMap<>(players.size() * 2);
+		for (Player player : players) {
+			User user = getUser(player);
+			if (user == null) continue;
+			simulations.put(user.getUniqueId(), PromotionSimulator.simulateRebirth(player, user,
+					EconomyManager.getAvailableBalance(player), checkRequirements, limit));
+		}
+		return simulations;
+	}
+
 	/**
 	 public static Prestige getHighestReachablePrestige(UUID uniqueId) {
 	 User user = getUser(uniqueId);
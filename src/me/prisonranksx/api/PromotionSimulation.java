@@ -0,0 +1,131 @@
+package me.prisonranksx.api;
+
+import me.prisonranksx.holders.Level;
+import me.prisonranksx.holders.LevelType;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map.Entry;
+
+/**
+ * Outcome of a simulated max rankup, prestige or rebirth. Simulations don't fire
+ * events, take money or change the user, they only tell how far the player can
+ * go with the given balance.
+ *
+ * @see PRXAPI#simulateRankup(org.bukkit.entity.Player, double, boolean)
+ * @see PRXAPI#simulatePrestige(org.bukkit.entity.Player, double, boolean)
+ * @see PRXAPI#simulateRebirth(org.bukkit.entity.Player, double, boolean)
+ */
+public class PromotionSimulation {
+
+	private final LevelType levelType;
+	private final Level startLevel;
+	private final Level reachedLevel;
+	private final int promotions;
+	private final double totalCost;
+	private final double remainingBalance;
+	private final Blocker blocker;
+	private final Level blockingLevel;
+	private final Entry<String, ?> blockingRequirement;
+
+	PromotionSimulation(LevelType levelType, @Nullable Level startLevel, @Nullable Level reachedLevel, int promotions,
+						double totalCost, double remainingBalance, Blocker blocker, @Nullable Level blockingLevel,
+						@Nullable Entry<String, ?> blockingRequirement) {
+		this.levelType = levelType;
+		this.startLevel = startLevel;
+		this.reachedLevel = reachedLevel;
+		this.promotions = promotions;
+		this.totalCost = totalCost;
+		this.remainingBalance = remainingBalance;
+		this.blocker = blocker;
+		this.blockingLevel = blockingLevel;
+		this.blockingRequirement = blockingRequirement;
+	}
+
+	public LevelType getLevelType() {
+		return levelType;
+	}
+
+	/**
+	 * @return level the player is at before the simulation, null if player doesn't
+	 * have a prestige or rebirth yet.
+	 */
+	@Nullable
+	public Level getStartLevel() {
+		return startLevel;
+	}
+
+	/**
+	 * @return highest level the player can reach, same as start level if player
+	 * can't be promoted at all.
+	 */
+	@Nullable
+	public Level getReachedLevel() {
+		return reachedLevel;
+	}
+
+	/**
+	 * @return how many times the player can be promoted
+	 */
+	public int getPromotions() {
+		return promotions;
+	}
+
+	public boolean canPromote() {
+		return promotions > 0;
+	}
+
+	/**
+	 * @return sum of the costs of all the levels the player can go through
+	 */
+	public double getTotalCost() {
+		return totalCost;
+	}
+
+	/**
+	 * @return balance that would be left after going through all the reachable
+	 * levels
+	 */
+	public double getRemainingBalance() {
+		return remainingBalance;
+	}
+
+	/**
+	 * @return reason that stopped the simulation from going further
+	 */
+	public Blocker getBlocker() {
+		return blocker;
+	}
+
+	/**
+	 * @return level that couldn't be reached, null if there is no next level.
+	 */
+	@Nullable
+	public Level getBlockingLevel() {
+		return blockingLevel;
+	}
+
+	/**
+	 * @return requirement of the blocking level that isn't met, null if blocker is
+	 * not {@link Blocker#REQUIREMENTS_NOT_MET}.
+	 */
+	@Nullable
+	public Entry<String, ?> getBlockingRequirement() {
+		return blockingRequirement;
+	}
+
+	public enum Blocker {
+
+		/**
+		 * Simulation stopped because it reached the given limit.
+		 */
+		LIMIT_REACHED,
+		LAST_LEVEL,
+		NOT_ENOUGH_BALANCE,
+		NO_PERMISSION,
+		REQUIREMENTS_NOT_MET,
+		NOT_LAST_RANK,
+		NOT_LAST_PRESTIGE
+
+	}
+
+}
@@ -0,0 +1,190 @@
+package me.prisonranksx.api;
+
+import me.prisonranksx.PrisonRanksX;
+import me.prisonranksx.api.PromotionSimulation.Blocker;
+import me.prisonranksx.commands.CommandSetting;
+import me.prisonranksx.common.Common;
+import me.prisonranksx.components.RequirementsComponent;
+import me.prisonranksx.data.PrestigeStorage;
+import me.prisonranksx.data.RankStorage;
+import me.prisonranksx.data.RebirthStorage;
+import me.prisonranksx.holders.*;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * Walks through levels the same way executors do during max promotions, but
+ * only reads the user and doesn't fire events, take money or evaluate the shared
+ * result enums.
+ */
+final class PromotionSimulator {
+
+	private PromotionSimulator() {}
+
+	/**
+	 * @param costCache rank costs of each prestige name, shared between simulations
+	 *                  of multiple players, null to not cache.
+	 */
+	static PromotionSimulation simulateRankup(Player player, User user, double balance, boolean checkRequirements,
+											  int limit, @Nullable Map<String, Map<Rank, Double>> costCache) {
+		PrisonRanksX plugin = PRXAPI.getInstance();
+		String pathName = user.getPathName();
+		Rank startRank = RankStorage.getRank(user.getRankName(), pathName);
+		Prestige prestige = user.getPrestige();
+		Map<Rank, Double> rankCosts = costCache == null ? null
+				: costCache.computeIfAbsent(prestige == null ? "" : prestige.getName(), k -> new HashMap<>());
+		boolean perRankPermission = plugin.getGlobalSettings().isPerRankPermission();
+		String permissionPrefix = perRankPermission ? null
+				: CommandSetting.getStringSetting("rankup", "permission") + ".";
+
+		Rank rank = startRank;
+		double remainingBalance = balance;
+		int promotions = 0;
+		while (true) {
+			if (promotions >= limit)
+				return result(LevelType.RANK, startRank, rank, promotions, balance, remainingBalance,
+						Blocker.LIMIT_REACHED, null, null);
+			String nextRankName = rank == null ? null : rank.getNextName();
+			if (nextRankName == null)
+				return result(LevelType.RANK, startRank, rank, promotions, balance, remainingBalance,
+						Blocker.LAST_LEVEL, null, null);
+			Rank nextRank = RankStorage.getRank(nextRankName, pathName);
+			if (!perRankPermission && !player.hasPermission(permissionPrefix + nextRankName))
+				return result(LevelType.RANK, startRank, rank, promotions, balance, remainingBalance,
+						Blocker.NO_PERMISSION, nextRank, null);
+			double cost = rankCosts == null ? getRankCost(plugin, nextRank, prestige)
+					: rankCosts.computeIfAbsent(nextRank, r -> getRankCost(plugin, r, prestige));
+			if (remainingBalance < cost)
+				return result(LevelType.RANK, startRank, rank, promotions, balance, remainingBalance,
+						Blocker.NOT_ENOUGH_BALANCE, nextRank, null);
+			Entry<String, ?> unmetRequirement = findUnmetRequirement(player, nextRank, checkRequirements);
+			if (unmetRequirement != null)
+				return result(LevelType.RANK, startRank, rank, promotions, balance, remainingBalance,
+						Blocker.REQUIREMENTS_NOT_MET, nextRank, unmetRequirement);
+			remainingBalance -= cost;
+			promotions++;
+			rank = nextRank;
+		}
+	}
+
+	static PromotionSimulation simulatePrestige(Player player, User user, double balance, boolean checkRequirements,
+												int limit) {
+		PrisonRanksX plugin = PRXAPI.getInstance();
+		String pathName = user.getPathName();
+		boolean resetRank = plugin.getGlobalSettings().isRankEnabled() && plugin.getPrestigeSettings().isResetRank();
+		Rank rank = RankStorage.getRank(user.getRankName(), pathName);
+		Prestige startPrestige = user.getPrestige();
+
+		Prestige prestige = startPrestige;
+		double remainingBalance = balance;
+		int promotions = 0;
+		while (true) {
+			if (promotions >= limit)
+				return result(LevelType.PRESTIGE, startPrestige, prestige, promotions, balance, remainingBalance,
+						Blocker.LIMIT_REACHED, null, null);
+			String nextPrestigeName = prestige == null ? PrestigeStorage.getFirstPrestigeName()
+					: prestige.getNextPrestigeName();
+			if (nextPrestigeName == null)
+				return result(LevelType.PRESTIGE, startPrestige, prestige, promotions, balance, remainingBalance,
+						Blocker.LAST_LEVEL, null, null);
+			Prestige nextPrestige = PrestigeStorage.getPrestige(nextPrestigeName);
+			double cost = nextPrestige.getCost();
+			if (remainingBalance < cost)
+				return result(LevelType.PRESTIGE, startPrestige, prestige, promotions, balance, remainingBalance,
+						Blocker.NOT_ENOUGH_BALANCE, nextPrestige, null);
+			Entry<String, ?> unmetRequirement = findUnmetRequirement(player, nextPrestige, checkRequirements);
+			if (unmetRequirement != null)
+				return result(LevelType.PRESTIGE, startPrestige, prestige, promotions, balance, remainingBalance,
+						Blocker.REQUIREMENTS_NOT_MET, nextPrestige, unmetRequirement);
+			if (isBlockedByRank(rank))
+				return result(LevelType.PRESTIGE, startPrestige, prestige, promotions, balance, remainingBalance,
+						Blocker.NOT_LAST_RANK, nextPrestige, null);
+			remainingBalance -= cost;
+			promotions++;
+			prestige = nextPrestige;
+			if (resetRank) rank = RankStorage.getFirstRank(pathName);
+		}
+	}
+
+	static PromotionSimulation simulateRebirth(Player player, User user, double balance, boolean checkRequirements,
+											   int limit) {
+		PrisonRanksX plugin = PRXAPI.getInstance();
+		String pathName = user.getPathName();
+		boolean resetRank = plugin.getGlobalSettings().isRankEnabled() && plugin.getRebirthSettings().isResetRank();
+		Rank rank = RankStorage.getRank(user.getRankName(), pathName);
+		Prestige prestige = user.getPrestige();
+		Rebirth startRebirth = user.getRebirth();
+
+		Rebirth rebirth = startRebirth;
+		double remainingBalance = balance;
+		int promotions = 0;
+		while (true) {
+			if (promotions >= limit)
+				return result(LevelType.REBIRTH, startRebirth, rebirth, promotions, balance, remainingBalance,
+						Blocker.LIMIT_REACHED, null, null);
+			String nextRebirthName = rebirth == null ? RebirthStorage.getFirstRebirthName()
+					: rebirth.getNextRebirthName();
+			if (nextRebirthName == null)
+				return result(LevelType.REBIRTH, startRebirth, rebirth, promotions, balance, remainingBalance,
+						Blocker.LAST_LEVEL, null, null);
+			Rebirth nextRebirth = RebirthStorage.getRebirth(nextRebirthName);
+			double cost = nextRebirth.getCost();
+			if (remainingBalance < cost)
+				return result(LevelType.REBIRTH, startRebirth, rebirth, promotions, balance, remainingBalance,
+						Blocker.NOT_ENOUGH_BALANCE, nextRebirth, null);
+			Entry<String, ?> unmetRequirement = findUnmetRequirement(player, nextRebirth, checkRequirements);
+			if (unmetRequirement != null)
+				return result(LevelType.REBIRTH, startRebirth, rebirth, promotions, balance, remainingBalance,
+						Blocker.REQUIREMENTS_NOT_MET, nextRebirth, unmetRequirement);
+			if (isBlockedByRank(rank))
+				return result(LevelType.REBIRTH, startRebirth, rebirth, promotions, balance, remainingBalance,
+						Blocker.NOT_LAST_RANK, nextRebirth, null);
+			if (prestige != null && prestige.getNextPrestigeName() == null)
+				return result(LevelType.REBIRTH, startRebirth, rebirth, promotions, balance, remainingBalance,
+						Blocker.NOT_LAST_PRESTIGE, nextRebirth, null);
+			remainingBalance -= cost;
+			promotions++;
+			rebirth = nextRebirth;
+			if (resetRank) rank = RankStorage.getFirstRank(pathName);
+		}
+	}
+
+	/**
+	 * Same as {@link PRXAPI#getRankFinalCost(Rank, Player)} with an already
+	 * retrieved prestige.
+	 */
+	private static double getRankCost(PrisonRanksX plugin, Rank rank, @Nullable Prestige prestige) {
+		if (prestige == null) return rank.getCost();
+		return Common.eval(plugin.getPrestigeSettings()
+				.getIncreaseExpression()
+				.replace("{increase_percentage}", String.valueOf(prestige.getCostIncrease()))
+				.replace("{rank_cost}", String.valueOf(rank.getCost()))
+				.replace("{prestige_number}",
+						String.valueOf(PrestigeStorage.getHandler().getPrestigeNumber(prestige.getName()))));
+	}
+
+	private static boolean isBlockedByRank(@Nullable Rank rank) {
+		return rank != null && rank.getNextName() != null && !rank.isAllowPrestige();
+	}
+
+	@Nullable
+	private static Entry<String, ?> findUnmetRequirement(Player player, Level level, boolean checkRequirements) {
+		if (!checkRequirements) return null;
+		RequirementsComponent requirementsComponent = level.getRequirementsComponent();
+		return requirementsComponent == null ? null : requirementsComponent.findUnmetRequirement(player);
+	}
+
+	private static PromotionSimulation result(LevelType levelType, @Nullable Level startLevel,
+											  @Nullable Level reachedLevel, int promotions, double balance,
+											  double remainingBalance, Blocker blocker,
+											  @Nullable Level blockingLevel,
+											  @Nullable Entry<String, ?> blockingRequirement) {
+		return new PromotionSimulation(levelType, startLevel, reachedLevel, promotions, balance - remainingBalance,
+				remainingBalance, blocker, blockingLevel, blockingRequirement);
+	}
+
+}
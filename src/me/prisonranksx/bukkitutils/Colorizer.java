@@ -2,8 +2,7 @@ package me.prisonranksx.bukkitutils;
 
 import java.util.Arrays;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import org.bukkit.entity.Player;
@@ -15,6 +14,8 @@ import me.prisonranksx.common.StaticCache;
 public class Colorizer extends StaticCache {
 
 	private static final String EMPTY = "";
+	private static final char COLOR_CHAR = '\u00A7';
+	private static final String COLOR_CODES = "0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx";
 	private static final IColorizer COLORIZER;
 
 	static {
@@ -38,6 +39,21 @@ public class Colorizer extends StaticCache {
 		return COLORIZER.colorize(textToColorize);
 	}
 
+	/**
+	 * Same as {@link #colorize(String)}, but also replaces {@code [symbol]}s in the
+	 * same pass. Symbols can be escaped with {@code $[symbol]}.
+	 *
+	 * @param textToColorize string to translate color codes and symbols in
+	 * @param symbols        symbols mapped by their names without brackets
+	 * @return text with colors and symbols
+	 *         <p>
+	 *         "" if textToColorize is null
+	 */
+	@NotNull
+	public static String colorize(@Nullable String textToColorize, @NotNull Map<String, ?> symbols) {
+		return COLORIZER.colorize(textToColorize, symbols);
+	}
+
 	@Nullable
 	public static List<String> colorize(@Nullable List<String> textToColorize) {
 		if (textToColorize == null) return null;
@@ -50,37 +66,90 @@ public class Colorizer extends StaticCache {
 		return colorize(Arrays.asList(textToColorize));
 	}
 
+	/**
+	 * Translates symbols, hex colors and color codes in a single pass. Gives the
+	 * same result as replacing the symbols first, then the hex colors, then the
+	 * color codes, since no symbol starts with a color code or a hex color.
+	 *
+	 * @param symbols symbols to replace, or null to keep them
+	 * @param hex     whether {@code &#RRGGBB} hex colors are supported
+	 */
+	private static String translate(String text, @Nullable Map<String, ?> symbols, boolean hex) {
+		if (text.indexOf('&') == -1 && (symbols == null || text.indexOf('[') == -1)) return text;
+		int length = text.length();
+		StringBuilder builder = new StringBuilder(length + 16);
+		// Brackets before this index are inside a name that isn't a symbol
+		int symbolsFrom = 0;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '&' && i + 1 < length) {
+				char next = text.charAt(i + 1);
+				if (hex && next == '#' && isHexColor(text, i + 2)) {
+					builder.append(COLOR_CHAR).append('x');
+					for (int j = i + 2; j < i + 8; j++) builder.append(COLOR_CHAR).append(text.charAt(j));
+					i += 7;
+					continue;
+				}
+				if (COLOR_CODES.indexOf(next) != -1) {
+					builder.append(COLOR_CHAR).append(Character.toLowerCase(next));
+					i++;
+					continue;
+				}
+			} else if (c == '[' && symbols != null && i >= symbolsFrom) {
+				int last = builder.length() - 1;
+				if (last != -1 && builder.charAt(last) == '$') {
+					builder.setCharAt(last, c);
+					continue;
+				}
+				int end = text.indexOf(']', i + 1);
+				if (end == -1) {
+					// Nothing after an unclosed bracket is a symbol
+					symbolsFrom = length;
+				} else {
+					Object symbol = symbols.get(text.substring(i + 1, end));
+					if (symbol != null) {
+						builder.append(symbol);
+						i = end;
+						continue;
+					}
+					// Colors inside the brackets are still translated
+					symbolsFrom = end + 1;
+				}
+			}
+			builder.append(c);
+		}
+		return builder.toString();
+	}
+
+	private static boolean isHexColor(String text, int start) {
+		if (start + 6 > text.length()) return false;
+		for (int i = start; i < start + 6; i++) {
+			char c = text.charAt(i);
+			if ((c < '0' || c > '9') && (c < 'a' || c > 'f') && (c < 'A' || c > 'F')) return false;
+		}
+		return true;
+	}
+
 	private interface IColorizer {
 
 		String colorize(String textToColorize);
 
+		String colorize(String textToColorize, Map<String, ?> symbols);
+
 	}
 
 	private static class SpigotColorizer implements IColorizer {
 
-		private static final char COLOR_CHAR = '\u00A7';
-		private static final String START_TAG = "&#";
-		private static final String END_TAG = "";
-		private static final Pattern HEX_PATTERN = Pattern.compile(START_TAG + "([A-Fa-f0-9]{6})" + END_TAG);
-
 		@Override
 		public String colorize(String textToColorize) {
 			if (textToColorize == null) return EMPTY;
-			return net.md_5.bungee.api.ChatColor.translateAlternateColorCodes('&', colorizeHex(textToColorize));
+			return translate(textToColorize, null, true);
 		}
 
-		private static String colorizeHex(String message) {
-			if (message == null || message.isEmpty() || !message.contains(START_TAG)) return message;
-			Matcher matcher = HEX_PATTERN.matcher(message);
-			StringBuffer buffer = new StringBuffer(message.length() + 4 * 8);
-			while (matcher.find()) {
-				String group = matcher.group(1);
-				matcher.appendReplacement(buffer,
-						COLOR_CHAR + "x" + COLOR_CHAR + group.charAt(0) + COLOR_CHAR + group.charAt(1) + COLOR_CHAR
-								+ group.charAt(2) + COLOR_CHAR + group.charAt(3) + COLOR_CHAR + group.charAt(4)
-								+ COLOR_CHAR + group.charAt(5));
-			}
-			return matcher.appendTail(buffer).toString();
+		@Override
+		public String colorize(String textToColorize, Map<String, ?> symbols) {
+			if (textToColorize == null) return EMPTY;
+			return translate(textToColorize, symbols, true);
 		}
 
 	}
@@ -93,6 +162,12 @@ public class Colorizer extends StaticCache {
 			return org.bukkit.ChatColor.translateAlternateColorCodes('&', textToColorize);
 		}
 
+		@Override
+		public String colorize(String textToColorize, Map<String, ?> symbols) {
+			if (textToColorize == null) return EMPTY;
+			return translate(textToColorize, symbols, false);
+		}
+
 	}
 
 }
@@ -3,6 +3,8 @@ package me.prisonranksx.bukkitutils;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 
+import me.prisonranksx.bukkitutils.scheduler.Schedulers;
+
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -12,7 +14,7 @@ public class Confirmation {
 
 	public static final Map<String, ConfirmationProcessor> processors = new HashMap<>();
 	public static final int DEFAULT_DELAY_SECONDS = 5;
-	private static final JavaPlugin PLUGIN = JavaPlugin.getProvidingPlugin(Confirmation.class);
+	private static final JavaPlugin PLUGIN = Schedulers.getProvidingPlugin(Confirmation.class);
 
 	public static ConfirmationProcessor setupConfirmationProcessor(String id, int resetDelaySeconds) {
 		ConfirmationProcessor processor = new ConfirmationProcessor(id, resetDelaySeconds);
@@ -81,7 +83,7 @@ public class Confirmation {
 			playerNames.add(playerName);
 			BukkitTask task = confirmationTasks.get(playerName);
 			if (task == null)
-				confirmationTasks.put(playerName, PLUGIN.getServer().getScheduler().runTaskLater(PLUGIN, () -> {
+				confirmationTasks.put(playerName, Schedulers.get().runTaskLater(PLUGIN, () -> {
 					playerNames.remove(playerName);
 				}, getDelaySeconds() * 20L));
 			return this;
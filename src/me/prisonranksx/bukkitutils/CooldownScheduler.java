@@ -1,18 +1,22 @@
 package me.prisonranksx.bukkitutils;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.function.Consumer;
 
-import org.bukkit.Bukkit;
 import org.bukkit.plugin.Plugin;
-import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import com.google.common.collect.Maps;
 
+import me.prisonranksx.bukkitutils.scheduler.Schedulers;
+
 /**
  * @apiNote Simple utility class to manage, create, and schedule cooldowns.
  */
@@ -62,7 +66,7 @@ public class CooldownScheduler {
         }
 
         private void performFirstTime(SimpleCooldownEntry<?> entry) {
-            Bukkit.getScheduler().runTaskLater(getAsyncScheduler().plugin, () -> performActions(entry), 1);
+            Schedulers.get().runTaskLater(getAsyncScheduler().plugin, () -> performActions(entry), 1);
         }
 
         private SimpleCooldownEntry<?> performActions(SimpleCooldownEntry<?> entry) {
@@ -79,29 +83,52 @@ public class CooldownScheduler {
 
     }
 
+    /**
+     * Keeps cooldowns in a {@link TimingWheel} that is advanced by an async timer
+     * every tick, so a tick only visits the entries that expire in it, entries that
+     * were scheduled again since the last tick and entries with a repeating
+     * consumer. Can be used from any thread, runnables and consumers run on the
+     * timer's thread.
+     */
     public static class AsyncCooldownScheduler<T> {
 
-        private Plugin plugin;
-        private Map<T, AsyncCooldownEntry<T>> entries;
+        private static final double TICKS_PER_SECOND = 20;
+
+        private final Plugin plugin;
+        private final Map<T, AsyncCooldownEntry<T>> entries = new ConcurrentHashMap<>();
+        // Guarded by this
+        private final TimingWheel<AsyncCooldownEntry<T>> wheel = new TimingWheel<>();
+        private final Set<AsyncCooldownEntry<T>> repeatingEntries = ConcurrentHashMap.newKeySet();
+        private final Queue<AsyncCooldownEntry<T>> calledEntries = new ConcurrentLinkedQueue<>();
+        // Only accessed by the timer's thread
+        private final List<AsyncCooldownEntry<T>> expiredEntries = new ArrayList<>();
         private BukkitTask cooldownTask;
-        private boolean isCancelled;
+        private volatile boolean isCancelled;
 
         public static <T> AsyncCooldownScheduler<T> create() {
-            return new AsyncCooldownScheduler<T>(JavaPlugin.getProvidingPlugin(AsyncCooldownScheduler.class));
+            return new AsyncCooldownScheduler<T>(Schedulers.getProvidingPlugin(AsyncCooldownScheduler.class));
         }
 
         public static <T> AsyncCooldownScheduler<T> create(Plugin plugin) {
             return new AsyncCooldownScheduler<T>(plugin);
         }
 
-        public AsyncCooldownEntry<T> schedule(T name, double cooldown) {
-            AsyncCooldownEntry<T> entry = null;
-            if (!entries.containsKey(name)) {
+        /**
+         * Starts a cooldown for the name if it doesn't have one. On the next tick, the
+         * entry's {@link AsyncCooldownEntry#ifTrue(Runnable)} runs if the cooldown was
+         * just started, otherwise {@link AsyncCooldownEntry#orElse(Consumer)} gets
+         * the time left.
+         */
+        public synchronized AsyncCooldownEntry<T> schedule(T name, double cooldown) {
+            AsyncCooldownEntry<T> entry = entries.get(name);
+            if (entry == null) {
                 entry = new AsyncCooldownEntry<>(name, cooldown);
                 entry.startDuration = cooldown;
-                entries.put(name, entry);
-            } else {
-                entry = entries.get(name);
+                add(name, entry);
+            }
+            if (!entry.called) {
+                entry.called = true;
+                calledEntries.add(entry);
             }
             startIfNotStarted();
             return entry;
@@ -111,28 +138,51 @@ public class CooldownScheduler {
             return this.entries.get(name);
         }
 
+        /**
+         * @return unmodifiable view of the names with a cooldown, use
+         *         {@link #removeCooldown(Object)} to remove one
+         */
         public Set<T> getCoolingDownKeys() {
-            return this.entries.keySet();
+            return Collections.unmodifiableSet(this.entries.keySet());
         }
 
+        /**
+         * @return unmodifiable view of the entries, use
+         *         {@link #setCooldown(Object, AsyncCooldownEntry)} and
+         *         {@link #removeCooldown(Object)} to change them so the timer
+         *         knows about it
+         */
         public Map<T, AsyncCooldownEntry<T>> getCooldownEntries() {
-            return this.entries;
-        }
-
-        private AsyncCooldownEntry<T> processEntry(T name, double cooldown) {
-            return new AsyncCooldownEntry<T>(name, twoDecimals(cooldown - 0.05));
+            return Collections.unmodifiableMap(this.entries);
         }
 
-        public AsyncCooldownEntry<T> removeCooldown(T name) {
-            return this.entries.remove(name);
+        public synchronized AsyncCooldownEntry<T> removeCooldown(T name) {
+            AsyncCooldownEntry<T> entry = this.entries.remove(name);
+            if (entry != null) {
+                wheel.cancel(entry);
+                repeatingEntries.remove(entry);
+            }
+            return entry;
         }
 
-        public AsyncCooldownEntry<T> setCooldown(T name, AsyncCooldownEntry<T> asyncCooldownEntry) {
-            return this.entries.put(name, asyncCooldownEntry);
+        /**
+         * Replaces the cooldown of the name with the entry, which lasts for its
+         * current duration from now on.
+         */
+        public synchronized AsyncCooldownEntry<T> setCooldown(T name, AsyncCooldownEntry<T> asyncCooldownEntry) {
+            AsyncCooldownEntry<T> previousEntry = removeCooldown(name);
+            add(name, asyncCooldownEntry);
+            if (asyncCooldownEntry.started && asyncCooldownEntry.repeatingConsumer != null)
+                repeatingEntries.add(asyncCooldownEntry);
+            startIfNotStarted();
+            return previousEntry;
         }
 
-        public void clearCooldowns() {
+        public synchronized void clearCooldowns() {
             this.entries.clear();
+            wheel.clear();
+            repeatingEntries.clear();
+            calledEntries.clear();
         }
 
         public BukkitTask getCooldownTask() {
@@ -145,58 +195,66 @@ public class CooldownScheduler {
 
         public AsyncCooldownScheduler(Plugin plugin) {
             this.plugin = plugin;
-            this.entries = Maps.newHashMap();
         }
 
-        private double twoDecimals(double value) {
-            return Math.floor(value * 100) / 100;
+        private void add(T name, AsyncCooldownEntry<T> entry) {
+            entries.put(name, entry);
+            entry.scheduler = this;
+            wheel.schedule(entry, toTicks(entry.duration));
+        }
+
+        private synchronized void reschedule(AsyncCooldownEntry<T> entry) {
+            if (entry.isScheduled()) wheel.schedule(entry, toTicks(entry.duration));
+        }
+
+        private synchronized double getTimeLeft(AsyncCooldownEntry<T> entry) {
+            return wheel.getTicksLeft(entry) / TICKS_PER_SECOND;
+        }
+
+        private static long toTicks(double seconds) {
+            return Math.round(seconds * TICKS_PER_SECOND);
         }
 
         private void startIfNotStarted() {
-            if (!getCooldownEntries().isEmpty())
-                if (cooldownTask == null || isCancelled) cooldownTask = new BukkitRunnable() {
-                    @Override
-                    public void run() {
-                        if (getCooldownEntries().isEmpty()) {
-                            isCancelled = true;
-                            cancel();
-                            return;
-                        }
-                        isCancelled = false;
-                        Iterator<Map.Entry<T, AsyncCooldownEntry<T>>> iterator = getCooldownEntries().entrySet()
-                                .iterator();
-                        while (iterator.hasNext()) {
-                            Map.Entry<T, AsyncCooldownEntry<T>> entry = iterator.next();
-                            T key = entry.getKey();
-                            AsyncCooldownEntry<T> value = entry.getValue();
-                            double durationValue = value.getCurrentDuration();
-                            double timeLeft = twoDecimals(durationValue);
-                            double safeTimeLeft = timeLeft < 0.0 ? 0.0 : timeLeft;
-                            Consumer<Double> repeatingConsumer = value.getRepeatingConsumer();
-                            Runnable finishRunnable = value.getWhenDone();
-                            AsyncCooldownEntry<T> entryRefreshed = processEntry(key, timeLeft);
-                            entryRefreshed.orElseRepeat(repeatingConsumer);
-                            entryRefreshed.whenDone(finishRunnable);
-                            if (timeLeft + 0.1 < 0.0) {
-                                if (finishRunnable != null) finishRunnable.run();
-                                removeCooldown(key);
-                                return;
-                            } else {
-                                if (value.getCurrentDuration() == value.getStartDuration()) {
-                                    Runnable runnable = getEntry(key).getRunnable();
-                                    if (runnable != null) runnable.run();
-                                    setCooldown(key, entryRefreshed);
-                                    return;
-                                }
-                                Consumer<Double> consumer = getEntry(key).getConsumer();
-                                if (consumer != null) consumer.accept(safeTimeLeft);
-                                if (repeatingConsumer != null) repeatingConsumer.accept(safeTimeLeft);
-                            }
-                            setCooldown(key, entryRefreshed);
-                        }
-                    }
-                }.runTaskTimerAsynchronously(plugin, 1L, 1L);
+            if (cooldownTask == null || isCancelled) {
+                isCancelled = false;
+                cooldownTask = Schedulers.get().runTaskTimerAsynchronously(plugin, this::tick, 1L, 1L);
+            }
+        }
+
+        private void tick() {
+            synchronized (this) {
+                wheel.advance(expiredEntries::add);
+                for (AsyncCooldownEntry<T> entry : expiredEntries) {
+                    entries.remove(entry.name, entry);
+                    repeatingEntries.remove(entry);
+                }
+            }
+            AsyncCooldownEntry<T> calledEntry;
+            while ((calledEntry = calledEntries.poll()) != null) {
+                calledEntry.called = false;
+                if (!calledEntry.started) {
+                    calledEntry.started = true;
+                    if (calledEntry.repeatingConsumer != null && calledEntry.isScheduled())
+                        repeatingEntries.add(calledEntry);
+                    if (calledEntry.runnable != null) calledEntry.runnable.run();
+                } else if (calledEntry.consumer != null) {
+                    calledEntry.consumer.accept(getTimeLeft(calledEntry));
+                }
+            }
+            for (AsyncCooldownEntry<T> entry : repeatingEntries)
+                entry.repeatingConsumer.accept(getTimeLeft(entry));
+            for (AsyncCooldownEntry<T> entry : expiredEntries)
+                if (entry.finishRunnable != null) entry.finishRunnable.run();
+            expiredEntries.clear();
+            synchronized (this) {
+                if (entries.isEmpty() && calledEntries.isEmpty()) {
+                    isCancelled = true;
+                    cooldownTask.cancel();
+                }
+            }
         }
+
     }
 
     /**
@@ -204,15 +262,18 @@ public class CooldownScheduler {
      *
      * @param <T> Object type of the identifier {@code getIdentifier();}
      */
-    public static class AsyncCooldownEntry<T> {
+    public static class AsyncCooldownEntry<T> extends TimingWheel.Timeout {
 
-        private T name;
-        private double duration;
+        private final T name;
+        private volatile double duration;
         private double startDuration;
-        private Runnable runnable;
-        private Runnable finishRunnable;
-        private Consumer<Double> consumer;
-        private Consumer<Double> repeatingConsumer;
+        private volatile Runnable runnable;
+        private volatile Runnable finishRunnable;
+        private volatile Consumer<Double> consumer;
+        private volatile Consumer<Double> repeatingConsumer;
+        private volatile AsyncCooldownScheduler<T> scheduler;
+        private volatile boolean called;
+        private volatile boolean started;
 
         public AsyncCooldownEntry(T name, double duration) {
             this.name = name;
@@ -223,12 +284,22 @@ public class CooldownScheduler {
             return this.name;
         }
 
+        /**
+         * @return seconds left until the cooldown ends
+         */
         public double getCurrentDuration() {
-            return this.duration;
+            AsyncCooldownScheduler<T> currentScheduler = scheduler;
+            return currentScheduler != null && isScheduled() ? currentScheduler.getTimeLeft(this) : this.duration;
         }
 
+        /**
+         * Makes the cooldown end after the given seconds from now on.
+         */
         public double setCurrentDuration(double duration) {
-            return this.duration = duration;
+            this.duration = duration;
+            AsyncCooldownScheduler<T> currentScheduler = scheduler;
+            if (currentScheduler != null) currentScheduler.reschedule(this);
+            return duration;
         }
 
         public double getStartDuration() {
@@ -239,18 +310,6 @@ public class CooldownScheduler {
             return this.startDuration = startDuration;
         }
 
-        private Runnable getRunnable() {
-            return this.runnable;
-        }
-
-        private Consumer<Double> getConsumer() {
-            return this.consumer;
-        }
-
-        private Consumer<Double> getRepeatingConsumer() {
-            return this.repeatingConsumer;
-        }
-
         public Runnable getWhenDone() {
             return this.finishRunnable;
         }
@@ -269,7 +328,9 @@ public class CooldownScheduler {
 
         /**
          * consume the duration when the scheduler gets called if cooldown didn't end
-         * yet.
+         * yet. It's called once on the tick after each
+         * {@link AsyncCooldownScheduler#schedule(Object, double)} call, use
+         * {@link #orElseRepeat(Consumer)} to consume it every tick.
          *
          * @param consumer consumer to consume (<i> duration ->
          *                 doSomething(duration)</i> )
@@ -289,6 +350,8 @@ public class CooldownScheduler {
          */
         public AsyncCooldownEntry<T> orElseRepeat(Consumer<Double> consumer) {
             this.repeatingConsumer = consumer;
+            AsyncCooldownScheduler<T> currentScheduler = scheduler;
+            if (currentScheduler != null && started && isScheduled()) currentScheduler.repeatingEntries.add(this);
             return this;
         }
 
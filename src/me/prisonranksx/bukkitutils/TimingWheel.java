@@ -0,0 +1,173 @@
+package me.prisonranksx.bukkitutils;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of ticks. Scheduling and cancelling a timeout is
+ * O(1), and advancing by a tick only visits the timeouts that expire in it,
+ * apart from moving timeouts down a level once every 64 ticks or more.
+ * <br>
+ * Each of the 4 levels has 64 slots, a slot of level n covers 64^n ticks, so
+ * timeouts up to 64^4 ticks (about 9 days) away are placed directly. Later ones
+ * are placed as far as possible and placed again once they are reached.
+ * <br>
+ * Not thread-safe, callers have to synchronize access.
+ *
+ * @param <E> type of the timeouts
+ */
+public class TimingWheel<E extends TimingWheel.Timeout> {
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+	private static final int LEVELS = 4;
+	private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+	private final Timeout[][] slots = new Timeout[LEVELS][SLOTS];
+	private long currentTick;
+	private int size;
+
+	/**
+	 * Schedules the timeout, or reschedules it if it's already scheduled.
+	 *
+	 * @param timeout    timeout to schedule
+	 * @param delayTicks ticks until the timeout expires, at least 1
+	 */
+	public void schedule(E scheduledTimeout, long delayTicks) {
+		Timeout timeout = scheduledTimeout;
+		if (timeout.level == -1)
+			size++;
+		else
+			unlink(timeout);
+		timeout.expiryTick = currentTick + Math.max(delayTicks, 1);
+		insert(timeout);
+	}
+
+	/**
+	 * @return whether the timeout was scheduled
+	 */
+	public boolean cancel(E scheduledTimeout) {
+		Timeout timeout = scheduledTimeout;
+		if (timeout.level == -1) return false;
+		unlink(timeout);
+		size--;
+		return true;
+	}
+
+	/**
+	 * Moves the wheel one tick forward.
+	 *
+	 * @param expired accepts the timeouts that expired in the new tick, they are no
+	 *                longer scheduled at that point
+	 */
+	@SuppressWarnings("unchecked")
+	public void advance(Consumer<E> expired) {
+		long tick = ++currentTick;
+		// Move timeouts of higher levels down once their slot is reached, highest
+		// first so they can move down more than one level in the same tick
+		for (int level = LEVELS - 1; level > 0; level--) {
+			if ((tick & ((1L << (SLOT_BITS * level)) - 1)) != 0) continue;
+			int slot = (int) (tick >>> (SLOT_BITS * level)) & SLOT_MASK;
+			Timeout timeout = slots[level][slot];
+			slots[level][slot] = null;
+			while (timeout != null) {
+				Timeout next = timeout.next;
+				timeout.next = null;
+				insert(timeout);
+				timeout = next;
+			}
+		}
+		int slot = (int) tick & SLOT_MASK;
+		Timeout timeout = slots[0][slot];
+		slots[0][slot] = null;
+		while (timeout != null) {
+			Timeout next = timeout.next;
+			timeout.prev = null;
+			timeout.next = null;
+			timeout.level = -1;
+			size--;
+			expired.accept((E) timeout);
+			timeout = next;
+		}
+	}
+
+	/**
+	 * @return ticks until the timeout expires, 0 if it isn't scheduled
+	 */
+	public long getTicksLeft(E scheduledTimeout) {
+		Timeout timeout = scheduledTimeout;
+		return timeout.level == -1 ? 0 : timeout.expiryTick - currentTick;
+	}
+
+	public long getCurrentTick() {
+		return currentTick;
+	}
+
+	/**
+	 * @return amount of scheduled timeouts
+	 */
+	public int size() {
+		return size;
+	}
+
+	public void clear() {
+		for (Timeout[] levelSlots : slots) {
+			for (int slot = 0; slot < SLOTS; slot++) {
+				Timeout timeout = levelSlots[slot];
+				levelSlots[slot] = null;
+				while (timeout != null) {
+					Timeout next = timeout.next;
+					timeout.prev = null;
+					timeout.next = null;
+					timeout.level = -1;
+					timeout = next;
+				}
+			}
+		}
+		size = 0;
+	}
+
+	private void insert(Timeout timeout) {
+		long delta = Math.min(Math.max(timeout.expiryTick - currentTick, 0), MAX_DELTA);
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) level++;
+		int slot = (int) ((currentTick + delta) >>> (SLOT_BITS * level)) & SLOT_MASK;
+		Timeout head = slots[level][slot];
+		timeout.level = level;
+		timeout.slot = slot;
+		timeout.prev = null;
+		timeout.next = head;
+		if (head != null) head.prev = timeout;
+		slots[level][slot] = timeout;
+	}
+
+	private void unlink(Timeout timeout) {
+		if (timeout.prev != null)
+			timeout.prev.next = timeout.next;
+		else
+			slots[timeout.level][timeout.slot] = timeout.next;
+		if (timeout.next != null) timeout.next.prev = timeout.prev;
+		timeout.prev = null;
+		timeout.next = null;
+		timeout.level = -1;
+	}
+
+	/**
+	 * Something that can be scheduled in a {@link TimingWheel}, it can only be in one
+	 * wheel at a time.
+	 */
+	public static class Timeout {
+
+		private long expiryTick;
+		private Timeout prev;
+		private Timeout next;
+		private int level = -1;
+		private int slot;
+
+		public boolean isScheduled() {
+			return level != -1;
+		}
+
+	}
+
+}
@@ -23,6 +23,7 @@ package me.prisonranksx.bukkitutils;
 
 import com.google.common.base.Enums;
 import com.google.common.base.Strings;
+import me.prisonranksx.bukkitutils.scheduler.SchedulerRunnable;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.Validate;
@@ -34,7 +35,6 @@ import org.bukkit.Sound;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import org.jetbrains.annotations.NotNull;
@@ -1541,7 +1541,7 @@ public enum XSound {
         Validate.isTrue(ascendLevel <= 7, "Note ascend level cannot be greater than 7");
         Validate.isTrue(delay > 0, "Delay ticks must be at least 1");
 
-        return new BukkitRunnable() {
+        return new SchedulerRunnable() {
             int repeating = ascendLevel;
 
             @Override
@@ -1611,7 +1611,7 @@ public enum XSound {
         Validate.isTrue(repeat > 0, "Cannot repeat playing sound " + repeat + " times");
         Validate.isTrue(delay > 0, "Delay ticks must be at least 1");
 
-        return new BukkitRunnable() {
+        return new SchedulerRunnable() {
             int repeating = repeat;
 
             @Override
@@ -1619,7 +1619,7 @@ public enum XSound {
                 play(entity.getLocation(), volume, pitch);
                 if (repeating-- == 0) cancel();
             }
-        }.runTaskTimer(plugin, 0, delay);
+        }.runTaskTimer(plugin, entity, 0, delay);
     }
 
     /**
@@ -1,5 +1,8 @@
 package me.prisonranksx.bukkitutils.bukkittickbalancer;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -17,8 +20,18 @@ public class BukkitTickBalancer {
 
 	private static final RegularTask MAIN_TASK = scheduleRegularTask();
 	private static final RegularTask ASYNC_MAIN_TASK = scheduleRegularTask();
+	private static final TickBudget SYNC_BUDGET = new TickBudget(0.5, 5, 2.5);
+	private static final TickBudget ASYNC_BUDGET = new TickBudget(1, 10, 2.5);
+	private static final TickMonitor TICK_MONITOR = new TickMonitor(SYNC_BUDGET, ASYNC_BUDGET);
+	private static final Map<String, SplittableTask> TASKS = new ConcurrentSkipListMap<>();
+	private static volatile KeyedAsyncExecutor asyncExecutor;
 
 	static {
+		registerTask("main", MAIN_TASK);
+		registerTask("async-main", ASYNC_MAIN_TASK);
+		MAIN_TASK.setTickBudget(SYNC_BUDGET);
+		ASYNC_MAIN_TASK.setTickBudget(ASYNC_BUDGET);
+		TICK_MONITOR.init();
 		MAIN_TASK.init();
 		ASYNC_MAIN_TASK.initAsync();
 	}
@@ -121,7 +134,7 @@ public class BukkitTickBalancer {
 
 	/**
 	 * Runs specified runnable in already created regular task as a segmented task
-	 * with default milliseconds per tick
+	 * with a budget that adapts to the server's MSPT
 	 *
 	 * @param runnable to run
 	 * @return RegularTask that's running the runnable
@@ -133,7 +146,7 @@ public class BukkitTickBalancer {
 
 	/**
 	 * Runs specified runnable in already created async regular task as a segmented
-	 * task with default milliseconds per tick
+	 * task with a budget that adapts to the server's MSPT
 	 *
 	 * @param runnable to run
 	 * @return RegularTask that's running the runnable
@@ -143,4 +156,138 @@ public class BukkitTickBalancer {
 		return ASYNC_MAIN_TASK;
 	}
 
+	/**
+	 * Same as {@link #sync(Runnable)} with the given lane instead of
+	 * {@link Lane#NORMAL}
+	 *
+	 * @param runnable to run
+	 * @param lane     lane to queue the runnable in
+	 * @return RegularTask that's running the runnable
+	 */
+	public static RegularTask sync(Runnable runnable, Lane lane) {
+		MAIN_TASK.run(runnable, lane);
+		return MAIN_TASK;
+	}
+
+	/**
+	 * Same as {@link #async(Runnable)} with the given lane instead of
+	 * {@link Lane#NORMAL}
+	 *
+	 * @param runnable to run
+	 * @param lane     lane to queue the runnable in
+	 * @return RegularTask that's running the runnable
+	 */
+	public static RegularTask async(Runnable runnable, Lane lane) {
+		ASYNC_MAIN_TASK.run(runnable, lane);
+		return ASYNC_MAIN_TASK;
+	}
+
+	/**
+	 * Runs specified runnable on the async executor if one is set, otherwise in the
+	 * async regular task like {@link #async(Runnable, Lane)}. Either way, runnables
+	 * with the same key never run at the same time and the pending runnable with
+	 * the same key is superseded.
+	 *
+	 * @param key      key of the runnable, e.g. unique id of a user
+	 * @param runnable to run
+	 * @param lane     lane to queue the runnable in when there is no async executor
+	 * @see #setAsyncExecutor(KeyedAsyncExecutor)
+	 */
+	public static void async(Object key, Runnable runnable, Lane lane) {
+		KeyedAsyncExecutor executor = asyncExecutor;
+		if (executor != null)
+			executor.execute(key, runnable);
+		else
+			ASYNC_MAIN_TASK.run(key, runnable, lane);
+	}
+
+	/**
+	 * Cancels the pending sync and async runnables with the key.
+	 *
+	 * @param key key the runnables were queued with
+	 * @return whether a pending runnable was cancelled
+	 */
+	public static boolean cancel(Object key) {
+		boolean cancelled = MAIN_TASK.cancelWorkload(key);
+		cancelled |= ASYNC_MAIN_TASK.cancelWorkload(key);
+		KeyedAsyncExecutor executor = asyncExecutor;
+		if (executor != null) cancelled |= executor.cancel(key);
+		return cancelled;
+	}
+
+	/**
+	 * @param executor executor to run keyed async runnables on, null to run them in
+	 *                 the async regular task
+	 */
+	public static void setAsyncExecutor(KeyedAsyncExecutor executor) {
+		asyncExecutor = executor;
+	}
+
+	public static KeyedAsyncExecutor getAsyncExecutor() {
+		return asyncExecutor;
+	}
+
+	/**
+	 * @return budget of the sync main task, which adapts to the server's MSPT
+	 */
+	public static TickBudget getSyncBudget() {
+		return SYNC_BUDGET;
+	}
+
+	/**
+	 * @return budget of the async main task, which adapts to the server's MSPT.
+	 *         Can be shared with other async tasks through
+	 *         {@link ConcurrentTask#setTickBudget(TickBudget)}
+	 */
+	public static TickBudget getAsyncBudget() {
+		return ASYNC_BUDGET;
+	}
+
+	/**
+	 * @return smoothed milliseconds per tick of the server
+	 */
+	public static double getMspt() {
+		return TICK_MONITOR.getMspt();
+	}
+
+	/**
+	 * Changes the MSPT at which the sync and async budgets back off and grow.
+	 *
+	 * @param overloadedMspt MSPT at which budgets start backing off
+	 * @param idleMspt       MSPT under which budgets grow
+	 * @see TickMonitor#setThresholds(double, double)
+	 */
+	public static void setMsptThresholds(double overloadedMspt, double idleMspt) {
+		TICK_MONITOR.setThresholds(overloadedMspt, idleMspt);
+	}
+
+	/**
+	 * @return number of the current server tick, 0 until the first tick ran
+	 */
+	public static long getCurrentTick() {
+		return TICK_MONITOR.getTick();
+	}
+
+	/**
+	 * Makes the task's metrics visible through {@link #getTasks()}, a task that is
+	 * registered with the same name is replaced.
+	 *
+	 * @param name name to show the task with
+	 * @param task task to register
+	 */
+	public static void registerTask(String name, SplittableTask task) {
+		TASKS.put(name, task);
+	}
+
+	public static void unregisterTask(String name) {
+		TASKS.remove(name);
+	}
+
+	/**
+	 * @return registered tasks sorted by their names
+	 */
+	public static Map<String, SplittableTask> getTasks() {
+		return Collections.unmodifiableMap(TASKS);
+	}
+
 }
@@ -1,41 +1,62 @@
 package me.prisonranksx.bukkitutils.bukkittickbalancer;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+/**
+ * Runs the action on all added values in a round-robin fashion until each value
+ * meets the escape condition.
+ * <br>
+ * Values can be added from any thread without locking, they are queued and moved
+ * to the array of active values by the thread that runs the task. Only that
+ * thread touches the active values, finished values are removed by swapping the
+ * last value into their slot so each iteration is O(1).
+ */
 public class ConcurrentTask<T> extends SplittableTask {
 
 	private Consumer<T> action;
 	private Predicate<T> escapeCondition;
 	private Consumer<T> escapeAction;
-	private final List<Supplier<T>> suppliedValues;
-	private final int distributionSize;
+	private final Queue<Supplier<T>> pendingValues = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger valueCount = new AtomicInteger();
+	// Only accessed by the thread that runs the task
+	private Supplier<T>[] activeValues;
+	private long[] activeSince;
+	private int activeSize = 0;
 	private int currentPosition = 0;
-	private int addedValues = 0;
+	private volatile boolean clearRequested;
 	private static final double MAX_MILLIS_PER_TICK = 2.5;
 	private int maxNanosPerTick = (int) (MAX_MILLIS_PER_TICK * 1E6);
+	private TickBudget tickBudget;
 
 	public ConcurrentTask(Consumer<T> action, Predicate<T> escapeCondition, Consumer<T> escapeAction,
 						  int distributionSize) {
 		this(action, escapeCondition, escapeAction, distributionSize, 2.5);
 	}
 
+	@SuppressWarnings("unchecked")
 	public ConcurrentTask(Consumer<T> action, Predicate<T> escapeCondition, Consumer<T> escapeAction,
 						  int distributionSize, double maxMillisecondsPerTick) {
 		this.escapeAction = escapeAction;
-		this.distributionSize = distributionSize;
 		this.action = action;
 		this.escapeCondition = escapeCondition;
-		this.suppliedValues = new ArrayList<>(distributionSize);
+		this.activeValues = new Supplier[Math.max(distributionSize, 1)];
+		this.activeSince = new long[activeValues.length];
 		maxNanosPerTick = (int) (maxMillisecondsPerTick * 1E6);
 	}
 
+	/**
+	 * Can be called from any thread, the value is picked up by the task in its next
+	 * round.
+	 */
 	public void addValue(Supplier<T> valueSupplier) {
-		suppliedValues.add(valueSupplier);
-		addedValues++;
+		pendingValues.add(valueSupplier);
+		valueCount.incrementAndGet();
 	}
 
 	@SafeVarargs
@@ -45,47 +66,96 @@ public class ConcurrentTask<T> extends SplittableTask {
 		}
 	}
 
-	private void proceedPosition() {
-		if (this.currentPosition >= addedValues - 1) {
-			this.currentPosition = 0;
-		} else {
-			this.currentPosition++;
+	/**
+	 * Moves queued values to the active values.
+	 */
+	private void drainPendingValues() {
+		Supplier<T> valueSupplier;
+		while ((valueSupplier = pendingValues.poll()) != null) {
+			if (activeSize == activeValues.length) {
+				activeValues = Arrays.copyOf(activeValues, activeSize << 1);
+				activeSince = Arrays.copyOf(activeSince, activeSize << 1);
+			}
+			activeSince[activeSize] = System.nanoTime();
+			activeValues[activeSize++] = valueSupplier;
 		}
 	}
 
+	private void removeCurrent() {
+		int last = --activeSize;
+		metrics.recordLatency(System.nanoTime() - activeSince[currentPosition]);
+		activeValues[currentPosition] = activeValues[last];
+		activeSince[currentPosition] = activeSince[last];
+		activeValues[last] = null;
+		valueCount.decrementAndGet();
+	}
+
 	@Override
 	public void run() {
-		long stopTime = System.nanoTime() + maxNanosPerTick;
-		while (System.nanoTime() <= stopTime && addedValues != 0) {
-			executeThenGet();
-			proceedPosition();
+		if (clearRequested) {
+			clearRequested = false;
+			pendingValues.clear();
+			Arrays.fill(activeValues, 0, activeSize, null);
+			activeSize = 0;
+			currentPosition = 0;
+			valueCount.set(0);
 		}
+		drainPendingValues();
+		TickBudget budget = tickBudget;
+		long startTime = System.nanoTime();
+		long budgetNanos = budget == null ? maxNanosPerTick : budget.getNanos();
+		long stopTime = startTime + budgetNanos;
+		int executed = 0;
+		while (activeSize != 0 && System.nanoTime() <= stopTime) {
+			if (currentPosition >= activeSize) {
+				currentPosition = 0;
+				drainPendingValues();
+			}
+			T value = activeValues[currentPosition].get();
+			action.accept(value);
+			executed++;
+			if (escapeCondition.test(value)) {
+				// The swapped in value takes the current position, so it runs next
+				removeCurrent();
+				if (escapeAction != null) escapeAction.accept(value);
+			} else {
+				currentPosition++;
+			}
+			if (clearRequested) break;
+		}
+		if (executed != 0) metrics.recordRun(System.nanoTime() - startTime, executed, budgetNanos, activeSize != 0);
 	}
 
-	private synchronized Supplier<T> executeThenGet() {
-		if (suppliedValues.isEmpty()) return null;
-		Supplier<T> supplier = suppliedValues.get(currentPosition);
-		if (supplier == null) return null;
-		boolean removed = executeThenCheck(supplier);
-		if (removed) {
-			addedValues--;
-			if (escapeAction != null) escapeAction.accept(supplier.get());
-			suppliedValues.remove(currentPosition);
-		}
-		return removed ? null : supplier;
+	/**
+	 * @return amount of values that haven't met the escape condition yet, including
+	 * the ones that are still queued.
+	 */
+	public int getValueCount() {
+		return valueCount.get();
 	}
 
-	private synchronized boolean executeThenCheck(Supplier<T> valueSupplier) {
-		T value = valueSupplier.get();
-		this.action.accept(value);
-		return this.escapeCondition.test(value);
+	@Override
+	public int getQueueDepth() {
+		return getValueCount();
+	}
+
+	/**
+	 * @param tickBudget budget to use instead of the fixed milliseconds per tick,
+	 *                   null to go back to the fixed one
+	 */
+	public void setTickBudget(TickBudget tickBudget) {
+		this.tickBudget = tickBudget;
 	}
 
-	public List<Supplier<T>> getSuppliedValues() {
-		return suppliedValues;
+	public TickBudget getTickBudget() {
+		return tickBudget;
 	}
 
-	public void setAddedValues(int i) {
-		addedValues = i;
+	/**
+	 * Drops all values, takes effect on the next run of the task.
+	 */
+	public void clearValues() {
+		clearRequested = true;
 	}
+
 }
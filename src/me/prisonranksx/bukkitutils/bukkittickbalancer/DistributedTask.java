@@ -1,46 +1,152 @@
 package me.prisonranksx.bukkitutils.bukkittickbalancer;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+/**
+ * Splits values across buckets and runs the action on the values of one bucket
+ * each run, so every value is visited once every 'distributionSize' runs.
+ * <br>
+ * Buckets are kept balanced so their sizes never differ by more than one. They
+ * are ordered so that buckets with the lower size come first, which makes picking
+ * the smallest bucket, removing a value and rebalancing after a removal O(1).
+ */
 public class DistributedTask<T> extends SplittableTask {
 
+	private static final Object[] EMPTY_ENTRIES = new Object[0];
+
 	private final Consumer<T> action;
 	private final Predicate<T> escapeCondition;
-	private final List<List<Supplier<T>>> suppliedValueMatrix;
 	private final int distributionSize;
+	private final Bucket[] buckets;
+	// Bucket indexes, the first 'smallCount' ones have 'lowSize' values and the
+	// rest have 'lowSize + 1' values
+	private final int[] order;
+	private final int[] orderPosition;
+	private int smallCount;
+	private int lowSize;
+	private final Map<Object, Entry<T>> keyedEntries = new HashMap<>();
+	// Only accessed by the thread that runs the task
+	private Object[] runEntries = EMPTY_ENTRIES;
 	private int currentPosition = 0;
 
 	public DistributedTask(Consumer<T> action, Predicate<T> escapeCondition, int distributionSize) {
-		this.distributionSize = distributionSize;
+		this.distributionSize = Math.max(distributionSize, 1);
 		this.action = action;
 		this.escapeCondition = escapeCondition;
-		this.suppliedValueMatrix = Collections.synchronizedList(new ArrayList<>(distributionSize));
-		for (int i = 0; i < distributionSize; i++) {
-			List<Supplier<T>> list = Collections.synchronizedList(new LinkedList<>());
-			this.suppliedValueMatrix.add(list);
+		this.buckets = new Bucket[this.distributionSize];
+		this.order = new int[this.distributionSize];
+		this.orderPosition = new int[this.distributionSize];
+		for (int i = 0; i < this.distributionSize; i++) {
+			buckets[i] = new Bucket();
+			order[i] = i;
+			orderPosition[i] = i;
 		}
-
+		this.smallCount = this.distributionSize;
 	}
 
 	public void addValue(Supplier<T> valueSupplier) {
-		List<Supplier<T>> smallestList = this.suppliedValueMatrix.get(0);
-		for (int index = 0; index < this.distributionSize; index++) {
-			if (smallestList.size() == 0) {
-				break;
-			}
-			List<Supplier<T>> next = this.suppliedValueMatrix.get(index);
-			int size = next.size();
-			if (size < smallestList.size()) {
-				smallestList = next;
+		synchronized (this) {
+			place(new Entry<>(null, valueSupplier, System.nanoTime()));
+		}
+	}
+
+	/**
+	 * Adds a value that can be removed later by its key. If there is already a value
+	 * with the same key, its supplier gets replaced instead.
+	 *
+	 * @param key           key to identify the value with, e.g. unique id of a
+	 *                      player
+	 * @param valueSupplier supplier of the value
+	 */
+	public void addValue(Object key, Supplier<T> valueSupplier) {
+		synchronized (this) {
+			Entry<T> entry = keyedEntries.get(key);
+			if (entry != null) {
+				entry.supplier = valueSupplier;
+				return;
 			}
+			entry = new Entry<>(key, valueSupplier, System.nanoTime());
+			keyedEntries.put(key, entry);
+			place(entry);
+		}
+	}
+
+	/**
+	 * @param key key the value was added with
+	 * @return whether a value was removed
+	 */
+	public boolean removeValue(Object key) {
+		synchronized (this) {
+			Entry<T> entry = keyedEntries.get(key);
+			if (entry == null) return false;
+			remove(entry);
+			return true;
+		}
+	}
+
+	public synchronized boolean containsValue(Object key) {
+		return keyedEntries.containsKey(key);
+	}
+
+	/**
+	 * @return amount of values in all buckets
+	 */
+	public synchronized int getSize() {
+		return lowSize * distributionSize + (distributionSize - smallCount);
+	}
+
+	@Override
+	public int getQueueDepth() {
+		return getSize();
+	}
+
+	private void place(Entry<T> entry) {
+		// The last small bucket is right before the large ones, so it joins them by
+		// moving the boundary
+		int bucketIndex = order[smallCount - 1];
+		buckets[bucketIndex].add(entry, bucketIndex);
+		if (--smallCount == 0) {
+			lowSize++;
+			smallCount = distributionSize;
 		}
-		smallestList.add(valueSupplier);
+	}
+
+	private void remove(Entry<T> entry) {
+		if (entry.key != null) keyedEntries.remove(entry.key);
+		int bucketIndex = entry.bucket;
+		buckets[bucketIndex].remove(entry);
+		entry.bucket = -1;
+		if (orderPosition[bucketIndex] >= smallCount) {
+			// Large bucket became small
+			swapOrder(orderPosition[bucketIndex], smallCount++);
+		} else if (smallCount < distributionSize) {
+			// Small bucket lost a value, fill it from a large bucket
+			int largeIndex = order[distributionSize - 1];
+			Bucket largeBucket = buckets[largeIndex];
+			Entry<T> moved = largeBucket.entries[largeBucket.size - 1];
+			largeBucket.remove(moved);
+			buckets[bucketIndex].add(moved, bucketIndex);
+			swapOrder(orderPosition[largeIndex], smallCount++);
+		} else {
+			// All buckets were equal, the rest become large relative to this one
+			lowSize--;
+			swapOrder(orderPosition[bucketIndex], 0);
+			smallCount = 1;
+		}
+	}
+
+	private void swapOrder(int first, int second) {
+		int firstBucket = order[first];
+		int secondBucket = order[second];
+		order[first] = secondBucket;
+		order[second] = firstBucket;
+		orderPosition[secondBucket] = first;
+		orderPosition[firstBucket] = second;
 	}
 
 	private void proceedPosition() {
@@ -50,15 +156,72 @@ public class DistributedTask<T> extends SplittableTask {
 	}
 
 	@Override
+	@SuppressWarnings("unchecked")
 	public void run() {
-		this.suppliedValueMatrix.get(this.currentPosition).removeIf(this::executeThenCheck);
+		long startTime = System.nanoTime();
+		int size;
+		// Copy the bucket so actions run without holding the lock
+		synchronized (this) {
+			Bucket bucket = buckets[currentPosition];
+			size = bucket.size;
+			if (runEntries.length < size) runEntries = new Object[bucket.entries.length];
+			System.arraycopy(bucket.entries, 0, runEntries, 0, size);
+		}
+		for (int i = 0; i < size; i++) {
+			Entry<T> entry = (Entry<T>) runEntries[i];
+			runEntries[i] = null;
+			if (entry.bucket == -1) continue;
+			T value = entry.supplier.get();
+			action.accept(value);
+			if (escapeCondition.test(value)) {
+				synchronized (this) {
+					if (entry.bucket != -1) remove(entry);
+				}
+				metrics.recordLatency(System.nanoTime() - entry.addedNanos);
+			}
+		}
+		// Distributed tasks have no time budget, one bucket is a whole run
+		if (size != 0) metrics.recordRun(System.nanoTime() - startTime, size, Long.MAX_VALUE, false);
 		this.proceedPosition();
 	}
 
-	private synchronized boolean executeThenCheck(Supplier<T> valueSupplier) {
-		T value = valueSupplier.get();
-		this.action.accept(value);
-		return this.escapeCondition.test(value);
+	private static class Entry<T> {
+
+		private final Object key;
+		private final long addedNanos;
+		private volatile Supplier<T> supplier;
+		private volatile int bucket = -1;
+		private int slot;
+
+		Entry(Object key, Supplier<T> supplier, long addedNanos) {
+			this.key = key;
+			this.supplier = supplier;
+			this.addedNanos = addedNanos;
+		}
+
+	}
+
+	private static class Bucket {
+
+		@SuppressWarnings("rawtypes")
+		private Entry[] entries = new Entry[4];
+		private int size;
+
+		void add(Entry<?> entry, int bucketIndex) {
+			if (size == entries.length) entries = Arrays.copyOf(entries, size << 1);
+			entry.bucket = bucketIndex;
+			entry.slot = size;
+			entries[size++] = entry;
+		}
+
+		void remove(Entry<?> entry) {
+			int last = --size;
+			Entry<?> lastEntry = entries[last];
+			entries[entry.slot] = lastEntry;
+			lastEntry.slot = entry.slot;
+			entries[last] = null;
+		}
+
 	}
 
 }
@@ -0,0 +1,167 @@
+package me.prisonranksx.bukkitutils.bukkittickbalancer;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Runs async workloads on threads instead of the time limited async main task,
+ * so blocking I/O doesn't wait for tick budgets. Uses a virtual thread per task
+ * on Java 21+ and a bounded pool of platform threads otherwise.
+ * <br>
+ * Workloads with the same key never run at the same time, and a workload
+ * submitted while another one with the same key is pending supersedes it.
+ * Workloads with different keys run concurrently.
+ */
+public class KeyedAsyncExecutor {
+
+	private final ExecutorService executor;
+	private final boolean virtual;
+	private final Map<Object, KeySlot> keySlots = new ConcurrentHashMap<>();
+
+	private KeyedAsyncExecutor(ExecutorService executor, boolean virtual) {
+		this.executor = executor;
+		this.virtual = virtual;
+	}
+
+	/**
+	 * @param poolSize amount of platform threads to use if virtual threads aren't
+	 *                 available
+	 * @return executor backed by virtual threads when possible
+	 */
+	public static KeyedAsyncExecutor create(int poolSize) {
+		ExecutorService virtualExecutor = createVirtualExecutor();
+		if (virtualExecutor != null) return new KeyedAsyncExecutor(virtualExecutor, true);
+		int threads = Math.max(1, poolSize);
+		AtomicInteger threadNumber = new AtomicInteger();
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "PrisonRanksX Async Worker-" + threadNumber.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+		ThreadPoolExecutor poolExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), threadFactory);
+		poolExecutor.allowCoreThreadTimeOut(true);
+		return new KeyedAsyncExecutor(poolExecutor, false);
+	}
+
+	private static ExecutorService createVirtualExecutor() {
+		try {
+			// Looked up reflectively so the plugin still runs on older Java versions
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException | ClassCastException ex) {
+			return null;
+		}
+	}
+
+	/**
+	 * @param key      key of the workload, null to run it without waiting for or
+	 *                 superseding others
+	 * @param runnable workload to run
+	 */
+	public void execute(Object key, Runnable runnable) {
+		if (key == null) {
+			submit(() -> runSafely(runnable));
+			return;
+		}
+		keySlots.compute(key, (k, keySlot) -> {
+			if (keySlot == null) {
+				keySlot = new KeySlot(k);
+				keySlot.pending.set(runnable);
+				submit(keySlot);
+			} else {
+				keySlot.pending.set(runnable);
+			}
+			return keySlot;
+		});
+	}
+
+	/**
+	 * Cancels the pending workload with the key, a workload that is already running
+	 * isn't affected.
+	 *
+	 * @param key key the workload was submitted with
+	 * @return whether a pending workload was cancelled
+	 */
+	public boolean cancel(Object key) {
+		KeySlot keySlot = keySlots.get(key);
+		return keySlot != null && keySlot.pending.getAndSet(null) != null;
+	}
+
+	private void submit(Runnable runnable) {
+		try {
+			executor.execute(runnable);
+		} catch (RejectedExecutionException ex) {
+			// Shut down, e.g. while the plugin is being disabled
+			runnable.run();
+		}
+	}
+
+	private static void runSafely(Runnable runnable) {
+		try {
+			runnable.run();
+		} catch (RuntimeException ex) {
+			JavaPlugin.getProvidingPlugin(KeyedAsyncExecutor.class)
+					.getLogger()
+					.log(Level.SEVERE, "Failed to run an async workload", ex);
+		}
+	}
+
+	/**
+	 * @return whether workloads run on virtual threads
+	 */
+	public boolean isVirtual() {
+		return virtual;
+	}
+
+	/**
+	 * Stops accepting workloads, already submitted workloads still run. Workloads
+	 * submitted afterwards run on the calling thread.
+	 */
+	public void shutdown() {
+		executor.shutdown();
+	}
+
+	private class KeySlot implements Runnable {
+
+		private final Object key;
+		private final AtomicReference<Runnable> pending = new AtomicReference<>();
+
+		KeySlot(Object key) {
+			this.key = key;
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Runnable workload = pending.getAndSet(null);
+				if (workload != null) {
+					runSafely(workload);
+					continue;
+				}
+				// Remove the slot unless a workload was submitted meanwhile, submitting
+				// happens in compute() of the same key so this can't miss one
+				boolean[] removed = new boolean[1];
+				keySlots.compute(key, (k, keySlot) -> {
+					if (keySlot != this || pending.get() != null) return keySlot;
+					removed[0] = true;
+					return null;
+				});
+				if (removed[0]) return;
+			}
+		}
+
+	}
+
+}
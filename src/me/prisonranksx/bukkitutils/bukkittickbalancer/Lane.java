@@ -0,0 +1,30 @@
+package me.prisonranksx.bukkitutils.bukkittickbalancer;
+
+/**
+ * Priority of workloads in a {@link RegularTask}. Lanes are served in a weighted
+ * round-robin, so a lane gets as many workloads computed per round as its weight
+ * allows while other lanes have workloads waiting.
+ */
+public enum Lane {
+
+	/**
+	 * Default lane.
+	 */
+	NORMAL(4),
+	/**
+	 * Bulk work nobody is waiting for, such as saving all users and maintenance
+	 * jobs.
+	 */
+	BACKGROUND(1);
+
+	private final int weight;
+
+	Lane(int weight) {
+		this.weight = weight;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+}
@@ -1,48 +1,242 @@
 package me.prisonranksx.bukkitutils.bukkittickbalancer;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
+/**
+ * Computes queued workloads for as long as the tick budget allows. Workloads are
+ * queued in {@link Lane}s that are served by weight, a lane that hasn't been
+ * served for {@link #STARVATION_TICKS} runs gets one workload computed before
+ * the others.
+ * <br>
+ * Workloads can be queued with a key, a workload with a key that already has a
+ * pending workload replaces it, and pending keyed workloads can be cancelled.
+ */
 public class RegularTask extends SplittableTask {
 
 	private static final double MAX_MILLIS_PER_TICK = 2.5;
+	private static final Lane[] LANES = Lane.values();
+
+	/**
+	 * Runs a lane can wait while it has workloads before it's served first
+	 */
+	public static final int STARVATION_TICKS = 20;
 
 	private int maxNanosPerTick = (int) (MAX_MILLIS_PER_TICK * 1E6);
 
-	final Deque<Workload> workloadDeque;
+	private TickBudget tickBudget;
+
+	final Queue<Workload>[] laneQueues;
+
+	private final Map<Object, KeyedWorkload> keyedWorkloads = new ConcurrentHashMap<>();
+
+	// Only accessed by the thread that runs the task
+	private final int[] lastServedRun = new int[LANES.length];
+	private int runCount;
+	private int executedInRun;
 
 	public RegularTask() {
-		workloadDeque = new ArrayDeque<>();
+		laneQueues = createLaneQueues();
 	}
 
 	public RegularTask(double maxMillisecondsPerTick) {
-		workloadDeque = new ArrayDeque<>();
+		laneQueues = createLaneQueues();
 		maxNanosPerTick = (int) (maxMillisecondsPerTick * 1E6);
 	}
 
+	@SuppressWarnings("unchecked")
+	private static Queue<Workload>[] createLaneQueues() {
+		Queue<Workload>[] queues = new Queue[LANES.length];
+		for (int i = 0; i < queues.length; i++) queues[i] = new ConcurrentLinkedQueue<>();
+		return queues;
+	}
+
 	public void addWorkload(Workload workload) {
-		this.workloadDeque.add(workload);
+		addWorkload(workload, Lane.NORMAL);
+	}
+
+	/**
+	 * Can be called from any thread.
+	 */
+	public void addWorkload(Workload workload, Lane lane) {
+		if (workload instanceof RunnableWorkload) ((RunnableWorkload) workload).queuedNanos = System.nanoTime();
+		this.laneQueues[lane.ordinal()].add(workload);
 	}
 
 	public void run(Runnable runnable) {
 		addWorkload(new RunnableWorkload(runnable));
 	}
 
+	public void run(Runnable runnable, Lane lane) {
+		addWorkload(new RunnableWorkload(runnable), lane);
+	}
+
+	/**
+	 * Queues a workload that supersedes the pending workload with the same key. The
+	 * superseded workload is dropped and the new one takes its place in the queue.
+	 * Can be called from any thread.
+	 *
+	 * @param key      key of the workload, e.g. unique id of a player
+	 * @param workload workload to queue
+	 * @param lane     lane to queue the workload in if there is no pending workload
+	 *                 with the key
+	 * @return false if a pending workload was superseded
+	 */
+	public boolean addWorkload(Object key, Workload workload, Lane lane) {
+		boolean[] added = new boolean[1];
+		keyedWorkloads.compute(key, (k, keyedWorkload) -> {
+			if (keyedWorkload != null) {
+				keyedWorkload.workload = workload;
+				return keyedWorkload;
+			}
+			keyedWorkload = new KeyedWorkload(k, workload);
+			keyedWorkload.queuedNanos = System.nanoTime();
+			laneQueues[lane.ordinal()].add(keyedWorkload);
+			added[0] = true;
+			return keyedWorkload;
+		});
+		return added[0];
+	}
+
+	/**
+	 * @see #addWorkload(Object, Workload, Lane)
+	 */
+	public boolean run(Object key, Runnable runnable, Lane lane) {
+		return addWorkload(key, new RunnableWorkload(runnable), lane);
+	}
+
+	/**
+	 * Cancels the pending workload with the key, a workload that is already being
+	 * computed isn't affected.
+	 *
+	 * @param key key the workload was queued with
+	 * @return whether a pending workload was cancelled
+	 */
+	public boolean cancelWorkload(Object key) {
+		return keyedWorkloads.remove(key) != null;
+	}
+
+	/**
+	 * @param key key the workload was queued with
+	 * @return whether there is a pending workload with the key
+	 */
+	public boolean hasWorkload(Object key) {
+		return keyedWorkloads.containsKey(key);
+	}
+
 	public void clearWorkloads() {
-		workloadDeque.clear();
+		for (Queue<Workload> queue : laneQueues) queue.clear();
+		keyedWorkloads.clear();
+	}
+
+	/**
+	 * @return amount of workloads waiting in the lane
+	 */
+	public int getQueuedWorkloads(Lane lane) {
+		return laneQueues[lane.ordinal()].size();
+	}
+
+	@Override
+	public int getQueueDepth() {
+		int depth = 0;
+		for (Queue<Workload> queue : laneQueues) depth += queue.size();
+		return depth;
+	}
+
+	/**
+	 * @param tickBudget budget to use instead of the fixed milliseconds per tick,
+	 *                   null to go back to the fixed one
+	 */
+	public void setTickBudget(TickBudget tickBudget) {
+		this.tickBudget = tickBudget;
+	}
+
+	public TickBudget getTickBudget() {
+		return tickBudget;
 	}
 
 	@Override
 	public void run() {
-		long stopTime = System.nanoTime() + maxNanosPerTick;
+		TickBudget budget = tickBudget;
+		long startTime = System.nanoTime();
+		long budgetNanos = budget == null ? maxNanosPerTick : budget.getNanos();
+		long stopTime = startTime + budgetNanos;
+		int run = ++runCount;
+		executedInRun = 0;
 
-		Workload nextLoad;
+		boolean cancelled = false;
+		// Starved lanes go first
+		for (int i = 0; i < LANES.length && !cancelled; i++) {
+			if (laneQueues[i].isEmpty()) {
+				lastServedRun[i] = run;
+			} else if (run - lastServedRun[i] >= STARVATION_TICKS) {
+				cancelled = !computeNext(i, run);
+			}
+		}
 
-		while (System.nanoTime() <= stopTime && (nextLoad = this.workloadDeque.poll()) != null) {
-			if (!nextLoad.compute()) {
-				clearWorkloads();
+		boolean computed = !cancelled;
+		while (computed && System.nanoTime() <= stopTime) {
+			computed = false;
+			for (int i = 0; i < LANES.length && !cancelled; i++) {
+				int weight = LANES[i].getWeight();
+				Queue<Workload> queue = laneQueues[i];
+				while (weight-- > 0 && !queue.isEmpty() && System.nanoTime() <= stopTime) {
+					if (!computeNext(i, run)) {
+						cancelled = true;
+						break;
+					}
+					computed = true;
+				}
 			}
 		}
+		metrics.recordRun(System.nanoTime() - startTime, executedInRun, budgetNanos, computed && hasWorkloads());
+	}
+
+	private boolean hasWorkloads() {
+		for (Queue<Workload> queue : laneQueues) if (!queue.isEmpty()) return true;
+		return false;
+	}
+
+	/**
+	 * @return false if the workload asked to cancel all workloads
+	 */
+	private boolean computeNext(int laneIndex, int run) {
+		Workload nextLoad = laneQueues[laneIndex].poll();
+		if (nextLoad == null) return true;
+		lastServedRun[laneIndex] = run;
+		executedInRun++;
+		if (nextLoad instanceof RunnableWorkload)
+			metrics.recordLatency(System.nanoTime() - ((RunnableWorkload) nextLoad).queuedNanos);
+		else if (nextLoad instanceof KeyedWorkload)
+			metrics.recordLatency(System.nanoTime() - ((KeyedWorkload) nextLoad).queuedNanos);
+		if (!nextLoad.compute()) {
+			clearWorkloads();
+			return false;
+		}
+		return true;
+	}
+
+	private class KeyedWorkload implements Workload {
+
+		private final Object key;
+		private volatile Workload workload;
+		private long queuedNanos;
+
+		KeyedWorkload(Object key, Workload workload) {
+			this.key = key;
+			this.workload = workload;
+		}
+
+		@Override
+		public boolean compute() {
+			// Not in the map anymore if it was cancelled, superseding happens in
+			// compute() of the same key so the latest workload is read after this
+			if (!keyedWorkloads.remove(key, this)) return true;
+			return workload.compute();
+		}
+
 	}
 
 }
@@ -6,6 +6,8 @@ package me.prisonranksx.bukkitutils.bukkittickbalancer;
 public class RunnableWorkload implements Workload {
 
 	private Runnable runnable;
+	// Set by RegularTask when queued, for latency metrics
+	long queuedNanos;
 
 	public RunnableWorkload(Runnable runnable) {
 		this.runnable = runnable;
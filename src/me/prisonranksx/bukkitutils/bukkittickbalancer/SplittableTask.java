@@ -1,19 +1,22 @@
 package me.prisonranksx.bukkitutils.bukkittickbalancer;
 
-import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 
+import me.prisonranksx.bukkitutils.scheduler.Schedulers;
+
 public abstract class SplittableTask implements Runnable {
 
 	BukkitTask bukkitTask = null;
 
+	final TaskMetrics metrics = new TaskMetrics();
+
 	public BukkitTask init() {
-		return bukkitTask = init(JavaPlugin.getProvidingPlugin(SplittableTask.class));
+		return bukkitTask = init(Schedulers.getProvidingPlugin(SplittableTask.class));
 	}
 
 	public BukkitTask initAsync() {
-		return bukkitTask = initAsync(JavaPlugin.getProvidingPlugin(SplittableTask.class));
+		return bukkitTask = initAsync(Schedulers.getProvidingPlugin(SplittableTask.class));
 	}
 
 	public BukkitTask init(JavaPlugin plugin) {
@@ -21,7 +24,7 @@ public abstract class SplittableTask implements Runnable {
 	}
 
 	public BukkitTask init(JavaPlugin plugin, int delay, int period) {
-		return bukkitTask = Bukkit.getServer().getScheduler().runTaskTimer(plugin, this, delay, period);
+		return bukkitTask = Schedulers.get().runTaskTimer(plugin, this, delay, period);
 	}
 
 	public BukkitTask initAsync(JavaPlugin plugin) {
@@ -29,11 +32,22 @@ public abstract class SplittableTask implements Runnable {
 	}
 
 	public BukkitTask initAsync(JavaPlugin plugin, int delay, int period) {
-		return bukkitTask = Bukkit.getServer().getScheduler().runTaskTimerAsynchronously(plugin, this, delay, period);
+		return bukkitTask = Schedulers.get().runTaskTimerAsynchronously(plugin, this, delay, period);
 	}
 
 	public BukkitTask getBukkitTask() {
 		return bukkitTask;
 	}
 
+	public TaskMetrics getMetrics() {
+		return metrics;
+	}
+
+	/**
+	 * @return amount of workloads or values waiting in the task
+	 */
+	public int getQueueDepth() {
+		return 0;
+	}
+
 }
@@ -0,0 +1,117 @@
+package me.prisonranksx.bukkitutils.bukkittickbalancer;
+
+/**
+ * Counters of a {@link SplittableTask}. Only the thread that runs the task writes
+ * to them and recording doesn't allocate, other threads read approximate values.
+ * <br>
+ * Latency is the time a workload waited before being computed for
+ * {@link RegularTask}, and the time a value stayed in the task until it met the
+ * escape condition for {@link ConcurrentTask} and {@link DistributedTask}. It's
+ * kept in power of two microsecond buckets, so percentiles are upper bounds.
+ */
+public class TaskMetrics {
+
+	private static final int LATENCY_BUCKETS = 40;
+
+	private long runs;
+	private long executed;
+	private long overruns;
+	private long saturatedRuns;
+	private long totalNanos;
+	private long maxNanos;
+	private int lastExecuted;
+	private long lastNanos;
+	private final long[] latencyBuckets = new long[LATENCY_BUCKETS];
+	private long latencySamples;
+
+	/**
+	 * @param nanos     time the run took
+	 * @param executed  amount of workloads or values computed in the run
+	 * @param budget    nanoseconds the run was allowed to use
+	 * @param saturated whether the run stopped with work left due to its budget
+	 */
+	void recordRun(long nanos, int executed, long budget, boolean saturated) {
+		runs++;
+		this.executed += executed;
+		totalNanos += nanos;
+		if (nanos > maxNanos) maxNanos = nanos;
+		if (nanos > budget) overruns++;
+		if (saturated) saturatedRuns++;
+		lastExecuted = executed;
+		lastNanos = nanos;
+	}
+
+	void recordLatency(long nanos) {
+		long micros = nanos / 1000;
+		int bucket = micros <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(micros);
+		latencyBuckets[Math.min(bucket, LATENCY_BUCKETS - 1)]++;
+		latencySamples++;
+	}
+
+	public long getRuns() {
+		return runs;
+	}
+
+	public long getExecuted() {
+		return executed;
+	}
+
+	/**
+	 * @return runs that took longer than their budget, usually due to a single slow
+	 * workload
+	 */
+	public long getOverruns() {
+		return overruns;
+	}
+
+	/**
+	 * @return runs that ran out of budget while work was still waiting
+	 */
+	public long getSaturatedRuns() {
+		return saturatedRuns;
+	}
+
+	public double getAverageExecutedPerRun() {
+		long currentRuns = runs;
+		return currentRuns == 0 ? 0 : (double) executed / currentRuns;
+	}
+
+	public double getAverageMillisPerRun() {
+		long currentRuns = runs;
+		return currentRuns == 0 ? 0 : totalNanos / 1E6 / currentRuns;
+	}
+
+	public double getMaxMillisPerRun() {
+		return maxNanos / 1E6;
+	}
+
+	public int getLastExecuted() {
+		return lastExecuted;
+	}
+
+	public double getLastMillis() {
+		return lastNanos / 1E6;
+	}
+
+	public long getLatencySamples() {
+		return latencySamples;
+	}
+
+	/**
+	 * @param percentile between 0 and 1, e.g. 0.99
+	 * @return upper bound of the latency in milliseconds that the given share of
+	 * samples didn't exceed, 0 if there are no samples
+	 */
+	public double getLatencyPercentile(double percentile) {
+		long samples = latencySamples;
+		if (samples == 0) return 0;
+		long threshold = (long) Math.ceil(samples * percentile);
+		long seen = 0;
+		for (int i = 0; i < LATENCY_BUCKETS; i++) {
+			seen += latencyBuckets[i];
+			if (seen >= threshold) return (1L << i) / 1000.0;
+		}
+		return (1L << (LATENCY_BUCKETS - 1)) / 1000.0;
+	}
+
+}
@@ -0,0 +1,94 @@
+package me.prisonranksx.bukkitutils.bukkittickbalancer;
+
+/**
+ * Time a task is allowed to use every tick, adjusted by {@link TickMonitor}
+ * according to the server's load. The budget is halved every tick the server is
+ * overloaded and grows back slowly while the server is idle, without leaving
+ * its bounds.
+ */
+public class TickBudget {
+
+	private static final int GROWTH_STEPS = 20;
+
+	private volatile long minNanos;
+	private volatile long maxNanos;
+	private volatile long nanos;
+	private volatile long initialNanos;
+
+	/**
+	 * @param minMillis     lowest budget the server load can push this budget to
+	 * @param maxMillis     highest budget this budget can grow to while idle
+	 * @param initialMillis starting budget
+	 */
+	public TickBudget(double minMillis, double maxMillis, double initialMillis) {
+		this.minNanos = toNanos(minMillis);
+		this.maxNanos = Math.max(minNanos, toNanos(maxMillis));
+		this.nanos = clamp(toNanos(initialMillis));
+		this.initialNanos = nanos;
+	}
+
+	/**
+	 * Changes bounds of the budget, non-positive values keep the current bounds.
+	 *
+	 * @param minMillis lowest budget
+	 * @param maxMillis highest budget
+	 */
+	public void setBounds(double minMillis, double maxMillis) {
+		if (minMillis <= 0 || maxMillis <= 0) return;
+		this.minNanos = toNanos(minMillis);
+		this.maxNanos = Math.max(minNanos, toNanos(maxMillis));
+		this.nanos = clamp(nanos);
+		this.initialNanos = clamp(initialNanos);
+	}
+
+	/**
+	 * @param overloaded whether the server is overloaded, the budget backs off
+	 * @param idle       whether the server is idle, the budget grows
+	 */
+	void update(boolean overloaded, boolean idle) {
+		if (overloaded)
+			nanos = Math.max(minNanos, nanos >> 1);
+		else if (idle)
+			nanos = Math.min(maxNanos, nanos + growthStep());
+	}
+
+	/**
+	 * Grows the budget back after backing off, but not past the starting budget.
+	 * Used when the server keeps up but its load is unknown.
+	 */
+	void recover() {
+		if (nanos < initialNanos) nanos = Math.min(initialNanos, nanos + growthStep());
+	}
+
+	private long growthStep() {
+		return Math.max(1, (maxNanos - minNanos) / GROWTH_STEPS);
+	}
+
+	/**
+	 * @return nanoseconds a task can use in the current tick
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	public double getMillis() {
+		return nanos / 1E6;
+	}
+
+	public double getMinMillis() {
+		return minNanos / 1E6;
+	}
+
+	public double getMaxMillis() {
+		return maxNanos / 1E6;
+	}
+
+	private long clamp(long value) {
+		return Math.max(minNanos, Math.min(maxNanos, value));
+	}
+
+	private static long toNanos(double millis) {
+		return (long) (millis * 1E6);
+	}
+
+}
@@ -0,0 +1,116 @@
+package me.prisonranksx.bukkitutils.bukkittickbalancer;
+
+import java.lang.reflect.Method;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+/**
+ * Runs every tick on the main thread to keep track of the server's MSPT and
+ * update tick budgets with it.
+ * <br>
+ * Uses Paper's average tick time when available, budgets back off at the
+ * overloaded MSPT and grow under the idle MSPT. On other servers the time
+ * between two ticks is used instead, which can't go below 50 ms, so it's judged
+ * against that baseline: budgets back off once ticks take longer than 50 ms plus
+ * the gap between both thresholds. Keeping up with 20 ticks per second doesn't
+ * tell how much of the tick is left, so budgets only grow back to their starting
+ * budget then.
+ */
+public class TickMonitor extends SplittableTask {
+
+	private static final Method AVERAGE_TICK_TIME = findAverageTickTime();
+	private static final double SMOOTHING = 0.1;
+	private static final double TICK_MILLIS = 50;
+	// Smoothed time between ticks that still counts as keeping up
+	private static final double KEEPING_UP_MILLIS = TICK_MILLIS + 1;
+
+	private final TickBudget[] budgets;
+	private long lastTickNanos;
+	private volatile double mspt = TICK_MILLIS;
+	private volatile double overloadedMspt = 45;
+	private volatile double idleMspt = 30;
+	private volatile long tick;
+
+	public TickMonitor(TickBudget... budgets) {
+		this.budgets = budgets;
+	}
+
+	@Override
+	public void run() {
+		long now = System.nanoTime();
+		tick++;
+		double averageTickTime = getAverageTickTime();
+		long lastTickNanos = this.lastTickNanos;
+		this.lastTickNanos = now;
+		if (averageTickTime >= 0) {
+			mspt = averageTickTime;
+			boolean overloaded = averageTickTime >= overloadedMspt;
+			boolean idle = averageTickTime <= idleMspt;
+			for (TickBudget budget : budgets) budget.update(overloaded, idle);
+			return;
+		}
+		if (lastTickNanos != 0) mspt += ((now - lastTickNanos) / 1E6 - mspt) * SMOOTHING;
+		double currentMspt = mspt;
+		if (currentMspt >= TICK_MILLIS + Math.max(overloadedMspt - idleMspt, 1)) {
+			for (TickBudget budget : budgets) budget.update(true, false);
+		} else if (currentMspt <= KEEPING_UP_MILLIS) {
+			// A 49 ms tick keeps up too, the actual headroom is unknown
+			for (TickBudget budget : budgets) budget.recover();
+		}
+	}
+
+	/**
+	 * Changes the thresholds, non-positive values, or an idle MSPT that isn't
+	 * below the overloaded MSPT, keep the current thresholds.
+	 *
+	 * @param overloadedMspt MSPT at which budgets start backing off
+	 * @param idleMspt       MSPT under which budgets grow
+	 */
+	public void setThresholds(double overloadedMspt, double idleMspt) {
+		if (overloadedMspt <= 0 || idleMspt <= 0 || idleMspt >= overloadedMspt) return;
+		this.overloadedMspt = overloadedMspt;
+		this.idleMspt = idleMspt;
+	}
+
+	public double getOverloadedMspt() {
+		return overloadedMspt;
+	}
+
+	public double getIdleMspt() {
+		return idleMspt;
+	}
+
+	/**
+	 * @return smoothed milliseconds per tick of the server
+	 */
+	public double getMspt() {
+		return mspt;
+	}
+
+	/**
+	 * @return number of ticks the monitor ran in, can be compared to tell whether
+	 *         two calls happened in the same tick
+	 */
+	public long getTick() {
+		return tick;
+	}
+
+	private static double getAverageTickTime() {
+		if (AVERAGE_TICK_TIME == null) return -1;
+		try {
+			return (double) AVERAGE_TICK_TIME.invoke(Bukkit.getServer());
+		} catch (ReflectiveOperationException | ClassCastException ex) {
+			return -1;
+		}
+	}
+
+	private static Method findAverageTickTime() {
+		try {
+			return Server.class.getMethod("getAverageTickTime");
+		} catch (NoSuchMethodException ex) {
+			return null;
+		}
+	}
+
+}
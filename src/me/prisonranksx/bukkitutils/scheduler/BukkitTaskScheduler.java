@@ -0,0 +1,42 @@
+package me.prisonranksx.bukkitutils.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Runs tasks with the server's scheduler.
+ */
+public class BukkitTaskScheduler implements TaskScheduler {
+
+	@Override
+	public BukkitTask runTask(Plugin plugin, Runnable task) {
+		return Bukkit.getScheduler().runTask(plugin, task);
+	}
+
+	@Override
+	public BukkitTask runTaskAsynchronously(Plugin plugin, Runnable task) {
+		return Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+	}
+
+	@Override
+	public BukkitTask runTaskLater(Plugin plugin, Runnable task, long delay) {
+		return Bukkit.getScheduler().runTaskLater(plugin, task, delay);
+	}
+
+	@Override
+	public BukkitTask runTaskLaterAsynchronously(Plugin plugin, Runnable task, long delay) {
+		return Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, task, delay);
+	}
+
+	@Override
+	public BukkitTask runTaskTimer(Plugin plugin, Runnable task, long delay, long period) {
+		return Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period);
+	}
+
+	@Override
+	public BukkitTask runTaskTimerAsynchronously(Plugin plugin, Runnable task, long delay, long period) {
+		return Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delay, period);
+	}
+
+}
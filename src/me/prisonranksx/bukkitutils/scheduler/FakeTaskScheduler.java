@@ -0,0 +1,182 @@
+package me.prisonranksx.bukkitutils.scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Runs tasks on a virtual tick clock that only moves when {@link #tick()} is
+ * called, so tasks can be run without a server, e.g. in tests and load tests.
+ * <br>
+ * Sync and async tasks both run on the thread that calls {@link #tick()}, in the
+ * order of the tick they are due and then the order they were scheduled in, which
+ * makes runs reproducible. Like Bukkit, a delay below 1 runs the task in the next
+ * tick and a period below 1 repeats it every tick.
+ */
+public class FakeTaskScheduler implements TaskScheduler {
+
+	private final PriorityQueue<FakeTask> queue = new PriorityQueue<>((first, second) -> {
+		int compare = Long.compare(first.nextRunTick, second.nextRunTick);
+		return compare != 0 ? compare : Integer.compare(first.taskId, second.taskId);
+	});
+	private long currentTick;
+	private int lastTaskId;
+
+	@Override
+	public BukkitTask runTask(Plugin plugin, Runnable task) {
+		return schedule(plugin, task, true, 0, -1);
+	}
+
+	@Override
+	public BukkitTask runTaskAsynchronously(Plugin plugin, Runnable task) {
+		return schedule(plugin, task, false, 0, -1);
+	}
+
+	@Override
+	public BukkitTask runTaskLater(Plugin plugin, Runnable task, long delay) {
+		return schedule(plugin, task, true, delay, -1);
+	}
+
+	@Override
+	public BukkitTask runTaskLaterAsynchronously(Plugin plugin, Runnable task, long delay) {
+		return schedule(plugin, task, false, delay, -1);
+	}
+
+	@Override
+	public BukkitTask runTaskTimer(Plugin plugin, Runnable task, long delay, long period) {
+		return schedule(plugin, task, true, delay, Math.max(period, 1));
+	}
+
+	@Override
+	public BukkitTask runTaskTimerAsynchronously(Plugin plugin, Runnable task, long delay, long period) {
+		return schedule(plugin, task, false, delay, Math.max(period, 1));
+	}
+
+	/**
+	 * Everything is owned by the thread that ticks.
+	 */
+	@Override
+	public boolean isOwnedByCurrentThread(Entity entity) {
+		return true;
+	}
+
+	private synchronized FakeTask schedule(Plugin plugin, Runnable task, boolean sync, long delay, long period) {
+		FakeTask fakeTask = new FakeTask(++lastTaskId, plugin, task, sync, period);
+		fakeTask.nextRunTick = currentTick + Math.max(delay, 1);
+		queue.add(fakeTask);
+		return fakeTask;
+	}
+
+	/**
+	 * Moves the clock one tick forward and runs the tasks that are due, including
+	 * ones scheduled for this tick by the tasks themselves.
+	 */
+	public void tick() {
+		long tick;
+		synchronized (this) {
+			tick = ++currentTick;
+		}
+		FakeTask task;
+		while ((task = pollDue(tick)) != null) {
+			task.runnable.run();
+			if (task.period > 0) reschedule(task);
+		}
+	}
+
+	/**
+	 * @param ticks amount of ticks to move the clock forward by
+	 */
+	public void tick(long ticks) {
+		for (long i = 0; i < ticks; i++) tick();
+	}
+
+	private synchronized FakeTask pollDue(long tick) {
+		while (!queue.isEmpty() && queue.peek().nextRunTick <= tick) {
+			FakeTask task = queue.poll();
+			if (!task.cancelled) return task;
+		}
+		return null;
+	}
+
+	private synchronized void reschedule(FakeTask task) {
+		if (task.cancelled) return;
+		task.nextRunTick += task.period;
+		queue.add(task);
+	}
+
+	public synchronized long getCurrentTick() {
+		return currentTick;
+	}
+
+	/**
+	 * @return tasks that are waiting to run, in the order they will run
+	 */
+	public synchronized List<BukkitTask> getPendingTasks() {
+		List<FakeTask> pendingTasks = new ArrayList<>(queue);
+		pendingTasks.removeIf(task -> task.cancelled);
+		pendingTasks.sort(queue.comparator());
+		return new ArrayList<>(pendingTasks);
+	}
+
+	/**
+	 * Cancels all tasks and moves the clock back to 0.
+	 */
+	public synchronized void reset() {
+		queue.forEach(task -> task.cancelled = true);
+		queue.clear();
+		currentTick = 0;
+	}
+
+	private class FakeTask implements BukkitTask {
+
+		private final int taskId;
+		private final Plugin owner;
+		private final Runnable runnable;
+		private final boolean sync;
+		private final long period;
+		private long nextRunTick;
+		private volatile boolean cancelled;
+
+		FakeTask(int taskId, Plugin owner, Runnable runnable, boolean sync, long period) {
+			this.taskId = taskId;
+			this.owner = owner;
+			this.runnable = runnable;
+			this.sync = sync;
+			this.period = period;
+		}
+
+		@Override
+		public int getTaskId() {
+			return taskId;
+		}
+
+		@Override
+		public Plugin getOwner() {
+			return owner;
+		}
+
+		@Override
+		public boolean isSync() {
+			return sync;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled;
+		}
+
+		@Override
+		public void cancel() {
+			synchronized (FakeTaskScheduler.this) {
+				cancelled = true;
+				queue.remove(this);
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,233 @@
+package me.prisonranksx.bukkitutils.scheduler;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Runs tasks with the schedulers of region threaded servers (Folia and its
+ * forks). Global tasks run on the global region, entity and location tasks on
+ * the region that owns them, and async tasks on the async scheduler.
+ * <br>
+ * The schedulers are looked up reflectively, so the plugin can still be compiled
+ * against and run on servers without them.
+ */
+public class FoliaTaskScheduler implements TaskScheduler {
+
+	private static final String SCHEDULER_PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+	private static final long MILLIS_PER_TICK = 50;
+
+	private final Object globalScheduler;
+	private final Object asyncScheduler;
+	private final Object regionScheduler;
+	private final Method globalRun;
+	private final Method globalRunDelayed;
+	private final Method globalRunAtFixedRate;
+	private final Method asyncRunNow;
+	private final Method asyncRunDelayed;
+	private final Method asyncRunAtFixedRate;
+	private final Method regionRun;
+	private final Method regionRunDelayed;
+	private final Method entityGetScheduler;
+	private final Method entityRun;
+	private final Method entityRunDelayed;
+	private final Method isOwnedByCurrentRegion;
+	private final Method taskCancel;
+	private final Method taskIsCancelled;
+	private final AtomicInteger lastTaskId = new AtomicInteger();
+
+	private FoliaTaskScheduler() throws ReflectiveOperationException {
+		Class<?> globalClass = Class.forName(SCHEDULER_PACKAGE + "GlobalRegionScheduler");
+		Class<?> asyncClass = Class.forName(SCHEDULER_PACKAGE + "AsyncScheduler");
+		Class<?> regionClass = Class.forName(SCHEDULER_PACKAGE + "RegionScheduler");
+		Class<?> entityClass = Class.forName(SCHEDULER_PACKAGE + "EntityScheduler");
+		Class<?> taskClass = Class.forName(SCHEDULER_PACKAGE + "ScheduledTask");
+		globalScheduler = Bukkit.class.getMethod("getGlobalRegionScheduler").invoke(null);
+		asyncScheduler = Bukkit.class.getMethod("getAsyncScheduler").invoke(null);
+		regionScheduler = Bukkit.class.getMethod("getRegionScheduler").invoke(null);
+		globalRun = globalClass.getMethod("run", Plugin.class, Consumer.class);
+		globalRunDelayed = globalClass.getMethod("runDelayed", Plugin.class, Consumer.class, long.class);
+		globalRunAtFixedRate = globalClass.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class,
+				long.class);
+		asyncRunNow = asyncClass.getMethod("runNow", Plugin.class, Consumer.class);
+		asyncRunDelayed = asyncClass.getMethod("runDelayed", Plugin.class, Consumer.class, long.class,
+				TimeUnit.class);
+		asyncRunAtFixedRate = asyncClass.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class,
+				long.class, TimeUnit.class);
+		regionRun = regionClass.getMethod("run", Plugin.class, Location.class, Consumer.class);
+		regionRunDelayed = regionClass.getMethod("runDelayed", Plugin.class, Location.class, Consumer.class,
+				long.class);
+		entityGetScheduler = Entity.class.getMethod("getScheduler");
+		entityRun = entityClass.getMethod("run", Plugin.class, Consumer.class, Runnable.class);
+		entityRunDelayed = entityClass.getMethod("runDelayed", Plugin.class, Consumer.class, Runnable.class,
+				long.class);
+		isOwnedByCurrentRegion = Bukkit.class.getMethod("isOwnedByCurrentRegion", Entity.class);
+		taskCancel = taskClass.getMethod("cancel");
+		taskIsCancelled = taskClass.getMethod("isCancelled");
+	}
+
+	/**
+	 * @return scheduler of the running region threaded server, or null if the server
+	 *         isn't region threaded
+	 */
+	public static FoliaTaskScheduler createIfSupported() {
+		try {
+			Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+		} catch (ClassNotFoundException ex) {
+			return null;
+		}
+		try {
+			return new FoliaTaskScheduler();
+		} catch (ReflectiveOperationException ex) {
+			return null;
+		}
+	}
+
+	@Override
+	public BukkitTask runTask(Plugin plugin, Runnable task) {
+		return wrap(plugin, true, invoke(globalRun, globalScheduler, plugin, consumer(task)));
+	}
+
+	@Override
+	public BukkitTask runTaskAsynchronously(Plugin plugin, Runnable task) {
+		return wrap(plugin, false, invoke(asyncRunNow, asyncScheduler, plugin, consumer(task)));
+	}
+
+	@Override
+	public BukkitTask runTaskLater(Plugin plugin, Runnable task, long delay) {
+		if (delay < 1) return runTask(plugin, task);
+		return wrap(plugin, true, invoke(globalRunDelayed, globalScheduler, plugin, consumer(task), delay));
+	}
+
+	@Override
+	public BukkitTask runTaskLaterAsynchronously(Plugin plugin, Runnable task, long delay) {
+		if (delay < 1) return runTaskAsynchronously(plugin, task);
+		return wrap(plugin, false, invoke(asyncRunDelayed, asyncScheduler, plugin, consumer(task),
+				delay * MILLIS_PER_TICK, TimeUnit.MILLISECONDS));
+	}
+
+	@Override
+	public BukkitTask runTaskTimer(Plugin plugin, Runnable task, long delay, long period) {
+		return wrap(plugin, true, invoke(globalRunAtFixedRate, globalScheduler, plugin, consumer(task),
+				Math.max(delay, 1), Math.max(period, 1)));
+	}
+
+	@Override
+	public BukkitTask runTaskTimerAsynchronously(Plugin plugin, Runnable task, long delay, long period) {
+		return wrap(plugin, false, invoke(asyncRunAtFixedRate, asyncScheduler, plugin, consumer(task),
+				Math.max(delay, 0) * MILLIS_PER_TICK, Math.max(period, 1) * MILLIS_PER_TICK, TimeUnit.MILLISECONDS));
+	}
+
+	@Override
+	public BukkitTask runTask(Plugin plugin, Entity entity, Runnable task) {
+		return wrap(plugin, true, invoke(entityRun, invoke(entityGetScheduler, entity), plugin, consumer(task), null));
+	}
+
+	@Override
+	public BukkitTask runTaskLater(Plugin plugin, Entity entity, Runnable task, long delay) {
+		if (delay < 1) return runTask(plugin, entity, task);
+		return wrap(plugin, true,
+				invoke(entityRunDelayed, invoke(entityGetScheduler, entity), plugin, consumer(task), null, delay));
+	}
+
+	@Override
+	public BukkitTask runTaskLater(Plugin plugin, Entity entity, Runnable task, Runnable retired, long delay) {
+		Object scheduledTask = invoke(entityRunDelayed, invoke(entityGetScheduler, entity), plugin, consumer(task),
+				retired, Math.max(delay, 1));
+		// Null if the entity was already removed
+		return scheduledTask == null ? runTask(plugin, retired) : wrap(plugin, true, scheduledTask);
+	}
+
+	@Override
+	public BukkitTask runTask(Plugin plugin, Location location, Runnable task) {
+		return wrap(plugin, true, invoke(regionRun, regionScheduler, plugin, location, consumer(task)));
+	}
+
+	@Override
+	public BukkitTask runTaskLater(Plugin plugin, Location location, Runnable task, long delay) {
+		if (delay < 1) return runTask(plugin, location, task);
+		return wrap(plugin, true,
+				invoke(regionRunDelayed, regionScheduler, plugin, location, consumer(task), delay));
+	}
+
+	@Override
+	public boolean isOwnedByCurrentThread(Entity entity) {
+		return (boolean) invoke(isOwnedByCurrentRegion, null, entity);
+	}
+
+	@Override
+	public boolean isRegionThreaded() {
+		return true;
+	}
+
+	private static Consumer<Object> consumer(Runnable task) {
+		return scheduledTask -> task.run();
+	}
+
+	private static Object invoke(Method method, Object target, Object... args) {
+		try {
+			return method.invoke(target, args);
+		} catch (InvocationTargetException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+			throw new IllegalStateException(cause);
+		} catch (IllegalAccessException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private BukkitTask wrap(Plugin plugin, boolean sync, Object scheduledTask) {
+		return new FoliaTask(lastTaskId.incrementAndGet(), plugin, sync, scheduledTask);
+	}
+
+	private class FoliaTask implements BukkitTask {
+
+		private final int taskId;
+		private final Plugin owner;
+		private final boolean sync;
+		// Null if the entity of the task was already removed
+		private final Object scheduledTask;
+
+		FoliaTask(int taskId, Plugin owner, boolean sync, Object scheduledTask) {
+			this.taskId = taskId;
+			this.owner = owner;
+			this.sync = sync;
+			this.scheduledTask = scheduledTask;
+		}
+
+		@Override
+		public int getTaskId() {
+			return taskId;
+		}
+
+		@Override
+		public Plugin getOwner() {
+			return owner;
+		}
+
+		@Override
+		public boolean isSync() {
+			return sync;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return scheduledTask == null || (boolean) invoke(taskIsCancelled, scheduledTask);
+		}
+
+		@Override
+		public void cancel() {
+			if (scheduledTask != null) invoke(taskCancel, scheduledTask);
+		}
+
+	}
+
+}
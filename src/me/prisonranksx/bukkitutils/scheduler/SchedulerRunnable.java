@@ -0,0 +1,101 @@
+package me.prisonranksx.bukkitutils.scheduler;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Replacement of {@link org.bukkit.scheduler.BukkitRunnable} that schedules
+ * itself through {@link Schedulers#get()}, so it also works on region threaded
+ * servers and with a {@link FakeTaskScheduler}. Can be cancelled from
+ * {@link #run()}, including its first run.
+ */
+public abstract class SchedulerRunnable implements Runnable {
+
+	private volatile BukkitTask task;
+	private volatile boolean cancelled;
+	// Only set for timers bound to an entity, they reschedule themselves
+	private Plugin plugin;
+	private Entity entity;
+	private long period;
+
+	public BukkitTask runTaskTimer(Plugin plugin, long delay, long period) {
+		return setTask(Schedulers.get().runTaskTimer(plugin, this, delay, period));
+	}
+
+	public BukkitTask runTaskTimerAsynchronously(Plugin plugin, long delay, long period) {
+		return setTask(Schedulers.get().runTaskTimerAsynchronously(plugin, this, delay, period));
+	}
+
+	/**
+	 * Runs the task repeatedly on the thread that owns the entity. It stops once
+	 * the entity is removed, e.g. a player that left.
+	 *
+	 * @return task that cancels every following run, not only the first one
+	 */
+	public BukkitTask runTaskTimer(Plugin plugin, Entity entity, long delay, long period) {
+		this.plugin = plugin;
+		this.entity = entity;
+		this.period = Math.max(period, 1);
+		return new EntityTimerTask(setTask(Schedulers.get().runTaskLater(plugin, entity, this::runEntityTimer, delay)));
+	}
+
+	private void runEntityTimer() {
+		if (cancelled) return;
+		run();
+		if (!cancelled) setTask(Schedulers.get().runTaskLater(plugin, entity, this::runEntityTimer, period));
+	}
+
+	private BukkitTask setTask(BukkitTask task) {
+		this.task = task;
+		// Cancelled before the task was known
+		if (cancelled && task != null) task.cancel();
+		return task;
+	}
+
+	public void cancel() {
+		cancelled = true;
+		BukkitTask task = this.task;
+		if (task != null) task.cancel();
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	private class EntityTimerTask implements BukkitTask {
+
+		private final BukkitTask firstTask;
+
+		EntityTimerTask(BukkitTask firstTask) {
+			this.firstTask = firstTask;
+		}
+
+		@Override
+		public int getTaskId() {
+			return firstTask.getTaskId();
+		}
+
+		@Override
+		public Plugin getOwner() {
+			return plugin;
+		}
+
+		@Override
+		public boolean isSync() {
+			return true;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return cancelled || task.isCancelled();
+		}
+
+		@Override
+		public void cancel() {
+			SchedulerRunnable.this.cancel();
+		}
+
+	}
+
+}
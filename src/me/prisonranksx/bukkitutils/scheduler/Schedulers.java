@@ -0,0 +1,48 @@
+package me.prisonranksx.bukkitutils.scheduler;
+
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * Holds the scheduler every task of the plugin is run with. It's the server's
+ * scheduler, or the region schedulers on region threaded servers, unless
+ * replaced, e.g. by a {@link FakeTaskScheduler} in tests and benchmarks.
+ */
+public class Schedulers {
+
+	private static volatile TaskScheduler scheduler = createServerScheduler();
+
+	private static TaskScheduler createServerScheduler() {
+		FoliaTaskScheduler foliaScheduler = FoliaTaskScheduler.createIfSupported();
+		return foliaScheduler != null ? foliaScheduler : new BukkitTaskScheduler();
+	}
+
+	public static TaskScheduler get() {
+		return scheduler;
+	}
+
+	/**
+	 * Has to be called before the tasks that should use the scheduler are
+	 * scheduled, including the static tasks of
+	 * {@link me.prisonranksx.bukkitutils.bukkittickbalancer.BukkitTickBalancer}.
+	 *
+	 * @param scheduler scheduler to run tasks with from now on
+	 */
+	public static void set(TaskScheduler scheduler) {
+		Schedulers.scheduler = scheduler;
+	}
+
+	/**
+	 * @param clazz class to find the plugin of
+	 * @return plugin that loaded the class, or null if the class wasn't loaded by a
+	 *         plugin while a scheduler other than the server's is used
+	 */
+	public static JavaPlugin getProvidingPlugin(Class<?> clazz) {
+		try {
+			return JavaPlugin.getProvidingPlugin(clazz);
+		} catch (IllegalArgumentException | IllegalStateException ex) {
+			if (scheduler instanceof BukkitTaskScheduler || scheduler instanceof FoliaTaskScheduler) throw ex;
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package me.prisonranksx.bukkitutils.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * The part of the Bukkit scheduler the plugin uses, so tasks can be run by
+ * something other than a server.
+ * <br>
+ * Tasks bound to an entity or a location run on the thread that owns them on
+ * region threaded servers, on other servers they are the same as global tasks.
+ *
+ * @see BukkitTaskScheduler
+ * @see FoliaTaskScheduler
+ * @see FakeTaskScheduler
+ * @see Schedulers#get()
+ */
+public interface TaskScheduler {
+
+	BukkitTask runTask(Plugin plugin, Runnable task);
+
+	BukkitTask runTaskAsynchronously(Plugin plugin, Runnable task);
+
+	BukkitTask runTaskLater(Plugin plugin, Runnable task, long delay);
+
+	BukkitTask runTaskLaterAsynchronously(Plugin plugin, Runnable task, long delay);
+
+	BukkitTask runTaskTimer(Plugin plugin, Runnable task, long delay, long period);
+
+	BukkitTask runTaskTimerAsynchronously(Plugin plugin, Runnable task, long delay, long period);
+
+	/**
+	 * Runs the task on the thread that owns the entity. The task doesn't run if the
+	 * entity is removed before, e.g. a player that left.
+	 */
+	default BukkitTask runTask(Plugin plugin, Entity entity, Runnable task) {
+		return runTask(plugin, task);
+	}
+
+	default BukkitTask runTaskLater(Plugin plugin, Entity entity, Runnable task, long delay) {
+		return runTaskLater(plugin, task, delay);
+	}
+
+	/**
+	 * Same as {@link #runTaskLater(Plugin, Entity, Runnable, long)}, but runs
+	 * {@code retired} instead of the task if the entity is removed before it runs.
+	 * Only region threaded servers retire tasks, the task always runs otherwise.
+	 */
+	default BukkitTask runTaskLater(Plugin plugin, Entity entity, Runnable task, Runnable retired, long delay) {
+		return runTaskLater(plugin, entity, task, delay);
+	}
+
+	/**
+	 * Runs the task on the thread that owns the location.
+	 */
+	default BukkitTask runTask(Plugin plugin, Location location, Runnable task) {
+		return runTask(plugin, task);
+	}
+
+	default BukkitTask runTaskLater(Plugin plugin, Location location, Runnable task, long delay) {
+		return runTaskLater(plugin, task, delay);
+	}
+
+	/**
+	 * @return whether the current thread can modify the entity
+	 */
+	default boolean isOwnedByCurrentThread(Entity entity) {
+		return Bukkit.isPrimaryThread();
+	}
+
+	/**
+	 * @return whether entities and locations are owned by different threads, so
+	 *         global tasks can't modify them
+	 */
+	default boolean isRegionThreaded() {
+		return false;
+	}
+
+}
@@ -16,6 +16,7 @@ import me.prisonranksx.holders.Rebirth;
 import me.prisonranksx.managers.ConfigManager;
 import me.prisonranksx.managers.MySQLManager;
 import me.prisonranksx.managers.StringManager;
+import me.prisonranksx.managers.TaskMetricsManager;
 import me.prisonranksx.reflections.UniqueId;
 import me.prisonranksx.settings.Messages;
 import me.prisonranksx.utils.InitHashMaps;
@@ -52,7 +53,7 @@ public class PRXCommand extends PluginCommand {
 							"&7/prx &cresetrank &f<player>", "&7/prx &ccreaterank &f<name> <cost> [display] [-path:<name>]",
 							"&7/prx &cdelrank &f<name> [path]", "&7/prx &cmoverankpath &f<rank> <frompath> <topath>",
 							"&7/prx &csetrankdisplay &f<rank> <display> [-path:<name>]", "&7/prx &csetrankcost &f<rank> <cost> [path]",
-							"&7/prx &cforcerankup &f<player>", "&7Page: &8(&c1&8/&c3&8)",
+							"&7/prx &cforcerankup &f<player>", "&7/prx &ctasks", "&7Page: &8(&c1&8/&c3&8)",
 							"&7&m+------------------------------------------+"), 2,
 					Lists.newArrayList("&3[&bPrisonRanks&cX&3] &7<> = required, [] = optional",
 							"&7&m+------------------------------------------+", "&7/prx &csetprestige &f<player> <prestige>",
@@ -112,6 +113,7 @@ public class PRXCommand extends PluginCommand {
 
 		RELOAD("reload", "rl"),
 		SAVE("save", "savedata", "sv"),
+		TASKS("tasks", "taskmetrics"),
 
 		FORCE_RANKUP("forcerankup", "fru", "forceru"),
 		FORCE_PRESTIGE("forceprestige", "fp", "forcepres"),
@@ -408,6 +410,9 @@ public class PRXCommand extends PluginCommand {
 						plugin.getAdminExecutor().save();
 						Messages.sendMessage(sender, Messages.getSave());
 						return true;
+					case TASKS:
+						TaskMetricsManager.createReport().forEach(line -> sendMsg(sender, "&7" + line));
+						return true;
 					case SET_RANK:
 						sendMsg(sender, "&4Syntax: &7/prx &csetrank &f<player> <rank> [path]");
 						sendMsg(sender, "&41. Example: &7/prx &csetrank &fNotch A");
@@ -486,7 +491,7 @@ public class PRXCommand extends PluginCommand {
 						concurrentTask = BukkitTickBalancer.scheduleConcurrentTask(i -> sender.sendMessage("Int: " + i),
 								(i -> {
 									if (i == 9999) {
-										concurrentTask.setAddedValues(0);
+										concurrentTask.clearValues();
 										concurrentTask.getBukkitTask().cancel();
 									}
 									return i == 84932;
@@ -93,9 +93,26 @@ public class CommandsComponent extends Component {
 	 *                 made for string replacements
 	 */
 	public void dispatchCommands(Player player, Function<String, String> function) {
+		dispatchConsoleCommands(player, function);
+		dispatchPlayerCommands(player, function);
+	}
+
+	/**
+	 * Same as {@link #dispatchCommands(Player, Function)} for console commands
+	 * only.
+	 */
+	public void dispatchConsoleCommands(Player player, Function<String, String> function) {
 		if (consoleCommands != null) consoleCommands.forEach(commandLine -> Bukkit.dispatchCommand(CONSOLE,
 				StringManager.parsePlaceholders(function.apply(commandLine), player)
 						.replace("%player%", player.getName())));
+	}
+
+	/**
+	 * Same as {@link #dispatchCommands(Player, Function)} for player commands only,
+	 * which have to be dispatched on the player's thread on region threaded
+	 * servers.
+	 */
+	public void dispatchPlayerCommands(Player player, Function<String, String> function) {
 		if (playerCommands != null) playerCommands.forEach(commandLine -> Bukkit.dispatchCommand(player,
 				function.apply(commandLine).replace("%player%", player.getName())));
 	}
@@ -1,26 +1,59 @@
 package me.prisonranksx.components;
 
 import me.prisonranksx.PrisonRanksX;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.BukkitTickBalancer;
+import me.prisonranksx.managers.MessageTemplate;
 import me.prisonranksx.managers.StringManager;
+import me.prisonranksx.reflections.UniqueId;
 import me.prisonranksx.utils.NumParser;
 import me.prisonranksx.utils.Scrif;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 public class RequirementsComponent extends Component {
 
+    // Evaluations between two reorderings of the requirements
+    private static final int REORDER_INTERVAL = 64;
+    // Tests after which the statistics of a requirement are halved, so the order
+    // follows the players' progress
+    private static final int MAX_TESTS = 1024;
+    // Counts level and balance changes of players made through the plugin
+    private static final AtomicLong CHANGES = new AtomicLong();
+    // Last change of each player, evaluations made before it aren't reused
+    private static final Map<UUID, Long> PLAYER_CHANGES = new ConcurrentHashMap<>();
+    // Changes before this were made before any tick whose evaluations are still
+    // kept, so they're pruned when the next tick starts
+    private static long tickStartChanges;
+    private static volatile long lastPrunedTick;
+
     private final Map<String, Double> greaterThanRequirements;
     private final Map<String, Double> lessThanRequirements;
     private final Map<String, String> equalRequirements;
     private final Map<String, String> notEqualRequirements;
     private final Map<Scrif, List<String>> scriptRequirements;
+    // Distinct placeholders of all requirements, resolved at most once per evaluation
+    private final String[] placeholders;
+    // Average nanoseconds it took to resolve each placeholder
+    private final long[] placeholderNanos;
+    // Cheapest and most likely to fail first
+    private volatile Requirement[] requirements;
+    // Not atomic on purpose, a lost increment only delays the next reordering
+    private int evaluations;
+    private volatile EvaluationMemo memo;
     private List<String> keys, values;
 
     public RequirementsComponent(Map<String, Double> greaterThanRequirements, Map<String, Double> lessThanRequirements,
@@ -31,6 +64,40 @@ public class RequirementsComponent extends Component {
         this.equalRequirements = equalRequirements;
         this.notEqualRequirements = notEqualRequirements;
         this.scriptRequirements = scriptRequirements;
+        Set<String> placeholders = new LinkedHashSet<>();
+        if (scriptRequirements != null) scriptRequirements.values().forEach(placeholders::addAll);
+        for (Map<String, ?> requirements : Arrays.asList(greaterThanRequirements, lessThanRequirements,
+                equalRequirements, notEqualRequirements)) {
+            if (requirements == null) continue;
+            requirements.keySet().forEach(key -> placeholders.addAll(grabPlaceholdersFromString(key)));
+        }
+        this.placeholders = placeholders.toArray(new String[0]);
+        this.placeholderNanos = new long[this.placeholders.length];
+        List<Requirement> requirements = new ArrayList<>();
+        if (scriptRequirements != null) scriptRequirements.forEach((script, scriptPlaceholders) -> requirements
+                .add(new ScriptRequirement(script, indexesOf(scriptPlaceholders))));
+        if (greaterThanRequirements != null) greaterThanRequirements.entrySet().forEach(requirement -> requirements
+                .add(new NumberRequirement(requirement, indexesOf(requirement.getKey()), true)));
+        if (lessThanRequirements != null) lessThanRequirements.entrySet().forEach(requirement -> requirements
+                .add(new NumberRequirement(requirement, indexesOf(requirement.getKey()), false)));
+        if (equalRequirements != null) equalRequirements.entrySet().forEach(requirement -> requirements
+                .add(new StringRequirement(requirement, indexesOf(requirement.getKey()), true)));
+        if (notEqualRequirements != null) notEqualRequirements.entrySet().forEach(requirement -> requirements
+                .add(new StringRequirement(requirement, indexesOf(requirement.getKey()), false)));
+        this.requirements = requirements.toArray(new Requirement[0]);
+    }
+
+    private int[] indexesOf(String key) {
+        return indexesOf(grabPlaceholdersFromString(key));
+    }
+
+    private int[] indexesOf(List<String> requirementPlaceholders) {
+        List<String> allPlaceholders = Arrays.asList(placeholders);
+        return requirementPlaceholders.stream()
+                .mapToInt(allPlaceholders::indexOf)
+                .filter(index -> index != -1)
+                .distinct()
+                .toArray();
     }
 
     public enum RequirementEvaluationResult {
@@ -75,7 +142,7 @@ public class RequirementsComponent extends Component {
      * from string
      * {@code "%player_name% has a cool name, and his health is %player_health%."}
      */
-    private static List<String> grabPlaceholdersFromString(String stringWithPlaceholders) {
+    public static List<String> grabPlaceholdersFromString(String stringWithPlaceholders) {
         List<String> grabbedPlaceholders = new ArrayList<>();
         StringBuilder placeholderBuilder = new StringBuilder();
         boolean startGrabbing = false;
@@ -268,52 +335,161 @@ public class RequirementsComponent extends Component {
      * requirements or the placeholders due to their redundancy.
      */
     public RequirementEvaluationResult evaluateRequirements(Player player) {
-        boolean result;
-        Entry<String, ?> lastTest = null;
-        if (scriptRequirements != null) {
-            for (Scrif script : scriptRequirements.keySet()) {
-                Entry<String, String> scriptResult = script
-                        .applyThenEvaluateOrGet((scriptLine) -> StringManager.parsePlaceholders(scriptLine, player));
-                lastTest = scriptResult;
-                if (scriptResult != null)
-                    return RequirementEvaluationResult.SCRIPT_FAIL.setFailedPlaceholder(scriptResult);
-            }
+        Evaluation evaluation = evaluateOncePerTick(player);
+        return evaluation.result.setFailedPlaceholder(evaluation.lastTest);
+    }
+
+    /**
+     * Same as {@link #evaluateRequirements(Player)}, with placeholder values that
+     * can be shared with other checks of the same requirements.
+     *
+     * @param placeholderValues values of the placeholders from
+     *                          {@link #resolvePlaceholders(Player)}
+     */
+    public RequirementEvaluationResult evaluateRequirements(PlaceholderValues placeholderValues) {
+        Entry<String, ?>[] lastTest = newEntryHolder();
+        return evaluate(placeholderValues, lastTest).setFailedPlaceholder(lastTest[0]);
+    }
+
+    /**
+     * @param player to resolve the placeholders of the requirements for
+     * @return values of the placeholders of the requirements, each is resolved the
+     * first time it's needed
+     */
+    public PlaceholderValues resolvePlaceholders(Player player) {
+        return new PlaceholderValues(player, placeholders, placeholderNanos);
+    }
+
+    /**
+     * Performs requirements check on a player without touching the shared
+     * {@link RequirementEvaluationResult}, which makes it safe to use for
+     * simulations.
+     *
+     * @param player to check the requirements against
+     * @return a requirement that isn't met, or null if all requirements are met
+     */
+    @Nullable
+    public Entry<String, ?> findUnmetRequirement(Player player) {
+        Evaluation evaluation = evaluateOncePerTick(player);
+        return evaluation.result.hasSucceeded() ? null : evaluation.lastTest;
+    }
+
+    /**
+     * Max rankup, auto rankup and placeholders such as {@code can_rankup} check the
+     * same requirements of a player in the same tick, so the result is kept until
+     * the tick ends.
+     *
+     * @param player to check the requirements against
+     * @return result of the player's evaluation in the current tick
+     */
+    private Evaluation evaluateOncePerTick(Player player) {
+        long tick = BukkitTickBalancer.getCurrentTick();
+        // Ticks aren't counted before the first one ran
+        if (player == null || tick == 0) return evaluate(resolvePlaceholders(player));
+        EvaluationMemo memo = this.memo;
+        if (memo == null || memo.tick != tick) {
+            pruneChanges(tick);
+            memo = new EvaluationMemo(tick);
+            this.memo = memo;
         }
-        if (greaterThanRequirements != null) {
-            for (Entry<String, Double> requirement : greaterThanRequirements.entrySet()) {
-                result = NumParser.asDouble(StringManager.parsePlaceholders(requirement.getKey(), player),
-                        s -> PrisonRanksX
-                                .logSevere("Failed to parse placeholder '" + s + "' as number. Defaulting to 1."),
-                        1) >= requirement.getValue();
-                lastTest = requirement;
-                if (!result) return RequirementEvaluationResult.GREATER_THAN_FAIL.setFailedPlaceholder(requirement);
-            }
+        UUID uniqueId = UniqueId.getUUID(player);
+        Evaluation evaluation = memo.evaluations.get(uniqueId);
+        if (evaluation != null) {
+            Long change = PLAYER_CHANGES.get(uniqueId);
+            if (change == null || change <= evaluation.changes) return evaluation;
         }
-        if (lessThanRequirements != null) {
-            for (Entry<String, Double> requirement : lessThanRequirements.entrySet()) {
-                result = NumParser.asDouble(StringManager.parsePlaceholders(requirement.getKey(), player),
-                        s -> PrisonRanksX
-                                .logSevere("Failed to parse placeholder '" + s + "' as number. Defaulting to 1."),
-                        1) <= requirement.getValue();
-                lastTest = requirement;
-                if (!result) return RequirementEvaluationResult.LESS_THAN_FAIL.setFailedPlaceholder(requirement);
-            }
+        long changes = CHANGES.get();
+        // Not computeIfAbsent, since placeholders of the requirements may check the
+        // requirements again
+        evaluation = evaluate(resolvePlaceholders(player), changes);
+        memo.evaluations.put(uniqueId, evaluation);
+        return evaluation;
+    }
+
+    /**
+     * Makes the requirements of all components be checked again for the player,
+     * instead of reusing the result from earlier in the tick. Called when the
+     * player's level or balance changes through the plugin, since requirements
+     * usually depend on them.
+     *
+     * @param uniqueId of the player whose evaluations to drop
+     */
+    public static void invalidate(UUID uniqueId) {
+        PLAYER_CHANGES.put(uniqueId, CHANGES.incrementAndGet());
+    }
+
+    private static void pruneChanges(long tick) {
+        if (lastPrunedTick >= tick) return;
+        synchronized (PLAYER_CHANGES) {
+            if (lastPrunedTick >= tick) return;
+            long threshold = tickStartChanges;
+            tickStartChanges = CHANGES.get();
+            lastPrunedTick = tick;
+            if (!PLAYER_CHANGES.isEmpty()) PLAYER_CHANGES.values().removeIf(change -> change <= threshold);
         }
-        if (equalRequirements != null) {
-            for (Entry<String, String> requirement : equalRequirements.entrySet()) {
-                result = StringManager.parsePlaceholders(requirement.getKey(), player).equals(requirement.getValue());
-                lastTest = requirement;
-                if (!result) return RequirementEvaluationResult.EQUAL_FAIL.setFailedPlaceholder(requirement);
+    }
+
+    private Evaluation evaluate(PlaceholderValues placeholderValues) {
+        return evaluate(placeholderValues, CHANGES.get());
+    }
+
+    private Evaluation evaluate(PlaceholderValues placeholderValues, long changes) {
+        Entry<String, ?>[] lastTest = newEntryHolder();
+        RequirementEvaluationResult result = evaluate(placeholderValues, lastTest);
+        return new Evaluation(result, lastTest[0], changes);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Entry<String, ?>[] newEntryHolder() {
+        return new Entry[1];
+    }
+
+    /**
+     * @param placeholderValues values of the placeholders to check the
+     *                          requirements with
+     * @param lastTest          holder that gets the last tested requirement
+     * @return type of failure or {@link RequirementEvaluationResult#PASS}
+     */
+    private RequirementEvaluationResult evaluate(PlaceholderValues placeholderValues, Entry<String, ?>[] lastTest) {
+        Requirement[] requirements = this.requirements;
+        RequirementEvaluationResult result = RequirementEvaluationResult.PASS;
+        for (Requirement requirement : requirements) {
+            boolean met = requirement.test(placeholderValues, lastTest);
+            requirement.record(met);
+            if (!met) {
+                result = requirement.failure;
+                break;
             }
         }
-        if (notEqualRequirements != null) {
-            for (Entry<String, String> requirement : notEqualRequirements.entrySet()) {
-                result = !StringManager.parsePlaceholders(requirement.getKey(), player).equals(requirement.getValue());
-                lastTest = requirement;
-                if (!result) return RequirementEvaluationResult.NOT_EQUAL_FAIL.setFailedPlaceholder(requirement);
+        if (++evaluations >= REORDER_INTERVAL) {
+            evaluations = 0;
+            reorder(requirements);
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the requirements by their expected cost over their chance to fail,
+     * which is the order that resolves the fewest placeholders on average.
+     */
+    private void reorder(Requirement[] requirements) {
+        Requirement[] ordered = requirements.clone();
+        double[] ranks = new double[ordered.length];
+        for (int i = 0; i < ordered.length; i++) ranks[i] = ordered[i].getRank(placeholderNanos);
+        // Requirements are few, and their ranks are computed once so concurrent
+        // updates can't break the sort
+        for (int i = 1; i < ordered.length; i++) {
+            Requirement requirement = ordered[i];
+            double rank = ranks[i];
+            int j = i - 1;
+            for (; j >= 0 && ranks[j] > rank; j--) {
+                ordered[j + 1] = ordered[j];
+                ranks[j + 1] = ranks[j];
             }
+            ordered[j + 1] = requirement;
+            ranks[j + 1] = rank;
         }
-        return RequirementEvaluationResult.PASS.setFailedPlaceholder(lastTest);
+        this.requirements = ordered;
     }
 
     private static boolean isInvalidIndex(List<?> list, int index) {
@@ -332,20 +508,221 @@ public class RequirementsComponent extends Component {
         if (requirementsComponent == null || requirementsComponent.keys == null || requirementsComponent.keys.isEmpty())
             return messages;
         for (int i = 0; i < messages.size(); i++) {
-            String message = messages.get(i);
-            for (int j = 0; j < requirementsComponent.keys.size(); j++) {
-                message = message.replace("%key." + j + "%", get(requirementsComponent.keys, j, "unknown key"))
-                        .replace("%value." + j + "%", get(requirementsComponent.values, j, "unknown value"));
-            }
-            messages.set(i, message);
+            MessageTemplate template = MessageTemplate.of(messages.get(i));
+            if (template.hasSlots()) messages.set(i, template.render(null, requirementsComponent::getKeyOrValue));
         }
         return messages;
     }
 
+    /**
+     * @param placeholder key.index or value.index
+     * @return the requirement key or value, null if it's a different placeholder
+     */
+    private String getKeyOrValue(String placeholder) {
+        boolean key = placeholder.startsWith("key.");
+        if (!key && !placeholder.startsWith("value.")) return null;
+        int index;
+        try {
+            index = Integer.parseInt(placeholder.substring(key ? 4 : 6));
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+        if (isInvalidIndex(keys, index)) return null;
+        return key ? get(keys, index, "unknown key") : get(values, index, "unknown value");
+    }
+
     public List<String> updateMsg(List<String> messages) {
         return updateMsg(messages, this);
     }
 
+    /**
+     * Values of the placeholders of a requirements component for one player. Each
+     * placeholder is parsed the first time it's needed, so checks and progress
+     * calculations that use the same placeholders only parse them once.
+     * <br>
+     * Meant to be used for one evaluation, values aren't updated afterwards.
+     */
+    public static class PlaceholderValues implements Function<String, String> {
+
+        private final Player player;
+        private final String[] placeholders;
+        private final String[] values;
+        private final long[] nanos;
+
+        private PlaceholderValues(Player player, String[] placeholders, long[] nanos) {
+            this.player = player;
+            this.placeholders = placeholders;
+            this.values = new String[placeholders.length];
+            this.nanos = nanos;
+        }
+
+        private String getValue(int index) {
+            String value = values[index];
+            if (value == null) {
+                long start = System.nanoTime();
+                value = StringManager.parsePlaceholders(placeholders[index], player);
+                long elapsed = System.nanoTime() - start;
+                long average = nanos[index];
+                nanos[index] = average == 0 ? elapsed : average + (elapsed - average) / 8;
+                values[index] = value;
+            }
+            return value;
+        }
+
+        /**
+         * @param string requirement key, or script part, to replace the placeholders
+         *               in
+         * @return string with the values of the placeholders
+         */
+        @Override
+        public String apply(String string) {
+            // Requirement keys are usually a single placeholder
+            for (int i = 0; i < placeholders.length; i++)
+                if (placeholders[i].equals(string)) return getValue(i);
+            if (string.indexOf('%') == -1) return string;
+            String replaced = string;
+            for (int i = 0; i < placeholders.length; i++)
+                if (replaced.contains(placeholders[i])) replaced = replaced.replace(placeholders[i], getValue(i));
+            return replaced;
+        }
+
+    }
+
+    private abstract static class Requirement {
+
+        private final RequirementEvaluationResult failure;
+        // Indexes of the placeholders of the requirement in the component
+        private final int[] placeholderIndexes;
+        // Not atomic on purpose, concurrent evaluations may lose a few counts, which
+        // barely moves the failure chance the order is based on
+        private int tests, failures;
+
+        Requirement(RequirementEvaluationResult failure, int[] placeholderIndexes) {
+            this.failure = failure;
+            this.placeholderIndexes = placeholderIndexes;
+        }
+
+        /**
+         * @param placeholderValues values of the placeholders to test with
+         * @param lastTest          holder that gets the tested requirement
+         * @return whether the requirement is met
+         */
+        abstract boolean test(PlaceholderValues placeholderValues, Entry<String, ?>[] lastTest);
+
+        void record(boolean met) {
+            if (tests >= MAX_TESTS) {
+                tests /= 2;
+                failures /= 2;
+            }
+            tests++;
+            if (!met) failures++;
+        }
+
+        /**
+         * @return expected nanoseconds spent on the requirement per failure, lower
+         * should be tested first
+         */
+        double getRank(long[] placeholderNanos) {
+            double cost = 1;
+            for (int index : placeholderIndexes) cost += placeholderNanos[index];
+            // Smoothed, so untested requirements are assumed to fail half the time
+            double failureChance = (failures + 1D) / (tests + 2D);
+            return cost / failureChance;
+        }
+
+    }
+
+    private static class ScriptRequirement extends Requirement {
+
+        private final Scrif script;
+
+        ScriptRequirement(Scrif script, int[] placeholderIndexes) {
+            super(RequirementEvaluationResult.SCRIPT_FAIL, placeholderIndexes);
+            this.script = script;
+        }
+
+        @Override
+        boolean test(PlaceholderValues placeholderValues, Entry<String, ?>[] lastTest) {
+            Entry<String, String> scriptResult = script.evaluateCompiledOrGet(placeholderValues);
+            lastTest[0] = scriptResult;
+            return scriptResult == null;
+        }
+
+    }
+
+    private static class NumberRequirement extends Requirement {
+
+        private final Entry<String, Double> requirement;
+        private final boolean greaterThan;
+
+        NumberRequirement(Entry<String, Double> requirement, int[] placeholderIndexes, boolean greaterThan) {
+            super(greaterThan ? RequirementEvaluationResult.GREATER_THAN_FAIL
+                    : RequirementEvaluationResult.LESS_THAN_FAIL, placeholderIndexes);
+            this.requirement = requirement;
+            this.greaterThan = greaterThan;
+        }
+
+        @Override
+        boolean test(PlaceholderValues placeholderValues, Entry<String, ?>[] lastTest) {
+            double value = NumParser.asDouble(placeholderValues.apply(requirement.getKey()),
+                    s -> PrisonRanksX.logSevere("Failed to parse placeholder '" + s + "' as number. Defaulting to 1."),
+                    1);
+            lastTest[0] = requirement;
+            return greaterThan ? value >= requirement.getValue() : value <= requirement.getValue();
+        }
+
+    }
+
+    private static class StringRequirement extends Requirement {
+
+        private final Entry<String, String> requirement;
+        private final boolean equal;
+
+        StringRequirement(Entry<String, String> requirement, int[] placeholderIndexes, boolean equal) {
+            super(equal ? RequirementEvaluationResult.EQUAL_FAIL : RequirementEvaluationResult.NOT_EQUAL_FAIL,
+                    placeholderIndexes);
+            this.requirement = requirement;
+            this.equal = equal;
+        }
+
+        @Override
+        boolean test(PlaceholderValues placeholderValues, Entry<String, ?>[] lastTest) {
+            boolean equals = placeholderValues.apply(requirement.getKey()).equals(requirement.getValue());
+            lastTest[0] = requirement;
+            return equals == equal;
+        }
+
+    }
+
+    private static class Evaluation {
+
+        private final RequirementEvaluationResult result;
+        private final Entry<String, ?> lastTest;
+        // Changes counted before the evaluation started
+        private final long changes;
+
+        Evaluation(RequirementEvaluationResult result, Entry<String, ?> lastTest, long changes) {
+            this.result = result;
+            this.lastTest = lastTest;
+            this.changes = changes;
+        }
+
+    }
+
+    /**
+     * Evaluations of the players in one tick.
+     */
+    private static class EvaluationMemo {
+
+        private final long tick;
+        private final Map<UUID, Evaluation> evaluations = new ConcurrentHashMap<>();
+
+        EvaluationMemo(long tick) {
+            this.tick = tick;
+        }
+
+    }
+
     @Override
     public boolean use(Player player) {
         return evaluateRequirements(player).hasSucceeded();
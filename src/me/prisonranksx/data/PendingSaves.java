@@ -0,0 +1,66 @@
+package me.prisonranksx.data;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import me.prisonranksx.bukkitutils.bukkittickbalancer.BukkitTickBalancer;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.Lane;
+
+/**
+ * Queues saves keyed by the user, so a save of a user that is requested while
+ * another one is still waiting supersedes it instead of writing the same user
+ * twice. Saves read the user when they run, so the latest state is written, and
+ * the futures of superseded saves complete with the save that replaced them.
+ */
+class PendingSaves {
+
+	private final Map<UUID, PendingSave> pendingSaves = new ConcurrentHashMap<>();
+
+	/**
+	 * @param uniqueId   unique id of the user to save
+	 * @param saveToDisk whether to write to disk, kept if a superseded save wanted
+	 *                   it
+	 * @param lane       lane of the async tick balancer to queue the save in
+	 * @param save       writes the user, accepts whether to write to disk
+	 * @return future that completes once the user is saved
+	 */
+	CompletableFuture<Void> save(UUID uniqueId, boolean saveToDisk, Lane lane, Consumer<Boolean> save) {
+		PendingSave pendingSave = new PendingSave(saveToDisk);
+		PendingSave supersededSave = pendingSaves.put(uniqueId, pendingSave);
+		if (supersededSave != null) {
+			pendingSave.saveToDisk |= supersededSave.saveToDisk;
+			pendingSave.future.whenComplete((result, throwable) -> {
+				if (throwable != null)
+					supersededSave.future.completeExceptionally(throwable);
+				else
+					supersededSave.future.complete(null);
+			});
+		}
+		BukkitTickBalancer.async(uniqueId, () -> {
+			pendingSaves.remove(uniqueId, pendingSave);
+			try {
+				save.accept(pendingSave.saveToDisk);
+			} catch (RuntimeException ex) {
+				pendingSave.future.completeExceptionally(ex);
+				throw ex;
+			}
+			pendingSave.future.complete(null);
+		}, lane);
+		return pendingSave.future;
+	}
+
+	private static class PendingSave {
+
+		private final CompletableFuture<Void> future = new CompletableFuture<>();
+		private volatile boolean saveToDisk;
+
+		PendingSave(boolean saveToDisk) {
+			this.saveToDisk = saveToDisk;
+		}
+
+	}
+
+}
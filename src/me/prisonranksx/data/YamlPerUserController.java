@@ -4,7 +4,7 @@ import me.prisonranksx.PrisonRanksX;
 import me.prisonranksx.bukkitutils.ConfigCreator;
 import me.prisonranksx.bukkitutils.StupidMySQL;
 import me.prisonranksx.bukkitutils.UserConfig;
-import me.prisonranksx.bukkitutils.bukkittickbalancer.BukkitTickBalancer;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.Lane;
 import me.prisonranksx.holders.User;
 import me.prisonranksx.managers.ConfigManager;
 import me.prisonranksx.managers.MySQLManager;
@@ -24,6 +24,7 @@ public class YamlPerUserController implements UserController {
     private Map<UUID, User> users = new HashMap<>();
     private UserConfig userConfig;
     private PrisonRanksX plugin;
+    private final PendingSaves pendingSaves = new PendingSaves();
 
     public YamlPerUserController(PrisonRanksX plugin) {
         this.plugin = plugin;
@@ -48,24 +49,30 @@ public class YamlPerUserController implements UserController {
 
     @Override
     public CompletableFuture<Void> saveUser(User user, boolean saveToDisk) {
-        CompletableFuture<Void> saveUserFuture = new CompletableFuture<>();
-        BukkitTickBalancer.async(() -> {
+        return saveUser(user, saveToDisk, Lane.NORMAL);
+    }
+
+    /**
+     * @param lane lane of the async tick balancer to queue the save in, bulk saves
+     *             use {@link Lane#BACKGROUND} so they don't delay other work
+     */
+    private CompletableFuture<Void> saveUser(User user, boolean saveToDisk, Lane lane) {
+        // Each user has their own file, so saves of different users can run at the same time
+        return pendingSaves.save(user.getUniqueId(), saveToDisk, lane, writeToDisk -> {
             FileConfiguration userConfig = this.userConfig.loadOrCreate(user.getUniqueId());
             userConfig.set("name", user.getName());
             userConfig.set("rank", user.getRankName());
             userConfig.set("path", user.getPathName());
             userConfig.set("prestige", user.getPrestigeName());
             userConfig.set("rebirth", user.getRebirthName());
-            if (saveToDisk) {
+            if (writeToDisk) {
                 try {
                     userConfig.save(this.userConfig.getUserDirectory(user.getUniqueId()));
                 } catch (IOException e) {
                     throw new RuntimeException(e);
                 }
             }
-            saveUserFuture.complete(null);
         });
-        return saveUserFuture;
     }
 
     @Override
@@ -76,21 +83,16 @@ public class YamlPerUserController implements UserController {
     @Override
     public CompletableFuture<Void> saveUsers(boolean saveToDisk) {
         return CompletableFuture.runAsync(() -> {
-            if (saveToDisk)
-                for (User user : users.values()) {
-                    saveUser(user, true);
-                }
-            else
-                for (User user : users.values()) {
-                    saveUser(user);
-                }
+            for (User user : users.values()) {
+                saveUser(user, saveToDisk, Lane.BACKGROUND);
+            }
         });
     }
 
     @Override
     public CompletableFuture<Void> saveUsers(Iterable<User> users) {
         return CompletableFuture.runAsync(() -> {
-            for (User user : users) saveUser(user, true);
+            for (User user : users) saveUser(user, true, Lane.BACKGROUND);
         });
     }
 
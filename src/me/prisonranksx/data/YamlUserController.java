@@ -3,7 +3,7 @@ package me.prisonranksx.data;
 import me.prisonranksx.PrisonRanksX;
 import me.prisonranksx.bukkitutils.StupidMySQL;
 import me.prisonranksx.bukkitutils.UserConfig;
-import me.prisonranksx.bukkitutils.bukkittickbalancer.BukkitTickBalancer;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.Lane;
 import me.prisonranksx.common.Common;
 import me.prisonranksx.holders.User;
 import me.prisonranksx.managers.ConfigManager;
@@ -24,6 +24,7 @@ public class YamlUserController implements UserController {
 
 	private Map<UUID, User> users = new ConcurrentHashMap<>();
 	private PrisonRanksX plugin;
+	private final PendingSaves pendingSaves = new PendingSaves();
 
 	public YamlUserController(PrisonRanksX plugin) {
 		this.plugin = plugin;
@@ -47,26 +48,26 @@ public class YamlUserController implements UserController {
 
 	@Override
 	public CompletableFuture<Void> saveUser(@NotNull User user, boolean saveToDisk) {
-		CompletableFuture<Void> saveUserFuture = new CompletableFuture<>();
-		BukkitTickBalancer.async(() -> {
-			String stringUniqueId = user.getUniqueId().toString();
-			if (plugin.getGlobalSettings().isRankEnabled()) {
-				ConfigManager.getRankDataConfig().set("players." + stringUniqueId + ".name", user.getName());
-				ConfigManager.getRankDataConfig().set("players." + stringUniqueId + ".rank", user.getRankName());
-				ConfigManager.getRankDataConfig().set("players." + stringUniqueId + ".path", user.getPathName());
-				if (saveToDisk) ConfigManager.saveConfig("rankdata.yml");
-			}
-			if (plugin.getGlobalSettings().isPrestigeEnabled()) {
-				ConfigManager.getPrestigeDataConfig().set("players." + stringUniqueId, user.getPrestigeName());
-				if (saveToDisk) ConfigManager.saveConfig("prestigedata.yml");
-			}
-			if (plugin.getGlobalSettings().isRebirthEnabled()) {
-				ConfigManager.getRebirthDataConfig().set("players." + stringUniqueId, user.getRebirthName());
-				if (saveToDisk) ConfigManager.saveConfig("rebirthdata.yml");
+		return pendingSaves.save(user.getUniqueId(), saveToDisk, Lane.NORMAL, writeToDisk -> {
+			// All users share the same data files, which can't be written to concurrently
+			synchronized (this) {
+				String stringUniqueId = user.getUniqueId().toString();
+				if (plugin.getGlobalSettings().isRankEnabled()) {
+					ConfigManager.getRankDataConfig().set("players." + stringUniqueId + ".name", user.getName());
+					ConfigManager.getRankDataConfig().set("players." + stringUniqueId + ".rank", user.getRankName());
+					ConfigManager.getRankDataConfig().set("players." + stringUniqueId + ".path", user.getPathName());
+					if (writeToDisk) ConfigManager.saveConfig("rankdata.yml");
+				}
+				if (plugin.getGlobalSettings().isPrestigeEnabled()) {
+					ConfigManager.getPrestigeDataConfig().set("players." + stringUniqueId, user.getPrestigeName());
+					if (writeToDisk) ConfigManager.saveConfig("prestigedata.yml");
+				}
+				if (plugin.getGlobalSettings().isRebirthEnabled()) {
+					ConfigManager.getRebirthDataConfig().set("players." + stringUniqueId, user.getRebirthName());
+					if (writeToDisk) ConfigManager.saveConfig("rebirthdata.yml");
+				}
 			}
-			saveUserFuture.complete(null);
 		});
-		return saveUserFuture;
 	}
 
 	@Override
@@ -77,26 +78,29 @@ public class YamlUserController implements UserController {
 	@Override
 	public CompletableFuture<Void> saveUsers(boolean saveToDisk) {
 		return CompletableFuture.runAsync(() -> {
-			ConfigurationSection rankDataSection = plugin.getGlobalSettings().isRankEnabled()
-					? ConfigManager.getRankDataConfig().getConfigurationSection("players") : null;
-			ConfigurationSection prestigeDataSection = plugin.getGlobalSettings().isPrestigeEnabled()
-					? ConfigManager.getPrestigeDataConfig().getConfigurationSection("players") : null;
-			ConfigurationSection rebirthDataSection = plugin.getGlobalSettings().isRebirthEnabled()
-					? ConfigManager.getRebirthDataConfig().getConfigurationSection("players") : null;
-			users.forEach((uniqueId, user) -> {
-				String stringUniqueId = uniqueId.toString();
-				if (rankDataSection != null) {
-					rankDataSection.set(stringUniqueId + ".name", user.getName());
-					rankDataSection.set(stringUniqueId + ".path", user.getPathName());
-					rankDataSection.set(stringUniqueId + ".rank", user.getRankName());
+			// Same lock as single saves, they write to the same sections
+			synchronized (this) {
+				ConfigurationSection rankDataSection = plugin.getGlobalSettings().isRankEnabled()
+						? ConfigManager.getRankDataConfig().getConfigurationSection("players") : null;
+				ConfigurationSection prestigeDataSection = plugin.getGlobalSettings().isPrestigeEnabled()
+						? ConfigManager.getPrestigeDataConfig().getConfigurationSection("players") : null;
+				ConfigurationSection rebirthDataSection = plugin.getGlobalSettings().isRebirthEnabled()
+						? ConfigManager.getRebirthDataConfig().getConfigurationSection("players") : null;
+				users.forEach((uniqueId, user) -> {
+					String stringUniqueId = uniqueId.toString();
+					if (rankDataSection != null) {
+						rankDataSection.set(stringUniqueId + ".name", user.getName());
+						rankDataSection.set(stringUniqueId + ".path", user.getPathName());
+						rankDataSection.set(stringUniqueId + ".rank", user.getRankName());
+					}
+					if (prestigeDataSection != null) prestigeDataSection.set(stringUniqueId, user.getPrestigeName());
+					if (rebirthDataSection != null) rebirthDataSection.set(stringUniqueId, user.getRebirthName());
+				});
+				if (saveToDisk) {
+					if (rankDataSection != null) ConfigManager.saveConfig("rankdata.yml");
+					if (prestigeDataSection != null) ConfigManager.saveConfig("prestigedata.yml");
+					if (rebirthDataSection != null) ConfigManager.saveConfig("rebirthdata.yml");
 				}
-				if (prestigeDataSection != null) prestigeDataSection.set(stringUniqueId, user.getPrestigeName());
-				if (rebirthDataSection != null) rebirthDataSection.set(stringUniqueId, user.getRebirthName());
-			});
-			if (saveToDisk) {
-				if (rankDataSection != null) ConfigManager.saveConfig("rankdata.yml");
-				if (prestigeDataSection != null) ConfigManager.saveConfig("prestigedata.yml");
-				if (rebirthDataSection != null) ConfigManager.saveConfig("rebirthdata.yml");
 			}
 		});
 	}
@@ -104,25 +108,28 @@ public class YamlUserController implements UserController {
 	@Override
 	public CompletableFuture<Void> saveUsers(Iterable<User> users) {
 		return CompletableFuture.runAsync(() -> {
-			ConfigurationSection rankDataSection = plugin.getGlobalSettings().isRankEnabled()
-					? ConfigManager.getRankDataConfig().getConfigurationSection("players") : null;
-			ConfigurationSection prestigeDataSection = plugin.getGlobalSettings().isPrestigeEnabled()
-					? ConfigManager.getPrestigeDataConfig().getConfigurationSection("players") : null;
-			ConfigurationSection rebirthDataSection = plugin.getGlobalSettings().isRebirthEnabled()
-					? ConfigManager.getRebirthDataConfig().getConfigurationSection("players") : null;
-			users.forEach(user -> {
-				String stringUniqueId = user.getUniqueId().toString();
-				if (rankDataSection != null) {
-					rankDataSection.set(stringUniqueId + ".name", user.getName());
-					rankDataSection.set(stringUniqueId + ".path", user.getPathName());
-					rankDataSection.set(stringUniqueId + ".rank", user.getRankName());
-				}
-				if (prestigeDataSection != null) prestigeDataSection.set(stringUniqueId, user.getPrestigeName());
-				if (rebirthDataSection != null) rebirthDataSection.set(stringUniqueId, user.getRebirthName());
-			});
-			if (rankDataSection != null) ConfigManager.saveConfig("rankdata.yml");
-			if (prestigeDataSection != null) ConfigManager.saveConfig("prestigedata.yml");
-			if (rebirthDataSection != null) ConfigManager.saveConfig("rebirthdata.yml");
+			// Same lock as single saves, they write to the same sections
+			synchronized (this) {
+				ConfigurationSection rankDataSection = plugin.getGlobalSettings().isRankEnabled()
+						? ConfigManager.getRankDataConfig().getConfigurationSection("players") : null;
+				ConfigurationSection prestigeDataSection = plugin.getGlobalSettings().isPrestigeEnabled()
+						? ConfigManager.getPrestigeDataConfig().getConfigurationSection("players") : null;
+				ConfigurationSection rebirthDataSection = plugin.getGlobalSettings().isRebirthEnabled()
+						? ConfigManager.getRebirthDataConfig().getConfigurationSection("players") : null;
+				users.forEach(user -> {
+					String stringUniqueId = user.getUniqueId().toString();
+					if (rankDataSection != null) {
+						rankDataSection.set(stringUniqueId + ".name", user.getName());
+						rankDataSection.set(stringUniqueId + ".path", user.getPathName());
+						rankDataSection.set(stringUniqueId + ".rank", user.getRankName());
+					}
+					if (prestigeDataSection != null) prestigeDataSection.set(stringUniqueId, user.getPrestigeName());
+					if (rebirthDataSection != null) rebirthDataSection.set(stringUniqueId, user.getRebirthName());
+				});
+				if (rankDataSection != null) ConfigManager.saveConfig("rankdata.yml");
+				if (prestigeDataSection != null) ConfigManager.saveConfig("prestigedata.yml");
+				if (rebirthDataSection != null) ConfigManager.saveConfig("rebirthdata.yml");
+			}
 		});
 	}
 
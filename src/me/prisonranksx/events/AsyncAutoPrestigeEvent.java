@@ -23,6 +23,13 @@ public class AsyncAutoPrestigeEvent extends Event implements Cancellable {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public AsyncAutoPrestigeEvent(Player player, PrestigeResult prestigeResult) {
 		super(true);
 		this.player = player;
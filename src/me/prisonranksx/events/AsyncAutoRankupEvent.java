@@ -24,6 +24,13 @@ public class AsyncAutoRankupEvent extends Event implements Cancellable {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public AsyncAutoRankupEvent(Player player, RankupResult rankupResult) {
 		super(true);
 		this.player = player;
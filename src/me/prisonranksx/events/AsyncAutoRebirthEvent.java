@@ -23,6 +23,13 @@ public class AsyncAutoRebirthEvent extends Event implements Cancellable {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public AsyncAutoRebirthEvent(Player player, RebirthResult rebirthResult) {
 		super(true);
 		this.player = player;
@@ -27,6 +27,13 @@ public class AsyncPrestigeMaxEvent extends Event {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public AsyncPrestigeMaxEvent(Player player, PrestigeResult prestigeResult, String prestigeFromName,
 			String finalPrestigeName, long totalPrestiges, double takenBalance, boolean limited) {
 		super(true);
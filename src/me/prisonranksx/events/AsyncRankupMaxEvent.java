@@ -27,6 +27,13 @@ public class AsyncRankupMaxEvent extends Event {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public AsyncRankupMaxEvent(Player player, RankupResult rankupResult, String rankupFromName, String finalRankupName,
 			int totalRankups, double takenBalance, boolean limited) {
 		super(true);
@@ -27,6 +27,13 @@ public class AsyncRebirthMaxEvent extends Event {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public AsyncRebirthMaxEvent(Player player, RebirthResult rebirthResult, String rebirthFromName,
 			String finalRebirthName, long totalRebirths, double takenBalance, boolean limited) {
 		super(true);
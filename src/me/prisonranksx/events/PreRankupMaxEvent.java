@@ -27,6 +27,13 @@ public class PreRankupMaxEvent extends Event implements Cancellable {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public PreRankupMaxEvent(Player player, Rank rankupFrom, Set<Rank> ranksToBePassed) {
 		super(false);
 		this.player = player;
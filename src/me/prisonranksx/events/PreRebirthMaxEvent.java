@@ -21,6 +21,13 @@ public class PreRebirthMaxEvent extends Event implements Cancellable {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public PreRebirthMaxEvent(Player player) {
 		super(false);
 		this.player = player;
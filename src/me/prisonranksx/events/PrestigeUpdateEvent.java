@@ -24,6 +24,13 @@ public class PrestigeUpdateEvent extends Event implements Cancellable {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public PrestigeUpdateEvent(Player player, PrestigeUpdateCause prestigeUpdateCause, PrestigeResult prestigeResult) {
 		this.player = player;
 		this.prestigeUpdateCause = prestigeUpdateCause;
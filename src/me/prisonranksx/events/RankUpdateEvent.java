@@ -24,6 +24,19 @@ public class RankUpdateEvent extends Event implements Cancellable {
 		return handlers;
 	}
 
+	/**
+	 * Bukkit keeps the registered listeners baked in an array that is only rebuilt
+	 * when listeners are registered or unregistered, so this is cheap enough to be
+	 * checked before every call. Executors check it before creating any event of the
+	 * plugin, which skips building events nobody listens to. The other events have
+	 * the same method.
+	 *
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public RankUpdateEvent(Player player, RankUpdateCause rankUpdateCause, RankupResult rankupResult) {
 		this.player = player;
 		this.rankUpdateCause = rankUpdateCause;
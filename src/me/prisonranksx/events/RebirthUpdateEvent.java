@@ -24,6 +24,13 @@ public class RebirthUpdateEvent extends Event implements Cancellable {
 		return handlers;
 	}
 
+	/**
+	 * @return whether any listener is registered for this event
+	 */
+	public static boolean hasListeners() {
+		return handlers.getRegisteredListeners().length != 0;
+	}
+
 	public RebirthUpdateEvent(Player player, RebirthUpdateCause rebirthUpdateCause, RebirthResult rebirthResult) {
 		this.player = player;
 		this.rebirthUpdateCause = rebirthUpdateCause;
@@ -525,6 +525,8 @@ public class AdminExecutor {
 		if (plugin.getGlobalSettings().isHologramsPlugin() && (plugin.getHologramSettings().isHologramsEnabled()))
 			plugin.getHologramSettings().setup();
 		if (plugin.getGlobalSettings().isPlaceholderAPILoaded()) plugin.getPlaceholderAPISettings().setup();
+		if (plugin.getPlaceholderAPIHook() != null) plugin.getPlaceholderAPIHook().getCache().invalidateAll();
+		if (plugin.getPlayerChatListener() != null) plugin.getPlayerChatListener().invalidateAll();
 		if (plugin.getGlobalSettings().isGuiRankList()) plugin.initRanksGUIList();
 		Messages.reload();
 	}
@@ -12,21 +12,25 @@ import me.prisonranksx.data.PrestigeStorage;
 import me.prisonranksx.data.RankStorage;
 import me.prisonranksx.data.UserController;
 import me.prisonranksx.events.*;
+import me.prisonranksx.executors.PromotionGovernor.Resource;
 import me.prisonranksx.holders.*;
 import me.prisonranksx.managers.EconomyManager;
+import me.prisonranksx.managers.EconomyManager.BalanceReservation;
 import me.prisonranksx.managers.HologramManager;
-import me.prisonranksx.managers.StringManager;
+import me.prisonranksx.managers.MessageTemplate;
+import me.prisonranksx.managers.ReplacementContext;
 import me.prisonranksx.reflections.UniqueId;
 import me.prisonranksx.settings.Messages;
 import me.prisonranksx.utils.UniqueRandom;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class InfinitePrestigeExecutor implements PrestigeExecutor {
 
@@ -59,21 +63,25 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 		autoPrestigeTask = BukkitTickBalancer.scheduleDistributedTask(this::silentPrestige,
 				p -> !isAutoPrestigeEnabled(p), Math.max(speed, 1));
 		autoPrestigeTask.initAsync(plugin, speed, speed);
+		BukkitTickBalancer.registerTask("auto-prestige", autoPrestigeTask);
 	}
 
 	private void setupMaxPrestige() {
 		boolean sendMsgContinuously = !plugin.getGlobalSettings().isPrestigeMaxPrestigeMsgLastPrestigeOnly();
 		maxPrestigeTask = BukkitTickBalancer.scheduleConcurrentTask(player -> {
 			UUID uniqueId = UniqueId.getUUID(player);
-			PrestigeResult prestigeResult = canPrestige(player, false);
-			if (prestigeResult.isSuccessful() && !MAX_PRESTIGE_BREAKER.contains(uniqueId)) {
+			TemporaryMaxPrestige tempHolder = maxPrestigeData.get(uniqueId);
+			BalanceReservation reservation = tempHolder.getBalanceReservation();
+			PrestigeResult prestigeResult = canPrestige(player, reservation.getAvailableBalance(), false);
+			if (prestigeResult.isSuccessful() && !MAX_PRESTIGE_BREAKER.contains(uniqueId)
+					&& reservation.reserve(prestigeResult.getDoubleResult())) {
 				String prestigeName = prestigeResult.getStringResult();
 				Prestige prestige = prestigeResult.getPrestigeResult();
 				if (sendMsgContinuously)
-					Messages.sendMessage(player, Messages.getPrestige(), s -> s.replace("%next_prestige%", prestigeName).replace("%nextprestige_display%", prestige.getDisplayName()));
-				executeComponents(prestige, player);
-				EconomyManager.takeBalance(player, prestigeResult.getDoubleResult());
-				TemporaryMaxPrestige tempHolder = maxPrestigeData.get(uniqueId);
+					Messages.sendMessage(player, Messages.getPrestige(),
+							"next_prestige", prestigeName,
+							"nextprestige_display", prestige.getDisplayName());
+				executeComponents(prestige, player, tempHolder.getEffectsBuffer());
 				tempHolder.setTakenBalance(tempHolder.getTakenBalance() + prestigeResult.getDoubleResult());
 				tempHolder.setPrestiges(tempHolder.getPrestiges() + 1);
 				tempHolder.setCurrentPrestigeResult(prestigeResult);
@@ -96,6 +104,9 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 			UUID uniqueId = UniqueId.getUUID(player);
 			TemporaryMaxPrestige tempHolder = maxPrestigeData.get(uniqueId);
 			PrestigeExecutor.removeMaxPrestigePlayer(uniqueId);
+			// Withdraw the cost of all passed prestiges at once, they are taken back if it fails
+			if (!tempHolder.getBalanceReservation().commit()) rollbackMaxPrestige(player, tempHolder);
+			tempHolder.getEffectsBuffer().finish();
 			boolean promotedAtLeastOnce = tempHolder.getCurrentPrestigeResult() != null;
 			PrestigeResult prestigeResult =
 					!promotedAtLeastOnce ? canPrestige(player, false) : tempHolder.getCurrentPrestigeResult();
@@ -107,18 +118,16 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 					Messages.sendMessage(player, Messages.getDisallowedPrestige());
 					break;
 				case FAIL_NOT_ENOUGH_BALANCE:
-					Messages.sendMessage(player, Messages.getPrestigeNotEnoughBalance(), updatedLine -> updatedLine
-							.replace("%nextprestige_cost%", String.valueOf(prestigeResult.getDoubleResult()))
-							.replace("%nextprestige_cost_formatted%",
-									EconomyManager.shortcutFormat(prestigeResult.getDoubleResult()))
-							.replace("%nextprestige%", prestigeResult.getStringResult())
-							.replace("%nextprestige_display%", prestigeResult.getPrestigeResult().getDisplayName()));
+					Messages.sendMessage(player, Messages.getPrestigeNotEnoughBalance(),
+							"nextprestige_cost", String.valueOf(prestigeResult.getDoubleResult()),
+							"nextprestige_cost_formatted", EconomyManager.shortcutFormat(prestigeResult.getDoubleResult()),
+							"nextprestige", prestigeResult.getStringResult(),
+							"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 					break;
 				case FAIL_NO_PERMISSION:
 					Messages.sendMessage(player, Messages.getDisallowedPrestige(),
-							updatedLine -> updatedLine.replace("%prestige%", prestigeResult.getStringResult())
-									.replace("%prestige_display%",
-											prestigeResult.getPrestigeResult().getDisplayName()));
+							"prestige", prestigeResult.getStringResult(),
+							"prestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 					break;
 				case FAIL_REQUIREMENTS_NOT_MET:
 					Messages.sendMessage(player, prestigeResult.getPrestigeResult().getRequirementsMessages());
@@ -132,18 +141,19 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 			if (promotedAtLeastOnce) {
 				spawnHologram(prestigeResult.getPrestigeResult(), player, true);
 				Messages.sendMessage(player, Messages.getPrestigeMax(),
-						updatedLine -> updatedLine.replace("%prestige%", tempHolder.getFirstPrestigeName())
-								.replace("%prestige_display%", tempHolder.getFirstPrestigeDisplayName())
-								.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%", prestigeResult.getPrestigeResult().getDisplayName())
-								.replace("%cost%", String.valueOf(cost))
-								.replace("%cost_formatted%", EconomyManager.shortcutFormat(cost))
-								.replace("%cost_us_format%", EconomyManager.commaFormatWithDecimals(cost)));
+						"prestige", tempHolder.getFirstPrestigeName(),
+						"prestige_display", tempHolder.getFirstPrestigeDisplayName(),
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName(),
+						"cost", String.valueOf(cost),
+						"cost_formatted", EconomyManager.shortcutFormat(cost),
+						"cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
 				if (!sendMsgContinuously) Messages.sendMessage(player, Messages.getPrestige(),
-						s -> s.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%", prestigeResult.getPrestigeResult().getDisplayName()));
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 				// Max Prestige Commands
-				PrestigeStorage.useCommandsComponent(component -> component.dispatchCommands(player,
+				PrestigeStorage.useCommandsComponent(component -> plugin.getPromotionGovernor()
+						.submitCommands(component, player,
 						s -> s.replace("%number%", prestigeResult.getStringResult())
 								.replace("%amount%", String.valueOf(tempHolder.getPrestiges()))));
 				playSound(player);
@@ -154,7 +164,9 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 			tempHolder.getFinalPrestigeResult().complete(prestigeResult);
 			maxPrestigeData.remove(uniqueId);
 		});
+		maxPrestigeTask.setTickBudget(BukkitTickBalancer.getAsyncBudget());
 		maxPrestigeTask.initAsync(plugin);
+		BukkitTickBalancer.registerTask("max-prestige", maxPrestigeTask);
 	}
 
 	private PrestigeResult silentPrestige(UUID uniqueId) {
@@ -165,6 +177,19 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 		return silentPrestige(UniqueId.getUUID(player));
 	}
 
+	/**
+	 * Takes back the prestiges passed during a max prestige when their cost couldn't be
+	 * withdrawn, so the finish is handled as if none of them were passed.
+	 */
+	private void rollbackMaxPrestige(Player player, TemporaryMaxPrestige tempHolder) {
+		PrisonRanksX.logWarning("Failed to withdraw the cost of passed prestiges from " + player.getName()
+				+ ", taking them back.");
+		tempHolder.getEffectsBuffer().discard();
+		tempHolder.getStartingLevels().restore();
+		tempHolder.setCurrentPrestigeResult(null).setPrestiges(0).setTakenBalance(0);
+		updateGroup(player);
+	}
+
 	private UserController controlUsers() {
 		return plugin.getUserController();
 	}
@@ -176,7 +201,7 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 
 	@Override
 	public PrestigeResult canPrestige(Player player, boolean skipLastRankCheck) {
-		return canPrestige(player, EconomyManager.getBalance(player), skipLastRankCheck);
+		return canPrestige(player, EconomyManager.getAvailableBalance(player), skipLastRankCheck);
 	}
 
 	@Override
@@ -229,10 +254,11 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 		UUID uniqueId = UniqueId.getUUID(player);
 		if (!AUTO_PRESTIGE_PLAYERS.contains(uniqueId)) {
 			AUTO_PRESTIGE_PLAYERS.add(uniqueId);
-			autoPrestigeTask.addValue(() -> player);
+			autoPrestigeTask.addValue(uniqueId, () -> player);
 			return true;
 		}
 		AUTO_PRESTIGE_PLAYERS.remove(uniqueId);
+		autoPrestigeTask.removeValue(uniqueId);
 		return false;
 	}
 
@@ -242,11 +268,12 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 		if (enable) {
 			if (!AUTO_PRESTIGE_PLAYERS.contains(uniqueId)) {
 				AUTO_PRESTIGE_PLAYERS.add(uniqueId);
-				autoPrestigeTask.addValue(() -> player);
+				autoPrestigeTask.addValue(uniqueId, () -> player);
 			}
 			return true;
 		}
 		AUTO_PRESTIGE_PLAYERS.remove(uniqueId);
+		autoPrestigeTask.removeValue(uniqueId);
 		return false;
 	}
 
@@ -258,9 +285,11 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 	@Override
 	public PrestigeResult prestige(Player player) {
 		PrestigeResult eventPrestigeResult = canPrestige(player, false);
-		PrestigeUpdateEvent event = callPrestigeUpdateEvent(player, PrestigeUpdateCause.PRESTIGE, eventPrestigeResult);
-		if (event.isCancelled()) return eventPrestigeResult;
+		if (PrestigeUpdateEvent.hasListeners()
+				&& callPrestigeUpdateEvent(player, PrestigeUpdateCause.PRESTIGE, eventPrestigeResult).isCancelled())
+			return eventPrestigeResult;
 		PrestigeResult prestigeResult = eventPrestigeResult;
+		prestigeResult = withdrawCost(player, prestigeResult);
 		User user = prestigeResult.getUserResult();
 		switch (prestigeResult) {
 			case FAIL_NOT_LAST_RANK:
@@ -270,28 +299,27 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 				Messages.sendMessage(player, Messages.getLastPrestige());
 				break;
 			case FAIL_NOT_ENOUGH_BALANCE:
-				Messages.sendMessage(player, Messages.getPrestigeNotEnoughBalance(), updatedLine -> updatedLine
-						.replace("%nextprestige_cost%", String.valueOf(prestigeResult.getDoubleResult()))
-						.replace("%nextprestige_cost_formatted%",
-								EconomyManager.shortcutFormat(prestigeResult.getDoubleResult()))
-						.replace("%nextprestige%", prestigeResult.getStringResult())
-						.replace("%nextprestige_display%", prestigeResult.getPrestigeResult().getDisplayName()));
+				Messages.sendMessage(player, Messages.getPrestigeNotEnoughBalance(),
+						"nextprestige_cost", String.valueOf(prestigeResult.getDoubleResult()),
+						"nextprestige_cost_formatted", EconomyManager.shortcutFormat(prestigeResult.getDoubleResult()),
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 				break;
 			case FAIL_REQUIREMENTS_NOT_MET:
 				Messages.sendMessage(player, prestigeResult.getPrestigeResult().getRequirementsMessages());
 				break;
 			case SUCCESS:
 				Prestige prestige = prestigeResult.getPrestigeResult();
-				EconomyManager.takeBalance(player, prestigeResult.getDoubleResult());
 				executeComponents(prestige, player);
 				Messages.sendMessage(player, Messages.getPrestige(),
-						s -> s.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%", prestige.getDisplayName()));
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestige.getDisplayName());
 				prestigeResult.getUserResult().setPrestigeName(prestigeResult.getStringResult());
 				spawnHologram(prestigeResult.getPrestigeResult(), player, true);
 				playSound(player);
 				// Max Prestige Commands
-				PrestigeStorage.useCommandsComponent(component -> component.dispatchCommands(player,
+				PrestigeStorage.useCommandsComponent(component -> plugin.getPromotionGovernor()
+						.submitCommands(component, player,
 						s -> s.replace("%number%", prestigeResult.getStringResult()).replace("%amount%", "1")));
 				if (plugin.getGlobalSettings().isRankEnabled() && plugin.getPrestigeSettings().isResetRank()) {
 					plugin.getAdminExecutor()
@@ -312,23 +340,25 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 	public PrestigeResult prestige(Player player, boolean silent) {
 		if (!silent) return prestige(player);
 		PrestigeResult eventPrestigeResult = canPrestige(player);
-		AsyncAutoPrestigeEvent event = callAsyncAutoPrestigeEvent(player, eventPrestigeResult);
-		if (event.isCancelled()) return eventPrestigeResult;
+		if (AsyncAutoPrestigeEvent.hasListeners()
+				&& callAsyncAutoPrestigeEvent(player, eventPrestigeResult).isCancelled())
+			return eventPrestigeResult;
 		PrestigeResult prestigeResult = eventPrestigeResult;
+		prestigeResult = withdrawCost(player, prestigeResult);
 		User user = prestigeResult.getUserResult();
 		switch (prestigeResult) {
 			case SUCCESS:
 				Prestige prestige = prestigeResult.getPrestigeResult();
-				EconomyManager.takeBalance(player, prestigeResult.getDoubleResult());
 				executeComponents(prestige, player);
 				Messages.sendMessage(player, Messages.getPrestige(),
-						s -> s.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%", prestige.getDisplayName()));
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestige.getDisplayName());
 				prestigeResult.getUserResult().setPrestigeName(prestigeResult.getStringResult());
 				spawnHologram(prestigeResult.getPrestigeResult(), player, true);
 				playSound(player);
 				// Max Prestige Commands
-				PrestigeStorage.useCommandsComponent(component -> component.dispatchCommands(player,
+				PrestigeStorage.useCommandsComponent(component -> plugin.getPromotionGovernor()
+						.submitCommands(component, player,
 						s -> s.replace("%number%", prestigeResult.getStringResult()).replace("%amount%", "1")));
 				if (plugin.getGlobalSettings().isRankEnabled() && plugin.getPrestigeSettings().isResetRank()) {
 					plugin.getAdminExecutor()
@@ -348,9 +378,9 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 	@Override
 	public PrestigeResult forcePrestige(Player player) {
 		PrestigeResult eventPrestigeResult = canPrestige(player, Double.MAX_VALUE, false);
-		PrestigeUpdateEvent event = callPrestigeUpdateEvent(player, PrestigeUpdateCause.FORCE_PRESTIGE,
-				eventPrestigeResult);
-		if (event.isCancelled()) return eventPrestigeResult;
+		if (PrestigeUpdateEvent.hasListeners()
+				&& callPrestigeUpdateEvent(player, PrestigeUpdateCause.FORCE_PRESTIGE, eventPrestigeResult).isCancelled())
+			return eventPrestigeResult;
 		PrestigeResult prestigeResult = eventPrestigeResult;
 		switch (prestigeResult) {
 			case FAIL_LAST_PRESTIGE:
@@ -360,11 +390,11 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 				executeComponents(prestigeResult.getPrestigeResult(), player);
 				prestigeResult.getUserResult().setPrestigeName(prestigeResult.getStringResult());
 				Messages.sendMessage(player, Messages.getPrestige(),
-						s -> s.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%",
-										prestigeResult.getPrestigeResult().getDisplayName()));
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 				// Max Prestige Commands
-				PrestigeStorage.useCommandsComponent(component -> component.dispatchCommands(player,
+				PrestigeStorage.useCommandsComponent(component -> plugin.getPromotionGovernor()
+						.submitCommands(component, player,
 						s -> s.replace("%number%", prestigeResult.getStringResult()).replace("%amount%", "1")));
 				spawnHologram(prestigeResult.getPrestigeResult(), player, false);
 				playSound(player);
@@ -400,6 +430,9 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 		TemporaryMaxPrestige tempHolder = new TemporaryMaxPrestige(uniqueId);
 		tempHolder.setFirstPrestigeName(currentPrestige == null ? "0" : currentPrestige.getName());
 		tempHolder.setFirstPrestigeDisplayName(currentPrestige == null ? "0" : currentPrestige.getDisplayName());
+		tempHolder.setEffectsBuffer(new PromotionEffectsBuffer(plugin, player, false, false));
+		tempHolder.setBalanceReservation(EconomyManager.openReservation(player));
+		tempHolder.setStartingLevels(UserLevels.of(user));
 		maxPrestigeData.put(uniqueId, tempHolder);
 		PrestigeExecutor.addMaxPrestigePlayer(uniqueId);
 		maxPrestigeTask.addValue(() -> player);
@@ -423,6 +456,7 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 
 	@Override
 	public boolean callPrePrestigeMaxEvent(Player player) {
+		if (!PrePrestigeMaxEvent.hasListeners()) return true;
 		PrePrestigeMaxEvent prePrestigeMaxEvent = new PrePrestigeMaxEvent(player);
 		Bukkit.getPluginManager().callEvent(prePrestigeMaxEvent);
 		return !prePrestigeMaxEvent.isCancelled();
@@ -431,6 +465,7 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 	@Override
 	public void callAsyncPrestigeMaxEvent(Player player, PrestigeResult lastResult, String fromPrestige,
 										  String toPrestige, long totalPrestiges, double takenBalance, boolean limited) {
+		if (!AsyncPrestigeMaxEvent.hasListeners()) return;
 		AsyncPrestigeMaxEvent asyncPrestigeMaxEvent = new AsyncPrestigeMaxEvent(player, lastResult, fromPrestige,
 				toPrestige, totalPrestiges, takenBalance, limited);
 		Bukkit.getPluginManager().callEvent(asyncPrestigeMaxEvent);
@@ -443,75 +478,100 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 		// commands
 		plugin.doSyncLater(() -> {
 			String prestigeName = prestige.getName();
-			double cost = prestige.getCost();
-			String definition = "prxprstg_" + prestigeName + player.getName();
-			Map<String, String> replacements = new HashMap<>();
-			replacements.put("player", player.getName());
-			replacements.put("nextprestige", prestigeName);
-			replacements.put("nextprestige_display", prestige.getDisplayName());
-			replacements.put("nextprestige_cost", String.valueOf(cost));
-			replacements.put("nextprestige_cost_formatted", EconomyManager.shortcutFormat(cost));
-			replacements.put("nextprestige_cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
-			StringManager.defineReplacements(definition, replacements);
+			// The context is immutable, so effects deferred by the governor can still use it
+			ReplacementContext replacements = createReplacements(prestige, player);
+			PromotionGovernor governor = plugin.getPromotionGovernor();
 
 			// Messages
 			//player.sendMessage("Next prestige: " + prestigeName);
-			Messages.sendMessage(player, prestige.getMessages(), s -> StringManager.parseReplacements(s, definition));
-			Messages.sendMessage(player, prestige.getBroadcastMessages(),
-					s -> StringManager.parseReplacements(s, definition));
+			Messages.sendMessage(player, prestige.getMessages(), replacements);
+			Messages.sendMessage(player, prestige.getBroadcastMessages(), replacements);
 
 			// Console and Player Commands
-			prestige.useCommandsComponent(component -> component.dispatchCommands(player,
-					s -> StringManager.parseReplacements(s.replace("{number}", prestigeName), definition)));
+			prestige.useCommandsComponent(component -> governor.submitCommands(component, player,
+					s -> replacements.apply(s).replace("{number}", prestigeName)));
 
 			// Action Bar Messages
-			prestige.useActionBarComponent(
-					component -> component.sendActionBar(player, s -> StringManager.parseReplacements(s, definition)));
+			prestige.useActionBarComponent(component -> component.sendActionBar(player, replacements));
 
 			// Random Commands
-			prestige.useRandomCommandsComponent(component -> component.dispatchCommands(player,
-					s -> StringManager.parseReplacements(s, definition)));
+			prestige.useRandomCommandsComponent(component -> governor.submit(Resource.CONSOLE_COMMANDS,
+					() -> component.dispatchCommands(player, replacements)));
 
 			// Permissions Addition and Deletion
-			prestige.usePermissionsComponent(component -> component.updatePermissions(player));
+			prestige.usePermissionsComponent(component -> governor.submit(Resource.PERMISSION_WRITES,
+					() -> component.updatePermissions(player)));
 
 			// Firework
-			prestige.useFireworkComponent(component -> BukkitTickBalancer.sync(() -> component.spawnFirework(player)));
+			prestige.useFireworkComponent(component -> governor.submit(Resource.FIREWORKS, player,
+					() -> component.spawnFirework(player)));
 
 			// Continuous Prestiges Settings
 			PrestigeStorage.useContinuousComponents(prestige.getNumber(), ch -> {
-				ch.useCommandsComponent(component -> component.dispatchCommands(player));
+				ch.useCommandsComponent(component -> governor.submitCommands(component, player, Function.identity()));
 				Messages.sendMessage(player, ch.getBroadcastMessages());
 				Messages.sendMessage(player, ch.getMessages());
 			});
-
-			StringManager.deleteReplacements(definition);
 		}, 1);
 	}
 
+	@Override
+	public void executeComponents(Level prestige, Player player, PromotionEffectsBuffer buffer) {
+		String prestigeName = prestige.getName();
+		// The context is immutable, so buffered effects can still use it after this call
+		ReplacementContext replacements = createReplacements(prestige, player);
+
+		buffer.bufferMessages(prestige.getMessages(), replacements);
+		buffer.bufferBroadcastMessages(prestige.getBroadcastMessages(), replacements);
+		prestige.useCommandsComponent(component -> buffer.bufferCommands(component,
+				s -> replacements.apply(s).replace("{number}", prestigeName)));
+		prestige.useActionBarComponent(component -> buffer.bufferActionBar(component, replacements));
+		prestige.useRandomCommandsComponent(component -> buffer.bufferRandomCommands(component, replacements));
+		prestige.usePermissionsComponent(buffer::bufferPermissions);
+		prestige.useFireworkComponent(buffer::bufferFirework);
+
+		// Continuous Prestiges Settings
+		PrestigeStorage.useContinuousComponents(prestige.getNumber(), ch -> {
+			ch.useCommandsComponent(component -> buffer.bufferCommands(component, Function.identity()));
+			buffer.bufferBroadcastMessages(ch.getBroadcastMessages(), ReplacementContext.EMPTY);
+			buffer.bufferMessages(ch.getMessages(), ReplacementContext.EMPTY);
+		});
+
+		buffer.scheduleFlush();
+	}
+
+	private ReplacementContext createReplacements(Level prestige, Player player) {
+		double cost = prestige.getCost();
+		return ReplacementContext.of("player", player.getName(),
+				"nextprestige", prestige.getName(),
+				"nextprestige_display", prestige.getDisplayName(),
+				"nextprestige_cost", String.valueOf(cost),
+				"nextprestige_cost_formatted", EconomyManager.shortcutFormat(cost),
+				"nextprestige_cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
+	}
+
 	public void spawnHologram(Level prestige, Player player, boolean async) {
 		if (!plugin.getGlobalSettings().isHologramsPlugin() || !plugin.getHologramSettings().isPrestigeEnabled())
 			return;
 		boolean asyncTask = HologramManager.SUPPORTS_ASYNC && async;
-		plugin.doTaskLater(asyncTask, () -> {
+		plugin.getPromotionGovernor().submit(Resource.HOLOGRAMS, player, () -> plugin.doTaskLater(asyncTask, player, () -> {
+			Location location = player.getLocation().add(0, hologramHeight, 0);
 			HologramManager
 					.createHologram(
 							"prxprstg_" + player.getName() + "_" + prestige.getName() + "_"
 									+ UniqueRandom.global().generate(async),
-							player.getLocation().add(0, hologramHeight, 0))
+							location)
 					.thenAccept(hologram -> {
 						hologram.init();
 						plugin.getHologramSettings().getPrestigeFormat().forEach(line -> {
-							hologram.addLine(
-									new TextHologramLine(StringManager.parsePlaceholders(
-											line.replace("%player%", player.getName())
-													.replace("%nextprestige%", prestige.getName())
-													.replace("%nextprestige_display%", prestige.getDisplayName()),
-											player)));
+							hologram.addLine(new TextHologramLine(MessageTemplate.of(line).render(player,
+									"player", player.getName(),
+									"nextprestige", prestige.getName(),
+									"nextprestige_display", prestige.getDisplayName())));
 						});
-						plugin.doTaskLater(asyncTask, hologram::clear, hologramDelay);
+						plugin.doTaskLater(asyncTask, location, hologram::clear, hologramDelay);
 					});
-		}, 1);
+		}, 1));
 	}
 
 	@Override
@@ -522,10 +582,29 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 		else soundRecord.atLocation(player.getLocation()).play();
 	}
 
+	/**
+	 * Withdraws the cost of a successful result through a balance reservation, so
+	 * it can't be raced by other promotions of the payer.
+	 *
+	 * @param payer          player to withdraw the cost from
+	 * @param prestigeResult result to withdraw the cost of
+	 * @return the result, or {@link PrestigeResult#FAIL_NOT_ENOUGH_BALANCE} if the cost
+	 *         couldn't be withdrawn
+	 */
+	private static PrestigeResult withdrawCost(Player payer, PrestigeResult prestigeResult) {
+		if (!prestigeResult.isSuccessful() || EconomyManager.takeReservedBalance(payer, prestigeResult.getDoubleResult()))
+			return prestigeResult;
+		return PrestigeResult.FAIL_NOT_ENOUGH_BALANCE.withUser(prestigeResult.getUserResult())
+				.withDouble(prestigeResult.getDoubleResult())
+				.withString(prestigeResult.getStringResult())
+				.withPrestige(prestigeResult.getPrestigeResult());
+	}
+
 	@Override
 	public void updateGroup(Player player) {
 		if (plugin.getGlobalSettings().isVaultGroups())
-			if (plugin.getPlayerGroupUpdater() != null) plugin.getPlayerGroupUpdater().update(player);
+			if (plugin.getPlayerGroupUpdater() != null) plugin.getPromotionGovernor()
+					.submit(Resource.PERMISSION_WRITES, () -> plugin.getPlayerGroupUpdater().update(player));
 	}
 
 	@Override
@@ -551,10 +630,12 @@ public class InfinitePrestigeExecutor implements PrestigeExecutor {
 	public void stopTasks() {
 		if (autoPrestigeTask != null) {
 			autoPrestigeTask.getBukkitTask().cancel();
+			BukkitTickBalancer.unregisterTask("auto-prestige");
 			autoPrestigeTask = null;
 		}
 		if (maxPrestigeTask != null) {
 			maxPrestigeTask.getBukkitTask().cancel();
+			BukkitTickBalancer.unregisterTask("max-prestige");
 			maxPrestigeTask = null;
 		}
 	}
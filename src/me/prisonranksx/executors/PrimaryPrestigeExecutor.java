@@ -12,17 +12,20 @@ import me.prisonranksx.data.PrestigeStorage;
 import me.prisonranksx.data.RankStorage;
 import me.prisonranksx.data.UserController;
 import me.prisonranksx.events.*;
+import me.prisonranksx.executors.PromotionGovernor.Resource;
 import me.prisonranksx.holders.*;
 import me.prisonranksx.managers.EconomyManager;
+import me.prisonranksx.managers.EconomyManager.BalanceReservation;
 import me.prisonranksx.managers.HologramManager;
-import me.prisonranksx.managers.StringManager;
+import me.prisonranksx.managers.MessageTemplate;
+import me.prisonranksx.managers.ReplacementContext;
 import me.prisonranksx.reflections.UniqueId;
 import me.prisonranksx.settings.Messages;
 import me.prisonranksx.utils.UniqueRandom;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -57,22 +60,25 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 		autoPrestigeTask = BukkitTickBalancer.scheduleDistributedTask(this::silentPrestige,
 				p -> p == null || !p.isOnline() || !isAutoPrestigeEnabled(p), Math.max(speed, 1));
 		autoPrestigeTask.initAsync(plugin, speed, speed);
+		BukkitTickBalancer.registerTask("auto-prestige", autoPrestigeTask);
 	}
 
 	private void setupMaxPrestige() {
 		boolean sendMsgContinuously = !plugin.getGlobalSettings().isPrestigeMaxPrestigeMsgLastPrestigeOnly();
 		maxPrestigeTask = BukkitTickBalancer.scheduleConcurrentTask(player -> {
 			UUID uniqueId = UniqueId.getUUID(player);
-			PrestigeResult prestigeResult = canPrestige(player, false);
-			if (prestigeResult.isSuccessful() && !MAX_PRESTIGE_BREAKER.contains(uniqueId)) {
+			TemporaryMaxPrestige tempHolder = maxPrestigeData.get(uniqueId);
+			BalanceReservation reservation = tempHolder.getBalanceReservation();
+			PrestigeResult prestigeResult = canPrestige(player, reservation.getAvailableBalance(), false);
+			if (prestigeResult.isSuccessful() && !MAX_PRESTIGE_BREAKER.contains(uniqueId)
+					&& reservation.reserve(prestigeResult.getDoubleResult())) {
 				String prestigeName = prestigeResult.getStringResult();
 				Prestige prestige = prestigeResult.getPrestigeResult();
 				if (sendMsgContinuously)
-					Messages.sendMessage(player, Messages.getPrestige(), s -> s.replace("%nextprestige%", prestigeName)
-							.replace("%nextprestige_display%", prestige.getDisplayName()));
-				executeComponents(prestige, player);
-				EconomyManager.takeBalance(player, prestigeResult.getDoubleResult());
-				TemporaryMaxPrestige tempHolder = maxPrestigeData.get(uniqueId);
+					Messages.sendMessage(player, Messages.getPrestige(),
+							"nextprestige", prestigeName,
+							"nextprestige_display", prestige.getDisplayName());
+				executeComponents(prestige, player, tempHolder.getEffectsBuffer());
 				tempHolder.setTakenBalance(tempHolder.getTakenBalance() + prestigeResult.getDoubleResult());
 				tempHolder.setPrestiges(tempHolder.getPrestiges() + 1);
 				tempHolder.setCurrentPrestigeResult(prestigeResult);
@@ -94,6 +100,9 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 			UUID uniqueId = UniqueId.getUUID(player);
 			TemporaryMaxPrestige tempHolder = maxPrestigeData.get(uniqueId);
 			PrestigeExecutor.removeMaxPrestigePlayer(uniqueId);
+			// Withdraw the cost of all passed prestiges at once, they are taken back if it fails
+			if (!tempHolder.getBalanceReservation().commit()) rollbackMaxPrestige(player, tempHolder);
+			tempHolder.getEffectsBuffer().finish();
 			boolean promotedAtLeastOnce = tempHolder.getCurrentPrestigeResult() != null;
 			PrestigeResult prestigeResult = !promotedAtLeastOnce ? canPrestige(player, false) : tempHolder.getCurrentPrestigeResult();
 			double cost = tempHolder.getTakenBalance();
@@ -104,18 +113,16 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 					Messages.sendMessage(player, Messages.getDisallowedPrestige());
 					break;
 				case FAIL_NOT_ENOUGH_BALANCE:
-					Messages.sendMessage(player, Messages.getPrestigeNotEnoughBalance(), updatedLine -> updatedLine
-							.replace("%nextprestige_cost%", String.valueOf(prestigeResult.getDoubleResult()))
-							.replace("%nextprestige_cost_formatted%",
-									EconomyManager.shortcutFormat(prestigeResult.getDoubleResult()))
-							.replace("%nextprestige%", prestigeResult.getStringResult())
-							.replace("%nextprestige_display%", prestigeResult.getPrestigeResult().getDisplayName()));
+					Messages.sendMessage(player, Messages.getPrestigeNotEnoughBalance(),
+							"nextprestige_cost", String.valueOf(prestigeResult.getDoubleResult()),
+							"nextprestige_cost_formatted", EconomyManager.shortcutFormat(prestigeResult.getDoubleResult()),
+							"nextprestige", prestigeResult.getStringResult(),
+							"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 					break;
 				case FAIL_NO_PERMISSION:
 					Messages.sendMessage(player, Messages.getDisallowedPrestige(),
-							updatedLine -> updatedLine.replace("%prestige%", prestigeResult.getStringResult())
-									.replace("%prestige_display%",
-											prestigeResult.getPrestigeResult().getDisplayName()));
+							"prestige", prestigeResult.getStringResult(),
+							"prestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 					break;
 				case FAIL_REQUIREMENTS_NOT_MET:
 					Messages.sendMessage(player, prestigeResult.getPrestigeResult().getRequirementsMessages());
@@ -129,23 +136,25 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 			if (promotedAtLeastOnce) {
 				spawnHologram(prestigeResult.getPrestigeResult(), player, true);
 				Messages.sendMessage(player, Messages.getPrestigeMax(),
-						updatedLine -> updatedLine.replace("%prestige%", tempHolder.getFirstPrestigeName())
-								.replace("%prestige_display%", tempHolder.getFirstPrestigeDisplayName())
-								.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%", prestigeResult.getPrestigeResult().getDisplayName())
-								.replace("%cost%", String.valueOf(cost))
-								.replace("%cost_formatted%", EconomyManager.shortcutFormat(cost))
-								.replace("%cost_us_format%", EconomyManager.commaFormatWithDecimals(cost)));
+						"prestige", tempHolder.getFirstPrestigeName(),
+						"prestige_display", tempHolder.getFirstPrestigeDisplayName(),
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName(),
+						"cost", String.valueOf(cost),
+						"cost_formatted", EconomyManager.shortcutFormat(cost),
+						"cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
 				if (!sendMsgContinuously) Messages.sendMessage(player, Messages.getPrestige(),
-						s -> s.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%", prestigeResult.getPrestigeResult().getDisplayName()));
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 				playSound(player);
 				plugin.getUserController().getUser(uniqueId).setPrestigeName(prestigeResult.getStringResult());
 			}
 			tempHolder.getFinalPrestigeResult().complete(prestigeResult);
 			maxPrestigeData.remove(uniqueId);
 		});
+		maxPrestigeTask.setTickBudget(BukkitTickBalancer.getAsyncBudget());
 		maxPrestigeTask.initAsync(plugin);
+		BukkitTickBalancer.registerTask("max-prestige", maxPrestigeTask);
 	}
 
 	private PrestigeResult silentPrestige(UUID uniqueId) {
@@ -156,6 +165,19 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 		return silentPrestige(UniqueId.getUUID(player));
 	}
 
+	/**
+	 * Takes back the prestiges passed during a max prestige when their cost couldn't be
+	 * withdrawn, so the finish is handled as if none of them were passed.
+	 */
+	private void rollbackMaxPrestige(Player player, TemporaryMaxPrestige tempHolder) {
+		PrisonRanksX.logWarning("Failed to withdraw the cost of passed prestiges from " + player.getName()
+				+ ", taking them back.");
+		tempHolder.getEffectsBuffer().discard();
+		tempHolder.getStartingLevels().restore();
+		tempHolder.setCurrentPrestigeResult(null).setPrestiges(0).setTakenBalance(0);
+		updateGroup(player);
+	}
+
 	private UserController controlUsers() {
 		return plugin.getUserController();
 	}
@@ -167,7 +189,7 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 
 	@Override
 	public PrestigeResult canPrestige(Player player, boolean skipLastRankCheck) {
-		return canPrestige(player, EconomyManager.getBalance(player), skipLastRankCheck);
+		return canPrestige(player, EconomyManager.getAvailableBalance(player), skipLastRankCheck);
 	}
 
 	@Override
@@ -220,10 +242,11 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 		UUID uniqueId = UniqueId.getUUID(player);
 		if (!AUTO_PRESTIGE_PLAYERS.contains(uniqueId)) {
 			AUTO_PRESTIGE_PLAYERS.add(uniqueId);
-			autoPrestigeTask.addValue(() -> player);
+			autoPrestigeTask.addValue(uniqueId, () -> player);
 			return true;
 		}
 		AUTO_PRESTIGE_PLAYERS.remove(uniqueId);
+		autoPrestigeTask.removeValue(uniqueId);
 		return false;
 	}
 
@@ -233,11 +256,12 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 		if (enable) {
 			if (!AUTO_PRESTIGE_PLAYERS.contains(uniqueId)) {
 				AUTO_PRESTIGE_PLAYERS.add(uniqueId);
-				autoPrestigeTask.addValue(() -> player);
+				autoPrestigeTask.addValue(uniqueId, () -> player);
 			}
 			return true;
 		}
 		AUTO_PRESTIGE_PLAYERS.remove(uniqueId);
+		autoPrestigeTask.removeValue(uniqueId);
 		return false;
 	}
 
@@ -249,9 +273,11 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 	@Override
 	public PrestigeResult prestige(Player player) {
 		PrestigeResult eventPrestigeResult = canPrestige(player, false);
-		PrestigeUpdateEvent event = callPrestigeUpdateEvent(player, PrestigeUpdateCause.PRESTIGE, eventPrestigeResult);
-		if (event.isCancelled()) return eventPrestigeResult;
+		if (PrestigeUpdateEvent.hasListeners()
+				&& callPrestigeUpdateEvent(player, PrestigeUpdateCause.PRESTIGE, eventPrestigeResult).isCancelled())
+			return eventPrestigeResult;
 		PrestigeResult prestigeResult = eventPrestigeResult;
+		prestigeResult = withdrawCost(player, prestigeResult);
 		User user = prestigeResult.getUserResult();
 		switch (prestigeResult) {
 			case FAIL_NOT_LAST_RANK:
@@ -261,23 +287,21 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 				Messages.sendMessage(player, Messages.getLastPrestige());
 				break;
 			case FAIL_NOT_ENOUGH_BALANCE:
-				Messages.sendMessage(player, Messages.getPrestigeNotEnoughBalance(), updatedLine -> updatedLine
-						.replace("%nextprestige_cost%", String.valueOf(prestigeResult.getDoubleResult()))
-						.replace("%nextprestige_cost_formatted%",
-								EconomyManager.shortcutFormat(prestigeResult.getDoubleResult()))
-						.replace("%nextprestige%", prestigeResult.getStringResult())
-						.replace("%nextprestige_display%", prestigeResult.getPrestigeResult().getDisplayName()));
+				Messages.sendMessage(player, Messages.getPrestigeNotEnoughBalance(),
+						"nextprestige_cost", String.valueOf(prestigeResult.getDoubleResult()),
+						"nextprestige_cost_formatted", EconomyManager.shortcutFormat(prestigeResult.getDoubleResult()),
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 				break;
 			case FAIL_REQUIREMENTS_NOT_MET:
 				Messages.sendMessage(player, prestigeResult.getPrestigeResult().getRequirementsMessages());
 				break;
 			case SUCCESS:
 				Prestige prestige = prestigeResult.getPrestigeResult();
-				EconomyManager.takeBalance(player, prestigeResult.getDoubleResult());
 				executeComponents(prestige, player);
 				Messages.sendMessage(player, Messages.getPrestige(),
-						s -> s.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%", prestige.getDisplayName()));
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestige.getDisplayName());
 				prestigeResult.getUserResult().setPrestigeName(prestigeResult.getStringResult());
 				spawnHologram(prestigeResult.getPrestigeResult(), player, true);
 				playSound(player);
@@ -300,17 +324,18 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 	public PrestigeResult prestige(Player player, boolean silent) {
 		if (!silent) return prestige(player);
 		PrestigeResult eventPrestigeResult = canPrestige(player);
-		AsyncAutoPrestigeEvent event = callAsyncAutoPrestigeEvent(player, eventPrestigeResult);
-		if (event.isCancelled()) return eventPrestigeResult;
+		if (AsyncAutoPrestigeEvent.hasListeners()
+				&& callAsyncAutoPrestigeEvent(player, eventPrestigeResult).isCancelled())
+			return eventPrestigeResult;
 		PrestigeResult prestigeResult = eventPrestigeResult;
+		prestigeResult = withdrawCost(player, prestigeResult);
 		User user = prestigeResult.getUserResult();
 		if (prestigeResult == PrestigeResult.SUCCESS) {
 			Prestige prestige = prestigeResult.getPrestigeResult();
-			EconomyManager.takeBalance(player, prestigeResult.getDoubleResult());
 			executeComponents(prestige, player);
 			Messages.sendMessage(player, Messages.getPrestige(),
-					s -> s.replace("%nextprestige%", prestigeResult.getStringResult())
-							.replace("%nextprestige_display%", prestige.getDisplayName()));
+					"nextprestige", prestigeResult.getStringResult(),
+					"nextprestige_display", prestige.getDisplayName());
 			prestigeResult.getUserResult().setPrestigeName(prestigeResult.getStringResult());
 			spawnHologram(prestigeResult.getPrestigeResult(), player, true);
 			playSound(player);
@@ -329,9 +354,9 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 	@Override
 	public PrestigeResult forcePrestige(Player player) {
 		PrestigeResult eventPrestigeResult = canPrestige(player, Double.MAX_VALUE, false);
-		PrestigeUpdateEvent event = callPrestigeUpdateEvent(player, PrestigeUpdateCause.FORCE_PRESTIGE,
-				eventPrestigeResult);
-		if (event.isCancelled()) return eventPrestigeResult;
+		if (PrestigeUpdateEvent.hasListeners()
+				&& callPrestigeUpdateEvent(player, PrestigeUpdateCause.FORCE_PRESTIGE, eventPrestigeResult).isCancelled())
+			return eventPrestigeResult;
 		PrestigeResult prestigeResult = eventPrestigeResult;
 		switch (prestigeResult) {
 			case FAIL_LAST_PRESTIGE:
@@ -341,9 +366,8 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 				executeComponents(prestigeResult.getPrestigeResult(), player);
 				prestigeResult.getUserResult().setPrestigeName(prestigeResult.getStringResult());
 				Messages.sendMessage(player, Messages.getPrestige(),
-						s -> s.replace("%nextprestige%", prestigeResult.getStringResult())
-								.replace("%nextprestige_display%",
-										prestigeResult.getPrestigeResult().getDisplayName()));
+						"nextprestige", prestigeResult.getStringResult(),
+						"nextprestige_display", prestigeResult.getPrestigeResult().getDisplayName());
 				spawnHologram(prestigeResult.getPrestigeResult(), player, false);
 				playSound(player);
 				updateGroup(player);
@@ -378,6 +402,9 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 		TemporaryMaxPrestige tempHolder = new TemporaryMaxPrestige(uniqueId);
 		tempHolder.setFirstPrestigeName(currentPrestige.getName());
 		tempHolder.setFirstPrestigeDisplayName(currentPrestige.getDisplayName());
+		tempHolder.setEffectsBuffer(new PromotionEffectsBuffer(plugin, player, false, false));
+		tempHolder.setBalanceReservation(EconomyManager.openReservation(player));
+		tempHolder.setStartingLevels(UserLevels.of(user));
 		maxPrestigeData.put(uniqueId, tempHolder);
 		PrestigeExecutor.addMaxPrestigePlayer(uniqueId);
 		maxPrestigeTask.addValue(() -> player);
@@ -401,6 +428,7 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 
 	@Override
 	public boolean callPrePrestigeMaxEvent(Player player) {
+		if (!PrePrestigeMaxEvent.hasListeners()) return true;
 		PrePrestigeMaxEvent prePrestigeMaxEvent = new PrePrestigeMaxEvent(player);
 		Bukkit.getPluginManager().callEvent(prePrestigeMaxEvent);
 		return !prePrestigeMaxEvent.isCancelled();
@@ -409,6 +437,7 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 	@Override
 	public void callAsyncPrestigeMaxEvent(Player player, PrestigeResult lastResult, String fromPrestige,
 										  String toPrestige, long totalPrestiges, double takenBalance, boolean limited) {
+		if (!AsyncPrestigeMaxEvent.hasListeners()) return;
 		AsyncPrestigeMaxEvent asyncPrestigeMaxEvent = new AsyncPrestigeMaxEvent(player, lastResult, fromPrestige,
 				toPrestige, totalPrestiges, takenBalance, limited);
 		Bukkit.getPluginManager().callEvent(asyncPrestigeMaxEvent);
@@ -418,67 +447,86 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 	public void executeComponents(Level prestige, Player player) {
 		plugin.doSyncLater(() -> {
 			String prestigeName = prestige.getName();
-			double cost = prestige.getCost();
-			String definition = "prxprstg_" + prestigeName + player.getName();
-			Map<String, String> replacements = new HashMap<>();
-			replacements.put("player", player.getName());
-			replacements.put("nextprestige", prestigeName);
-			replacements.put("nextprestige_display", prestige.getDisplayName());
-			replacements.put("nextprestige_cost", String.valueOf(cost));
-			replacements.put("nextprestige_cost_formatted", EconomyManager.shortcutFormat(cost));
-			replacements.put("nextprestige_cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
-			StringManager.defineReplacements(definition, replacements);
+			// The context is immutable, so effects deferred by the governor can still use it
+			ReplacementContext replacements = createReplacements(prestige, player);
+			PromotionGovernor governor = plugin.getPromotionGovernor();
 
 			// Messages
-			Messages.sendMessage(player, prestige.getMessages(), s -> StringManager.parseReplacements(s, definition));
-			Messages.sendMessage(player, prestige.getBroadcastMessages(),
-					s -> StringManager.parseReplacements(s, definition));
+			Messages.sendMessage(player, prestige.getMessages(), replacements);
+			Messages.sendMessage(player, prestige.getBroadcastMessages(), replacements);
 
 			// Console and Player Commands
-			prestige.useCommandsComponent(component -> component.dispatchCommands(player,
-					s -> StringManager.parseReplacements(s.replace("{number}", prestigeName), definition)));
+			prestige.useCommandsComponent(component -> governor.submitCommands(component, player,
+					s -> replacements.apply(s.replace("{number}", prestigeName))));
 
 			// Action Bar Messages
-			prestige.useActionBarComponent(
-					component -> component.sendActionBar(player, s -> StringManager.parseReplacements(s, definition)));
+			prestige.useActionBarComponent(component -> component.sendActionBar(player, replacements));
 
 			// Random Commands
-			prestige.useRandomCommandsComponent(component -> component.dispatchCommands(player,
-					s -> StringManager.parseReplacements(s, definition)));
+			prestige.useRandomCommandsComponent(component -> governor.submit(Resource.CONSOLE_COMMANDS,
+					() -> component.dispatchCommands(player, replacements)));
 
 			// Permissions Addition and Deletion
-			prestige.usePermissionsComponent(component -> component.updatePermissions(player));
+			prestige.usePermissionsComponent(component -> governor.submit(Resource.PERMISSION_WRITES,
+					() -> component.updatePermissions(player)));
 
 			// Firework
-			prestige.useFireworkComponent(component -> BukkitTickBalancer.sync(() -> component.spawnFirework(player)));
-
-			StringManager.deleteReplacements(definition);
+			prestige.useFireworkComponent(component -> governor.submit(Resource.FIREWORKS, player,
+					() -> component.spawnFirework(player)));
 		}, 1);
 	}
 
+	@Override
+	public void executeComponents(Level prestige, Player player, PromotionEffectsBuffer buffer) {
+		String prestigeName = prestige.getName();
+		// The context is immutable, so buffered effects can still use it after this call
+		ReplacementContext replacements = createReplacements(prestige, player);
+
+		buffer.bufferMessages(prestige.getMessages(), replacements);
+		buffer.bufferBroadcastMessages(prestige.getBroadcastMessages(), replacements);
+		prestige.useCommandsComponent(component -> buffer.bufferCommands(component,
+				s -> replacements.apply(s.replace("{number}", prestigeName))));
+		prestige.useActionBarComponent(component -> buffer.bufferActionBar(component, replacements));
+		prestige.useRandomCommandsComponent(component -> buffer.bufferRandomCommands(component, replacements));
+		prestige.usePermissionsComponent(buffer::bufferPermissions);
+		prestige.useFireworkComponent(buffer::bufferFirework);
+
+		buffer.scheduleFlush();
+	}
+
+	private ReplacementContext createReplacements(Level prestige, Player player) {
+		double cost = prestige.getCost();
+		return ReplacementContext.of("player", player.getName(),
+				"nextprestige", prestige.getName(),
+				"nextprestige_display", prestige.getDisplayName(),
+				"nextprestige_cost", String.valueOf(cost),
+				"nextprestige_cost_formatted", EconomyManager.shortcutFormat(cost),
+				"nextprestige_cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
+	}
+
 	public void spawnHologram(Level prestige, Player player, boolean async) {
 		if (!plugin.getGlobalSettings().isHologramsPlugin() || !plugin.getHologramSettings().isPrestigeEnabled())
 			return;
-		plugin.doSyncLater(() -> {
+		plugin.getPromotionGovernor().submit(Resource.HOLOGRAMS, player, () -> plugin.doSyncLater(player, () -> {
+			Location location = player.getLocation().add(0, hologramHeight, 0);
 			HologramManager
 					.createHologram(
 							"prxprstg_" + player.getName() + "_" + prestige.getName() + "_"
 									+ UniqueRandom.global().generate(async),
-							player.getLocation().add(0, hologramHeight, 0))
+							location)
 					.thenAccept(hologram -> {
 						hologram.init();
 						plugin.doTask(async, () -> {
 							plugin.getHologramSettings().getPrestigeFormat().forEach(line -> {
-								hologram.addLine(new TextHologramLine(StringManager.parsePlaceholders(
-										line.replace("%player%", player.getName())
-												.replace("%nextprestige%", prestige.getName())
-												.replace("%nextprestige_display%", prestige.getDisplayName()),
-										player)));
+								hologram.addLine(new TextHologramLine(MessageTemplate.of(line).render(player,
+										"player", player.getName(),
+										"nextprestige", prestige.getName(),
+										"nextprestige_display", prestige.getDisplayName())));
 							});
-							plugin.doSyncLater(hologram::clear, hologramDelay);
+							plugin.doSyncLater(location, hologram::clear, hologramDelay);
 						});
 					});
-		}, 1);
+		}, 1));
 	}
 
 	@Override
@@ -489,10 +537,29 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 		else soundRecord.atLocation(player.getLocation()).play();
 	}
 
+	/**
+	 * Withdraws the cost of a successful result through a balance reservation, so
+	 * it can't be raced by other promotions of the payer.
+	 *
+	 * @param payer          player to withdraw the cost from
+	 * @param prestigeResult result to withdraw the cost of
+	 * @return the result, or {@link PrestigeResult#FAIL_NOT_ENOUGH_BALANCE} if the cost
+	 *         couldn't be withdrawn
+	 */
+	private static PrestigeResult withdrawCost(Player payer, PrestigeResult prestigeResult) {
+		if (!prestigeResult.isSuccessful() || EconomyManager.takeReservedBalance(payer, prestigeResult.getDoubleResult()))
+			return prestigeResult;
+		return PrestigeResult.FAIL_NOT_ENOUGH_BALANCE.withUser(prestigeResult.getUserResult())
+				.withDouble(prestigeResult.getDoubleResult())
+				.withString(prestigeResult.getStringResult())
+				.withPrestige(prestigeResult.getPrestigeResult());
+	}
+
 	@Override
 	public void updateGroup(Player player) {
 		if (plugin.getGlobalSettings().isVaultGroups())
-			if (plugin.getPlayerGroupUpdater() != null) plugin.getPlayerGroupUpdater().update(player);
+			if (plugin.getPlayerGroupUpdater() != null) plugin.getPromotionGovernor()
+					.submit(Resource.PERMISSION_WRITES, () -> plugin.getPlayerGroupUpdater().update(player));
 	}
 
 	@Override
@@ -518,10 +585,12 @@ public class PrimaryPrestigeExecutor implements PrestigeExecutor {
 	public void stopTasks() {
 		if (autoPrestigeTask != null) {
 			autoPrestigeTask.getBukkitTask().cancel();
+			BukkitTickBalancer.unregisterTask("auto-prestige");
 			autoPrestigeTask = null;
 		}
 		if (maxPrestigeTask != null) {
 			maxPrestigeTask.getBukkitTask().cancel();
+			BukkitTickBalancer.unregisterTask("max-prestige");
 			maxPrestigeTask = null;
 		}
 	}
@@ -13,17 +13,22 @@ import me.prisonranksx.components.RequirementsComponent.RequirementEvaluationRes
 import me.prisonranksx.data.RankStorage;
 import me.prisonranksx.data.UserController;
 import me.prisonranksx.events.*;
+import me.prisonranksx.executors.PromotionGovernor.Resource;
 import me.prisonranksx.holders.Level;
 import me.prisonranksx.holders.Rank;
 import me.prisonranksx.holders.TemporaryMaxRankup;
 import me.prisonranksx.holders.User;
+import me.prisonranksx.holders.UserLevels;
 import me.prisonranksx.managers.EconomyManager;
+import me.prisonranksx.managers.EconomyManager.BalanceReservation;
 import me.prisonranksx.managers.HologramManager;
-import me.prisonranksx.managers.StringManager;
+import me.prisonranksx.managers.MessageTemplate;
+import me.prisonranksx.managers.ReplacementContext;
 import me.prisonranksx.reflections.UniqueId;
 import me.prisonranksx.settings.Messages;
 import me.prisonranksx.utils.UniqueRandom;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.Nullable;
 
@@ -61,21 +66,23 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 		autoRankupTask = BukkitTickBalancer.scheduleDistributedTask(this::silentPromote, p -> p == null || !isAutoRankupEnabled(p) || !p.isOnline(),
 				speed);
 		autoRankupTask.initAsync(plugin, speed, speed);
+		BukkitTickBalancer.registerTask("auto-rankup", autoRankupTask);
 	}
 
 	private void setupMaxRankup() {
 		maxRankupTask = BukkitTickBalancer.scheduleConcurrentTask(player -> {
-			RankupResult rankupResult = canRankup(player);
 			UUID uniqueId = UniqueId.getUUID(player);
-			if (rankupResult.isSuccessful() && !MAX_RANKUP_BREAKER.contains(uniqueId)) {
-				executeComponents(rankupResult.getRankResult(), player);
+			TemporaryMaxRankup tempHolder = maxRankupData.get(uniqueId);
+			BalanceReservation reservation = tempHolder.getBalanceReservation();
+			RankupResult rankupResult = canRankup(player, reservation.getAvailableBalance());
+			if (rankupResult.isSuccessful() && !MAX_RANKUP_BREAKER.contains(uniqueId)
+					&& reservation.reserve(rankupResult.getDoubleResult())) {
+				executeComponents(rankupResult.getRankResult(), player, tempHolder.getEffectsBuffer());
 				rankupResult.getUserResult().setRankName(rankupResult.getStringResult());
-				EconomyManager.takeBalance(player, rankupResult.getDoubleResult());
-				TemporaryMaxRankup tempHolder = maxRankupData.get(uniqueId);
 				tempHolder.setTakenBalance(tempHolder.getTakenBalance() + rankupResult.getDoubleResult());
 				tempHolder.setRankups(tempHolder.getRankups() + 1);
 				tempHolder.setCurrentRankupResult(rankupResult);
-				updateGroup(player);
+				// Group is updated once the max rankup is finished
 				Optional.ofNullable(tempHolder.getLastAllowedRankName()).ifPresent(s -> {
 					maxRankupData.remove(uniqueId);
 					breakMaxRankup(uniqueId);
@@ -90,6 +97,9 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 			UUID uniqueId = UniqueId.getUUID(player);
 			TemporaryMaxRankup tempHolder = maxRankupData.get(uniqueId);
 			RankupExecutor.removeMaxRankupPlayer(uniqueId);
+			// Withdraw the cost of all passed ranks at once, they are taken back if it fails
+			if (!tempHolder.getBalanceReservation().commit()) rollbackMaxRankup(player, tempHolder);
+			tempHolder.getEffectsBuffer().finish();
 			boolean promotedAtLeastOnce = tempHolder.getCurrentRankupResult() != null;
 			RankupResult rankupResult = !promotedAtLeastOnce ? canRankup(player) : tempHolder.getCurrentRankupResult();
 			double cost = tempHolder.getTakenBalance();
@@ -101,17 +111,15 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 					break;
 				case FAIL_NOT_ENOUGH_BALANCE:
 					Messages.sendMessage(player, Messages.getNotEnoughBalance(),
-							updatedLine -> updatedLine
-									.replace("%rankup_cost%", String.valueOf(rankupResult.getDoubleResult()))
-									.replace("%rankup_cost_formatted%",
-											EconomyManager.shortcutFormat(rankupResult.getDoubleResult()))
-									.replace("%rankup%", rankupResult.getStringResult())
-									.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName()));
+							"rankup_cost", String.valueOf(rankupResult.getDoubleResult()),
+							"rankup_cost_formatted", EconomyManager.shortcutFormat(rankupResult.getDoubleResult()),
+							"rankup", rankupResult.getStringResult(),
+							"rankup_display", rankupResult.getRankResult().getDisplayName());
 					break;
 				case FAIL_NO_PERMISSION:
 					Messages.sendMessage(player, Messages.getNoPermission(),
-							updatedLine -> updatedLine.replace("%rankup%", rankupResult.getStringResult())
-									.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName()));
+							"rankup", rankupResult.getStringResult(),
+							"rankup_display", rankupResult.getRankResult().getDisplayName());
 					break;
 				case FAIL_REQUIREMENTS_NOT_MET:
 					Messages.sendMessage(player, rankupResult.getRankResult().getRequirementsMessages());
@@ -123,13 +131,13 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 				spawnHologram(rankupResult.getRankResult(), player, true);
 				updateGroup(player);
 				Messages.sendMessage(player, Messages.getRankupMax(),
-						updatedLine -> updatedLine.replace("%rank%", tempHolder.getFirstRankName())
-								.replace("%rank_display%", tempHolder.getFirstRankDisplayName())
-								.replace("%rankup%", rankupResult.getStringResult())
-								.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName())
-								.replace("%cost%", String.valueOf(cost))
-								.replace("%cost_formatted%", EconomyManager.shortcutFormat(cost))
-								.replace("%cost_us_format%", EconomyManager.commaFormatWithDecimals(cost)));
+						"rank", tempHolder.getFirstRankName(),
+						"rank_display", tempHolder.getFirstRankDisplayName(),
+						"rankup", rankupResult.getStringResult(),
+						"rankup_display", rankupResult.getRankResult().getDisplayName(),
+						"cost", String.valueOf(cost),
+						"cost_formatted", EconomyManager.shortcutFormat(cost),
+						"cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
 				playSound(player);
 				plugin.getUserController().getUser(uniqueId).setRankName(rankupResult.getStringResult());
 			}
@@ -139,20 +147,34 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 				plugin.getPrestigeExecutor().maxPrestige(player);
 			}
 		});
+		maxRankupTask.setTickBudget(BukkitTickBalancer.getAsyncBudget());
 		maxRankupTask.initAsync();
+		BukkitTickBalancer.registerTask("max-rankup", maxRankupTask);
 	}
 
 	private RankupResult silentRankup(UUID uniqueId) {
 		return rankup(UniqueId.getPlayer(uniqueId), true);
 	}
 
+	/**
+	 * Takes back the ranks passed during a max rankup when their cost couldn't be
+	 * withdrawn, so the finish is handled as if none of them were passed.
+	 */
+	private void rollbackMaxRankup(Player player, TemporaryMaxRankup tempHolder) {
+		PrisonRanksX.logWarning("Failed to withdraw the cost of passed ranks from " + player.getName()
+				+ ", taking them back.");
+		tempHolder.getEffectsBuffer().discard();
+		tempHolder.getStartingLevels().restore();
+		tempHolder.setCurrentRankupResult(null).setRankups(0).setTakenBalance(0);
+	}
+
 	private UserController controlUsers() {
 		return plugin.getUserController();
 	}
 
 	@Override
 	public RankupResult canRankup(Player player) {
-		return canRankup(player, EconomyManager.getBalance(player));
+		return canRankup(player, EconomyManager.getAvailableBalance(player));
 	}
 
 	@Override
@@ -193,10 +215,11 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 		UUID uniqueId = UniqueId.getUUID(player);
 		if (!AUTO_RANKUP_PLAYERS.contains(uniqueId)) {
 			AUTO_RANKUP_PLAYERS.add(uniqueId);
-			autoRankupTask.addValue(() -> player);
+			autoRankupTask.addValue(uniqueId, () -> player);
 			return true;
 		}
 		AUTO_RANKUP_PLAYERS.remove(uniqueId);
+		autoRankupTask.removeValue(uniqueId);
 		return false;
 	}
 
@@ -206,11 +229,12 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 		if (enable) {
 			if (!AUTO_RANKUP_PLAYERS.contains(uniqueId)) {
 				AUTO_RANKUP_PLAYERS.add(uniqueId);
-				autoRankupTask.addValue(() -> player);
+				autoRankupTask.addValue(uniqueId, () -> player);
 			}
 			return true;
 		}
 		AUTO_RANKUP_PLAYERS.remove(uniqueId);
+		autoRankupTask.removeValue(uniqueId);
 		return false;
 	}
 
@@ -221,36 +245,36 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 
 	@Override
 	public RankupResult rankup(Player player) {
-		RankUpdateEvent event = callRankUpdateEvent(player, RankUpdateCause.RANKUP, canRankup(player));
-		if (event.isCancelled()) return event.getRankupResult();
-		RankupResult rankupResult = event.getRankupResult();
+		RankupResult tempRankupResult = canRankup(player);
+		RankUpdateEvent event = RankUpdateEvent.hasListeners()
+				? callRankUpdateEvent(player, RankUpdateCause.RANKUP, tempRankupResult) : null;
+		if (event != null && event.isCancelled()) return event.getRankupResult();
+		RankupResult rankupResult = event == null ? tempRankupResult : event.getRankupResult();
+		rankupResult = withdrawCost(player, rankupResult);
 		switch (rankupResult) {
 			case FAIL_LAST_RANK:
 				Messages.sendMessage(player, Messages.getLastRank());
 				break;
 			case FAIL_NOT_ENOUGH_BALANCE:
 				Messages.sendMessage(player, Messages.getNotEnoughBalance(),
-						updatedLine -> updatedLine
-								.replace("%rankup_cost%", String.valueOf(rankupResult.getDoubleResult()))
-								.replace("%rankup_cost_formatted%",
-										EconomyManager.shortcutFormat(rankupResult.getDoubleResult()))
-								.replace("%rankup%", rankupResult.getStringResult())
-								.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName()));
+						"rankup_cost", String.valueOf(rankupResult.getDoubleResult()),
+						"rankup_cost_formatted", EconomyManager.shortcutFormat(rankupResult.getDoubleResult()),
+						"rankup", rankupResult.getStringResult(),
+						"rankup_display", rankupResult.getRankResult().getDisplayName());
 				break;
 			case FAIL_NO_PERMISSION:
 				Messages.sendMessage(player, Messages.getRankupNoPermission(),
-						updatedLine -> updatedLine.replace("%rankup%", rankupResult.getStringResult())
-								.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName()));
+						"rankup", rankupResult.getStringResult(),
+						"rankup_display", rankupResult.getRankResult().getDisplayName());
 				break;
 			case FAIL_REQUIREMENTS_NOT_MET:
 				Messages.sendMessage(player, rankupResult.getRankResult().getRequirementsMessages());
 				break;
 			case SUCCESS:
-				EconomyManager.takeBalance(player, rankupResult.getDoubleResult());
 				executeComponents(rankupResult.getRankResult(), player);
 				Messages.sendMessage(player, Messages.getRankup(),
-						s -> s.replace("%rankup%", rankupResult.getStringResult())
-								.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName()));
+						"rankup", rankupResult.getStringResult(),
+						"rankup_display", rankupResult.getRankResult().getDisplayName());
 				rankupResult.getUserResult().setRankName(rankupResult.getStringResult());
 				spawnHologram(rankupResult.getRankResult(), player, true);
 				playSound(player);
@@ -264,48 +288,48 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 
 	@Override
 	public RankupResult rankup(Player player, Player target) {
-		RankUpdateEvent event = callRankUpdateEvent(player, RankUpdateCause.RANKUP_OTHER,
-				canRankup(target, EconomyManager.getBalance(player)));
-		if (event.isCancelled()) return event.getRankupResult();
-		RankupResult rankupResult = event.getRankupResult();
+		RankupResult tempRankupResult = canRankup(target, EconomyManager.getAvailableBalance(player));
+		RankUpdateEvent event = RankUpdateEvent.hasListeners()
+				? callRankUpdateEvent(player, RankUpdateCause.RANKUP_OTHER, tempRankupResult) : null;
+		if (event != null && event.isCancelled()) return event.getRankupResult();
+		RankupResult rankupResult = event == null ? tempRankupResult : event.getRankupResult();
+		rankupResult = withdrawCost(player, rankupResult);
 		switch (rankupResult) {
 			case FAIL_LAST_RANK:
 				Messages.sendMessage(player, Messages.getLastRank());
 				break;
 			case FAIL_NOT_ENOUGH_BALANCE:
 				Messages.sendMessage(player, Messages.getNotEnoughBalanceOther(),
-						updatedLine -> updatedLine
-								.replace("%rankup_cost%", String.valueOf(rankupResult.getDoubleResult()))
-								.replace("%rankup_cost_formatted%",
-										EconomyManager.shortcutFormat(rankupResult.getDoubleResult()))
-								.replace("%rankup%", rankupResult.getStringResult())
-								.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName())
-								.replace("%player%", target.getName()));
+						"rankup_cost", String.valueOf(rankupResult.getDoubleResult()),
+						"rankup_cost_formatted", EconomyManager.shortcutFormat(rankupResult.getDoubleResult()),
+						"rankup", rankupResult.getStringResult(),
+						"rankup_display", rankupResult.getRankResult().getDisplayName(),
+						"player", target.getName());
 				break;
 			case FAIL_NO_PERMISSION:
 				Messages.sendMessage(player, Messages.getRankupOtherNoPermission(),
-						updatedLine -> updatedLine.replace("%rankup%", rankupResult.getStringResult())
-								.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName())
-								.replace("%player%", target.getName()));
+						"rankup", rankupResult.getStringResult(),
+						"rankup_display", rankupResult.getRankResult().getDisplayName(),
+						"player", target.getName());
 				break;
 			case FAIL_REQUIREMENTS_NOT_MET:
 				Messages.sendMessage(player, rankupResult.getRankResult().getRequirementsMessages());
 				break;
 			case SUCCESS:
-				EconomyManager.takeBalance(player, rankupResult.getDoubleResult());
 				executeComponents(rankupResult.getRankResult(), player);
 				String rankupName = rankupResult.getStringResult();
 				String rankupDisplayName = rankupResult.getRankResult().getDisplayName();
 				Messages.sendMessage(target, Messages.getRankup(),
-						s -> s.replace("%rankup%", rankupName).replace("%rankup_display%", rankupDisplayName));
+						"rankup", rankupName,
+						"rankup_display", rankupDisplayName);
 				Messages.sendMessage(target, Messages.getRankupOtherRecipient(),
-						s -> s.replace("%rankup%", rankupName)
-								.replace("%rankup_display%", rankupDisplayName)
-								.replace("%player%", player.getName()));
+						"rankup", rankupName,
+						"rankup_display", rankupDisplayName,
+						"player", player.getName());
 				Messages.sendMessage(player, Messages.getRankupOther(),
-						s -> s.replace("%rankup%", rankupName)
-								.replace("%rankup_display%", rankupDisplayName)
-								.replace("%player%", target.getName()));
+						"rankup", rankupName,
+						"rankup_display", rankupDisplayName,
+						"player", target.getName());
 				rankupResult.getUserResult().setRankName(rankupName);
 				spawnHologram(rankupResult.getRankResult(), player, false);
 				playSound(player);
@@ -321,15 +345,16 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 	public RankupResult rankup(Player player, boolean silent) {
 		if (!silent) return rankup(player);
 		RankupResult tempRankupResult = canRankup(player);
-		AsyncAutoRankupEvent event = callAsyncAutoRankupEvent(player, tempRankupResult);
-		if (event.isCancelled()) return tempRankupResult;
-		RankupResult rankupResult = event.getRankupResult();
+		AsyncAutoRankupEvent event = AsyncAutoRankupEvent.hasListeners()
+				? callAsyncAutoRankupEvent(player, tempRankupResult) : null;
+		if (event != null && event.isCancelled()) return tempRankupResult;
+		RankupResult rankupResult = event == null ? tempRankupResult : event.getRankupResult();
+		rankupResult = withdrawCost(player, rankupResult);
 		if (rankupResult.isSuccessful()) {
-			EconomyManager.takeBalance(player, rankupResult.getDoubleResult());
 			executeComponents(rankupResult.getRankResult(), player);
 			Messages.sendMessage(player, Messages.getRankup(),
-					s -> s.replace("%rankup%", rankupResult.getStringResult())
-							.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName()));
+					"rankup", rankupResult.getStringResult(),
+					"rankup_display", rankupResult.getRankResult().getDisplayName());
 			rankupResult.getUserResult().setRankName(rankupResult.getStringResult());
 			spawnHologram(rankupResult.getRankResult(), player, true);
 			playSound(player);
@@ -340,9 +365,11 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 
 	@Override
 	public RankupResult forceRankup(Player player) {
-		RankUpdateEvent event = callRankUpdateEvent(player, RankUpdateCause.FORCE_RANKUP, canRankup(player, -1));
-		if (event.isCancelled()) return event.getRankupResult();
-		RankupResult rankupResult = event.getRankupResult();
+		RankupResult tempRankupResult = canRankup(player, -1);
+		RankUpdateEvent event = RankUpdateEvent.hasListeners()
+				? callRankUpdateEvent(player, RankUpdateCause.FORCE_RANKUP, tempRankupResult) : null;
+		if (event != null && event.isCancelled()) return event.getRankupResult();
+		RankupResult rankupResult = event == null ? tempRankupResult : event.getRankupResult();
 		switch (rankupResult) {
 			case FAIL_LAST_RANK:
 				Messages.sendMessage(player, Messages.getLastRank());
@@ -351,8 +378,8 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 				executeComponents(rankupResult.getRankResult(), player);
 				rankupResult.getUserResult().setRankName(rankupResult.getStringResult());
 				Messages.sendMessage(player, Messages.getRankup(),
-						s -> s.replace("%rankup%", rankupResult.getStringResult())
-								.replace("%rankup_display%", rankupResult.getRankResult().getDisplayName()));
+						"rankup", rankupResult.getStringResult(),
+						"rankup_display", rankupResult.getRankResult().getDisplayName());
 				spawnHologram(rankupResult.getRankResult(), player, false);
 				playSound(player);
 				updateGroup(player);
@@ -378,14 +405,17 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 			return CompletableFuture.completedFuture(RankupResult.FAIL_LAST_RANK.withRank(currentRank).withUser(user));
 		}
 
-		// Clone of the ranks
-		Set<Rank> ranks = new LinkedHashSet<>(RankStorage.getPathRanks(user.getPathName()));
+		// Only clone the ranks for the event if someone is going to look at them
+		if (PreRankupMaxEvent.hasListeners()) {
+			// Clone of the ranks
+			Set<Rank> ranks = new LinkedHashSet<>(RankStorage.getPathRanks(user.getPathName()));
 
-		// Remove unnecessary ranks to make sure we don't go through them in the loop
-		ranks.removeIf(rank -> rank.getIndex() <= currentRank.getIndex());
+			// Remove unnecessary ranks to make sure we don't go through them in the loop
+			ranks.removeIf(rank -> rank.getIndex() <= currentRank.getIndex());
 
-		if (!callPreRankupMaxEvent(player, currentRank, ranks)) return CompletableFuture.completedFuture(
-				RankupResult.FAIL_OTHER.withRank(currentRank).withUser(user).withString(currentRank.getName()));
+			if (!callPreRankupMaxEvent(player, currentRank, ranks)) return CompletableFuture.completedFuture(
+					RankupResult.FAIL_OTHER.withRank(currentRank).withUser(user).withString(currentRank.getName()));
+		}
 
 		// Player is already at last rank, so don't continue
 		if (currentRank.getNextName() == null) {
@@ -397,7 +427,12 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 		maxRankupData.put(uniqueId,
 				TemporaryMaxRankup.hold(uniqueId)
 						.setFirstRankName(currentRank.getName())
-						.setFirstRankDisplayName(currentRank.getDisplayName()));
+						.setFirstRankDisplayName(currentRank.getDisplayName())
+						.setEffectsBuffer(new PromotionEffectsBuffer(plugin, player,
+								plugin.getGlobalSettings().isRankupMaxMsgLastRankOnly(),
+								plugin.getGlobalSettings().isRankupMaxBroadcastLastRankOnly()))
+						.setBalanceReservation(EconomyManager.openReservation(player))
+						.setStartingLevels(UserLevels.of(user)));
 		RankupExecutor.addMaxRankupPlayer(uniqueId);
 		maxRankupTask.addValue(() -> player);
 		return maxRankupData.get(uniqueId).getFinalRankupResult();
@@ -427,6 +462,7 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 	@Override
 	public void callAsyncRankupMaxEvent(Player player, RankupResult lastResult, String fromRank, String toRank,
 										int totalRankups, double takenBalance, boolean limited) {
+		if (!AsyncRankupMaxEvent.hasListeners()) return;
 		AsyncRankupMaxEvent asyncRankupMaxEvent = new AsyncRankupMaxEvent(player, lastResult, fromRank, toRank,
 				totalRankups, takenBalance, limited);
 		Bukkit.getPluginManager().callEvent(asyncRankupMaxEvent);
@@ -439,45 +475,61 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 		// under
 		// commands
 		plugin.doSyncLater(() -> {
-			String rankName = rank.getName();
-			double cost = rank.getCost();
-			String definition = "prx_" + rankName + player.getName();
-			Map<String, String> replacements = new HashMap<>();
-			replacements.put("player", player.getName());
-			replacements.put("rankup", rankName);
-			replacements.put("rankup_display", rank.getDisplayName());
-			replacements.put("rankup_cost", String.valueOf(cost));
-			replacements.put("rankup_cost_formatted", EconomyManager.shortcutFormat(cost));
-			replacements.put("rankup_cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
-			StringManager.defineReplacements(definition, replacements);
+			// The context is immutable, so effects deferred by the governor can still use it
+			ReplacementContext replacements = createReplacements(rank, player);
+			PromotionGovernor governor = plugin.getPromotionGovernor();
 
 			// Messages
-			Messages.sendMessage(player, rank.getMessages(), s -> StringManager.parseReplacements(s, definition));
-			Messages.sendMessage(player, rank.getBroadcastMessages(),
-					s -> StringManager.parseReplacements(s, definition));
+			Messages.sendMessage(player, rank.getMessages(), replacements);
+			Messages.sendMessage(player, rank.getBroadcastMessages(), replacements);
 
 			// Permissions Addition and Deletion
-			rank.usePermissionsComponent(component -> component.updatePermissions(player));
+			rank.usePermissionsComponent(component -> governor.submit(Resource.PERMISSION_WRITES,
+					() -> component.updatePermissions(player)));
 
 			// Console and Player Commands
-			rank.useCommandsComponent(component -> component.dispatchCommands(player,
-					s -> StringManager.parseReplacements(s, definition)));
+			rank.useCommandsComponent(component -> governor.submitCommands(component, player,
+					replacements));
 
 			// Action Bar Messages
-			rank.useActionBarComponent(
-					component -> component.sendActionBar(player, s -> StringManager.parseReplacements(s, definition)));
+			rank.useActionBarComponent(component -> component.sendActionBar(player, replacements));
 
 			// Random Commands
-			rank.useRandomCommandsComponent(component -> component.dispatchCommands(player,
-					s -> StringManager.parseReplacements(s, definition)));
+			rank.useRandomCommandsComponent(component -> governor.submit(Resource.CONSOLE_COMMANDS,
+					() -> component.dispatchCommands(player, replacements)));
 
 			// Firework
-			rank.useFireworkComponent(component -> BukkitTickBalancer.sync(() -> component.spawnFirework(player)));
-
-			StringManager.deleteReplacements(definition);
+			rank.useFireworkComponent(component -> governor.submit(Resource.FIREWORKS, player,
+					() -> component.spawnFirework(player)));
 		}, 1);
 	}
 
+	@Override
+	public void executeComponents(Level rank, Player player, PromotionEffectsBuffer buffer) {
+		// The context is immutable, so buffered effects can still use it after this call
+		ReplacementContext replacements = createReplacements(rank, player);
+
+		buffer.bufferMessages(rank.getMessages(), replacements);
+		buffer.bufferBroadcastMessages(rank.getBroadcastMessages(), replacements);
+		rank.usePermissionsComponent(buffer::bufferPermissions);
+		rank.useCommandsComponent(component -> buffer.bufferCommands(component, replacements));
+		rank.useActionBarComponent(component -> buffer.bufferActionBar(component, replacements));
+		rank.useRandomCommandsComponent(component -> buffer.bufferRandomCommands(component, replacements));
+		rank.useFireworkComponent(buffer::bufferFirework);
+
+		buffer.scheduleFlush();
+	}
+
+	private ReplacementContext createReplacements(Level rank, Player player) {
+		double cost = rank.getCost();
+		return ReplacementContext.of("player", player.getName(),
+				"rankup", rank.getName(),
+				"rankup_display", rank.getDisplayName(),
+				"rankup_cost", String.valueOf(cost),
+				"rankup_cost_formatted", EconomyManager.shortcutFormat(cost),
+				"rankup_cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
+	}
+
 	@Override
 	public void promote(Player player) {
 		rankup(player);
@@ -491,26 +543,24 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 	public void spawnHologram(Level rank, Player player, boolean async) {
 		if (!plugin.getGlobalSettings().isHologramsPlugin() || !plugin.getHologramSettings().isRankupEnabled()) return;
 		// Delay 1 tick in case of teleportation from warp commands.
-		plugin.doSyncLater(() -> {
+		plugin.getPromotionGovernor().submit(Resource.HOLOGRAMS, player, () -> plugin.doSyncLater(player, () -> {
+			Location location = player.getLocation().add(0, hologramHeight, 0);
 			HologramManager
 					.createHologram(
 							"prx_" + player.getName() + "_" + rank.getName() + "_"
 									+ UniqueRandom.global().generate(async),
-							player.getLocation().add(0, hologramHeight, 0))
+							location)
 					.thenAccept(hologram -> {
 						hologram.init();
 						plugin.getHologramSettings().getRankupFormat().forEach(line -> {
-							hologram.addLine(
-									new TextHologramLine(
-											StringManager.parsePlaceholders(
-													line.replace("%player%", player.getName())
-															.replace("%nextrank%", rank.getName())
-															.replace("%nextrank_display%", rank.getDisplayName()),
-													player)));
+							hologram.addLine(new TextHologramLine(MessageTemplate.of(line).render(player,
+									"player", player.getName(),
+									"nextrank", rank.getName(),
+									"nextrank_display", rank.getDisplayName())));
 						});
-						plugin.doSyncLater(hologram::clear, hologramDelay);
+						plugin.doSyncLater(location, hologram::clear, hologramDelay);
 					});
-		}, 1);
+		}, 1));
 	}
 
 	@Override
@@ -521,10 +571,29 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 		else soundRecord.atLocation(player.getLocation()).play();
 	}
 
+	/**
+	 * Withdraws the cost of a successful result through a balance reservation, so
+	 * it can't be raced by other promotions of the payer.
+	 *
+	 * @param payer        player to withdraw the cost from
+	 * @param rankupResult result to withdraw the cost of
+	 * @return the result, or {@link RankupResult#FAIL_NOT_ENOUGH_BALANCE} if the cost
+	 *         couldn't be withdrawn
+	 */
+	private static RankupResult withdrawCost(Player payer, RankupResult rankupResult) {
+		if (!rankupResult.isSuccessful() || EconomyManager.takeReservedBalance(payer, rankupResult.getDoubleResult()))
+			return rankupResult;
+		return RankupResult.FAIL_NOT_ENOUGH_BALANCE.withUser(rankupResult.getUserResult())
+				.withDouble(rankupResult.getDoubleResult())
+				.withString(rankupResult.getStringResult())
+				.withRank(rankupResult.getRankResult());
+	}
+
 	@Override
 	public void updateGroup(Player player) {
 		if (plugin.getGlobalSettings().isVaultGroups())
-			if (plugin.getPlayerGroupUpdater() != null) plugin.getPlayerGroupUpdater().update(player);
+			if (plugin.getPlayerGroupUpdater() != null) plugin.getPromotionGovernor()
+					.submit(Resource.PERMISSION_WRITES, () -> plugin.getPlayerGroupUpdater().update(player));
 	}
 
 	@Override
@@ -541,10 +610,12 @@ public class PrimaryRankupExecutor implements RankupExecutor {
 	public void stopTasks() {
 		if (autoRankupTask != null) {
 			autoRankupTask.getBukkitTask().cancel();
+			BukkitTickBalancer.unregisterTask("auto-rankup");
 			autoRankupTask = null;
 		}
 		if (maxRankupTask != null) {
 			maxRankupTask.getBukkitTask().cancel();
+			BukkitTickBalancer.unregisterTask("max-rankup");
 			maxRankupTask = null;
 		}
 	}
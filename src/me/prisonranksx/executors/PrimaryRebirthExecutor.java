@@ -12,17 +12,20 @@ import me.prisonranksx.data.RankStorage;
 import me.prisonranksx.data.RebirthStorage;
 import me.prisonranksx.data.UserController;
 import me.prisonranksx.events.*;
+import me.prisonranksx.executors.PromotionGovernor.Resource;
 import me.prisonranksx.holders.*;
 import me.prisonranksx.managers.EconomyManager;
+import me.prisonranksx.managers.EconomyManager.BalanceReservation;
 import me.prisonranksx.managers.HologramManager;
-import me.prisonranksx.managers.StringManager;
+import me.prisonranksx.managers.MessageTemplate;
+import me.prisonranksx.managers.ReplacementContext;
 import me.prisonranksx.reflections.UniqueId;
 import me.prisonranksx.settings.Messages;
 import me.prisonranksx.utils.UniqueRandom;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -62,15 +65,17 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 	private void setupMaxRebirth() {
 		maxRebirthTask = BukkitTickBalancer.scheduleConcurrentTask(player -> {
 			UUID uniqueId = UniqueId.getUUID(player);
-			RebirthResult rebirthResult = canRebirth(player, false);
-			if (rebirthResult.isSuccessful() && !MAX_REBIRTH_BREAKER.contains(uniqueId)) {
+			TemporaryMaxRebirth tempHolder = maxRebirthData.get(uniqueId);
+			BalanceReservation reservation = tempHolder.getBalanceReservation();
+			RebirthResult rebirthResult = canRebirth(player, reservation.getAvailableBalance(), false);
+			if (rebirthResult.isSuccessful() && !MAX_REBIRTH_BREAKER.contains(uniqueId)
+					&& reservation.reserve(rebirthResult.getDoubleResult())) {
 				String rebirthName = rebirthResult.getStringResult();
 				Rebirth rebirth = rebirthResult.getRebirthResult();
-				Messages.sendMessage(player, Messages.getRebirth(), s -> s.replace("%nextrebirth%", rebirthName)
-						.replace("%nextrebirth_display%", rebirth.getDisplayName()));
-				executeComponents(rebirth, player);
-				EconomyManager.takeBalance(player, rebirthResult.getDoubleResult());
-				TemporaryMaxRebirth tempHolder = maxRebirthData.get(uniqueId);
+				Messages.sendMessage(player, Messages.getRebirth(),
+						"nextrebirth", rebirthName,
+						"nextrebirth_display", rebirth.getDisplayName());
+				executeComponents(rebirth, player, tempHolder.getEffectsBuffer());
 				tempHolder.setTakenBalance(tempHolder.getTakenBalance() + rebirthResult.getDoubleResult());
 				tempHolder.setRebirths(tempHolder.getRebirths() + 1);
 				tempHolder.setCurrentRebirthResult(rebirthResult);
@@ -92,7 +97,11 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 			UUID uniqueId = UniqueId.getUUID(player);
 			TemporaryMaxRebirth tempHolder = maxRebirthData.get(uniqueId);
 			RebirthExecutor.removeMaxRebirthPlayer(uniqueId);
-			RebirthResult rebirthResult = tempHolder.getCurrentRebirthResult();
+			// Withdraw the cost of all passed rebirths at once, they are taken back if it fails
+			if (!tempHolder.getBalanceReservation().commit()) rollbackMaxRebirth(player, tempHolder);
+			tempHolder.getEffectsBuffer().finish();
+			boolean promotedAtLeastOnce = tempHolder.getCurrentRebirthResult() != null;
+			RebirthResult rebirthResult = !promotedAtLeastOnce ? canRebirth(player) : tempHolder.getCurrentRebirthResult();
 			double cost = tempHolder.getTakenBalance();
 			callAsyncRebirthMaxEvent(player, rebirthResult, tempHolder.getFirstRebirthName(),
 					rebirthResult.getStringResult(), tempHolder.getRebirths(), cost, false);
@@ -101,17 +110,16 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 					Messages.sendMessage(player, Messages.getDisallowedRebirth());
 					break;
 				case FAIL_NOT_ENOUGH_BALANCE:
-					Messages.sendMessage(player, Messages.getRebirthNotEnoughBalance(), updatedLine -> updatedLine
-							.replace("%nextrebirth_cost%", String.valueOf(rebirthResult.getDoubleResult()))
-							.replace("%nextrebirth_cost_formatted%",
-									EconomyManager.shortcutFormat(rebirthResult.getDoubleResult()))
-							.replace("%nextrebirth%", rebirthResult.getStringResult())
-							.replace("%nextrebirth_display%", rebirthResult.getRebirthResult().getDisplayName()));
+					Messages.sendMessage(player, Messages.getRebirthNotEnoughBalance(),
+							"nextrebirth_cost", String.valueOf(rebirthResult.getDoubleResult()),
+							"nextrebirth_cost_formatted", EconomyManager.shortcutFormat(rebirthResult.getDoubleResult()),
+							"nextrebirth", rebirthResult.getStringResult(),
+							"nextrebirth_display", rebirthResult.getRebirthResult().getDisplayName());
 					break;
 				case FAIL_NO_PERMISSION:
 					Messages.sendMessage(player, Messages.getDisallowedRebirth(),
-							updatedLine -> updatedLine.replace("%rebirth%", rebirthResult.getStringResult())
-									.replace("%rebirth_display%", rebirthResult.getRebirthResult().getDisplayName()));
+							"rebirth", rebirthResult.getStringResult(),
+							"rebirth_display", rebirthResult.getRebirthResult().getDisplayName());
 					break;
 				case FAIL_REQUIREMENTS_NOT_MET:
 					Messages.sendMessage(player, rebirthResult.getRebirthResult().getRequirementsMessages());
@@ -122,23 +130,27 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 				default:
 					break;
 			}
-			spawnHologram(rebirthResult.getRebirthResult(), player, true);
-			Messages.sendMessage(player, Messages.getRebirth(),
-					updatedLine -> updatedLine.replace("%rebirth%", tempHolder.getFirstRebirthName())
-							.replace("%rebirth_display%", tempHolder.getFirstRebirthDisplayName())
-							.replace("%nextrebirth%", rebirthResult.getStringResult())
-							.replace("%nextrebirth_display%", rebirthResult.getRebirthResult().getDisplayName())
-							.replace("%cost%", String.valueOf(cost))
-							.replace("%cost_formatted%", EconomyManager.shortcutFormat(cost))
-							.replace("%cost_us_format%", EconomyManager.commaFormatWithDecimals(cost)));
-			Messages.sendMessage(player, Messages.getRebirth(),
-					s -> s.replace("%nextrebirth%", rebirthResult.getStringResult())
-							.replace("%nextrebirth_display%", rebirthResult.getRebirthResult().getDisplayName()));
-			plugin.getUserController().getUser(uniqueId).setRebirthName(rebirthResult.getStringResult());
+			if (promotedAtLeastOnce) {
+				spawnHologram(rebirthResult.getRebirthResult(), player, true);
+				Messages.sendMessage(player, Messages.getRebirth(),
+						"rebirth", tempHolder.getFirstRebirthName(),
+						"rebirth_display", tempHolder.getFirstRebirthDisplayName(),
+						"nextrebirth", rebirthResult.getStringResult(),
+						"nextrebirth_display", rebirthResult.getRebirthResult().getDisplayName(),
+						"cost", String.valueOf(cost),
+						"cost_formatted", EconomyManager.shortcutFormat(cost),
+						"cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
+				Messages.sendMessage(player, Messages.getRebirth(),
+						"nextrebirth", rebirthResult.getStringResult(),
+						"nextrebirth_display", rebirthResult.getRebirthResult().getDisplayName());
+				plugin.getUserController().getUser(uniqueId).setRebirthName(rebirthResult.getStringResult());
+			}
 			tempHolder.getFinalRebirthResult().complete(rebirthResult);
 			maxRebirthData.remove(uniqueId);
 		});
+		maxRebirthTask.setTickBudget(BukkitTickBalancer.getAsyncBudget());
 		maxRebirthTask.initAsync(plugin);
+		BukkitTickBalancer.registerTask("max-rebirth", maxRebirthTask);
 	}
 
 	private RebirthResult silentRebirth(UUID uniqueId) {
@@ -149,6 +161,19 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 		return silentRebirth(UniqueId.getUUID(player));
 	}
 
+	/**
+	 * Takes back the rebirths passed during a max rebirth when their cost couldn't be
+	 * withdrawn, so the finish is handled as if none of them were passed.
+	 */
+	private void rollbackMaxRebirth(Player player, TemporaryMaxRebirth tempHolder) {
+		PrisonRanksX.logWarning("Failed to withdraw the cost of passed rebirths from " + player.getName()
+				+ ", taking them back.");
+		tempHolder.getEffectsBuffer().discard();
+		tempHolder.getStartingLevels().restore();
+		tempHolder.setCurrentRebirthResult(null).setRebirths(0).setTakenBalance(0);
+		updateGroup(player);
+	}
+
 	private UserController controlUsers() {
 		return plugin.getUserController();
 	}
@@ -160,7 +185,7 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 
 	@Override
 	public RebirthResult canRebirth(Player player, boolean skipLastRankCheck) {
-		return canRebirth(player, EconomyManager.getBalance(player), skipLastRankCheck);
+		return canRebirth(player, EconomyManager.getAvailableBalance(player), skipLastRankCheck);
 	}
 
 	@Override
@@ -223,10 +248,11 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 		if (uniqueId != null) return false;
 		if (!AUTO_REBIRTH_PLAYERS.contains(uniqueId)) {
 			AUTO_REBIRTH_PLAYERS.add(uniqueId);
-			autoRebirthTask.addValue(() -> player);
+			autoRebirthTask.addValue(uniqueId, () -> player);
 			return true;
 		}
 		AUTO_REBIRTH_PLAYERS.remove(uniqueId);
+		autoRebirthTask.removeValue(uniqueId);
 		return false;
 	}
 
@@ -238,11 +264,12 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 		if (enable) {
 			if (!AUTO_REBIRTH_PLAYERS.contains(uniqueId)) {
 				AUTO_REBIRTH_PLAYERS.add(uniqueId);
-				autoRebirthTask.addValue(() -> player);
+				autoRebirthTask.addValue(uniqueId, () -> player);
 			}
 			return true;
 		}
 		AUTO_REBIRTH_PLAYERS.remove(uniqueId);
+		autoRebirthTask.removeValue(uniqueId);
 		return false;
 	}
 
@@ -254,9 +281,11 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 	@Override
 	public RebirthResult rebirth(Player player) {
 		RebirthResult eventRebirthResult = canRebirth(player, false);
-		RebirthUpdateEvent event = callRebirthUpdateEvent(player, RebirthUpdateCause.REBIRTH, eventRebirthResult);
-		if (event.isCancelled()) return eventRebirthResult;
+		if (RebirthUpdateEvent.hasListeners()
+				&& callRebirthUpdateEvent(player, RebirthUpdateCause.REBIRTH, eventRebirthResult).isCancelled())
+			return eventRebirthResult;
 		RebirthResult rebirthResult = eventRebirthResult;
+		rebirthResult = withdrawCost(player, rebirthResult);
 		User user = rebirthResult.getUserResult();
 		switch (rebirthResult) {
 			case FAIL_NOT_LAST_RANK:
@@ -268,23 +297,20 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 				break;
 			case FAIL_NOT_ENOUGH_BALANCE:
 				Messages.sendMessage(player, Messages.getRebirthNotEnoughBalance(),
-						updatedLine -> updatedLine
-								.replace("%nextrebirth_cost%", String.valueOf(rebirthResult.getDoubleResult()))
-								.replace("%nextrebirth_cost_formatted%",
-										EconomyManager.shortcutFormat(rebirthResult.getDoubleResult()))
-								.replace("%nextrebirth%", rebirthResult.getStringResult())
-								.replace("%nextrebirth_display%", rebirthResult.getRebirthResult().getDisplayName()));
+						"nextrebirth_cost", String.valueOf(rebirthResult.getDoubleResult()),
+						"nextrebirth_cost_formatted", EconomyManager.shortcutFormat(rebirthResult.getDoubleResult()),
+						"nextrebirth", rebirthResult.getStringResult(),
+						"nextrebirth_display", rebirthResult.getRebirthResult().getDisplayName());
 				break;
 			case FAIL_REQUIREMENTS_NOT_MET:
 				Messages.sendMessage(player, rebirthResult.getRebirthResult().getRequirementsMessages());
 				break;
 			case SUCCESS:
 				Rebirth rebirth = rebirthResult.getRebirthResult();
-				EconomyManager.takeBalance(player, rebirthResult.getDoubleResult());
 				executeComponents(rebirth, player);
 				Messages.sendMessage(player, Messages.getRebirth(),
-						s -> s.replace("%nextrebirth%", rebirthResult.getStringResult())
-								.replace("%nextrebirth_display%", rebirth.getDisplayName()));
+						"nextrebirth", rebirthResult.getStringResult(),
+						"nextrebirth_display", rebirth.getDisplayName());
 				rebirthResult.getUserResult().setRebirthName(rebirthResult.getStringResult());
 				spawnHologram(rebirthResult.getRebirthResult(), player, true);
 				playSound(player);
@@ -307,18 +333,19 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 	public RebirthResult rebirth(Player player, boolean silent) {
 		if (!silent) return rebirth(player);
 		RebirthResult eventRebirthResult = canRebirth(player);
-		AsyncAutoRebirthEvent event = callAsyncAutoRebirthEvent(player, eventRebirthResult);
-		if (event.isCancelled()) return eventRebirthResult;
+		if (AsyncAutoRebirthEvent.hasListeners()
+				&& callAsyncAutoRebirthEvent(player, eventRebirthResult).isCancelled())
+			return eventRebirthResult;
 		RebirthResult rebirthResult = eventRebirthResult;
+		rebirthResult = withdrawCost(player, rebirthResult);
 		User user = rebirthResult.getUserResult();
 		switch (rebirthResult) {
 			case SUCCESS:
 				Rebirth rebirth = rebirthResult.getRebirthResult();
-				EconomyManager.takeBalance(player, rebirthResult.getDoubleResult());
 				executeComponents(rebirth, player);
 				Messages.sendMessage(player, Messages.getRebirth(),
-						s -> s.replace("%nextrebirth%", rebirthResult.getStringResult())
-								.replace("%nextrebirth_display%", rebirth.getDisplayName()));
+						"nextrebirth", rebirthResult.getStringResult(),
+						"nextrebirth_display", rebirth.getDisplayName());
 				rebirthResult.getUserResult().setRebirthName(rebirthResult.getStringResult());
 				spawnHologram(rebirthResult.getRebirthResult(), player, true);
 				playSound(player);
@@ -340,8 +367,9 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 	@Override
 	public RebirthResult forceRebirth(Player player) {
 		RebirthResult eventRebirthResult = canRebirth(player, Double.MAX_VALUE, false);
-		RebirthUpdateEvent event = callRebirthUpdateEvent(player, RebirthUpdateCause.FORCE_REBIRTH, eventRebirthResult);
-		if (event.isCancelled()) return eventRebirthResult;
+		if (RebirthUpdateEvent.hasListeners()
+				&& callRebirthUpdateEvent(player, RebirthUpdateCause.FORCE_REBIRTH, eventRebirthResult).isCancelled())
+			return eventRebirthResult;
 		RebirthResult rebirthResult = eventRebirthResult;
 		switch (rebirthResult) {
 			case FAIL_LAST_REBIRTH:
@@ -351,8 +379,8 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 				executeComponents(rebirthResult.getRebirthResult(), player);
 				rebirthResult.getUserResult().setRebirthName(rebirthResult.getStringResult());
 				Messages.sendMessage(player, Messages.getRebirth(),
-						s -> s.replace("%nextrebirth%", rebirthResult.getStringResult())
-								.replace("%nextrebirth_display%", rebirthResult.getRebirthResult().getDisplayName()));
+						"nextrebirth", rebirthResult.getStringResult(),
+						"nextrebirth_display", rebirthResult.getRebirthResult().getDisplayName());
 				spawnHologram(rebirthResult.getRebirthResult(), player, false);
 				playSound(player);
 				updateGroup(player);
@@ -389,6 +417,9 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 		TemporaryMaxRebirth tempHolder = new TemporaryMaxRebirth(uniqueId);
 		tempHolder.setFirstRebirthName(currentRebirth.getName());
 		tempHolder.setFirstRebirthDisplayName(currentRebirth.getDisplayName());
+		tempHolder.setEffectsBuffer(new PromotionEffectsBuffer(plugin, player, false, false));
+		tempHolder.setBalanceReservation(EconomyManager.openReservation(player));
+		tempHolder.setStartingLevels(UserLevels.of(user));
 		maxRebirthData.put(uniqueId, tempHolder);
 		RebirthExecutor.addMaxRebirthPlayer(uniqueId);
 		maxRebirthTask.addValue(() -> player);
@@ -413,6 +444,7 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 	@Override
 	public boolean callPreRebirthMaxEvent(Player player) {
 		if (player != null) return false;
+		if (!PreRebirthMaxEvent.hasListeners()) return true;
 		PreRebirthMaxEvent preRebirthMaxEvent = new PreRebirthMaxEvent(player);
 		Bukkit.getPluginManager().callEvent(preRebirthMaxEvent);
 		return !preRebirthMaxEvent.isCancelled();
@@ -422,6 +454,7 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 	public void callAsyncRebirthMaxEvent(Player player, RebirthResult lastResult, String fromRebirth, String toRebirth,
 										 long totalRebirths, double takenBalance, boolean limited) {
 		if (player != null) return;
+		if (!AsyncRebirthMaxEvent.hasListeners()) return;
 		AsyncRebirthMaxEvent asyncRebirthMaxEvent = new AsyncRebirthMaxEvent(player, lastResult, fromRebirth, toRebirth,
 				totalRebirths, takenBalance, limited);
 		Bukkit.getPluginManager().callEvent(asyncRebirthMaxEvent);
@@ -431,65 +464,83 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 	public void executeComponents(Level rebirth, Player player) {
 		plugin.doSyncLater(() -> {
 			String rebirthName = rebirth.getName();
-			double cost = rebirth.getCost();
-			String definition = "prxrbrth_" + rebirthName + player.getName();
-			Map<String, String> replacements = new HashMap<>();
-			replacements.put("player", player.getName());
-			replacements.put("nextrebirth", rebirthName);
-			replacements.put("nextrebirth_display", rebirth.getDisplayName());
-			replacements.put("nextrebirth_cost", String.valueOf(cost));
-			replacements.put("nextrebirth_cost_formatted", EconomyManager.shortcutFormat(cost));
-			replacements.put("nextrebirth_cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
-			StringManager.defineReplacements(definition, replacements);
+			// The context is immutable, so effects deferred by the governor can still use it
+			ReplacementContext replacements = createReplacements(rebirth, player);
+			PromotionGovernor governor = plugin.getPromotionGovernor();
 
 			// Messages
-			Messages.sendMessage(player, rebirth.getMessages(), s -> StringManager.parseReplacements(s, definition));
-			Messages.sendMessage(player, rebirth.getBroadcastMessages(),
-					s -> StringManager.parseReplacements(s, definition));
+			Messages.sendMessage(player, rebirth.getMessages(), replacements);
+			Messages.sendMessage(player, rebirth.getBroadcastMessages(), replacements);
 
 			// Console and Player Commands
-			rebirth.useCommandsComponent(component -> component.dispatchCommands(player,
-					s -> StringManager.parseReplacements(s.replace("{number}", rebirthName), definition)));
+			rebirth.useCommandsComponent(component -> governor.submitCommands(component, player,
+					s -> replacements.apply(s.replace("{number}", rebirthName))));
 
 			// Action Bar Messages
-			rebirth.useActionBarComponent(
-					component -> component.sendActionBar(player, s -> StringManager.parseReplacements(s, definition)));
+			rebirth.useActionBarComponent(component -> component.sendActionBar(player, replacements));
 
 			// Random Commands
-			rebirth.useRandomCommandsComponent(component -> component.dispatchCommands(player,
-					s -> StringManager.parseReplacements(s, definition)));
+			rebirth.useRandomCommandsComponent(component -> governor.submit(Resource.CONSOLE_COMMANDS,
+					() -> component.dispatchCommands(player, replacements)));
 
 			// Permissions Addition and Deletion
-			rebirth.usePermissionsComponent(component -> component.updatePermissions(player));
+			rebirth.usePermissionsComponent(component -> governor.submit(Resource.PERMISSION_WRITES,
+					() -> component.updatePermissions(player)));
 
 			// Firework
-			rebirth.useFireworkComponent(component -> BukkitTickBalancer.sync(() -> component.spawnFirework(player)));
-
-			StringManager.deleteReplacements(definition);
+			rebirth.useFireworkComponent(component -> governor.submit(Resource.FIREWORKS, player,
+					() -> component.spawnFirework(player)));
 		}, 1);
 	}
 
+	@Override
+	public void executeComponents(Level rebirth, Player player, PromotionEffectsBuffer buffer) {
+		String rebirthName = rebirth.getName();
+		// The context is immutable, so buffered effects can still use it after this call
+		ReplacementContext replacements = createReplacements(rebirth, player);
+
+		buffer.bufferMessages(rebirth.getMessages(), replacements);
+		buffer.bufferBroadcastMessages(rebirth.getBroadcastMessages(), replacements);
+		rebirth.useCommandsComponent(component -> buffer.bufferCommands(component,
+				s -> replacements.apply(s.replace("{number}", rebirthName))));
+		rebirth.useActionBarComponent(component -> buffer.bufferActionBar(component, replacements));
+		rebirth.useRandomCommandsComponent(component -> buffer.bufferRandomCommands(component, replacements));
+		rebirth.usePermissionsComponent(buffer::bufferPermissions);
+		rebirth.useFireworkComponent(buffer::bufferFirework);
+
+		buffer.scheduleFlush();
+	}
+
+	private ReplacementContext createReplacements(Level rebirth, Player player) {
+		double cost = rebirth.getCost();
+		return ReplacementContext.of("player", player.getName(),
+				"nextrebirth", rebirth.getName(),
+				"nextrebirth_display", rebirth.getDisplayName(),
+				"nextrebirth_cost", String.valueOf(cost),
+				"nextrebirth_cost_formatted", EconomyManager.shortcutFormat(cost),
+				"nextrebirth_cost_us_format", EconomyManager.commaFormatWithDecimals(cost));
+	}
+
 	public void spawnHologram(Level rebirth, Player player, boolean async) {
 		if (!plugin.getGlobalSettings().isHologramsPlugin() || !plugin.getHologramSettings().isRebirthEnabled()) return;
-		plugin.doSyncLater(() -> {
+		plugin.getPromotionGovernor().submit(Resource.HOLOGRAMS, player, () -> plugin.doSyncLater(player, () -> {
+			Location location = player.getLocation().add(0, hologramHeight, 0);
 			HologramManager
 					.createHologram(
 							"prxrbrth_" + player.getName() + "_" + rebirth.getName() + "_"
 									+ UniqueRandom.global().generate(async),
-							player.getLocation().add(0, hologramHeight, 0))
+							location)
 					.thenAccept(hologram -> {
 						hologram.init();
 						plugin.getHologramSettings().getRebirthFormat().forEach(line -> {
-							hologram.addLine(
-									new TextHologramLine(StringManager.parsePlaceholders(
-											line.replace("%player%", player.getName())
-													.replace("%nextrebirth%", rebirth.getName())
-													.replace("%nextrebirth_display%", rebirth.getDisplayName()),
-											player)));
+							hologram.addLine(new TextHologramLine(MessageTemplate.of(line).render(player,
+									"player", player.getName(),
+									"nextrebirth", rebirth.getName(),
+									"nextrebirth_display", rebirth.getDisplayName())));
 						});
-						plugin.doSyncLater(hologram::clear, hologramDelay);
+						plugin.doSyncLater(location, hologram::clear, hologramDelay);
 					});
-		}, 1);
+		}, 1));
 	}
 
 	@Override
@@ -500,10 +551,29 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 		else soundRecord.atLocation(player.getLocation()).play();
 	}
 
+	/**
+	 * Withdraws the cost of a successful result through a balance reservation, so
+	 * it can't be raced by other promotions of the payer.
+	 *
+	 * @param payer         player to withdraw the cost from
+	 * @param rebirthResult result to withdraw the cost of
+	 * @return the result, or {@link RebirthResult#FAIL_NOT_ENOUGH_BALANCE} if the cost
+	 *         couldn't be withdrawn
+	 */
+	private static RebirthResult withdrawCost(Player payer, RebirthResult rebirthResult) {
+		if (!rebirthResult.isSuccessful() || EconomyManager.takeReservedBalance(payer, rebirthResult.getDoubleResult()))
+			return rebirthResult;
+		return RebirthResult.FAIL_NOT_ENOUGH_BALANCE.withUser(rebirthResult.getUserResult())
+				.withDouble(rebirthResult.getDoubleResult())
+				.withString(rebirthResult.getStringResult())
+				.withRebirth(rebirthResult.getRebirthResult());
+	}
+
 	@Override
 	public void updateGroup(Player player) {
 		if (plugin.getGlobalSettings().isVaultGroups())
-			if (plugin.getPlayerGroupUpdater() != null) plugin.getPlayerGroupUpdater().update(player);
+			if (plugin.getPlayerGroupUpdater() != null) plugin.getPromotionGovernor()
+					.submit(Resource.PERMISSION_WRITES, () -> plugin.getPlayerGroupUpdater().update(player));
 	}
 
 	@Override
@@ -533,6 +603,7 @@ public class PrimaryRebirthExecutor implements RebirthExecutor {
 		}
 		if (maxRebirthTask != null) {
 			maxRebirthTask.getBukkitTask().cancel();
+			BukkitTickBalancer.unregisterTask("max-rebirth");
 			maxRebirthTask = null;
 		}
 	}
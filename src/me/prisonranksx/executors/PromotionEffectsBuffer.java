@@ -0,0 +1,334 @@
+package me.prisonranksx.executors;
+
+import me.prisonranksx.PrisonRanksX;
+import me.prisonranksx.components.ActionBarComponent;
+import me.prisonranksx.components.CommandsComponent;
+import me.prisonranksx.components.FireworkComponent;
+import me.prisonranksx.components.PermissionsComponent;
+import me.prisonranksx.components.RandomCommandsComponent;
+import me.prisonranksx.executors.PromotionGovernor.Resource;
+import me.prisonranksx.managers.PermissionsManager;
+import me.prisonranksx.managers.ReplacementContext;
+import me.prisonranksx.managers.StringManager;
+import me.prisonranksx.settings.Messages;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Collects side effects (messages, permission changes, commands, action bars and
+ * fireworks) of the levels a player goes through during a max promotion,
+ * so they are dispatched by a single sync flush per tick instead of
+ * scheduling a sync task for each passed level.
+ * <br>
+ * Permission changes are merged and, like commands, only applied once the max
+ * promotion is finished and paid for. Action bars and fireworks only keep the last
+ * one, and messages can be summarized to the messages of the last level only.
+ */
+public class PromotionEffectsBuffer {
+
+	private static final CommandSender CONSOLE = Bukkit.getConsoleSender();
+
+	private final PrisonRanksX plugin;
+	private final Player player;
+	private final boolean summarizeMessages;
+	private final boolean summarizeBroadcastMessages;
+	private final int maxEffectsPerFlush;
+
+	private final Queue<String> messages = new ConcurrentLinkedQueue<>();
+	private final Queue<BufferedCommand> commands = new ConcurrentLinkedQueue<>();
+	private final Map<String, Map<String, Boolean>> permissionChanges = new LinkedHashMap<>();
+	private final Set<PermissionsComponent> contextualPermissions = new LinkedHashSet<>();
+	private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+	private volatile List<String> lastMessages = Collections.emptyList();
+	private volatile List<String> lastBroadcastMessages = Collections.emptyList();
+	private volatile ActionBarComponent lastActionBar;
+	private volatile Function<String, String> lastActionBarFunction;
+	private volatile FireworkComponent lastFirework;
+	private volatile boolean finished;
+
+	/**
+	 * @param plugin                     plugin to schedule flushes with
+	 * @param player                     player that is being promoted
+	 * @param summarizeMessages          only send 'msg' of the last passed level
+	 * @param summarizeBroadcastMessages only send 'broadcast' of the last passed
+	 *                                   level
+	 */
+	public PromotionEffectsBuffer(PrisonRanksX plugin, Player player, boolean summarizeMessages,
+								  boolean summarizeBroadcastMessages) {
+		this.plugin = plugin;
+		this.player = player;
+		this.summarizeMessages = summarizeMessages;
+		this.summarizeBroadcastMessages = summarizeBroadcastMessages;
+		int limit = plugin.getGlobalSettings().getMaxPromotionEffectsPerTick();
+		this.maxEffectsPerFlush = limit <= 0 ? Integer.MAX_VALUE : limit;
+	}
+
+	public Player getPlayer() {
+		return player;
+	}
+
+	/**
+	 * @param messageLines messages to send to player
+	 * @param replacements replacements to apply right away, PlaceholderAPI
+	 *                     placeholders are parsed when the messages are sent
+	 */
+	public void bufferMessages(@Nullable List<String> messageLines, ReplacementContext replacements) {
+		if (messageLines == null) return;
+		if (summarizeMessages)
+			lastMessages = renderAll(messageLines, replacements);
+		else
+			messageLines.forEach(messageLine -> messages.add(replacements.apply(messageLine)));
+	}
+
+	/**
+	 * @param messageLines broadcast messages of the passed level
+	 * @param replacements replacements to apply right away, PlaceholderAPI
+	 *                     placeholders are parsed when the messages are sent
+	 */
+	public void bufferBroadcastMessages(@Nullable List<String> messageLines, ReplacementContext replacements) {
+		if (messageLines == null) return;
+		if (summarizeBroadcastMessages)
+			lastBroadcastMessages = renderAll(messageLines, replacements);
+		else
+			messageLines.forEach(messageLine -> messages.add(replacements.apply(messageLine)));
+	}
+
+	/**
+	 * Merges permission changes of the component with the ones that were buffered
+	 * before, so a permission that is added by a level then removed by a later one
+	 * results in a single removal.
+	 *
+	 * @param component permissions component of the passed level
+	 */
+	public void bufferPermissions(PermissionsComponent component) {
+		synchronized (permissionChanges) {
+			if (component instanceof PermissionsComponent.LuckPermsPermissionsComponent) {
+				// Server contexts can't be merged through Vault, so they are applied as they are.
+				contextualPermissions.add(component);
+				return;
+			}
+			if (component.hasGlobalAddPerms()) mergePermissions(null, component.getAddPermissionCollection(), true);
+			if (component.hasGlobalDelPerms()) mergePermissions(null, component.getDelPermissionCollection(), false);
+			if (component.hasAddWorldPerms())
+				component.getAddWorldPermissionMap().forEach((world, perms) -> mergePermissions(world, perms, true));
+			if (component.hasDelWorldPerms())
+				component.getDelWorldPermissionMap().forEach((world, perms) -> mergePermissions(world, perms, false));
+		}
+	}
+
+	private void mergePermissions(@Nullable String worldName, Set<String> permissions, boolean add) {
+		Map<String, Boolean> worldChanges = permissionChanges.computeIfAbsent(worldName, k -> new LinkedHashMap<>());
+		permissions.forEach(permission -> {
+			// Re-insert to keep the order of the last change
+			worldChanges.remove(permission);
+			worldChanges.put(permission, add);
+		});
+	}
+
+	/**
+	 * @param component commands component of the passed level
+	 * @param function  replacements to apply right away, PlaceholderAPI
+	 *                  placeholders are parsed when the commands are dispatched
+	 */
+	public void bufferCommands(CommandsComponent component, Function<String, String> function) {
+		String playerName = player.getName();
+		if (component.getConsoleCommands() != null) component.getConsoleCommands()
+				.forEach(commandLine -> commands.add(new BufferedCommand(true, function.apply(commandLine))));
+		if (component.getPlayerCommands() != null) component.getPlayerCommands()
+				.forEach(commandLine -> commands.add(
+						new BufferedCommand(false, function.apply(commandLine).replace("%player%", playerName))));
+	}
+
+	/**
+	 * Chooses the random commands right away and buffers them as console commands.
+	 *
+	 * @param component random commands component of the passed level
+	 * @param function  replacements to apply right away
+	 */
+	public void bufferRandomCommands(RandomCommandsComponent component, Function<String, String> function) {
+		component.chooseRandomCommands()
+				.forEach(commandLine -> commands.add(new BufferedCommand(true, function.apply(commandLine))));
+	}
+
+	/**
+	 * Action bars replace each other, so only the last one is sent.
+	 *
+	 * @param component action bar component of the passed level
+	 * @param function  replacements to apply when the action bar is sent
+	 */
+	public void bufferActionBar(ActionBarComponent component, Function<String, String> function) {
+		lastActionBarFunction = function;
+		lastActionBar = component;
+	}
+
+	/**
+	 * Fireworks spawned in the same location and tick are indistinguishable, so only
+	 * the last one is spawned.
+	 */
+	public void bufferFirework(FireworkComponent component) {
+		lastFirework = component;
+	}
+
+	/**
+	 * Schedules a sync flush on the next tick if one isn't scheduled already.
+	 */
+	public void scheduleFlush() {
+		if (flushScheduled.compareAndSet(false, true)) plugin.doSyncLater(player, this::flush, this::flushRetired, 1);
+	}
+
+	/**
+	 * Runs instead of the flush on region threaded servers if the player left. The
+	 * console commands and permission changes of the paid levels are still applied,
+	 * the rest needs the player and is dropped.
+	 */
+	private void flushRetired() {
+		flushScheduled.set(false);
+		if (!finished) return;
+		messages.clear();
+		BufferedCommand command;
+		while ((command = commands.poll()) != null) {
+			BufferedCommand bufferedCommand = command;
+			if (bufferedCommand.console)
+				plugin.getPromotionGovernor().submit(Resource.CONSOLE_COMMANDS, () -> bufferedCommand.dispatch(player));
+		}
+		applyPermissions();
+	}
+
+	/**
+	 * Marks the max promotion as finished, the next flush will dispatch the commands,
+	 * send the summarized effects and apply permission changes.
+	 */
+	public void finish() {
+		finished = true;
+		scheduleFlush();
+	}
+
+	/**
+	 * Drops every effect that wasn't dispatched yet, including all permission
+	 * changes, used when the passed levels are taken back.
+	 */
+	public void discard() {
+		finished = true;
+		messages.clear();
+		commands.clear();
+		synchronized (permissionChanges) {
+			permissionChanges.clear();
+			contextualPermissions.clear();
+		}
+		lastMessages = Collections.emptyList();
+		lastBroadcastMessages = Collections.emptyList();
+		lastActionBar = null;
+		lastActionBarFunction = null;
+		lastFirework = null;
+	}
+
+	/**
+	 * Dispatches up to the configured amount of buffered messages and commands.
+	 * Remaining effects are left for the next tick.
+	 * Must be called on the thread that owns the player, which is the main thread
+	 * unless the server is region threaded.
+	 */
+	private void flush() {
+		flushScheduled.set(false);
+		boolean finalFlush = finished;
+		int budget = maxEffectsPerFlush;
+		String message;
+		while (budget > 0 && (message = messages.poll()) != null) {
+			Messages.sendMessage(player, message);
+			budget--;
+		}
+		BufferedCommand command;
+		// Commands give the rewards of the passed levels, so they wait until the levels are paid for
+		while (finalFlush && budget > 0 && (command = commands.poll()) != null) {
+			BufferedCommand bufferedCommand = command;
+			// Player commands have to run on the player's thread on region threaded servers
+			if (bufferedCommand.console)
+				plugin.getPromotionGovernor().submit(Resource.CONSOLE_COMMANDS, () -> bufferedCommand.dispatch(player));
+			else
+				plugin.getPromotionGovernor()
+						.submit(Resource.CONSOLE_COMMANDS, player, () -> bufferedCommand.dispatch(player));
+			budget--;
+		}
+		if (!messages.isEmpty() || finalFlush && !commands.isEmpty()) {
+			scheduleFlush();
+			return;
+		}
+		if (!finalFlush) return;
+		Messages.sendMessage(player, lastMessages);
+		Messages.sendMessage(player, lastBroadcastMessages);
+		lastMessages = Collections.emptyList();
+		lastBroadcastMessages = Collections.emptyList();
+		applyPermissions();
+		if (lastActionBar != null) {
+			lastActionBar.sendActionBar(player, lastActionBarFunction);
+			lastActionBar = null;
+			lastActionBarFunction = null;
+		}
+		if (lastFirework != null) {
+			FireworkComponent firework = lastFirework;
+			plugin.getPromotionGovernor().submit(Resource.FIREWORKS, player, () -> firework.spawnFirework(player));
+			lastFirework = null;
+		}
+	}
+
+	private void applyPermissions() {
+		synchronized (permissionChanges) {
+			permissionChanges.forEach((worldName, changes) -> {
+				List<String> additions = new ArrayList<>();
+				List<String> deletions = new ArrayList<>();
+				changes.forEach((permission, add) -> (add ? additions : deletions).add(permission));
+				PromotionGovernor governor = plugin.getPromotionGovernor();
+				if (!additions.isEmpty()) governor.submit(Resource.PERMISSION_WRITES,
+						() -> PermissionsManager.givePermissions(player, additions, worldName));
+				if (!deletions.isEmpty()) governor.submit(Resource.PERMISSION_WRITES,
+						() -> PermissionsManager.removePermissions(player, deletions, worldName));
+			});
+			permissionChanges.clear();
+			contextualPermissions.forEach(component -> plugin.getPromotionGovernor()
+					.submit(Resource.PERMISSION_WRITES, () -> component.updatePermissions(player)));
+			contextualPermissions.clear();
+		}
+	}
+
+	private static List<String> renderAll(List<String> lines, ReplacementContext replacements) {
+		List<String> renderedLines = new ArrayList<>(lines.size());
+		lines.forEach(line -> renderedLines.add(replacements.apply(line)));
+		return renderedLines;
+	}
+
+	private static class BufferedCommand {
+
+		private final boolean console;
+		private final String commandLine;
+
+		BufferedCommand(boolean console, String commandLine) {
+			this.console = console;
+			this.commandLine = commandLine;
+		}
+
+		void dispatch(Player player) {
+			if (console)
+				Bukkit.dispatchCommand(CONSOLE,
+						StringManager.parsePlaceholders(commandLine, player).replace("%player%", player.getName()));
+			else
+				Bukkit.dispatchCommand(player, commandLine);
+		}
+
+	}
+
+}
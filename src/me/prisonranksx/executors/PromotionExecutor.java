@@ -39,6 +39,16 @@ public interface PromotionExecutor {
      */
     void executeComponents(Level level, Player player);
 
+    /**
+     * Same as {@link #executeComponents(Level, Player)}, but instead of scheduling a sync task, the actions are
+     * collected into the given buffer to be flushed with the actions of other levels. Used by max promotions.
+     *
+     * @param level  level (rank, prestige, or rebirth) holding the components
+     * @param player to perform actions on
+     * @param buffer buffer of the max promotion that is in progress
+     */
+    void executeComponents(Level level, Player player, PromotionEffectsBuffer buffer);
+
     /**
      * Promote player to next level after checking requirements
      *
@@ -0,0 +1,254 @@
+package me.prisonranksx.executors;
+
+import me.prisonranksx.PrisonRanksX;
+import me.prisonranksx.bukkitutils.scheduler.Schedulers;
+import me.prisonranksx.components.CommandsComponent;
+import me.prisonranksx.settings.GlobalSettings;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Puts a global upper bound on the side effects of promotions that run on the
+ * main thread in a single tick. Each resource has its own token bucket that is
+ * refilled to its budget every tick, effects submitted after the bucket is empty
+ * are queued and run in the following ticks.
+ * <br>
+ * Budgets are read from 'promotion-budget-*' options, a budget of 0 or less
+ * means no limit.
+ */
+public class PromotionGovernor {
+
+	public enum Resource {
+
+		/**
+		 * Commands of commands and random commands components.
+		 */
+		CONSOLE_COMMANDS,
+		HOLOGRAMS,
+		FIREWORKS,
+		/**
+		 * Permission additions and deletions, as well as group updates.
+		 */
+		PERMISSION_WRITES
+
+	}
+
+	private static final Resource[] RESOURCES = Resource.values();
+
+	private final PrisonRanksX plugin;
+	private final int[] budgets = new int[RESOURCES.length];
+	// Only accessed from the main thread
+	private final int[] tokens = new int[RESOURCES.length];
+	private final Queue<Runnable>[] queues;
+	private final AtomicLong[] executedEffects = new AtomicLong[RESOURCES.length];
+	private final AtomicLong[] deferredEffects = new AtomicLong[RESOURCES.length];
+	private BukkitTask refillTask;
+
+	@SuppressWarnings("unchecked")
+	public PromotionGovernor(PrisonRanksX plugin) {
+		this.plugin = plugin;
+		this.queues = new Queue[RESOURCES.length];
+		for (int i = 0; i < RESOURCES.length; i++) {
+			queues[i] = new ConcurrentLinkedQueue<>();
+			executedEffects[i] = new AtomicLong();
+			deferredEffects[i] = new AtomicLong();
+		}
+		loadBudgets();
+		refillTask = plugin.doSyncRepeating(this::refill, 1, 1);
+	}
+
+	public void loadBudgets() {
+		GlobalSettings globalSettings = plugin.getGlobalSettings();
+		budgets[Resource.CONSOLE_COMMANDS.ordinal()] = globalSettings.getPromotionBudgetConsoleCommands();
+		budgets[Resource.HOLOGRAMS.ordinal()] = globalSettings.getPromotionBudgetHolograms();
+		budgets[Resource.FIREWORKS.ordinal()] = globalSettings.getPromotionBudgetFireworks();
+		budgets[Resource.PERMISSION_WRITES.ordinal()] = globalSettings.getPromotionBudgetPermissionWrites();
+	}
+
+	/**
+	 * Runs the effect right away if called from the main thread and the resource
+	 * still has budget in this tick, otherwise queues it to be run on the main
+	 * thread in the following ticks.
+	 * <br>
+	 * On region threaded servers effects are always queued, since tokens can only
+	 * be taken on the thread that refills them.
+	 *
+	 * @param resource resource the effect consumes
+	 * @param effect   side effect to run on the main thread
+	 */
+	public void submit(Resource resource, Runnable effect) {
+		int index = resource.ordinal();
+		if (!Schedulers.get().isRegionThreaded() && Bukkit.isPrimaryThread()) {
+			if (budgets[index] <= 0 || (tokens[index] > 0 && queues[index].isEmpty())) {
+				if (budgets[index] > 0) tokens[index]--;
+				run(index, effect);
+				return;
+			}
+		}
+		deferredEffects[index].incrementAndGet();
+		queues[index].add(effect);
+	}
+
+	/**
+	 * Same as {@link #submit(Resource, Runnable)} for an effect that modifies the
+	 * entity or its surroundings. It runs on the thread that owns the entity, and
+	 * can be cancelled with {@link #cancel(UUID)} while it's queued.
+	 *
+	 * @param resource resource the effect consumes
+	 * @param entity   entity the effect is for, usually a player
+	 * @param effect   side effect to run on the thread of the entity
+	 */
+	public void submit(Resource resource, Entity entity, Runnable effect) {
+		submit(resource, new EntityEffect(entity, effect));
+	}
+
+	/**
+	 * Submits the console commands of the component as global effects, and its
+	 * player commands as effects of the player, since players can only dispatch
+	 * commands on their own thread on region threaded servers.
+	 *
+	 * @param component commands component of a level
+	 * @param player    player to dispatch the commands for
+	 * @param function  replacements to apply on the command lines
+	 */
+	public void submitCommands(CommandsComponent component, Player player, Function<String, String> function) {
+		if (component.getConsoleCommands() != null)
+			submit(Resource.CONSOLE_COMMANDS, () -> component.dispatchConsoleCommands(player, function));
+		if (component.getPlayerCommands() != null)
+			submit(Resource.CONSOLE_COMMANDS, player, () -> component.dispatchPlayerCommands(player, function));
+	}
+
+	/**
+	 * Drops the queued effects of the entity with the unique id, e.g. holograms and
+	 * fireworks of a player that left.
+	 *
+	 * @param uniqueId unique id of the entity the effects were submitted for
+	 * @return amount of dropped effects
+	 */
+	public int cancel(UUID uniqueId) {
+		int cancelled = 0;
+		for (Queue<Runnable> queue : queues) {
+			for (Iterator<Runnable> iterator = queue.iterator(); iterator.hasNext();) {
+				Runnable effect = iterator.next();
+				if (effect instanceof EntityEffect && ((EntityEffect) effect).entity.getUniqueId().equals(uniqueId)) {
+					iterator.remove();
+					cancelled++;
+				}
+			}
+		}
+		return cancelled;
+	}
+
+	private void refill() {
+		for (int i = 0; i < RESOURCES.length; i++) {
+			Queue<Runnable> queue = queues[i];
+			int budget = budgets[i];
+			int available = budget <= 0 ? Integer.MAX_VALUE : budget;
+			Runnable effect;
+			while (available > 0 && (effect = queue.poll()) != null) {
+				run(i, effect);
+				available--;
+			}
+			tokens[i] = budget <= 0 ? 0 : available;
+		}
+	}
+
+	private void run(int index, Runnable effect) {
+		if (effect instanceof EntityEffect) {
+			Entity entity = ((EntityEffect) effect).entity;
+			// Refilling happens on the global region on region threaded servers
+			if (!Schedulers.get().isOwnedByCurrentThread(entity)) {
+				plugin.doSync(entity, () -> run(index, effect));
+				return;
+			}
+		}
+		execute(index, effect);
+	}
+
+	private void execute(int index, Runnable effect) {
+		executedEffects[index].incrementAndGet();
+		try {
+			effect.run();
+		} catch (RuntimeException ex) {
+			PrisonRanksX.logSevere("Failed to run a promotion effect (" + RESOURCES[index].name() + ").");
+			ex.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return amount of effects of the resource that have been run so far
+	 */
+	public long getExecutedEffects(Resource resource) {
+		return executedEffects[resource.ordinal()].get();
+	}
+
+	/**
+	 * @return amount of effects of the resource that were queued instead of run
+	 * right away, either due to budget or because they were submitted off the main
+	 * thread
+	 */
+	public long getDeferredEffects(Resource resource) {
+		return deferredEffects[resource.ordinal()].get();
+	}
+
+	/**
+	 * @return amount of effects of the resource that are waiting for the next ticks
+	 */
+	public int getQueuedEffects(Resource resource) {
+		return queues[resource.ordinal()].size();
+	}
+
+	public int getBudget(Resource resource) {
+		return budgets[resource.ordinal()];
+	}
+
+	/**
+	 * Stops refilling and runs the queued commands and permission writes right
+	 * away regardless of the budgets, so they aren't lost when the plugin is
+	 * disabled. Queued holograms and fireworks are dropped. Must be called on the
+	 * main thread.
+	 */
+	public void stop() {
+		if (refillTask != null) {
+			refillTask.cancel();
+			refillTask = null;
+		}
+		for (int i = 0; i < RESOURCES.length; i++) {
+			Queue<Runnable> queue = queues[i];
+			if (RESOURCES[i] != Resource.CONSOLE_COMMANDS && RESOURCES[i] != Resource.PERMISSION_WRITES) {
+				queue.clear();
+				continue;
+			}
+			// Nothing can be scheduled anymore, entity effects run on this thread too
+			Runnable effect;
+			while ((effect = queue.poll()) != null) execute(i, effect);
+		}
+	}
+
+	private static class EntityEffect implements Runnable {
+
+		private final Entity entity;
+		private final Runnable effect;
+
+		EntityEffect(Entity entity, Runnable effect) {
+			this.entity = entity;
+			this.effect = effect;
+		}
+
+		@Override
+		public void run() {
+			effect.run();
+		}
+
+	}
+
+}
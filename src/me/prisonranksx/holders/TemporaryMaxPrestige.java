@@ -6,6 +6,8 @@ import java.util.concurrent.CompletableFuture;
 import org.jetbrains.annotations.NotNull;
 
 import me.prisonranksx.executors.PrestigeExecutor;
+import me.prisonranksx.executors.PromotionEffectsBuffer;
+import me.prisonranksx.managers.EconomyManager.BalanceReservation;
 
 /**
  * Used to track player max prestige data during max prestige process.
@@ -25,6 +27,12 @@ public class TemporaryMaxPrestige {
 
 	private String firstPrestigeDisplayName;
 
+	private PromotionEffectsBuffer effectsBuffer;
+
+	private BalanceReservation balanceReservation;
+
+	private UserLevels startingLevels;
+
 	public TemporaryMaxPrestige(UUID uniqueId) {
 		this.uniqueId = uniqueId;
 	}
@@ -87,4 +95,31 @@ public class TemporaryMaxPrestige {
 		return this;
 	}
 
+	public PromotionEffectsBuffer getEffectsBuffer() {
+		return effectsBuffer;
+	}
+
+	public TemporaryMaxPrestige setEffectsBuffer(PromotionEffectsBuffer effectsBuffer) {
+		this.effectsBuffer = effectsBuffer;
+		return this;
+	}
+
+	public BalanceReservation getBalanceReservation() {
+		return balanceReservation;
+	}
+
+	public TemporaryMaxPrestige setBalanceReservation(BalanceReservation balanceReservation) {
+		this.balanceReservation = balanceReservation;
+		return this;
+	}
+
+	public UserLevels getStartingLevels() {
+		return startingLevels;
+	}
+
+	public TemporaryMaxPrestige setStartingLevels(UserLevels startingLevels) {
+		this.startingLevels = startingLevels;
+		return this;
+	}
+
 }
@@ -5,7 +5,9 @@ import java.util.concurrent.CompletableFuture;
 
 import org.jetbrains.annotations.NotNull;
 
+import me.prisonranksx.executors.PromotionEffectsBuffer;
 import me.prisonranksx.executors.RankupExecutor;
+import me.prisonranksx.managers.EconomyManager.BalanceReservation;
 
 /**
  * Used to track player max rankup data during max rankup process.
@@ -27,6 +29,12 @@ public class TemporaryMaxRankup {
 
 	private String lastAllowedRankName;
 
+	private PromotionEffectsBuffer effectsBuffer;
+
+	private BalanceReservation balanceReservation;
+
+	private UserLevels startingLevels;
+
 	public TemporaryMaxRankup(UUID uniqueId) {
 		this.uniqueId = uniqueId;
 	}
@@ -97,4 +105,31 @@ public class TemporaryMaxRankup {
 		this.lastAllowedRankName = lastAllowedRankName;
 	}
 
+	public PromotionEffectsBuffer getEffectsBuffer() {
+		return effectsBuffer;
+	}
+
+	public TemporaryMaxRankup setEffectsBuffer(PromotionEffectsBuffer effectsBuffer) {
+		this.effectsBuffer = effectsBuffer;
+		return this;
+	}
+
+	public BalanceReservation getBalanceReservation() {
+		return balanceReservation;
+	}
+
+	public TemporaryMaxRankup setBalanceReservation(BalanceReservation balanceReservation) {
+		this.balanceReservation = balanceReservation;
+		return this;
+	}
+
+	public UserLevels getStartingLevels() {
+		return startingLevels;
+	}
+
+	public TemporaryMaxRankup setStartingLevels(UserLevels startingLevels) {
+		this.startingLevels = startingLevels;
+		return this;
+	}
+
 }
@@ -1,6 +1,8 @@
 package me.prisonranksx.holders;
 
+import me.prisonranksx.executors.PromotionEffectsBuffer;
 import me.prisonranksx.executors.RebirthExecutor;
+import me.prisonranksx.managers.EconomyManager.BalanceReservation;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.UUID;
@@ -23,6 +25,12 @@ public class TemporaryMaxRebirth {
 
     private String firstRebirthDisplayName;
 
+    private PromotionEffectsBuffer effectsBuffer;
+
+    private BalanceReservation balanceReservation;
+
+    private UserLevels startingLevels;
+
     public TemporaryMaxRebirth(UUID uniqueId) {
     }
 
@@ -84,4 +92,31 @@ public class TemporaryMaxRebirth {
         return this;
     }
 
+    public PromotionEffectsBuffer getEffectsBuffer() {
+        return effectsBuffer;
+    }
+
+    public TemporaryMaxRebirth setEffectsBuffer(PromotionEffectsBuffer effectsBuffer) {
+        this.effectsBuffer = effectsBuffer;
+        return this;
+    }
+
+    public BalanceReservation getBalanceReservation() {
+        return balanceReservation;
+    }
+
+    public TemporaryMaxRebirth setBalanceReservation(BalanceReservation balanceReservation) {
+        this.balanceReservation = balanceReservation;
+        return this;
+    }
+
+    public UserLevels getStartingLevels() {
+        return startingLevels;
+    }
+
+    public TemporaryMaxRebirth setStartingLevels(UserLevels startingLevels) {
+        this.startingLevels = startingLevels;
+        return this;
+    }
+
 }
@@ -1,6 +1,7 @@
 package me.prisonranksx.holders;
 
 import me.prisonranksx.PrisonRanksX;
+import me.prisonranksx.components.RequirementsComponent;
 import me.prisonranksx.data.PrestigeStorage;
 import me.prisonranksx.data.RankStorage;
 import me.prisonranksx.data.RebirthStorage;
@@ -68,6 +69,12 @@ public class User {
 	 */
 	public void setPrestigeName(@Nullable String prestigeName) {
 		this.prestigeName = prestigeName;
+		levelChanged();
+	}
+
+	private void levelChanged() {
+		// Requirements checked earlier in the tick were checked against the old level
+		RequirementsComponent.invalidate(uniqueId);
 		forceSave();
 	}
 
@@ -100,7 +107,7 @@ public class User {
 	 */
 	public void setRebirthName(@Nullable String rebirthName) {
 		this.rebirthName = rebirthName;
-		forceSave();
+		levelChanged();
 	}
 
 	@Nullable
@@ -126,7 +133,7 @@ public class User {
 	 */
 	public void setRankName(@Nullable String rankName) {
 		this.rankName = rankName;
-		forceSave();
+		levelChanged();
 	}
 
 	@Nullable
@@ -136,12 +143,13 @@ public class User {
 
 	public void setPathName(@Nullable String pathName) {
 		this.pathName = pathName;
+		RequirementsComponent.invalidate(uniqueId);
 	}
 
 	public void setRankAndPathName(@Nullable String rankName, @Nullable String pathName) {
 		this.rankName = rankName;
 		this.pathName = pathName;
-		forceSave();
+		levelChanged();
 	}
 
 	public boolean hasRank() {
@@ -0,0 +1,51 @@
+package me.prisonranksx.holders;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Snapshot of a user's levels (rank, path, prestige, rebirth) at a point in time.
+ * Level names are compared by identity, which at worst treats a level that was
+ * set again to an equal name as a change.
+ */
+public class UserLevels {
+
+	private final User user;
+	private final String rankName, pathName, prestigeName, rebirthName;
+
+	private UserLevels(User user) {
+		this.user = user;
+		this.rankName = user.getRankName();
+		this.pathName = user.getPathName();
+		this.prestigeName = user.getPrestigeName();
+		this.rebirthName = user.getRebirthName();
+	}
+
+	@NotNull
+	public static UserLevels of(@NotNull User user) {
+		return new UserLevels(user);
+	}
+
+	@NotNull
+	public User getUser() {
+		return user;
+	}
+
+	/**
+	 * @return whether the user is the user of this snapshot and still has the same
+	 *         levels
+	 */
+	public boolean isOf(User user) {
+		return this.user == user && rankName == user.getRankName() && pathName == user.getPathName()
+				&& prestigeName == user.getPrestigeName() && rebirthName == user.getRebirthName();
+	}
+
+	/**
+	 * Sets the user's levels back to the ones of this snapshot.
+	 */
+	public void restore() {
+		user.setRankAndPathName(rankName, pathName);
+		user.setPrestigeName(prestigeName);
+		user.setRebirthName(rebirthName);
+	}
+
+}
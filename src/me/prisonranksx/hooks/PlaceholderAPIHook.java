@@ -15,8 +15,6 @@ import me.prisonranksx.settings.PlaceholderAPISettings;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -24,19 +22,123 @@ import java.util.function.Function;
 public class PlaceholderAPIHook extends PlaceholderExpansion {
 
 	private PrisonRanksX plugin;
-	private Map<String, BiFunction<Player, String, String>> startsWithFunctions;
+	private final PlaceholderTrie placeholders = new PlaceholderTrie();
+	private final PlaceholderCache cache;
 
 	public PlaceholderAPIHook(PrisonRanksX plugin) {
 		this.plugin = plugin;
+		this.cache = new PlaceholderCache(plugin);
+		cache.register();
+		initExactPlaceholders();
 		initStartsWithPlaceholders();
 	}
 
+	private void initExactPlaceholders() {
+		exactBalanceDependent("can_rankup", player -> strOptional(rankupExecutor(), "false", executor -> executor.canRankup(player).isSuccessful()));
+		exactBalanceDependent("can_prestige", player -> strOptional(prestigeExecutor(), "false", executor -> executor.canPrestige(player).isSuccessful()));
+		exactBalanceDependent("can_rebirth", player -> strOptional(rebirthExecutor(), "false", executor -> executor.canRebirth(player).isSuccessful()));
+
+		exactBalanceDependent("can_rankup_result_name", player -> strOptional(rankupExecutor(), "n/a", executor -> executor.canRankup(player).name()));
+		exactBalanceDependent("can_prestige_result_name", player -> strOptional(prestigeExecutor(), "n/a", executor -> executor.canPrestige(player).name()));
+		exactBalanceDependent("can_rebirth_result_name", player -> strOptional(rebirthExecutor(), "n/a", executor -> executor.canRebirth(player).name()));
+
+		exact("current_rank_name", player -> strOptional(PRXAPI.getPlayerRank(player), "none", Rank::getName));
+		exact("current_prestige_name", player -> strOptional(PRXAPI.getPlayerPrestige(player), settings().getPrestigeNoPrestige(), Prestige::getName));
+		exact("current_rebirth_name", player -> strOptional(PRXAPI.getPlayerRebirth(player), settings().getRebirthNoRebirth(), Rebirth::getName));
+
+		exact("current_rank_number", player -> strOptional(PRXAPI.getPlayerRank(player), 0, Rank::getIndex));
+		exact("current_prestige_number", player -> strOptional(PRXAPI.getPlayerPrestige(player), 0, Prestige::getIndex));
+		exact("current_rebirth_number", player -> strOptional(PRXAPI.getPlayerRebirth(player), 0, Rebirth::getIndex));
+
+		exact("current_rank_display_name", player -> strOptional(PRXAPI.getPlayerRank(player), "none", Rank::getDisplayName));
+		exact("current_prestige_display_name", player -> strOptional(PRXAPI.getPlayerPrestige(player), settings().getPrestigeNoPrestige(), Prestige::getDisplayName));
+		exact("current_rebirth_display_name", player -> strOptional(PRXAPI.getPlayerRebirth(player), settings().getRebirthNoRebirth(), Rebirth::getDisplayName));
+
+		// Special placeholders for infinite prestige
+		exact("current_prestige_display_name_comma", player -> strOptional(PRXAPI.getPlayerPrestige(player), 0, prestige -> {
+			if (isNormalPrestige()) return prestige.getDisplayName();
+			UniversalPrestige universalPrestige = (UniversalPrestige) prestige;
+			return universalPrestige.getNonReplacedDisplayName().replace("{number}",
+			EconomyManager.commaFormat(universalPrestige.getNumber()));
+		}));
+		exact("current_prestige_display_name_short", player -> strOptional(PRXAPI.getPlayerPrestige(player), 0, prestige -> {
+			if (isNormalPrestige()) return prestige.getDisplayName();
+			UniversalPrestige universalPrestige = (UniversalPrestige) prestige;
+			return universalPrestige.getNonReplacedDisplayName().replace("{number}",
+			EconomyManager.shortcutFormat(universalPrestige.getNumber()));
+		}));
+
+		exact("current_rank_cost", player -> strOptional(PRXAPI.getPlayerRank(player), 0, rank -> currency(PRXAPI.getRankFinalCost(rank, player))));
+		exact("current_prestige_cost", player -> strOptional(PRXAPI.getPlayerPrestige(player), 0, prestige -> currency(PRXAPI.getPrestigeFinalCost(prestige, player))));
+		exact("current_rebirth_cost", player -> strOptional(PRXAPI.getPlayerRebirth(player), 0, rebirth -> currency(rebirth.getCost())));
+
+		exact("next_rank_name", player -> strOptional(PRXAPI.getPlayerRank(player), "none", Rank::getNextName));
+		exact("next_prestige_name", player -> strOptional(PRXAPI.getPlayerPrestige(player), settings().getNextPrestigeNoPrestige(), Prestige::getNextName));
+		exact("next_rebirth_name", player -> strOptional(PRXAPI.getPlayerRebirth(player), settings().getNextRebirthNoRebirth(), Rebirth::getNextName));
+
+		exact("next_rank_display_name", player -> strOptional(PRXAPI.getPlayerNextRank(player), "none", Rank::getDisplayName));
+		exact("next_prestige_display_name", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), settings().getNextPrestigeNoPrestige(), Prestige::getDisplayName));
+		exact("next_rebirth_display_name", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), settings().getNextRebirthNoRebirth(), Rebirth::getDisplayName));
+
+		exact("next_rank_cost", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> currency(PRXAPI.getRankFinalCost(rank, player))));
+		exact("next_prestige_cost", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige ->
+			currency(PRXAPI.getPrestigeFinalCost(prestige, player))));
+		exact("next_rebirth_cost", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> currency(rebirth.getCost())));
+
+		exact("next_rank_cost_plain", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> PRXAPI.getRankFinalCost(rank, player)));
+		exact("next_prestige_cost_plain", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> PRXAPI.getPrestigeFinalCost(prestige, player)));
+		exact("next_rebirth_cost_plain", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, Rebirth::getCost));
+
+		exact("next_rank_cost_short", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> currency(EconomyManager.shortcutFormat(rank.getCost()))));
+		exact("next_prestige_cost_short", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige ->
+			currency(EconomyManager.shortcutFormat(prestige.getCost()))));
+		exact("next_rebirth_cost_short", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth ->
+			currency(EconomyManager.shortcutFormat(rebirth.getCost()))));
+
+		exact("next_rank_cost_short_plain", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> EconomyManager.shortcutFormat(rank.getCost())));
+		exact("next_prestige_cost_short_plain", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> EconomyManager.shortcutFormat(prestige.getCost())));
+		exact("next_rebirth_cost_short_plain", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> EconomyManager.shortcutFormat(rebirth.getCost())));
+
+		exact("next_rank_cost_comma", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> currency(EconomyManager.commaFormat(rank.getCost()))));
+		exact("next_prestige_cost_comma", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> currency(EconomyManager.commaFormat(prestige.getCost()))));
+		exact("next_rebirth_cost_comma", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> currency(EconomyManager.commaFormat(rebirth.getCost()))));
+
+		exact("next_rank_cost_comma_plain", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> EconomyManager.commaFormat(rank.getCost())));
+		exact("next_prestige_cost_comma_plain", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> EconomyManager.commaFormat(prestige.getCost())));
+		exact("next_rebirth_cost_comma_plain", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> EconomyManager.commaFormat(rebirth.getCost())));
+
+		exact("next_rank_cost_normal", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> currency(rank.getCost())));
+		exact("next_prestige_cost_normal", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> currency(prestige.getCost())));
+
+		exact("next_rank_cost_normal_plain", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, Rank::getCost));
+		exact("next_prestige_cost_normal_plain", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, Prestige::getCost));
+
+		exact("next_rank_number", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, Rank::getIndex));
+		exact("next_prestige_number", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, Prestige::getIndex));
+		exact("next_rebirth_number", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, Rebirth::getIndex));
+
+		exact("next_rank_number_comma", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> EconomyManager.commaFormat(rank.getIndex())));
+		exact("next_prestige_number_comma", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> EconomyManager.commaFormat(prestige.getIndex())));
+		exact("next_rebirth_number_comma", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> EconomyManager.commaFormat(rebirth.getIndex())));
+
+		exact("next_rank_number_short", player -> strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> EconomyManager.shortcutFormat(rank.getIndex())));
+		exact("next_prestige_number_short", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> EconomyManager.shortcutFormat(prestige.getIndex())));
+		exact("next_rebirth_number_short", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> EconomyManager.shortcutFormat(rebirth.getIndex())));
+
+		exactBalanceDependent("next_rank_progress_percentage", player -> strOptional(PRXAPI.getPlayerNextRank(player), percent100TD(100.0), rank -> percent100TD(PRXAPI.getLevelProgressPercentage(rank, player))));
+		exactBalanceDependent("next_prestige_progress_percentage", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), percent100TD(100.0), prestige -> percent100TD(PRXAPI.getLevelProgressPercentage(prestige, player))));
+		exactBalanceDependent("next_rebirth_progress_percentage", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), percent100TD(100.0), rebirth -> percent100TD(PRXAPI.getLevelProgressPercentage(rebirth, player))));
+
+		exactBalanceDependent("next_rank_progress_percentage_plain", player -> strOptional(PRXAPI.getPlayerNextRank(player), "100", rank -> Math.min(100, PRXAPI.getLevelProgressPercentage(rank, player))));
+		exactBalanceDependent("next_prestige_progress_percentage_plain", player -> strOptional(PRXAPI.getPlayerNextPrestige(player), "100", prestige -> Math.min(100, PRXAPI.getLevelProgressPercentage(prestige, player))));
+		exactBalanceDependent("next_rebirth_progress_percentage_plain", player -> strOptional(PRXAPI.getPlayerNextRebirth(player), "100", rebirth -> Math.min(100, PRXAPI.getLevelProgressPercentage(rebirth, player))));
+	}
+
 	private void initStartsWithPlaceholders() {
-		startsWithFunctions = new HashMap<>();
-		setupPrefix("rank_progress_percentage_cumulative_", (player, rankName) -> PRXAPI.getRank(rankName, player), percentTD(100), (player, rank) -> percent100TD(PRXAPI.getLevelProgressPercentageCumulative(rank, player)));
-		setupPrefix("prestige_progress_percentage_cumulative_", (player, prestigeName) -> PRXAPI.getPrestige(prestigeName), percentTD(100), (player, prestige) -> percent100TD(PRXAPI.getLevelProgressPercentageCumulative(prestige, player)));
-		setupPrefix("rank_progress_percentage_", (player, rankName) -> PRXAPI.getRank(rankName, player), percentTD(100), (player, rank) -> percent100TD(PRXAPI.getLevelProgressPercentage(rank, player)));
-		setupPrefix("prestige_progress_percentage_", (player, prestigeName) -> PRXAPI.getPrestige(prestigeName), percentTD(100), (player, prestige) -> percent100TD(PRXAPI.getLevelProgressPercentage(prestige, player)));
+		setupPrefix("rank_progress_percentage_cumulative_", (player, rankName) -> PRXAPI.getRank(rankName, player), percentTD(100), (player, rank) -> percent100TD(PRXAPI.getLevelProgressPercentageCumulative(rank, player)), true);
+		setupPrefix("prestige_progress_percentage_cumulative_", (player, prestigeName) -> PRXAPI.getPrestige(prestigeName), percentTD(100), (player, prestige) -> percent100TD(PRXAPI.getLevelProgressPercentageCumulative(prestige, player)), true);
+		setupPrefix("rank_progress_percentage_", (player, rankName) -> PRXAPI.getRank(rankName, player), percentTD(100), (player, rank) -> percent100TD(PRXAPI.getLevelProgressPercentage(rank, player)), true);
+		setupPrefix("prestige_progress_percentage_", (player, prestigeName) -> PRXAPI.getPrestige(prestigeName), percentTD(100), (player, prestige) -> percent100TD(PRXAPI.getLevelProgressPercentage(prestige, player)), true);
 		setupPrefix("rank_number_", (player, rankName) -> PRXAPI.getRank(rankName, player), 0, (player, rank) -> rank.getNumber());
 		setupPrefix("prestige_number_", (player, prestigeName) -> PRXAPI.getPrestige(prestigeName), 0, (player, prestige) -> prestige.getNumber());
 		setupPrefix("rank_display_name_", (player, rankName) -> PRXAPI.getRank(rankName, player), "none", (player, rank) -> rank.getDisplayName());
@@ -44,29 +146,56 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
 	}
 
 
-	private void setupPrefixRaw(String startsWith, BiFunction<Player, String, String> valueFunction) {
-		startsWithFunctions.put(startsWith.substring(0, startsWith.lastIndexOf("_") + 1), valueFunction);
+	/**
+	 * Registers a placeholder whose value only changes with the player's levels.
+	 */
+	private void exact(String placeholder, Function<Player, String> valueFunction) {
+		placeholders.putExact(placeholder, cache.cache(placeholder, false, valueFunction));
+	}
+
+	/**
+	 * Registers a placeholder whose value depends on the player's balance or
+	 * requirements, so it's only cached for a short time.
+	 */
+	private void exactBalanceDependent(String placeholder, Function<Player, String> valueFunction) {
+		placeholders.putExact(placeholder, cache.cache(placeholder, true, valueFunction));
+	}
+
+	/**
+	 * @param startsWith    prefix of the placeholder, the rest of the placeholder is
+	 *                      given to the function
+	 * @param valueFunction function that takes the player and the rest of the
+	 *                      placeholder
+	 */
+	private void setupPrefixRaw(String startsWith, BiFunction<Player, String, String> valueFunction, boolean balanceDependent) {
+		placeholders.putPrefix(startsWith, cache.cache(startsWith, balanceDependent, valueFunction));
 	}
 
 	private void setupPrefixNonOptional(String startsWith, BiFunction<Player, String, String> valueFunction) {
-		BiFunction<Player, String, String> shortenedFunc = (player, placeholder) ->
-				valueFunction.apply(player, placeholder.substring(startsWith.length()));
-		setupPrefixRaw(startsWith, shortenedFunc);
+		setupPrefixRaw(startsWith, valueFunction, false);
 	}
 
 	public <T, U> void setupPrefix(String startsWith, BiFunction<Player, String, T> retrievedPlaceholderValueMapping, U nullValue, BiFunction<Player, T, U> mappingIfNotNull) {
-		BiFunction<Player, String, String> shortenedFunc = (player, placeholder) ->
-				Optional.ofNullable(retrievedPlaceholderValueMapping.apply(player, placeholder.substring(startsWith.length())))
+		setupPrefix(startsWith, retrievedPlaceholderValueMapping, nullValue, mappingIfNotNull, false);
+	}
+
+	/**
+	 * @param balanceDependent whether the value can change without the player's levels changing, so it's only
+	 *                         cached for a short time
+	 */
+	public <T, U> void setupPrefix(String startsWith, BiFunction<Player, String, T> retrievedPlaceholderValueMapping, U nullValue, BiFunction<Player, T, U> mappingIfNotNull, boolean balanceDependent) {
+		BiFunction<Player, String, String> shortenedFunc = (player, argument) ->
+				Optional.ofNullable(retrievedPlaceholderValueMapping.apply(player, argument))
 						.map(value -> String.valueOf(mappingIfNotNull.apply(player, value)))
 						.orElse(String.valueOf(nullValue));
-		setupPrefixRaw(startsWith, shortenedFunc);
+		setupPrefixRaw(startsWith, shortenedFunc, balanceDependent);
 	}
 
-	@NotNull
-	private Optional<String> matchPrefix(Player player, String startsWith) {
-		if (startsWith.indexOf("_") == -1) return Optional.empty();
-		BiFunction<Player, String, String> startsWithFunction = startsWithFunctions.get(startsWith.substring(0, startsWith.lastIndexOf("_") + 1));
-		return startsWithFunction == null ? Optional.empty() : Optional.ofNullable(startsWithFunction.apply(player, startsWith));
+	/**
+	 * @return cache of the placeholder values, should be invalidated when levels are reloaded
+	 */
+	public PlaceholderCache getCache() {
+		return cache;
 	}
 
 	private PrestigeExecutor prestigeExecutor() {
@@ -191,162 +320,8 @@ public class PlaceholderAPIHook extends PlaceholderExpansion {
 
 	@Override
 	public String onPlaceholderRequest(Player player, String params) {
-		switch (params) {
-			case "can_rankup": return strOptional(rankupExecutor(), "false", executor -> executor.canRankup(player).isSuccessful());
-			case "can_prestige": return strOptional(prestigeExecutor(), "false", executor -> executor.canPrestige(player).isSuccessful());
-			case "can_rebirth": return strOptional(rebirthExecutor(), "false", executor -> executor.canRebirth(player).isSuccessful());
-
-			case "can_rankup_result_name": return strOptional(rankupExecutor(), "n/a", executor -> executor.canRankup(player).name());
-			case "can_prestige_result_name": return strOptional(prestigeExecutor(), "n/a", executor -> executor.canPrestige(player).name());
-			case "can_rebirth_result_name": return strOptional(rebirthExecutor(), "n/a", executor -> executor.canRebirth(player).name());
-
-			case "current_rank_name":
-				return strOptional(PRXAPI.getPlayerRank(player), "none", Rank::getName);
-			case "current_prestige_name":
-				return strOptional(PRXAPI.getPlayerPrestige(player), settings().getPrestigeNoPrestige(), Prestige::getName);
-			case "current_rebirth_name":
-				return strOptional(PRXAPI.getPlayerRebirth(player), settings().getRebirthNoRebirth(), Rebirth::getName);
-
-			case "current_rank_number": return strOptional(PRXAPI.getPlayerRank(player), 0, Rank::getIndex);
-			case "current_prestige_number": return strOptional(PRXAPI.getPlayerPrestige(player), 0, Prestige::getIndex);
-			case "current_rebirth_number": return strOptional(PRXAPI.getPlayerRebirth(player), 0, Rebirth::getIndex);
-
-			case "current_rank_display_name":
-				return strOptional(PRXAPI.getPlayerRank(player), "none", Rank::getDisplayName);
-			case "current_prestige_display_name":
-				return strOptional(PRXAPI.getPlayerPrestige(player), settings().getPrestigeNoPrestige(), Prestige::getDisplayName);
-			case "current_rebirth_display_name":
-				return strOptional(PRXAPI.getPlayerRebirth(player), settings().getRebirthNoRebirth(), Rebirth::getDisplayName);
-
-			// Special placeholders for infinite prestige
-			case "current_prestige_display_name_comma": return strOptional(PRXAPI.getPlayerPrestige(player), 0, prestige -> {
-				if (isNormalPrestige()) return prestige.getDisplayName();
-				UniversalPrestige universalPrestige = (UniversalPrestige) prestige;
-				return universalPrestige.getNonReplacedDisplayName().replace("{number}",
-						EconomyManager.commaFormat(universalPrestige.getNumber()));
-			});
-			case "current_prestige_display_name_short": return strOptional(PRXAPI.getPlayerPrestige(player), 0, prestige -> {
-				if (isNormalPrestige()) return prestige.getDisplayName();
-				UniversalPrestige universalPrestige = (UniversalPrestige) prestige;
-				return universalPrestige.getNonReplacedDisplayName().replace("{number}",
-						EconomyManager.shortcutFormat(universalPrestige.getNumber()));
-			});
-
-			case "current_rank_cost":
-				return strOptional(PRXAPI.getPlayerRank(player), 0, rank -> currency(PRXAPI.getRankFinalCost(rank, player)));
-			case "current_prestige_cost":
-				return strOptional(PRXAPI.getPlayerPrestige(player), 0, prestige -> currency(PRXAPI.getPrestigeFinalCost(prestige, player)));
-			case "current_rebirth_cost":
-				return strOptional(PRXAPI.getPlayerRebirth(player), 0, rebirth -> currency(rebirth.getCost()));
-
-			case "next_rank_name":
-				return strOptional(PRXAPI.getPlayerRank(player), "none", Rank::getNextName);
-			case "next_prestige_name":
-				return strOptional(PRXAPI.getPlayerPrestige(player), settings().getNextPrestigeNoPrestige(), Prestige::getNextName);
-			case "next_rebirth_name":
-				return strOptional(PRXAPI.getPlayerRebirth(player), settings().getNextRebirthNoRebirth(), Rebirth::getNextName);
-
-			case "next_rank_display_name":
-				return strOptional(PRXAPI.getPlayerNextRank(player), "none", Rank::getDisplayName);
-			case "next_prestige_display_name":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), settings().getNextPrestigeNoPrestige(), Prestige::getDisplayName);
-			case "next_rebirth_display_name":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), settings().getNextRebirthNoRebirth(), Rebirth::getDisplayName);
-
-			case "next_rank_cost":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> currency(PRXAPI.getRankFinalCost(rank, player)));
-			case "next_prestige_cost":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige ->
-						currency(PRXAPI.getPrestigeFinalCost(prestige, player)));
-			case "next_rebirth_cost":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> currency(rebirth.getCost()));
-
-			case "next_rank_cost_plain":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> PRXAPI.getRankFinalCost(rank, player));
-			case "next_prestige_cost_plain":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> PRXAPI.getPrestigeFinalCost(prestige, player));
-			case "next_rebirth_cost_plain":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, Rebirth::getCost);
-
-			case "next_rank_cost_short":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> currency(EconomyManager.shortcutFormat(rank.getCost())));
-			case "next_prestige_cost_short":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige ->
-						currency(EconomyManager.shortcutFormat(prestige.getCost())));
-			case "next_rebirth_cost_short":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth ->
-						currency(EconomyManager.shortcutFormat(rebirth.getCost())));
-
-			case "next_rank_cost_short_plain":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> EconomyManager.shortcutFormat(rank.getCost()));
-			case "next_prestige_cost_short_plain":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> EconomyManager.shortcutFormat(prestige.getCost()));
-			case "next_rebirth_cost_short_plain":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> EconomyManager.shortcutFormat(rebirth.getCost()));
-
-			case "next_rank_cost_comma":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> currency(EconomyManager.commaFormat(rank.getCost())));
-			case "next_prestige_cost_comma":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> currency(EconomyManager.commaFormat(prestige.getCost())));
-			case "next_rebirth_cost_comma":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> currency(EconomyManager.commaFormat(rebirth.getCost())));
-
-			case "next_rank_cost_comma_plain":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> EconomyManager.commaFormat(rank.getCost()));
-			case "next_prestige_cost_comma_plain":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> EconomyManager.commaFormat(prestige.getCost()));
-			case "next_rebirth_cost_comma_plain":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> EconomyManager.commaFormat(rebirth.getCost()));
-
-			case "next_rank_cost_normal":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> currency(rank.getCost()));
-			case "next_prestige_cost_normal":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> currency(prestige.getCost()));
-
-			case "next_rank_cost_normal_plain":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, Rank::getCost);
-			case "next_prestige_cost_normal_plain":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, Prestige::getCost);
-
-			case "next_rank_number":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, Rank::getIndex);
-			case "next_prestige_number":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, Prestige::getIndex);
-			case "next_rebirth_number":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, Rebirth::getIndex);
-
-			case "next_rank_number_comma":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> EconomyManager.commaFormat(rank.getIndex()));
-			case "next_prestige_number_comma":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> EconomyManager.commaFormat(prestige.getIndex()));
-			case "next_rebirth_number_comma":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> EconomyManager.commaFormat(rebirth.getIndex()));
-
-			case "next_rank_number_short":
-				return strOptional(PRXAPI.getPlayerNextRank(player), 0, rank -> EconomyManager.shortcutFormat(rank.getIndex()));
-			case "next_prestige_number_short":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), 0, prestige -> EconomyManager.shortcutFormat(prestige.getIndex()));
-			case "next_rebirth_number_short":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), 0, rebirth -> EconomyManager.shortcutFormat(rebirth.getIndex()));
-
-			case "next_rank_progress_percentage":
-				return strOptional(PRXAPI.getPlayerNextRank(player), percent100TD(100.0), rank -> percent100TD(PRXAPI.getLevelProgressPercentage(rank, player)));
-			case "next_prestige_progress_percentage":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), percent100TD(100.0), prestige -> percent100TD(PRXAPI.getLevelProgressPercentage(prestige, player)));
-			case "next_rebirth_progress_percentage":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), percent100TD(100.0), rebirth -> percent100TD(PRXAPI.getLevelProgressPercentage(rebirth, player)));
-
-			case "next_rank_progress_percentage_plain":
-				return strOptional(PRXAPI.getPlayerNextRank(player), "100", rank -> Math.min(100, PRXAPI.getLevelProgressPercentage(rank, player)));
-			case "next_prestige_progress_percentage_plain":
-				return strOptional(PRXAPI.getPlayerNextPrestige(player), "100", prestige -> Math.min(100, PRXAPI.getLevelProgressPercentage(prestige, player)));
-			case "next_rebirth_progress_percentage_plain":
-				return strOptional(PRXAPI.getPlayerNextRebirth(player), "100", rebirth -> Math.min(100, PRXAPI.getLevelProgressPercentage(rebirth, player)));
-
-			default:
-				Optional<String> result = matchPrefix(player, params);
-				return result.orElse("! Misspelled/Wrong Placeholder: 'prisonranksx_" + params + "'");
-		}
+		String result = placeholders.resolve(player, params);
+		return result != null ? result : "! Misspelled/Wrong Placeholder: 'prisonranksx_" + params + "'";
 	}
 
 	@Override
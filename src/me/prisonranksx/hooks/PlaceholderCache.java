@@ -0,0 +1,172 @@
+package me.prisonranksx.hooks;
+
+import me.prisonranksx.PrisonRanksX;
+import me.prisonranksx.events.PrestigeUpdateEvent;
+import me.prisonranksx.events.RankUpdateEvent;
+import me.prisonranksx.events.RebirthUpdateEvent;
+import me.prisonranksx.holders.User;
+import me.prisonranksx.holders.UserLevels;
+import me.prisonranksx.reflections.UniqueId;
+import me.prisonranksx.settings.PlaceholderAPISettings;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Caches placeholder values per player, since scoreboards, tab lists and
+ * holograms request the same placeholders for every player all the time.
+ * <br>
+ * Values are dropped when the player's rank, path, prestige or rebirth changes,
+ * when the player leaves and when the plugin is reloaded. Values that depend on
+ * the player's balance or requirements are only kept for
+ * {@link PlaceholderAPISettings#getBalanceValuesCacheMillis()}.
+ */
+public class PlaceholderCache implements Listener {
+
+	private final PrisonRanksX plugin;
+	private final Map<UUID, PlayerValues> playerValues = new ConcurrentHashMap<>();
+
+	public PlaceholderCache(PrisonRanksX plugin) {
+		this.plugin = plugin;
+	}
+
+	public void register() {
+		plugin.getServer().getPluginManager().registerEvents(this, plugin);
+	}
+
+	/**
+	 * @param placeholder      placeholder the function gives the value of
+	 * @param balanceDependent whether the value can change without the player's
+	 *                         levels changing
+	 * @param valueFunction    function to cache the values of
+	 * @return function that returns cached values when possible
+	 */
+	Function<Player, String> cache(String placeholder, boolean balanceDependent,
+			Function<Player, String> valueFunction) {
+		return player -> {
+			Map<String, CachedValue> values = getValues(player, null, balanceDependent);
+			if (values == null) return valueFunction.apply(player);
+			CachedValue cachedValue = values.get(placeholder);
+			if (cachedValue != null && cachedValue.isValid()) return cachedValue.value;
+			String value = valueFunction.apply(player);
+			values.put(placeholder, new CachedValue(value, balanceDependent ? getBalanceValuesTtl() : -1));
+			return value;
+		};
+	}
+
+	/**
+	 * Same as {@link #cache(String, boolean, Function)} for placeholders that
+	 * start with the prefix, values are cached per argument.
+	 */
+	BiFunction<Player, String, String> cache(String prefix, boolean balanceDependent,
+			BiFunction<Player, String, String> valueFunction) {
+		return (player, argument) -> {
+			Map<String, CachedValue> values = getValues(player, prefix, balanceDependent);
+			if (values == null) return valueFunction.apply(player, argument);
+			CachedValue cachedValue = values.get(argument);
+			if (cachedValue != null && cachedValue.isValid()) return cachedValue.value;
+			String value = valueFunction.apply(player, argument);
+			values.put(argument, new CachedValue(value, balanceDependent ? getBalanceValuesTtl() : -1));
+			return value;
+		};
+	}
+
+	private long getBalanceValuesTtl() {
+		return TimeUnit.MILLISECONDS.toNanos(plugin.getPlaceholderAPISettings().getBalanceValuesCacheMillis());
+	}
+
+	/**
+	 * @return values of the player, or null if they shouldn't be cached
+	 */
+	private Map<String, CachedValue> getValues(Player player, String prefix, boolean balanceDependent) {
+		PlaceholderAPISettings settings = plugin.getPlaceholderAPISettings();
+		if (player == null || !settings.isCacheValues()) return null;
+		if (balanceDependent && settings.getBalanceValuesCacheMillis() <= 0) return null;
+		UUID uniqueId = UniqueId.getUUID(player);
+		User user = plugin.getUserController().getUser(uniqueId);
+		if (user == null) return null;
+		PlayerValues values = playerValues.get(uniqueId);
+		// Update events are called before the levels change, so values computed in
+		// between are dropped here
+		if (values == null || !values.isOf(user)) {
+			values = new PlayerValues(user);
+			playerValues.put(uniqueId, values);
+		}
+		return prefix == null ? values.values
+				: values.prefixValues.computeIfAbsent(prefix, key -> new ConcurrentHashMap<>());
+	}
+
+	public void invalidate(Player player) {
+		playerValues.remove(UniqueId.getUUID(player));
+	}
+
+	public void invalidateAll() {
+		playerValues.clear();
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onRankUpdate(RankUpdateEvent e) {
+		invalidate(e.getPlayer());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onPrestigeUpdate(PrestigeUpdateEvent e) {
+		invalidate(e.getPlayer());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onRebirthUpdate(RebirthUpdateEvent e) {
+		invalidate(e.getPlayer());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR)
+	public void onQuit(PlayerQuitEvent e) {
+		invalidate(e.getPlayer());
+	}
+
+	private static class PlayerValues {
+
+		private final UserLevels levels;
+		private final Map<String, CachedValue> values = new ConcurrentHashMap<>();
+		private final Map<String, Map<String, CachedValue>> prefixValues = new ConcurrentHashMap<>();
+
+		PlayerValues(User user) {
+			this.levels = UserLevels.of(user);
+		}
+
+		/**
+		 * @return whether the values were cached for the user's current levels
+		 */
+		boolean isOf(User user) {
+			return levels.isOf(user);
+		}
+
+	}
+
+	private static class CachedValue {
+
+		private final String value;
+		// Long.MAX_VALUE if the value is kept until the levels change
+		private final long expiresAt;
+
+		CachedValue(String value, long ttlNanos) {
+			this.value = value;
+			this.expiresAt = ttlNanos < 0 ? Long.MAX_VALUE : System.nanoTime() + ttlNanos;
+		}
+
+		boolean isValid() {
+			return expiresAt == Long.MAX_VALUE || System.nanoTime() - expiresAt < 0;
+		}
+
+	}
+
+}
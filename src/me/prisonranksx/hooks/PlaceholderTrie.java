@@ -0,0 +1,83 @@
+package me.prisonranksx.hooks;
+
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Resolves placeholders with one walk over their characters. A placeholder
+ * either matches an exact placeholder, or the longest prefix placeholder it
+ * starts with, which gets the rest of the placeholder as its argument. So
+ * arguments can contain underscores, e.g. rank names.
+ * <br>
+ * Filled once when the expansion is created, then only read, so it can be used
+ * from any thread.
+ */
+class PlaceholderTrie {
+
+	private final Node root = new Node();
+
+	void putExact(String placeholder, Function<Player, String> valueFunction) {
+		getOrCreate(placeholder).exactFunction = valueFunction;
+	}
+
+	void putPrefix(String prefix, BiFunction<Player, String, String> valueFunction) {
+		getOrCreate(prefix).prefixFunction = valueFunction;
+	}
+
+	/**
+	 * @param player      player to resolve the placeholder for
+	 * @param placeholder placeholder without the expansion identifier
+	 * @return value of the placeholder, or null if no placeholder matches
+	 */
+	String resolve(Player player, String placeholder) {
+		Node node = root;
+		BiFunction<Player, String, String> prefixFunction = null;
+		int argumentStart = 0;
+		for (int i = 0; i < placeholder.length() && node != null; i++) {
+			node = node.getChild(placeholder.charAt(i));
+			if (node != null && node.prefixFunction != null) {
+				prefixFunction = node.prefixFunction;
+				argumentStart = i + 1;
+			}
+		}
+		if (node != null && node.exactFunction != null) return node.exactFunction.apply(player);
+		return prefixFunction == null ? null : prefixFunction.apply(player, placeholder.substring(argumentStart));
+	}
+
+	private Node getOrCreate(String key) {
+		Node node = root;
+		for (int i = 0; i < key.length(); i++) node = node.getOrCreateChild(key.charAt(i));
+		return node;
+	}
+
+	private static class Node {
+
+		// Placeholders share most of their characters, so nodes have few children
+		private char[] keys = new char[0];
+		private Node[] children = new Node[0];
+		private Function<Player, String> exactFunction;
+		private BiFunction<Player, String, String> prefixFunction;
+
+		private Node getChild(char key) {
+			for (int i = 0; i < keys.length; i++)
+				if (keys[i] == key) return children[i];
+			return null;
+		}
+
+		private Node getOrCreateChild(char key) {
+			Node child = getChild(key);
+			if (child != null) return child;
+			child = new Node();
+			keys = Arrays.copyOf(keys, keys.length + 1);
+			children = Arrays.copyOf(children, children.length + 1);
+			keys[keys.length - 1] = key;
+			children[children.length - 1] = child;
+			return child;
+		}
+
+	}
+
+}
@@ -2,6 +2,7 @@ package me.prisonranksx.listeners;
 
 import me.prisonranksx.PrisonRanksX;
 import me.prisonranksx.holders.User;
+import me.prisonranksx.holders.UserLevels;
 import me.prisonranksx.managers.StringManager;
 import me.prisonranksx.reflections.UniqueId;
 import org.bukkit.entity.Player;
@@ -9,7 +10,9 @@ import org.bukkit.event.*;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
 import org.bukkit.plugin.EventExecutor;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PlayerChatListener implements EventExecutor, Listener {
 
@@ -17,6 +20,7 @@ public class PlayerChatListener implements EventExecutor, Listener {
     private final String colorReset = "§r";
     private final String empty = "";
     private final String space = " ";
+    private final Map<UUID, ChatPrefix> prefixes = new ConcurrentHashMap<>();
 
     public PlayerChatListener(PrisonRanksX plugin, EventPriority priority) {
         this.plugin = plugin;
@@ -44,11 +48,24 @@ public class PlayerChatListener implements EventExecutor, Listener {
 
         if (plugin.getGlobalSettings().isWorldIncluded(player.getWorld())) return;
 
-        String originalFormat = e.getFormat();
         User user = plugin.getUserController().getUser(uniqueId);
+        ChatPrefix prefix = prefixes.get(uniqueId);
+        // Rank, prestige and rebirth display names only change with the levels, which are
+        // compared on every message since update events are called before they change
+        if (prefix == null || !prefix.isOf(user)) {
+            prefix = createPrefix(user);
+            prefixes.put(uniqueId, prefix);
+        }
+
+        String originalFormat = e.getFormat();
+        String format = prefix.prefix + originalFormat;
+        e.setFormat(prefix.placeholders || hasPlaceholders(originalFormat)
+                ? StringManager.parsePlaceholders(format, player) : format);
+    }
 
+    private ChatPrefix createPrefix(User user) {
         String playerRank = user.hasRank() && plugin.getGlobalSettings().isRankEnabled()
-                ? user.hasRank() ? user.getRank().getDisplayName() + colorReset : empty : empty;
+                ? user.getRank().getDisplayName() + colorReset : empty;
 
         String playerPrestige = user.hasPrestige() && plugin.getGlobalSettings().isPrestigeEnabled()
                 ? user.getPrestige().getDisplayName() + colorReset + space
@@ -62,7 +79,46 @@ public class PlayerChatListener implements EventExecutor, Listener {
 
         String spacer = playerRank.equals(empty) ? playerRank : space;
 
-        e.setFormat(StringManager.parsePlaceholders(additionalFormat + spacer + originalFormat, player));
+        return new ChatPrefix(user, additionalFormat + spacer);
+    }
+
+    /**
+     * Chat formats always contain {@code %1$s} and {@code %2$s}, which aren't
+     * PlaceholderAPI placeholders, so only {@code %identifier_params%} counts.
+     *
+     * @param format chat format to check
+     * @return whether the format may contain PlaceholderAPI placeholders
+     */
+    private static boolean hasPlaceholders(String format) {
+        int start = format.indexOf('%');
+        while (start != -1) {
+            int end = format.indexOf('%', start + 1);
+            if (end == -1) return false;
+            boolean underscore = false;
+            boolean valid = end > start + 1;
+            for (int i = start + 1; i < end && valid; i++) {
+                char c = format.charAt(i);
+                if (c == '_')
+                    underscore = true;
+                else if (c == '$' || Character.isWhitespace(c))
+                    valid = false;
+            }
+            if (valid && underscore) return true;
+            // The closing percent sign might open a placeholder
+            start = end;
+        }
+        return false;
+    }
+
+    public void invalidate(Player player) {
+        prefixes.remove(UniqueId.getUUID(player));
+    }
+
+    /**
+     * Should be called when the configuration is reloaded.
+     */
+    public void invalidateAll() {
+        prefixes.clear();
     }
 
     private String getAdditionalFormat(String playerRank, String playerPrestige, String playerRebirth) {
@@ -77,4 +133,25 @@ public class PlayerChatListener implements EventExecutor, Listener {
                 .replace("{rebirth}", rebirthDisplayName);
     }
 
+    private static class ChatPrefix {
+
+        private final UserLevels levels;
+        private final String prefix;
+        private final boolean placeholders;
+
+        ChatPrefix(User user, String prefix) {
+            this.levels = UserLevels.of(user);
+            this.prefix = prefix;
+            this.placeholders = prefix.indexOf('%') != -1;
+        }
+
+        /**
+         * @return whether the prefix was rendered for the user's current levels
+         */
+        boolean isOf(User user) {
+            return levels.isOf(user);
+        }
+
+    }
+
 }
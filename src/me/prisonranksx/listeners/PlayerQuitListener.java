@@ -50,6 +50,9 @@ public class PlayerQuitListener implements EventExecutor, Listener {
 				plugin.getPrestigeExecutor().breakMaxPrestige(UniqueId.getUUID(player));
 			}
 		}
+		// Holograms and fireworks that are still queued would show up where the player was
+		if (plugin.getPromotionGovernor() != null) plugin.getPromotionGovernor().cancel(player.getUniqueId());
+		if (plugin.getPlayerChatListener() != null) plugin.getPlayerChatListener().invalidate(player);
 		Confirmation.clearConfirmation("prestige", player.getName());
 		Confirmation.clearConfirmation("rebirth", player.getName());
 		plugin.getUserController().saveUser(UniqueId.getUUID(player), false).thenRun(() -> {
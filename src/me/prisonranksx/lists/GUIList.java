@@ -196,7 +196,8 @@ public abstract class GUIList {
 					.get(e.getSlot())
 					.getItemStack();
 			e.setCurrentItem(GUIItemParser.updateItemMetaFrom((Player) e.getWhoClicked(), entry.getKey().clone(), originalStack));
-			PrisonRanksX.getInstance().doSyncLater(() -> e.setCurrentItem(originalStack), entry.getValue());
+			PrisonRanksX.getInstance()
+					.doSyncLater(e.getWhoClicked(), () -> e.setCurrentItem(originalStack), entry.getValue());
 		}));
 
 		clickActionsFormatter.setupAction("if", unformattedCondition -> {
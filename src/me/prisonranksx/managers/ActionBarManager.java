@@ -7,13 +7,13 @@ import java.util.function.Function;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 import org.bukkit.scheduler.BukkitTask;
 
 import com.google.common.collect.Sets;
 
 import me.prisonranksx.PrisonRanksX;
 import me.prisonranksx.bukkitutils.XMaterial;
+import me.prisonranksx.bukkitutils.scheduler.Schedulers;
 import me.prisonranksx.common.StaticCache;
 import me.prisonranksx.reflections.ActionBar;
 import me.prisonranksx.reflections.UniqueId;
@@ -56,23 +56,21 @@ public class ActionBarManager extends StaticCache {
 		ACTION_BAR_TASK_HOLDER.put(uniqueId, null);
 		ACTION_BAR_ANIMATION_HOLDER.put(uniqueId, 0);
 		AtomicReference<BukkitTask> animationTaskHolder = new AtomicReference<>();
-		animationTaskHolder.set(new BukkitRunnable() {
-			@Override
-			public void run() {
-				if (ACTION_BAR_TASK_HOLDER.containsKey(uniqueId))
-					ACTION_BAR_TASK_HOLDER.put(uniqueId, animationTaskHolder.get());
-				boolean animationEnded = ACTION_BAR_ANIMATION_HOLDER.get(uniqueId) >= linesCount;
-				if (animationEnded) {
-					PLUGIN.doAsyncLater(() -> ACTION_BAR_TASK_HOLDER.remove(uniqueId), 20);
-					cancel();
-					return;
-				}
-				String currentLine = actionBarMessages.get(ACTION_BAR_ANIMATION_HOLDER.get(uniqueId));
-				ActionBar.sendActionBar(player, currentLine.replace("%player%", name));
-				if (!animationEnded)
-					ACTION_BAR_ANIMATION_HOLDER.put(uniqueId, ACTION_BAR_ANIMATION_HOLDER.get(uniqueId) + 1);
+		animationTaskHolder.set(Schedulers.get().runTaskTimerAsynchronously(PLUGIN, () -> {
+			BukkitTask currentTask = animationTaskHolder.get();
+			if (ACTION_BAR_TASK_HOLDER.containsKey(uniqueId)) ACTION_BAR_TASK_HOLDER.put(uniqueId, currentTask);
+			boolean animationEnded = ACTION_BAR_ANIMATION_HOLDER.get(uniqueId) >= linesCount;
+			if (animationEnded) {
+				// The task can run before it's held, in that case the next run cancels it
+				if (currentTask == null) return;
+				PLUGIN.doAsyncLater(() -> ACTION_BAR_TASK_HOLDER.remove(uniqueId), 20);
+				currentTask.cancel();
+				return;
 			}
-		}.runTaskTimerAsynchronously(PLUGIN, 0, interval));
+			String currentLine = actionBarMessages.get(ACTION_BAR_ANIMATION_HOLDER.get(uniqueId));
+			ActionBar.sendActionBar(player, currentLine.replace("%player%", name));
+			ACTION_BAR_ANIMATION_HOLDER.put(uniqueId, ACTION_BAR_ANIMATION_HOLDER.get(uniqueId) + 1);
+		}, 0, interval));
 	}
 
 	public static void sendAnimated(Player player, List<String> actionBarMessages, int interval,
@@ -86,23 +84,21 @@ public class ActionBarManager extends StaticCache {
 		ACTION_BAR_TASK_HOLDER.put(uniqueId, null);
 		ACTION_BAR_ANIMATION_HOLDER.put(uniqueId, 0);
 		AtomicReference<BukkitTask> animationTaskHolder = new AtomicReference<>();
-		animationTaskHolder.set(new BukkitRunnable() {
-			@Override
-			public void run() {
-				if (ACTION_BAR_TASK_HOLDER.containsKey(uniqueId))
-					ACTION_BAR_TASK_HOLDER.put(uniqueId, animationTaskHolder.get());
-				boolean animationEnded = ACTION_BAR_ANIMATION_HOLDER.get(uniqueId) >= linesCount;
-				if (animationEnded) {
-					PLUGIN.doAsyncLater(() -> ACTION_BAR_TASK_HOLDER.remove(uniqueId), 20);
-					cancel();
-					return;
-				}
-				String currentLine = actionBarMessages.get(ACTION_BAR_ANIMATION_HOLDER.get(uniqueId));
-				ActionBar.sendActionBar(player, function.apply(currentLine.replace("%player%", name)));
-				if (!animationEnded)
-					ACTION_BAR_ANIMATION_HOLDER.put(uniqueId, ACTION_BAR_ANIMATION_HOLDER.get(uniqueId) + 1);
+		animationTaskHolder.set(Schedulers.get().runTaskTimerAsynchronously(PLUGIN, () -> {
+			BukkitTask currentTask = animationTaskHolder.get();
+			if (ACTION_BAR_TASK_HOLDER.containsKey(uniqueId)) ACTION_BAR_TASK_HOLDER.put(uniqueId, currentTask);
+			boolean animationEnded = ACTION_BAR_ANIMATION_HOLDER.get(uniqueId) >= linesCount;
+			if (animationEnded) {
+				// The task can run before it's held, in that case the next run cancels it
+				if (currentTask == null) return;
+				PLUGIN.doAsyncLater(() -> ACTION_BAR_TASK_HOLDER.remove(uniqueId), 20);
+				currentTask.cancel();
+				return;
 			}
-		}.runTaskTimerAsynchronously(PLUGIN, 0, interval));
+			String currentLine = actionBarMessages.get(ACTION_BAR_ANIMATION_HOLDER.get(uniqueId));
+			ActionBar.sendActionBar(player, function.apply(currentLine.replace("%player%", name)));
+			ACTION_BAR_ANIMATION_HOLDER.put(uniqueId, ACTION_BAR_ANIMATION_HOLDER.get(uniqueId) + 1);
+		}, 0, interval));
 	}
 
 	public static class ActionBarProgress {
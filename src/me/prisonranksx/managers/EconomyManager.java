@@ -6,6 +6,7 @@ import com.earth2me.essentials.UserData;
 import com.earth2me.essentials.economy.EconomyLayer;
 import com.earth2me.essentials.economy.EconomyLayers;
 import me.prisonranksx.common.StaticCache;
+import me.prisonranksx.components.RequirementsComponent;
 import net.ess3.api.MaxMoneyException;
 import net.milkbowl.vault.economy.Economy;
 import org.bukkit.Bukkit;
@@ -15,9 +16,16 @@ import org.bukkit.plugin.RegisteredServiceProvider;
 import org.jetbrains.annotations.Nullable;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
+import java.util.Arrays;
 import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 
 @SuppressWarnings("deprecation")
@@ -26,6 +34,7 @@ public class EconomyManager extends StaticCache {
     public static final Economy ECONOMY = setupEconomy();
     private static final BalanceFormatter BALANCE_FORMATTER = new BalanceFormatter();
     private static final DirectEconomyProvider ECONOMY_PROVIDER;
+    private static final Map<UUID, ReservedAccount> RESERVED_ACCOUNTS = new ConcurrentHashMap<>();
 
     static {
         DirectEconomyProvider economyProvider;
@@ -39,8 +48,11 @@ public class EconomyManager extends StaticCache {
 
     private abstract static class DirectEconomyProvider {
 
-        public void takeMoney(OfflinePlayer player, double amount) {
-            ECONOMY.withdrawPlayer(player, amount);
+        /**
+         * @return whether the amount was withdrawn
+         */
+        public boolean takeMoney(OfflinePlayer player, double amount) {
+            return ECONOMY.withdrawPlayer(player, amount).transactionSuccess();
         }
 
         public void setMoney(OfflinePlayer player, double amount) {
@@ -68,7 +80,7 @@ public class EconomyManager extends StaticCache {
             essentials = (Essentials) Bukkit.getPluginManager().getPlugin("Essentials");
         }
 
-        public void takeMoney(OfflinePlayer player, double amount) {
+        public boolean takeMoney(OfflinePlayer player, double amount) {
             UserData userData = essentials.getUser(player);
             BigDecimal amountBigDecimal = BigDecimal.valueOf(amount);
             EconomyLayer layer = EconomyLayers.getSelectedLayer();
@@ -78,8 +90,9 @@ public class EconomyManager extends StaticCache {
             try {
 
                 userData.setMoney(userData.getMoney().subtract(amountBigDecimal), true);
+                return true;
             } catch (MaxMoneyException e) {
-                throw new RuntimeException(e);
+                return false;
             }
         }
 
@@ -137,21 +150,219 @@ public class EconomyManager extends StaticCache {
     }
 
     public static void takeBalance(OfflinePlayer offlinePlayer, double amount) {
-        ECONOMY_PROVIDER.takeMoney(offlinePlayer, amount);
+        if (ECONOMY_PROVIDER.takeMoney(offlinePlayer, amount)) {
+            updateReservedAccount(offlinePlayer, account -> account.balance -= amount);
+            RequirementsComponent.invalidate(offlinePlayer.getUniqueId());
+        }
+    }
+
+    /**
+     * Reserves the amount and withdraws it right away, so the check can't be raced
+     * by other promotions of the player, e.g. a running max rankup. If the player has
+     * no open reservation, the amount is withdrawn directly without retrieving the
+     * balance again, and no reservation can be opened until it's withdrawn.
+     *
+     * @param offlinePlayer player to withdraw from
+     * @param amount        to withdraw
+     * @return true if the available balance was enough and the amount got
+     * withdrawn, false otherwise
+     */
+    public static boolean takeReservedBalance(OfflinePlayer offlinePlayer, double amount) {
+        UUID uniqueId = offlinePlayer.getUniqueId();
+        boolean[] withdrawn = new boolean[1];
+        ReservedAccount account = RESERVED_ACCOUNTS.compute(uniqueId, (key, reservedAccount) -> {
+            if (reservedAccount == null) {
+                withdrawn[0] = ECONOMY_PROVIDER.takeMoney(offlinePlayer, amount);
+                return null;
+            }
+            reservedAccount.holders++;
+            return reservedAccount;
+        });
+        if (account == null) {
+            if (withdrawn[0]) RequirementsComponent.invalidate(uniqueId);
+            return withdrawn[0];
+        }
+        BalanceReservation reservation = new BalanceReservation(offlinePlayer, account);
+        if (reservation.reserve(amount)) return reservation.commit();
+        reservation.release();
+        return false;
     }
 
     public static void giveBalance(OfflinePlayer offlinePlayer, double amount) {
         ECONOMY_PROVIDER.giveMoney(offlinePlayer, amount);
+        updateReservedAccount(offlinePlayer, account -> account.balance += amount);
+        RequirementsComponent.invalidate(offlinePlayer.getUniqueId());
     }
 
     public static void setBalance(OfflinePlayer offlinePlayer, double amount) {
         ECONOMY_PROVIDER.setMoney(offlinePlayer, amount);
+        updateReservedAccount(offlinePlayer, account -> account.balance = amount);
+        RequirementsComponent.invalidate(offlinePlayer.getUniqueId());
     }
 
     public static double getBalance(OfflinePlayer offlinePlayer) {
         return ECONOMY.getBalance(offlinePlayer);
     }
 
+    /**
+     * @param offlinePlayer player to get balance of
+     * @return balance of player minus the amounts held by open reservations. Doesn't
+     * call the economy provider if the player has an open reservation.
+     */
+    public static double getAvailableBalance(OfflinePlayer offlinePlayer) {
+        ReservedAccount account = RESERVED_ACCOUNTS.get(offlinePlayer.getUniqueId());
+        if (account == null) return getBalance(offlinePlayer);
+        synchronized (account) {
+            return account.balance - account.reserved;
+        }
+    }
+
+    /**
+     * Opens a reservation that amounts can be reserved from without calling the
+     * economy provider. The balance is retrieved once when the first reservation of
+     * the player is opened and is shared with other reservations opened before it's
+     * closed, so they can't reserve the same money twice.
+     * <br>
+     * A reservation must always be closed through {@link BalanceReservation#commit()}
+     * or {@link BalanceReservation#release()}.
+     *
+     * @param offlinePlayer player to reserve balance of
+     * @return an open reservation with nothing reserved yet
+     */
+    public static BalanceReservation openReservation(OfflinePlayer offlinePlayer) {
+        ReservedAccount account = RESERVED_ACCOUNTS.compute(offlinePlayer.getUniqueId(), (uniqueId, reservedAccount) -> {
+            if (reservedAccount == null) reservedAccount = new ReservedAccount(getBalance(offlinePlayer));
+            reservedAccount.holders++;
+            return reservedAccount;
+        });
+        return new BalanceReservation(offlinePlayer, account);
+    }
+
+    private static void closeReservation(OfflinePlayer offlinePlayer) {
+        RESERVED_ACCOUNTS.computeIfPresent(offlinePlayer.getUniqueId(),
+                (uniqueId, account) -> --account.holders <= 0 ? null : account);
+    }
+
+    private static void updateReservedAccount(OfflinePlayer offlinePlayer, Consumer<ReservedAccount> update) {
+        ReservedAccount account = RESERVED_ACCOUNTS.get(offlinePlayer.getUniqueId());
+        if (account == null) return;
+        synchronized (account) {
+            update.accept(account);
+        }
+    }
+
+    /**
+     * Balance snapshot of a player that has at least one open reservation.
+     */
+    private static class ReservedAccount {
+
+        private double balance;
+        private double reserved;
+        private int holders;
+
+        private ReservedAccount(double balance) {
+            this.balance = balance;
+        }
+
+    }
+
+    /**
+     * Holds amounts of a player's balance so checking and withdrawing can't be raced
+     * by other promotions, then withdraws all of them in a single call.
+     */
+    public static class BalanceReservation {
+
+        private final OfflinePlayer offlinePlayer;
+        private final ReservedAccount account;
+        private double reservedAmount;
+        private boolean closed;
+
+        private BalanceReservation(OfflinePlayer offlinePlayer, ReservedAccount account) {
+            this.offlinePlayer = offlinePlayer;
+            this.account = account;
+        }
+
+        /**
+         * @return balance that is left to be reserved by this or any other reservation of
+         * the player
+         */
+        public double getAvailableBalance() {
+            synchronized (account) {
+                return account.balance - account.reserved;
+            }
+        }
+
+        /**
+         * Checks and reserves atomically.
+         *
+         * @param amount to reserve
+         * @return true if the available balance was enough and the amount got reserved,
+         * false otherwise
+         */
+        public boolean reserve(double amount) {
+            synchronized (account) {
+                if (closed || account.balance - account.reserved < amount) return false;
+                account.reserved += amount;
+                reservedAmount += amount;
+                return true;
+            }
+        }
+
+        public double getReservedAmount() {
+            synchronized (account) {
+                return reservedAmount;
+            }
+        }
+
+        public boolean isClosed() {
+            synchronized (account) {
+                return closed;
+            }
+        }
+
+        /**
+         * Withdraws the reserved amount with a single economy call and closes the
+         * reservation.
+         *
+         * @return false if the economy provider failed to withdraw the amount, true
+         * otherwise
+         */
+        public boolean commit() {
+            double amount;
+            synchronized (account) {
+                if (closed) return true;
+                closed = true;
+                amount = reservedAmount;
+                account.reserved -= amount;
+                account.balance -= amount;
+            }
+            boolean withdrawn = amount <= 0 || ECONOMY_PROVIDER.takeMoney(offlinePlayer, amount);
+            if (!withdrawn) {
+                synchronized (account) {
+                    account.balance += amount;
+                }
+            } else if (amount > 0) {
+                RequirementsComponent.invalidate(offlinePlayer.getUniqueId());
+            }
+            closeReservation(offlinePlayer);
+            return withdrawn;
+        }
+
+        /**
+         * Gives back the reserved amount to the available balance without withdrawing
+         * anything and closes the reservation. Does nothing if it's already closed.
+         */
+        public void release() {
+            synchronized (account) {
+                if (closed) return;
+                closed = true;
+                account.reserved -= reservedAmount;
+            }
+            closeReservation(offlinePlayer);
+        }
+
+    }
+
     /**
      * @param amount to format
      * @return (example) formats amount to: 1.0k, 5.3k, 15.3m.
@@ -176,14 +387,40 @@ public class EconomyManager extends StaticCache {
         return BALANCE_FORMATTER.commaFormat(amount, true);
     }
 
+    /**
+     * Formats amounts digit by digit into a buffer of the calling thread, so it can
+     * be used from any thread. Amounts that were formatted recently are returned from
+     * a small cache, since the same costs and balances are formatted over and over.
+     * <br>
+     * Output matches the {@link DecimalFormat} patterns that were used before, larger
+     * amounts than {@link #MAX_DIRECT_AMOUNT} are still formatted by them.
+     */
     public static class BalanceFormatter {
 
+        // DecimalFormat works with the shortest digits that represent a double, larger
+        // amounts with their decimals can need more digits than a double holds
+        private static final double MAX_DIRECT_AMOUNT = 1e12;
+        private static final long[] DECIMAL_SCALES = {1, 10, 100, 1000};
+        private static final double[] POWERS_OF_THOUSAND = new double[103];
+        private static final int CACHE_SIZE = 256;
+        private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(32));
+
+        static {
+            // Parsed rather than multiplied, so every power is exact as a double can be
+            for (int i = 0; i < POWERS_OF_THOUSAND.length; i++)
+                POWERS_OF_THOUSAND[i] = Double.parseDouble("1e" + i * 3);
+        }
+
         private String thousand, million, billion, trillion, quadrillion, quintillion, sextillion, septillion,
                 octillion, nonillion, decillion, undecillion, duoDecillion, zillion;
         private String[] abbreviations;
-        private final DecimalFormat abb = new DecimalFormat("0.##");
-        private final DecimalFormat df = new DecimalFormat("###,###.##");
-        private final NumberFormat nf = NumberFormat.getNumberInstance(Locale.US);
+        private final ThreadLocal<DecimalFormat> df = ThreadLocal.withInitial(() -> new DecimalFormat("###,###.##"));
+        private final ThreadLocal<NumberFormat> nf = ThreadLocal.withInitial(() -> NumberFormat.getNumberInstance(Locale.US));
+        // "0.##" and "###,###.##" use the symbols of the default locale, NumberFormat uses US symbols
+        private final DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(Locale.getDefault(Locale.Category.FORMAT));
+        private final FormattedAmount[] shortcutCache = new FormattedAmount[CACHE_SIZE];
+        private final FormattedAmount[] commaCache = new FormattedAmount[CACHE_SIZE];
+        private final FormattedAmount[] decimalCommaCache = new FormattedAmount[CACHE_SIZE];
 
         public void setup() {
             FileConfiguration config = ConfigManager.getConfig();
@@ -203,38 +440,137 @@ public class EconomyManager extends StaticCache {
             this.zillion = config.getString("Balance-Formatter.zillion", "z");
             this.abbreviations = new String[]{"", thousand, million, billion, trillion, quadrillion, quintillion, sextillion,
                     septillion, octillion, nonillion, decillion, undecillion, duoDecillion, zillion};
+            Arrays.fill(shortcutCache, null);
         }
 
         public String shortcutFormat(double amount) {
-            if (amount >= 1000) {
-                double floor = Math.floor(Math.log10(amount) / 3);
-                double x = amount / Math.pow(10, floor * 3);
-                int abbreviationIndex = (int) floor;
-                if (abbreviationIndex >= abbreviations.length) {
-                    int zillionPart = abbreviationIndex / abbreviations.length;
-                    int remainingIndex = abbreviationIndex % abbreviations.length;
-
-                    StringBuilder abbreviationBuilder = new StringBuilder(abbreviations[abbreviations.length - 1]);
-                    abbreviationBuilder.append(zillionPart);
-
-                    if (remainingIndex > 0) {
-                        abbreviationBuilder.append(abbreviations[remainingIndex]);
-                    }
-
-                    return abb.format(x) + abbreviationBuilder;
-                } else {
-                    return abb.format(x) + abbreviations[abbreviationIndex];
+            if (!(amount >= 1000) || Double.isInfinite(amount)) return String.valueOf(amount);
+            String cached = getCached(shortcutCache, amount);
+            if (cached != null) return cached;
+            int abbreviationIndex = 1;
+            while (abbreviationIndex + 1 < POWERS_OF_THOUSAND.length && amount >= POWERS_OF_THOUSAND[abbreviationIndex + 1])
+                abbreviationIndex++;
+            StringBuilder builder = BUILDER.get();
+            builder.setLength(0);
+            appendDecimal(builder, amount / POWERS_OF_THOUSAND[abbreviationIndex], 2, (char) 0,
+                    symbols.getDecimalSeparator());
+            if (abbreviationIndex >= abbreviations.length) {
+                int zillionPart = abbreviationIndex / abbreviations.length;
+                int remainingIndex = abbreviationIndex % abbreviations.length;
+
+                builder.append(abbreviations[abbreviations.length - 1]).append(zillionPart);
+
+                if (remainingIndex > 0) {
+                    builder.append(abbreviations[remainingIndex]);
                 }
+            } else {
+                builder.append(abbreviations[abbreviationIndex]);
             }
-            return String.valueOf(amount);
+            return cache(shortcutCache, amount, builder.toString());
         }
 
         public String commaFormat(double amount) {
-            return nf.format(amount);
+            return commaFormat(amount, false);
         }
 
         public String commaFormat(double amount, boolean withDecimal) {
-            return withDecimal ? df.format(amount) : nf.format(amount);
+            if (!(Math.abs(amount) < MAX_DIRECT_AMOUNT))
+                return withDecimal ? df.get().format(amount) : nf.get().format(amount);
+            FormattedAmount[] cache = withDecimal ? decimalCommaCache : commaCache;
+            String cached = getCached(cache, amount);
+            if (cached != null) return cached;
+            StringBuilder builder = BUILDER.get();
+            builder.setLength(0);
+            if (withDecimal)
+                appendDecimal(builder, amount, 2, symbols.getGroupingSeparator(), symbols.getDecimalSeparator());
+            else
+                appendDecimal(builder, amount, 3, ',', '.');
+            return cache(cache, amount, builder.toString());
+        }
+
+        /**
+         * Appends the amount rounded half even with trailing zeros of the decimals
+         * removed, like {@link DecimalFormat} does.
+         *
+         * @param groupingSeparator separator of every 3 digits, or 0 for none
+         */
+        private static void appendDecimal(StringBuilder builder, double amount, int maxDecimals, char groupingSeparator,
+                                          char decimalSeparator) {
+            double absolute = Math.abs(amount);
+            // Both parts are exact, so only the decimals have to be rounded
+            long integer = (long) absolute;
+            double fraction = absolute - integer;
+            long scale = DECIMAL_SCALES[maxDecimals];
+            double scaledFraction = fraction * scale;
+            long decimals;
+            if (Math.abs(scaledFraction - Math.floor(scaledFraction) - 0.5) < 1e-9)
+                // Too close to a tie for the multiplication to tell which way it goes
+                decimals = new BigDecimal(fraction).setScale(maxDecimals, RoundingMode.HALF_EVEN).unscaledValue().longValue();
+            else
+                decimals = (long) Math.rint(scaledFraction);
+            if (decimals == scale) {
+                integer++;
+                decimals = 0;
+            }
+            // DecimalFormat keeps the sign of amounts that round to 0, including -0.0
+            if (Double.doubleToRawLongBits(amount) < 0) builder.append('-');
+            appendDigits(builder, integer, groupingSeparator);
+            if (decimals == 0) return;
+            builder.append(decimalSeparator);
+            while (decimals != 0) {
+                scale /= 10;
+                builder.append((char) ('0' + decimals / scale));
+                decimals %= scale;
+            }
+        }
+
+        private static void appendDigits(StringBuilder builder, long value, char groupingSeparator) {
+            int start = builder.length();
+            int digits = 0;
+            do {
+                if (groupingSeparator != 0 && digits != 0 && digits % 3 == 0) builder.append(groupingSeparator);
+                builder.append((char) ('0' + value % 10));
+                value /= 10;
+                digits++;
+            } while (value != 0);
+            // Digits were appended from the lowest one
+            for (int i = start, j = builder.length() - 1; i < j; i++, j--) {
+                char digit = builder.charAt(i);
+                builder.setCharAt(i, builder.charAt(j));
+                builder.setCharAt(j, digit);
+            }
+        }
+
+        private static int getCacheIndex(double amount) {
+            long bits = Double.doubleToLongBits(amount);
+            int hash = (int) (bits ^ (bits >>> 32));
+            return (hash ^ (hash >>> 16)) & (CACHE_SIZE - 1);
+        }
+
+        private static String getCached(FormattedAmount[] cache, double amount) {
+            FormattedAmount formattedAmount = cache[getCacheIndex(amount)];
+            // Compared by bits, so 0.0 and -0.0 aren't mixed up
+            return formattedAmount != null
+                    && Double.doubleToLongBits(formattedAmount.amount) == Double.doubleToLongBits(amount)
+                    ? formattedAmount.value : null;
+        }
+
+        private static String cache(FormattedAmount[] cache, double amount, String value) {
+            // Entries are immutable, so threads can replace each other's entries freely
+            cache[getCacheIndex(amount)] = new FormattedAmount(amount, value);
+            return value;
+        }
+
+        private static class FormattedAmount {
+
+            private final double amount;
+            private final String value;
+
+            FormattedAmount(double amount, String value) {
+                this.amount = amount;
+                this.value = value;
+            }
+
         }
 
     }
@@ -0,0 +1,180 @@
+package me.prisonranksx.managers;
+
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A message that is split once into literal parts and {@code %placeholder%}
+ * slots, so it can be rendered with replacements in a single pass instead of a
+ * chain of {@link String#replace(CharSequence, CharSequence)} calls.
+ * <br>
+ * Slots without a replacement are kept as they are and left to PlaceholderAPI,
+ * which is only called when such slots, or replacements that contain
+ * placeholders, are rendered.
+ */
+public class MessageTemplate {
+
+	private static final Map<String, MessageTemplate> TEMPLATES = new ConcurrentHashMap<>();
+	// Messages come from the configuration files, this only guards against
+	// messages that are built at runtime being cached forever
+	private static final int MAX_CACHED_TEMPLATES = 4096;
+	private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+	private final String message;
+	// One more literal than slots, literal i comes before slot i
+	private final String[] literals;
+	private final String[] slots;
+
+	private MessageTemplate(String message, String[] literals, String[] slots) {
+		this.message = message;
+		this.literals = literals;
+		this.slots = slots;
+	}
+
+	/**
+	 * @param message message to get the template of
+	 * @return compiled template of the message, cached until
+	 *         {@link #clearCache()} is called
+	 */
+	public static MessageTemplate of(String message) {
+		MessageTemplate template = TEMPLATES.get(message);
+		if (template != null) return template;
+		template = compile(message);
+		if (TEMPLATES.size() < MAX_CACHED_TEMPLATES) TEMPLATES.put(message, template);
+		return template;
+	}
+
+	/**
+	 * Should be called when messages are reloaded.
+	 */
+	public static void clearCache() {
+		TEMPLATES.clear();
+	}
+
+	/**
+	 * Splits the message into literals and slots. A slot is a name between two
+	 * percent signs without whitespace, other percent signs are literal.
+	 *
+	 * @param message message to compile
+	 * @return template of the message, not cached
+	 */
+	public static MessageTemplate compile(String message) {
+		List<String> literals = new ArrayList<>();
+		List<String> slots = new ArrayList<>();
+		int literalStart = 0;
+		int start = message.indexOf('%');
+		while (start != -1) {
+			int end = message.indexOf('%', start + 1);
+			if (end == -1) break;
+			if (end == start + 1 || containsWhitespace(message, start + 1, end)) {
+				// The closing percent sign might open a slot
+				start = end;
+				continue;
+			}
+			literals.add(message.substring(literalStart, start));
+			slots.add(message.substring(start + 1, end));
+			literalStart = end + 1;
+			start = message.indexOf('%', literalStart);
+		}
+		literals.add(message.substring(literalStart));
+		return new MessageTemplate(message, literals.toArray(new String[0]), slots.toArray(new String[0]));
+	}
+
+	private static boolean containsWhitespace(String string, int from, int to) {
+		for (int i = from; i < to; i++)
+			if (Character.isWhitespace(string.charAt(i))) return true;
+		return false;
+	}
+
+	/**
+	 * @param player       player to parse PlaceholderAPI placeholders for, or null
+	 *                     to keep them
+	 * @param replacements placeholder names without percent signs followed by
+	 *                     their replacements, e.g. {@code "rankup", rankName}
+	 * @return rendered message
+	 */
+	public String render(Player player, String... replacements) {
+		if (slots.length == 0) return message;
+		StringBuilder builder = BUILDER.get();
+		builder.setLength(0);
+		boolean placeholders = false;
+		for (int i = 0; i < slots.length; i++) {
+			builder.append(literals[i]);
+			String replacement = find(replacements, slots[i]);
+			placeholders |= appendSlot(builder, slots[i], replacement);
+		}
+		builder.append(literals[slots.length]);
+		return finish(builder, player, placeholders);
+	}
+
+	/**
+	 * @param player       player to parse PlaceholderAPI placeholders for, or null
+	 *                     to keep them
+	 * @param replacements replacements mapped by placeholder names without percent
+	 *                     signs
+	 * @return rendered message
+	 */
+	public String render(Player player, Map<String, String> replacements) {
+		return render(player, replacements::get);
+	}
+
+	/**
+	 * @param player   player to parse PlaceholderAPI placeholders for, or null to
+	 *                 keep them
+	 * @param resolver gives the replacement of a placeholder name without percent
+	 *                 signs, or null to keep the placeholder
+	 * @return rendered message
+	 */
+	public String render(Player player, Function<String, String> resolver) {
+		if (slots.length == 0) return message;
+		StringBuilder builder = BUILDER.get();
+		builder.setLength(0);
+		boolean placeholders = false;
+		for (int i = 0; i < slots.length; i++) {
+			builder.append(literals[i]);
+			placeholders |= appendSlot(builder, slots[i], resolver.apply(slots[i]));
+		}
+		builder.append(literals[slots.length]);
+		return finish(builder, player, placeholders);
+	}
+
+	private static String find(String[] replacements, String slot) {
+		for (int i = 0; i + 1 < replacements.length; i += 2)
+			if (slot.equals(replacements[i])) return replacements[i + 1];
+		return null;
+	}
+
+	/**
+	 * @return whether the appended text may contain PlaceholderAPI placeholders
+	 */
+	private static boolean appendSlot(StringBuilder builder, String slot, String replacement) {
+		if (replacement == null) {
+			builder.append('%').append(slot).append('%');
+			return true;
+		}
+		builder.append(replacement);
+		return replacement.indexOf('%') != -1;
+	}
+
+	private static String finish(StringBuilder builder, Player player, boolean placeholders) {
+		String rendered = builder.toString();
+		return placeholders && player != null ? StringManager.parsePlaceholders(rendered, player) : rendered;
+	}
+
+	/**
+	 * @return whether the message has any {@code %placeholder%} slots
+	 */
+	public boolean hasSlots() {
+		return slots.length != 0;
+	}
+
+	public String getMessage() {
+		return message;
+	}
+
+}
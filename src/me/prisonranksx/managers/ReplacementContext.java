@@ -0,0 +1,69 @@
+package me.prisonranksx.managers;
+
+import org.bukkit.entity.Player;
+
+import java.util.function.Function;
+
+/**
+ * Replacements of a single promotion, e.g. the player name and the cost of the
+ * level. It's passed to every component that uses them (messages, commands,
+ * action bars, random commands), and can be kept by effects that run later
+ * since it's immutable.
+ * <br>
+ * Applying it to a string replaces the {@code %name%} placeholders in a single
+ * pass through {@link MessageTemplate}, other placeholders are kept.
+ */
+public class ReplacementContext implements Function<String, String> {
+
+	public static final ReplacementContext EMPTY = new ReplacementContext(new String[0]);
+
+	// Placeholder names followed by their replacements, promotions only have a few
+	// of them, so a linear lookup is faster than hashing
+	private final String[] replacements;
+
+	private ReplacementContext(String[] replacements) {
+		this.replacements = replacements;
+	}
+
+	/**
+	 * @param replacements placeholder names without percent signs followed by
+	 *                     their replacements, e.g. {@code "player", playerName}
+	 * @return context of the replacements
+	 */
+	public static ReplacementContext of(String... replacements) {
+		if (replacements.length % 2 != 0)
+			throw new IllegalArgumentException("Every placeholder needs a replacement.");
+		return new ReplacementContext(replacements);
+	}
+
+	/**
+	 * @param name placeholder name without percent signs
+	 * @return replacement of the placeholder, or null if there isn't one
+	 */
+	public String get(String name) {
+		for (int i = 0; i < replacements.length; i += 2)
+			if (name.equals(replacements[i])) return replacements[i + 1];
+		return null;
+	}
+
+	/**
+	 * @param string string to replace the placeholders of
+	 * @return string with replaced placeholders
+	 */
+	@Override
+	public String apply(String string) {
+		if (string == null || replacements.length == 0) return string;
+		return MessageTemplate.of(string).render(null, replacements);
+	}
+
+	/**
+	 * @param string string to replace the placeholders of
+	 * @param player player to parse the remaining PlaceholderAPI placeholders for
+	 * @return string with replaced and parsed placeholders
+	 */
+	public String apply(String string, Player player) {
+		if (string == null) return null;
+		return MessageTemplate.of(string).render(player, replacements);
+	}
+
+}
@@ -2,14 +2,14 @@ package me.prisonranksx.managers;
 
 import me.prisonranksx.bukkitutils.Colorizer;
 import me.prisonranksx.common.StaticCache;
-import org.apache.commons.lang.text.StrSubstitutor;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -41,8 +41,10 @@ public class StringManager extends StaticCache {
 			put("|", "⎟");
 		}
 	};
-	private static final StrSubstitutor SYMBOLS_STRING_SUBSTITUTOR = new StrSubstitutor(SYMBOLS_MAP, "[", "]");
-	private static final Map<String, StrSubstitutor> DEFINED_REPLACEMENTS = new ConcurrentHashMap<>();
+	// Lores, action bars and messages are colored again on every refresh
+	private static final int MAX_CACHED_STRINGS = 2048;
+	private static final Map<String, String> COLORED_STRINGS = createColorCache();
+	private static final Map<String, String> COLORED_STRINGS_WITH_SYMBOLS = createColorCache();
 	private static final IStringManager STRING_MANAGER;
 	private static final boolean PLACEHOLDERAPI;
 
@@ -56,21 +58,6 @@ public class StringManager extends StaticCache {
 		return PLACEHOLDERAPI;
 	}
 
-	/**
-	 * Define replacements, so they can be used constantly
-	 *
-	 * @param name         to be used when retrieving the replacements
-	 * @param replacements map of the placeholders as keys and the replacements as
-	 *                     values
-	 */
-	public static void defineReplacements(String name, Map<String, String> replacements) {
-		DEFINED_REPLACEMENTS.put(name, new StrSubstitutor(replacements, "%", "%"));
-	}
-
-	public static void deleteReplacements(String name) {
-		DEFINED_REPLACEMENTS.remove(name);
-	}
-
 	/**
 	 * @param string parses a string's color codes
 	 * @return string with translated color codes including hex color codes if they
@@ -133,15 +120,6 @@ public class StringManager extends StaticCache {
 				.collect(Collectors.toList());
 	}
 
-	/**
-	 * @param string     string to replace defined replacements in
-	 * @param definition name of said replacements
-	 * @return string with parsed replacements, null if string or definition is null
-	 */
-	public static String parseReplacements(String string, String definition) {
-		return string == null || definition == null ? null : STRING_MANAGER.parseReplacements(string, definition);
-	}
-
 	/**
 	 * @param string parses a string's PlaceholderAPI placeholders, color codes, and
 	 *               symbols.
@@ -153,14 +131,33 @@ public class StringManager extends StaticCache {
 	}
 
 	/**
-	 * @param string     parses a string's PlaceholderAPI placeholders, color codes,
-	 *                   and symbols.
-	 * @param player     to parse PlaceholderAPI placeholders for
-	 * @param definition name of replacements
-	 * @return parsed string, null if string is null
+	 * @param string  string to translate color codes in
+	 * @param symbols whether to replace plugin provided symbols as well
+	 * @return colorized string, cached by the given string
 	 */
-	public static String parseAll(String string, Player player, String definition) {
-		return string == null ? null : STRING_MANAGER.parseAll(string, player, definition);
+	private static String colorize(String string, boolean symbols) {
+		Map<String, String> cache = symbols ? COLORED_STRINGS_WITH_SYMBOLS : COLORED_STRINGS;
+		String colorized = cache.get(string);
+		if (colorized != null) return colorized;
+		colorized = symbols ? Colorizer.colorize(string, SYMBOLS_MAP) : Colorizer.colorize(string);
+		cache.put(string, colorized);
+		return colorized;
+	}
+
+	/**
+	 * @return map that drops the least recently used string once it holds more than
+	 * {@link #MAX_CACHED_STRINGS}, so strings with changing values don't push out
+	 * the ones that are colored on every refresh
+	 */
+	private static Map<String, String> createColorCache() {
+		return Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+				return size() > MAX_CACHED_STRINGS;
+			}
+		});
 	}
 
 	/**
@@ -208,34 +205,18 @@ public class StringManager extends StaticCache {
 		 */
 		String parseAll(String string, Player player);
 
-		/**
-		 * @param string     parses a string's PlaceholderAPI placeholders, color codes,
-		 *                   and symbols.
-		 * @param player     to parse PlaceholderAPI placeholders for
-		 * @param definition parses replacements
-		 * @return parsed string
-		 */
-		String parseAll(String string, Player player, String definition);
-
-		/**
-		 * @param string     string to replace defined replacements in
-		 * @param definition name of said replacements
-		 * @return string with parsed replacements
-		 */
-		String parseReplacements(String string, String definition);
-
 	}
 
 	private static class PlaceholderAPIStringManager implements IStringManager {
 
 		@Override
 		public String parseColors(String string) {
-			return Colorizer.colorize(string);
+			return colorize(string, false);
 		}
 
 		@Override
 		public String parseColorsAndSymbols(String string) {
-			return parseColors(SYMBOLS_STRING_SUBSTITUTOR.replace(string));
+			return colorize(string, true);
 		}
 
 		@Override
@@ -243,19 +224,11 @@ public class StringManager extends StaticCache {
 			return me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, string);
 		}
 
-		@Override
-		public String parseReplacements(String string, String definition) {
-			return DEFINED_REPLACEMENTS.get(definition).replace(string);
-		}
-
 		@Override
 		public String parseAll(String string, Player player) {
-			return parseColorsAndSymbols(me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, string));
-		}
-
-		@Override
-		public String parseAll(String string, Player player, String definition) {
-			return parseAll(parseReplacements(string, definition), player);
+			String parsed = me.clip.placeholderapi.PlaceholderAPI.setPlaceholders(player, string);
+			// Only the template is worth caching, parsed values can differ every time
+			return parsed.equals(string) ? parseColorsAndSymbols(string) : Colorizer.colorize(parsed, SYMBOLS_MAP);
 		}
 
 	}
@@ -264,12 +237,12 @@ public class StringManager extends StaticCache {
 
 		@Override
 		public String parseColors(String string) {
-			return Colorizer.colorize(string);
+			return colorize(string, false);
 		}
 
 		@Override
 		public String parseColorsAndSymbols(String string) {
-			return parseColors(SYMBOLS_STRING_SUBSTITUTOR.replace(string));
+			return colorize(string, true);
 		}
 
 		@Override
@@ -277,21 +250,11 @@ public class StringManager extends StaticCache {
 			return string;
 		}
 
-		@Override
-		public String parseReplacements(String string, String definition) {
-			return DEFINED_REPLACEMENTS.get(definition).replace(string);
-		}
-
 		@Override
 		public String parseAll(String string, Player player) {
 			return parseColorsAndSymbols(string);
 		}
 
-		@Override
-		public String parseAll(String string, Player player, String definition) {
-			return parseAll(parseReplacements(string, definition), player);
-		}
-
 	}
 
 }
@@ -0,0 +1,98 @@
+package me.prisonranksx.managers;
+
+import me.prisonranksx.PrisonRanksX;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.BukkitTickBalancer;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.SplittableTask;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.TaskMetrics;
+import me.prisonranksx.executors.PromotionGovernor;
+import me.prisonranksx.executors.PromotionGovernor.Resource;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Formats metrics of the tick balancer tasks and the promotion effects for
+ * "/prx tasks" and optionally writes them to 'task-metrics.txt' in the plugin
+ * folder every 'task-metrics-file-interval' seconds.
+ */
+public class TaskMetricsManager {
+
+	private static final String FILE_NAME = "task-metrics.txt";
+
+	private static BukkitTask writerTask;
+
+	/**
+	 * @return lines describing the state of all registered tasks
+	 */
+	public static List<String> createReport() {
+		List<String> lines = new ArrayList<>();
+		lines.add(String.format(Locale.ROOT, "MSPT: %.2f, sync budget: %.2f ms, async budget: %.2f ms",
+				BukkitTickBalancer.getMspt(), BukkitTickBalancer.getSyncBudget().getMillis(),
+				BukkitTickBalancer.getAsyncBudget().getMillis()));
+		BukkitTickBalancer.getTasks().forEach((name, task) -> lines.add(describe(name, task)));
+		PromotionGovernor governor = PrisonRanksX.getInstance().getPromotionGovernor();
+		if (governor != null) {
+			for (Resource resource : Resource.values()) lines.add(describe(resource, governor));
+		}
+		return lines;
+	}
+
+	private static String describe(Resource resource, PromotionGovernor governor) {
+		return String.format(Locale.ROOT, "effects-%s: budget=%d queued=%d executed=%d deferred=%d",
+				resource.name().toLowerCase(Locale.ROOT).replace('_', '-'), governor.getBudget(resource),
+				governor.getQueuedEffects(resource), governor.getExecutedEffects(resource),
+				governor.getDeferredEffects(resource));
+	}
+
+	private static String describe(String name, SplittableTask task) {
+		TaskMetrics metrics = task.getMetrics();
+		return String.format(Locale.ROOT,
+				"%s: queued=%d runs=%d executed=%d (%.1f/run, last %d) time=%.3f ms/run (max %.3f, last %.3f) "
+						+ "overruns=%d saturated=%d latency p50=%.3f p95=%.3f p99=%.3f ms",
+				name, task.getQueueDepth(), metrics.getRuns(), metrics.getExecuted(),
+				metrics.getAverageExecutedPerRun(), metrics.getLastExecuted(), metrics.getAverageMillisPerRun(),
+				metrics.getMaxMillisPerRun(), metrics.getLastMillis(), metrics.getOverruns(),
+				metrics.getSaturatedRuns(), metrics.getLatencyPercentile(0.5), metrics.getLatencyPercentile(0.95),
+				metrics.getLatencyPercentile(0.99));
+	}
+
+	/**
+	 * Starts writing metrics to the metrics file, or stops if the interval is 0 or
+	 * less.
+	 *
+	 * @param plugin          plugin to schedule the writer with
+	 * @param intervalSeconds seconds between writes
+	 */
+	public static void startWriter(PrisonRanksX plugin, int intervalSeconds) {
+		stopWriter();
+		if (intervalSeconds <= 0) return;
+		File file = new File(plugin.getDataFolder(), FILE_NAME);
+		long interval = intervalSeconds * 20L;
+		writerTask = plugin.doAsyncRepeating(() -> writeReport(file), interval, interval);
+	}
+
+	public static void stopWriter() {
+		if (writerTask == null) return;
+		writerTask.cancel();
+		writerTask = null;
+	}
+
+	private static void writeReport(File file) {
+		List<String> lines = createReport();
+		lines.add(0, new SimpleDateFormat("yyyy-MM-dd HH:mm:ss").format(new Date()));
+		try {
+			Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+		} catch (IOException ex) {
+			PrisonRanksX.logWarning("Failed to write " + FILE_NAME + ": " + ex.getMessage());
+		}
+	}
+
+}
@@ -38,10 +38,11 @@ import org.apache.commons.lang.math.NumberUtils;
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import com.google.common.base.Strings;
 
+import me.prisonranksx.bukkitutils.scheduler.SchedulerRunnable;
+
 import net.md_5.bungee.api.ChatMessageType;
 import net.md_5.bungee.api.chat.BaseComponent;
 import net.md_5.bungee.api.chat.TextComponent;
@@ -263,7 +264,7 @@ public final class ActionBar {
 	 */
 	public static void sendActionBarWhile(@NotNull JavaPlugin plugin, @NotNull Player player, @Nullable String message,
 			@NotNull Callable<Boolean> callable) {
-		new BukkitRunnable() {
+		new SchedulerRunnable() {
 			@Override
 			public void run() {
 				try {
@@ -297,7 +298,7 @@ public final class ActionBar {
 	 */
 	public static void sendActionBarWhile(@NotNull JavaPlugin plugin, @NotNull Player player,
 			@Nullable Callable<String> message, @NotNull Callable<Boolean> callable) {
-		new BukkitRunnable() {
+		new SchedulerRunnable() {
 			@Override
 			public void run() {
 				try {
@@ -330,7 +331,7 @@ public final class ActionBar {
 			long duration) {
 		if (duration < 1) return;
 
-		new BukkitRunnable() {
+		new SchedulerRunnable() {
 			long repeater = duration;
 
 			@Override
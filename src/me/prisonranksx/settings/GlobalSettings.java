@@ -84,6 +84,7 @@ public class GlobalSettings extends Settings {
     private boolean prestigeConfirm, rebirthConfirm;
 
     private boolean autoRankupAlwaysEnabled;
+    private boolean asyncWorkloadThreads;
 
     private String forceDisplayOrder, noPrestigeDisplay, noRebirthDisplay, vaultGroupsPlugin, actionBarProgressFormat,
             chatEventHandlingPriority, loginEventHandlingPriority, dataStorageType;
@@ -91,7 +92,12 @@ public class GlobalSettings extends Settings {
     private Record rankupSound, prestigeSound, rebirthSound;
 
     private int autoRankupDelay, autoPrestigeDelay, autoRebirthDelay, actionBarProgressUpdater, expBarProgressUpdater,
-            autoSaveTime, prestigeConfirmTimeOut, rebirthConfirmTimeOut;
+            autoSaveTime, prestigeConfirmTimeOut, rebirthConfirmTimeOut, maxPromotionEffectsPerTick,
+            promotionBudgetConsoleCommands, promotionBudgetHolograms, promotionBudgetFireworks,
+            promotionBudgetPermissionWrites, taskMetricsFileInterval, asyncWorkloadPoolSize;
+
+    private double tickBalancerMinMillis, tickBalancerMaxMillis, asyncTickBalancerMinMillis,
+            asyncTickBalancerMaxMillis, tickBalancerOverloadedMspt, tickBalancerIdleMspt;
 
     private Set<String> worlds = new HashSet<>();
 
@@ -197,6 +203,7 @@ public class GlobalSettings extends Settings {
         autoRankupAlwaysEnabled = getBoolean("auto-rankup-always-enabled");
         prestigeConfirm = getBoolean("prestige-confirm");
         rebirthConfirm = getBoolean("rebirth-confirm");
+        asyncWorkloadThreads = getBoolean("async-workload-threads");
 
         // Strings
         forceDisplayOrder = getString("force-display-order", true);
@@ -234,6 +241,20 @@ public class GlobalSettings extends Settings {
         autoSaveTime = getInt("auto-save-time");
         prestigeConfirmTimeOut = getInt("prestige-confirm-time-out");
         rebirthConfirmTimeOut = getInt("rebirth-confirm-time-out");
+        maxPromotionEffectsPerTick = getInt("max-promotion-effects-per-tick");
+        promotionBudgetConsoleCommands = getInt("promotion-budget-console-commands");
+        promotionBudgetHolograms = getInt("promotion-budget-holograms");
+        promotionBudgetFireworks = getInt("promotion-budget-fireworks");
+        promotionBudgetPermissionWrites = getInt("promotion-budget-permission-writes");
+        taskMetricsFileInterval = getInt("task-metrics-file-interval");
+        asyncWorkloadPoolSize = getInt("async-workload-pool-size");
+        // Doubles
+        tickBalancerMinMillis = getDouble("tick-balancer-min-millis");
+        tickBalancerMaxMillis = getDouble("tick-balancer-max-millis");
+        asyncTickBalancerMinMillis = getDouble("async-tick-balancer-min-millis");
+        asyncTickBalancerMaxMillis = getDouble("async-tick-balancer-max-millis");
+        tickBalancerOverloadedMspt = getDouble("tick-balancer-overloaded-mspt");
+        tickBalancerIdleMspt = getDouble("tick-balancer-idle-mspt");
     }
 
     private @NotNull String recordToString(Record record) {
@@ -859,6 +880,118 @@ public class GlobalSettings extends Settings {
         this.rebirthConfirmTimeOut = rebirthConfirmTimeOut;
     }
 
+    public int getMaxPromotionEffectsPerTick() {
+        return maxPromotionEffectsPerTick;
+    }
+
+    public void setMaxPromotionEffectsPerTick(int maxPromotionEffectsPerTick) {
+        this.maxPromotionEffectsPerTick = maxPromotionEffectsPerTick;
+    }
+
+    public int getPromotionBudgetConsoleCommands() {
+        return promotionBudgetConsoleCommands;
+    }
+
+    public void setPromotionBudgetConsoleCommands(int promotionBudgetConsoleCommands) {
+        this.promotionBudgetConsoleCommands = promotionBudgetConsoleCommands;
+    }
+
+    public int getPromotionBudgetHolograms() {
+        return promotionBudgetHolograms;
+    }
+
+    public void setPromotionBudgetHolograms(int promotionBudgetHolograms) {
+        this.promotionBudgetHolograms = promotionBudgetHolograms;
+    }
+
+    public int getPromotionBudgetFireworks() {
+        return promotionBudgetFireworks;
+    }
+
+    public void setPromotionBudgetFireworks(int promotionBudgetFireworks) {
+        this.promotionBudgetFireworks = promotionBudgetFireworks;
+    }
+
+    public int getPromotionBudgetPermissionWrites() {
+        return promotionBudgetPermissionWrites;
+    }
+
+    public void setPromotionBudgetPermissionWrites(int promotionBudgetPermissionWrites) {
+        this.promotionBudgetPermissionWrites = promotionBudgetPermissionWrites;
+    }
+
+    public boolean isAsyncWorkloadThreads() {
+        return asyncWorkloadThreads;
+    }
+
+    public void setAsyncWorkloadThreads(boolean asyncWorkloadThreads) {
+        this.asyncWorkloadThreads = asyncWorkloadThreads;
+    }
+
+    public int getAsyncWorkloadPoolSize() {
+        return asyncWorkloadPoolSize;
+    }
+
+    public void setAsyncWorkloadPoolSize(int asyncWorkloadPoolSize) {
+        this.asyncWorkloadPoolSize = asyncWorkloadPoolSize;
+    }
+
+    public int getTaskMetricsFileInterval() {
+        return taskMetricsFileInterval;
+    }
+
+    public void setTaskMetricsFileInterval(int taskMetricsFileInterval) {
+        this.taskMetricsFileInterval = taskMetricsFileInterval;
+    }
+
+    public double getTickBalancerMinMillis() {
+        return tickBalancerMinMillis;
+    }
+
+    public void setTickBalancerMinMillis(double tickBalancerMinMillis) {
+        this.tickBalancerMinMillis = tickBalancerMinMillis;
+    }
+
+    public double getTickBalancerMaxMillis() {
+        return tickBalancerMaxMillis;
+    }
+
+    public void setTickBalancerMaxMillis(double tickBalancerMaxMillis) {
+        this.tickBalancerMaxMillis = tickBalancerMaxMillis;
+    }
+
+    public double getAsyncTickBalancerMinMillis() {
+        return asyncTickBalancerMinMillis;
+    }
+
+    public void setAsyncTickBalancerMinMillis(double asyncTickBalancerMinMillis) {
+        this.asyncTickBalancerMinMillis = asyncTickBalancerMinMillis;
+    }
+
+    public double getAsyncTickBalancerMaxMillis() {
+        return asyncTickBalancerMaxMillis;
+    }
+
+    public void setAsyncTickBalancerMaxMillis(double asyncTickBalancerMaxMillis) {
+        this.asyncTickBalancerMaxMillis = asyncTickBalancerMaxMillis;
+    }
+
+    public double getTickBalancerOverloadedMspt() {
+        return tickBalancerOverloadedMspt;
+    }
+
+    public void setTickBalancerOverloadedMspt(double tickBalancerOverloadedMspt) {
+        this.tickBalancerOverloadedMspt = tickBalancerOverloadedMspt;
+    }
+
+    public double getTickBalancerIdleMspt() {
+        return tickBalancerIdleMspt;
+    }
+
+    public void setTickBalancerIdleMspt(double tickBalancerIdleMspt) {
+        this.tickBalancerIdleMspt = tickBalancerIdleMspt;
+    }
+
     public boolean isForceDisplay() {
         return forceRankDisplay || forcePrestigeDisplay || forceRebirthDisplay;
     }
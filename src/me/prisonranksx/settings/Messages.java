@@ -1,5 +1,7 @@
 package me.prisonranksx.settings;
 
+import me.prisonranksx.managers.MessageTemplate;
+import me.prisonranksx.managers.ReplacementContext;
 import me.prisonranksx.managers.StringManager;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
@@ -12,6 +14,7 @@ public class Messages {
 	private static final MessagesSettings SETTINGS = new MessagesSettings();
 
 	public static void reload() {
+		MessageTemplate.clearCache();
 		SETTINGS.setup();
 	}
 
@@ -39,7 +42,20 @@ public class Messages {
 	 */
 	public static void sendMessage(Player player, String message) {
 		if (message == null) return;
-		player.sendMessage(StringManager.parsePlaceholders(message, player));
+		player.sendMessage(parsePlaceholders(message, player));
+	}
+
+	/**
+	 * Made to avoid null checks.
+	 * Send message to sender only if it's not null.
+	 *
+	 * @param replacements placeholder names without percent signs followed by
+	 *                     their replacements, see
+	 *                     {@link MessageTemplate#render(Player, String...)}
+	 */
+	public static void sendMessage(Player player, String message, String... replacements) {
+		if (message == null) return;
+		player.sendMessage(MessageTemplate.of(message).render(player, replacements));
 	}
 
 	/**
@@ -57,7 +73,35 @@ public class Messages {
 	 */
 	public static void sendMessage(Player player, List<String> message) {
 		if (message == null) return;
-		message.forEach(messageLine -> player.sendMessage(StringManager.parsePlaceholders(messageLine, player)));
+		message.forEach(messageLine -> player.sendMessage(parsePlaceholders(messageLine, player)));
+	}
+
+	/**
+	 * Made to avoid null checks.
+	 * Send message to sender only if it's not null.
+	 *
+	 * @param replacements placeholder names without percent signs followed by
+	 *                     their replacements
+	 */
+	public static void sendMessage(Player player, List<String> message, String... replacements) {
+		if (message == null) return;
+		message.forEach(messageLine -> player.sendMessage(MessageTemplate.of(messageLine).render(player, replacements)));
+	}
+
+	/**
+	 * Made to avoid null checks.
+	 * Send message to sender only if it's not null.
+	 */
+	public static void sendMessage(Player player, List<String> message, ReplacementContext replacements) {
+		if (message == null) return;
+		message.forEach(messageLine -> player.sendMessage(replacements.apply(messageLine, player)));
+	}
+
+	/**
+	 * PlaceholderAPI is skipped for messages that can't contain placeholders.
+	 */
+	private static String parsePlaceholders(String message, Player player) {
+		return message.indexOf('%') == -1 ? message : StringManager.parsePlaceholders(message, player);
 	}
 
 	/**
@@ -17,7 +17,9 @@ public class PlaceholderAPISettings extends Settings {
 
     private boolean nextRankProgressBarFullEnabled, currentRankLastRankEnabled, currencySymbolBehind, percentSignBehind,
             nextProgressBarFullIsRankupEnabled, nextProgressBarFullIsPrestigeEnabled,
-            nextProgressBarFullIsRebirthEnabled, nextProgressBarFullIsLastEnabled;
+            nextProgressBarFullIsRebirthEnabled, nextProgressBarFullIsLastEnabled, cacheValues;
+
+    private long balanceValuesCacheMillis;
 
     private MCProgressBar nextRankProgressBar, nextRankProgressBarExtra, nextProgressBarRankup,
             nextProgressBarRankupExtra, nextProgressBarPrestige, nextProgressBarPrestigeExtra, nextProgressBarRebirth,
@@ -78,6 +80,8 @@ public class PlaceholderAPISettings extends Settings {
         nextProgressBarFullIsPrestigeEnabled = getBoolean("next-progress-bar-full-is-prestige-enabled");
         nextProgressBarFullIsRebirthEnabled = getBoolean("next-progress-bar-full-is-rebirth-enabled");
         nextProgressBarFullIsLastEnabled = getBoolean("next-progress-bar-full-is-last-enabled");
+        cacheValues = getBoolean("cache-values");
+        balanceValuesCacheMillis = getInt("balance-values-cache-millis");
 
         nextRankProgressBar = new MCProgressBar(getInt("next-rank-progress-bar-size"), nextRankProgressBarStyle,
                 nextRankProgressBarFilled, nextRankProgressBarNeeded);
@@ -513,4 +517,20 @@ public class PlaceholderAPISettings extends Settings {
         this.nextProgressBarRebirthExtra = nextProgressBarRebirthExtra;
     }
 
+    public boolean isCacheValues() {
+        return cacheValues;
+    }
+
+    public void setCacheValues(boolean cacheValues) {
+        this.cacheValues = cacheValues;
+    }
+
+    public long getBalanceValuesCacheMillis() {
+        return balanceValuesCacheMillis;
+    }
+
+    public void setBalanceValuesCacheMillis(long balanceValuesCacheMillis) {
+        this.balanceValuesCacheMillis = balanceValuesCacheMillis;
+    }
+
 }
@@ -68,6 +68,7 @@ public class Scrif {
 
     private String script;
     private ScrifCondition scrifCondition;
+    private CompiledCondition compiledCondition;
     private Map<String, Object> assignedVariables;
 
     private static final String SCRIPT_AND = "&&";
@@ -343,6 +344,7 @@ public class Scrif {
      * @return ScrifCondition that was parsed from the script
      */
     public ScrifCondition parseScript() {
+        compiledCondition = null;
         return scrifCondition = parseScript(script, assignedVariables);
     }
 
@@ -415,6 +417,44 @@ public class Scrif {
         return scrifCondition.applyThenEvaluateOrGet(function);
     }
 
+    /**
+     * Compiles the parsed condition into a tree that takes placeholder values
+     * directly, so parts of the script that are a single placeholder, or have no
+     * placeholders at all, aren't rebuilt or evaluated again on every evaluation.
+     * The compiled condition is cached until the script is parsed again.
+     *
+     * @return compiled condition of the parsed script
+     */
+    public CompiledCondition compile() {
+        CompiledCondition compiled = compiledCondition;
+        if (compiled == null) compiledCondition = compiled = compile(scrifCondition);
+        return compiled;
+    }
+
+    /**
+     * Evaluates the compiled condition, same as
+     * {@linkplain #applyThenEvaluateOrGet(Function)} with a function that only
+     * replaces placeholders.
+     *
+     * @param placeholders gives the value of a placeholder, e.g.
+     *                     {@code %player_name%}
+     * @return null if condition is met, otherwise returns failed condition part
+     * @see #compile()
+     */
+    public Entry<String, String> evaluateCompiledOrGet(Function<String, String> placeholders) {
+        return compile().evaluateOrGet(placeholders);
+    }
+
+    /**
+     * @param placeholders gives the value of a placeholder, e.g.
+     *                     {@code %player_name%}
+     * @return true if condition is met, false otherwise
+     * @see #evaluateCompiledOrGet(Function)
+     */
+    public boolean evaluateCompiled(Function<String, String> placeholders) {
+        return compile().evaluateOrGet(placeholders) == null;
+    }
+
     /**
      * @return whether the conditions match the given scrif object conditions. The
      * scripts don't have to be exactly the same
@@ -1774,6 +1814,237 @@ public class Scrif {
 
     }
 
+    private static CompiledCondition compile(ScrifCondition condition) {
+        if (condition instanceof ScrifOrGroup || condition instanceof ScrifAndGroup) {
+            CompiledCondition[] conditions = ((ScrifGroup) condition).getConditions()
+                    .stream()
+                    .map(Scrif::compile)
+                    .toArray(CompiledCondition[]::new);
+            return condition instanceof ScrifOrGroup ? new CompiledOrGroup(conditions)
+                    : new CompiledAndGroup(conditions);
+        }
+        if (condition instanceof ScrifConditional && !(condition instanceof ScrifFunction)) {
+            ScrifConditional conditional = (ScrifConditional) condition;
+            return new CompiledComparison(condition.getConditionType(),
+                    compileOperand(conditional.condition.getKey(), conditional.keyEvaluator),
+                    compileOperand(conditional.condition.getValue(), conditional.valueEvaluator),
+                    conditional.reverse);
+        }
+        // Functions invoke exposed methods with the assigned variables, so they're
+        // evaluated as they are
+        return condition::applyThenEvaluateOrGet;
+    }
+
+    private static Operand compileOperand(String operand, ExpressionEvaluator evaluator) {
+        String[] parts = splitPlaceholders(operand);
+        if (parts.length == 1) return new ConstantOperand(evaluator.evaluateExp(operand));
+        if (parts.length == 3 && parts[0].isEmpty() && parts[2].isEmpty() && !evaluator.isEvaluatable())
+            return new PlaceholderOperand(parts[1]);
+        return new TemplateOperand(parts, evaluator);
+    }
+
+    /**
+     * Placeholders are found the same way requirements find them, a placeholder
+     * starts with % and ends with the next % unless there is a space before it.
+     *
+     * @return text parts followed by placeholders, starting and ending with text
+     * parts that can be empty
+     */
+    private static String[] splitPlaceholders(String string) {
+        List<String> parts = new ArrayList<>();
+        int textStart = 0;
+        int placeholderStart = -1;
+        for (int i = 0; i < string.length(); i++) {
+            char c = string.charAt(i);
+            if (placeholderStart == -1) {
+                if (c == '%') placeholderStart = i;
+            } else if (c == '%') {
+                parts.add(string.substring(textStart, placeholderStart));
+                parts.add(string.substring(placeholderStart, i + 1));
+                textStart = i + 1;
+                placeholderStart = -1;
+            } else if (c == ' ') {
+                placeholderStart = -1;
+            }
+        }
+        parts.add(string.substring(textStart));
+        return parts.toArray(new String[0]);
+    }
+
+    /**
+     * A {@link ScrifCondition} compiled by {@link Scrif#compile()}. Compiled
+     * conditions are immutable, so they can be evaluated from multiple threads.
+     */
+    @FunctionalInterface
+    public interface CompiledCondition {
+
+        /**
+         * @param placeholders gives the value of a placeholder, e.g.
+         *                     {@code %player_name%}
+         * @return null if condition is met, otherwise returns failed condition part
+         */
+        Entry<String, String> evaluateOrGet(Function<String, String> placeholders);
+
+    }
+
+    private static abstract class Operand {
+
+        abstract String getString(Function<String, String> placeholders);
+
+        double getNumber(String string) {
+            return Double.parseDouble(string);
+        }
+
+    }
+
+    private static class ConstantOperand extends Operand {
+
+        private final String string;
+        // Null if the constant isn't a number, which fails the same way when it's used
+        private final Double number;
+
+        ConstantOperand(String string) {
+            this.string = string;
+            Double number;
+            try {
+                number = Double.parseDouble(string);
+            } catch (NumberFormatException ex) {
+                number = null;
+            }
+            this.number = number;
+        }
+
+        @Override
+        String getString(Function<String, String> placeholders) {
+            return string;
+        }
+
+        @Override
+        double getNumber(String string) {
+            return number != null ? number : super.getNumber(string);
+        }
+
+    }
+
+    private static class PlaceholderOperand extends Operand {
+
+        private final String placeholder;
+
+        PlaceholderOperand(String placeholder) {
+            this.placeholder = placeholder;
+        }
+
+        @Override
+        String getString(Function<String, String> placeholders) {
+            return placeholders.apply(placeholder);
+        }
+
+    }
+
+    private static class TemplateOperand extends Operand {
+
+        private final String[] parts;
+        private final ExpressionEvaluator evaluator;
+
+        TemplateOperand(String[] parts, ExpressionEvaluator evaluator) {
+            this.parts = parts;
+            this.evaluator = evaluator;
+        }
+
+        @Override
+        String getString(Function<String, String> placeholders) {
+            StringBuilder builder = new StringBuilder();
+            for (int i = 0; i < parts.length; i++)
+                builder.append(i % 2 == 0 ? parts[i] : placeholders.apply(parts[i]));
+            return evaluator.evaluateExp(builder.toString());
+        }
+
+    }
+
+    private static class CompiledComparison implements CompiledCondition {
+
+        private final ConditionType conditionType;
+        private final Operand key, value;
+        private final boolean reverse;
+
+        CompiledComparison(ConditionType conditionType, Operand key, Operand value, boolean reverse) {
+            this.conditionType = conditionType;
+            this.key = key;
+            this.value = value;
+            this.reverse = reverse;
+        }
+
+        @Override
+        public Entry<String, String> evaluateOrGet(Function<String, String> placeholders) {
+            String keyString = key.getString(placeholders);
+            String valueString = value.getString(placeholders);
+            boolean result;
+            switch (conditionType) {
+                case EQUAL:
+                    result = keyString.equals(valueString);
+                    break;
+                case NOT_EQUAL:
+                    result = !keyString.equals(valueString);
+                    break;
+                case GREATER_THAN:
+                    result = key.getNumber(keyString) > value.getNumber(valueString);
+                    break;
+                case GREATER_THAN_OR_EQUAL:
+                    result = key.getNumber(keyString) >= value.getNumber(valueString);
+                    break;
+                case LESS_THAN:
+                    result = key.getNumber(keyString) < value.getNumber(valueString);
+                    break;
+                case LESS_THAN_OR_EQUAL:
+                    result = key.getNumber(keyString) <= value.getNumber(valueString);
+                    break;
+                default:
+                    throw new IllegalStateException("Not a comparison: " + conditionType);
+            }
+            return result != reverse ? null : new SimpleEntry<>(keyString, valueString);
+        }
+
+    }
+
+    private static class CompiledOrGroup implements CompiledCondition {
+
+        private final CompiledCondition[] conditions;
+
+        CompiledOrGroup(CompiledCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public Entry<String, String> evaluateOrGet(Function<String, String> placeholders) {
+            Entry<String, String> evaluation = null;
+            for (CompiledCondition condition : conditions) {
+                evaluation = condition.evaluateOrGet(placeholders);
+                if (evaluation == null) return null;
+            }
+            return evaluation;
+        }
+
+    }
+
+    private static class CompiledAndGroup implements CompiledCondition {
+
+        private final CompiledCondition[] conditions;
+
+        CompiledAndGroup(CompiledCondition[] conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public Entry<String, String> evaluateOrGet(Function<String, String> placeholders) {
+            for (CompiledCondition condition : conditions) {
+                Entry<String, String> evaluation = condition.evaluateOrGet(placeholders);
+                if (evaluation != null) return evaluation;
+            }
+            return null;
+        }
+
+    }
+
     /**
      * @param mathExpression string expression containing math operations to
      *                       calculate
@@ -0,0 +1,104 @@
+package me.prisonranksxtests;
+
+import me.prisonranksx.bukkitutils.bukkittickbalancer.BukkitTickBalancer;
+import me.prisonranksx.bukkitutils.bukkittickbalancer.DistributedTask;
+import me.prisonranksx.bukkitutils.scheduler.FakeTaskScheduler;
+import me.prisonranksx.bukkitutils.scheduler.Schedulers;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Drives the balancer's tasks with a {@link FakeTaskScheduler}, the same way
+ * auto rankup and max rankup tasks run on a server.
+ */
+class BukkitTickBalancerTest {
+
+	private static final FakeTaskScheduler SCHEDULER = new FakeTaskScheduler();
+
+	private DistributedTask<Integer> distributedTask;
+
+	@BeforeAll
+	static void setUpScheduler() {
+		// The balancer schedules its own tasks once it's loaded
+		Schedulers.set(SCHEDULER);
+		BukkitTickBalancer.getMspt();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (distributedTask != null) distributedTask.getBukkitTask().cancel();
+	}
+
+	@Test
+	void currentTickFollowsFakeClock() {
+		long tick = BukkitTickBalancer.getCurrentTick();
+		SCHEDULER.tick(5);
+		assertEquals(tick + 5, BukkitTickBalancer.getCurrentTick());
+	}
+
+	@Test
+	void syncRunnablesRunInNextTick() {
+		AtomicInteger runs = new AtomicInteger();
+		for (int i = 0; i < 100; i++) BukkitTickBalancer.sync(runs::incrementAndGet);
+		assertEquals(0, runs.get());
+		SCHEDULER.tick(5);
+		assertEquals(100, runs.get());
+	}
+
+	@Test
+	void asyncRunnablesRunOnTickingThread() {
+		AtomicInteger runs = new AtomicInteger();
+		for (int i = 0; i < 100; i++) BukkitTickBalancer.async(runs::incrementAndGet);
+		SCHEDULER.tick(5);
+		assertEquals(100, runs.get());
+	}
+
+	@Test
+	void distributedTaskVisitsEveryValueOncePerCycle() {
+		int distributionSize = 20;
+		int players = 1000;
+		Map<Integer, Integer> visits = new HashMap<>();
+		distributedTask = BukkitTickBalancer.scheduleDistributedTask(value -> visits.merge(value, 1, Integer::sum),
+				value -> false, distributionSize);
+		for (int i = 0; i < players; i++) {
+			int player = i;
+			distributedTask.addValue(player, () -> player);
+		}
+		distributedTask.init(null, 0, 1);
+
+		SCHEDULER.tick(distributionSize);
+		assertEquals(players, visits.size());
+		visits.values().forEach(count -> assertEquals(1, count));
+
+		for (int i = 0; i < players; i += 2) distributedTask.removeValue(i);
+		SCHEDULER.tick(distributionSize);
+		for (int i = 0; i < players; i++) assertEquals(i % 2 == 0 ? 1 : 2, visits.get(i));
+		assertEquals(players / 2, distributedTask.getSize());
+	}
+
+	@Test
+	void distributedTaskDropsEscapedValues() {
+		AtomicInteger visits = new AtomicInteger();
+		distributedTask = BukkitTickBalancer.scheduleDistributedTask(value -> visits.incrementAndGet(),
+				value -> value % 3 == 0, 10);
+		for (int i = 0; i < 30; i++) {
+			int player = i;
+			distributedTask.addValue(player, () -> player);
+		}
+		distributedTask.init(null, 0, 1);
+
+		SCHEDULER.tick(10);
+		assertEquals(30, visits.get());
+		assertEquals(20, distributedTask.getSize());
+		SCHEDULER.tick(10);
+		assertEquals(50, visits.get());
+	}
+
+}
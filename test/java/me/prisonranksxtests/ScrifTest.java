@@ -0,0 +1,130 @@
+package me.prisonranksxtests;
+
+import me.prisonranksx.components.RequirementsComponent;
+import me.prisonranksx.utils.Scrif;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that compiled scripts give the same results as applying the
+ * placeholders to the whole script, the way requirements were evaluated before
+ * scripts were compiled.
+ */
+class ScrifTest {
+
+	private static final String[] SCRIPTS = {"%player_name%==notch||%player_name%==jeb_",
+			"%player_level%>=30&&'%vault_group%'=='vip'",
+			"%ezblocks_blocks%>10000&&%player_level%<50", "%balance%>1000.5",
+			"%balance%*2>=2469", "12>10||15<20", "!%player_name%==jeb_", "%player_level%<=34",
+			"'%vault_group%'!='vip'", "%player_level%==35.0"};
+
+	// Placeholders next to text, math and other placeholders, and % signs that
+	// don't make a placeholder
+	private static final String[] EDGE_SCRIPTS = {"%player_level%+5>=40", "%ezblocks_blocks%/%player_level%>300",
+			"'%vault_group%_rank'=='vip_rank'", "'%vault_group% rank'=='vip rank'", "%player name%==notch",
+			"'50%'=='50%'", "'%%'=='%%'", "%player_level%%vault_group%==35vip", "%unknown_placeholder%==notch",
+			"%player_name%!=notch&&%balance%<=1234.5", "%player_level%>30||%vault_group%==admin"};
+
+	private static final Map<String, String> VALUES = new HashMap<>();
+	private static final Map<String, String> OTHER_VALUES = new HashMap<>();
+
+	static {
+		VALUES.put("%player_name%", "notch");
+		VALUES.put("%player_level%", "35");
+		VALUES.put("%vault_group%", "vip");
+		VALUES.put("%ezblocks_blocks%", "12500");
+		VALUES.put("%balance%", "1234.5");
+		OTHER_VALUES.put("%player_name%", "jeb_");
+		OTHER_VALUES.put("%player_level%", "10");
+		OTHER_VALUES.put("%vault_group%", "admin");
+		OTHER_VALUES.put("%ezblocks_blocks%", "5");
+		OTHER_VALUES.put("%balance%", "0.5");
+	}
+
+	@Test
+	void compiledEvaluationMatchesAppliedEvaluation() {
+		for (Map<String, String> values : Arrays.asList(VALUES, OTHER_VALUES)) {
+			for (String script : allScripts()) {
+				Function<String, String> placeholders = placeholderValues(script, values);
+				Scrif scrif = Scrif.create(script);
+				assertEquals(outcome(() -> scrif.applyThenEvaluateOrGet(placeholders)),
+						outcome(() -> scrif.evaluateCompiledOrGet(placeholders)), script);
+			}
+		}
+	}
+
+	@Test
+	void compiledEvaluationOnlyResolvesGrabbedPlaceholders() {
+		for (String script : allScripts()) {
+			List<String> grabbed = RequirementsComponent.grabPlaceholdersFromString(script);
+			Set<String> asked = new HashSet<>();
+			Function<String, String> placeholders = placeholderValues(script, VALUES);
+			outcome(() -> Scrif.create(script).evaluateCompiledOrGet(placeholder -> {
+				asked.add(placeholder);
+				return placeholders.apply(placeholder);
+			}));
+			// The parser removes spaces, so "%player name%" is asked for as
+			// "%playername%", which requirements don't resolve either way
+			for (String placeholder : asked) {
+				if (!grabbed.contains(placeholder)) assertEquals(placeholder, placeholders.apply(placeholder), script);
+			}
+			assertTrue(asked.stream().anyMatch(grabbed::contains) || grabbed.stream().noneMatch(VALUES::containsKey),
+					script + " asked for " + asked + " but grabbed " + grabbed);
+		}
+	}
+
+	@Test
+	void compiledScriptsAreCached() {
+		Scrif scrif = Scrif.create(SCRIPTS[0]);
+		assertSame(scrif.compile(), scrif.compile());
+		scrif.setScript(SCRIPTS[1]);
+		Function<String, String> placeholders = placeholderValues(SCRIPTS[1], OTHER_VALUES);
+		assertEquals(scrif.applyThenEvaluateOrGet(placeholders), scrif.evaluateCompiledOrGet(placeholders));
+	}
+
+	private static List<String> allScripts() {
+		List<String> scripts = new ArrayList<>(Arrays.asList(SCRIPTS));
+		scripts.addAll(Arrays.asList(EDGE_SCRIPTS));
+		return scripts;
+	}
+
+	/**
+	 * Same as the placeholder values of requirements, it replaces the
+	 * placeholders that requirements grab from the script.
+	 */
+	private static Function<String, String> placeholderValues(String script, Map<String, String> values) {
+		List<String> placeholders = RequirementsComponent.grabPlaceholdersFromString(script);
+		return string -> {
+			String replaced = string;
+			for (String placeholder : placeholders)
+				if (values.containsKey(placeholder)) replaced = replaced.replace(placeholder, values.get(placeholder));
+			return replaced;
+		};
+	}
+
+	/**
+	 * @return the result, or the type of the exception, so scripts that fail to
+	 *         evaluate can be compared too
+	 */
+	private static Object outcome(Supplier<Object> evaluation) {
+		try {
+			return evaluation.get();
+		} catch (RuntimeException ex) {
+			return ex.getClass();
+		}
+	}
+
+}
@@ -0,0 +1,145 @@
+package me.prisonranksxtests;
+
+import me.prisonranksx.bukkitutils.TimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+
+	private static final long MAX_DIRECT_DELAY = 64L * 64 * 64 * 64;
+
+	private TimingWheel<TestTimeout> wheel;
+	private List<TestTimeout> expired;
+
+	@BeforeEach
+	void setUp() {
+		wheel = new TimingWheel<>();
+		expired = new ArrayList<>();
+	}
+
+	@Test
+	void timeoutsExpireOnTheirTickAcrossLevels() {
+		// Delays around the boundaries of every level
+		long[] delays = {1, 2, 63, 64, 65, 127, 128, 4095, 4096, 4097, 262143, 262144, 262145,
+				MAX_DIRECT_DELAY - 1, MAX_DIRECT_DELAY, MAX_DIRECT_DELAY + 5};
+		for (long delay : delays) schedule(delay);
+		assertEquals(delays.length, wheel.size());
+		advance(MAX_DIRECT_DELAY + 5);
+		assertExpiredOnTime(delays.length);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void timeoutsScheduledMidCycleExpireOnTheirTick() {
+		Random random = new Random(7);
+		advance(4000 + random.nextInt(64));
+		expired.clear();
+		int timeouts = 5000;
+		long latest = 0;
+		for (int i = 0; i < timeouts; i++) {
+			long delay = 1 + random.nextInt(300_000);
+			latest = Math.max(latest, delay);
+			schedule(delay);
+		}
+		advance(latest);
+		assertExpiredOnTime(timeouts);
+	}
+
+	@Test
+	void cancelledTimeoutsNeverExpire() {
+		TestTimeout kept = schedule(5000);
+		TestTimeout cancelled = schedule(5000);
+		TestTimeout cancelledLowLevel = schedule(3);
+		assertTrue(wheel.cancel(cancelled));
+		assertTrue(wheel.cancel(cancelledLowLevel));
+		assertFalse(wheel.cancel(cancelled));
+		assertFalse(cancelled.isScheduled());
+		assertEquals(1, wheel.size());
+
+		advance(5000);
+		assertEquals(1, expired.size());
+		assertSame(kept, expired.get(0));
+		assertFalse(kept.isScheduled());
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cancelAfterCascadeRemovesTimeout() {
+		TestTimeout timeout = schedule(10_000);
+		// Past the point where it moves down from the third level
+		advance(8200);
+		assertEquals(1800, wheel.getTicksLeft(timeout));
+		assertTrue(wheel.cancel(timeout));
+		advance(2000);
+		assertTrue(expired.isEmpty());
+	}
+
+	@Test
+	void reschedulingMovesExpiry() {
+		TestTimeout timeout = schedule(100);
+		advance(50);
+		assertEquals(50, wheel.getTicksLeft(timeout));
+		timeout.expectedTick = 50 + 4000;
+		wheel.schedule(timeout, 4000);
+		assertEquals(1, wheel.size());
+		advance(4000);
+		assertExpiredOnTime(1);
+		assertEquals(0, wheel.getTicksLeft(timeout));
+	}
+
+	@Test
+	void clearUnschedulesEverything() {
+		TestTimeout low = schedule(10);
+		TestTimeout high = schedule(100_000);
+		wheel.clear();
+		assertEquals(0, wheel.size());
+		assertFalse(low.isScheduled());
+		assertFalse(high.isScheduled());
+		advance(100_000);
+		assertTrue(expired.isEmpty());
+		// Can be scheduled again after clearing
+		wheel.schedule(low, 1);
+		low.expectedTick = 100_001;
+		advance(1);
+		assertExpiredOnTime(1);
+	}
+
+	private TestTimeout schedule(long delay) {
+		TestTimeout timeout = new TestTimeout(wheel.getCurrentTick() + delay);
+		wheel.schedule(timeout, delay);
+		return timeout;
+	}
+
+	private void advance(long ticks) {
+		for (long i = 0; i < ticks; i++) wheel.advance(timeout -> {
+			timeout.expiredAt = wheel.getCurrentTick();
+			expired.add(timeout);
+		});
+	}
+
+	private void assertExpiredOnTime(int count) {
+		assertEquals(count, expired.size());
+		for (TestTimeout timeout : expired) assertEquals(timeout.expectedTick, timeout.expiredAt);
+	}
+
+	private static class TestTimeout extends TimingWheel.Timeout {
+
+		private long expectedTick;
+		private long expiredAt = -1;
+
+		TestTimeout(long expectedTick) {
+			this.expectedTick = expectedTick;
+		}
+
+	}
+
+}
@@ -0,0 +1,81 @@
+package me.prisonranksxtests;
+
+import me.prisonranksx.utils.Scrif;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Compares evaluating requirement scripts by applying the placeholders to the
+ * script with evaluating the compiled script. Run with {@code gradle jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScrifBenchmark {
+
+	private static final Map<String, String> VALUES = new HashMap<>();
+
+	static {
+		VALUES.put("%player_name%", "notch");
+		VALUES.put("%player_level%", "35");
+		VALUES.put("%vault_group%", "vip");
+		VALUES.put("%ezblocks_blocks%", "12500");
+		VALUES.put("%balance%", "1234.5");
+	}
+
+	@Param({"%player_name%==notch||%player_name%==jeb_", "%player_level%>=30&&'%vault_group%'=='vip'",
+			"%ezblocks_blocks%>10000&&%player_level%<50", "%balance%>1000.5", "%balance%*2>=2469", "12>10||15<20",
+			"!%player_name%==jeb_", "%player_level%<=34", "'%vault_group%'!='vip'", "%player_level%==35.0"})
+	public String script;
+
+	private Scrif scrif;
+	private Function<String, String> placeholders;
+
+	@Setup
+	public void setUp() {
+		scrif = Scrif.create(script);
+		scrif.compile();
+		// Same as the placeholder values of requirements, without PlaceholderAPI
+		placeholders = string -> {
+			String value = VALUES.get(string);
+			if (value != null) return value;
+			if (string.indexOf('%') == -1) return string;
+			String replaced = string;
+			for (Entry<String, String> placeholder : VALUES.entrySet())
+				replaced = replaced.replace(placeholder.getKey(), placeholder.getValue());
+			return replaced;
+		};
+		if (!Objects.equals(applyThenEvaluate(), evaluateCompiled()))
+			throw new IllegalStateException("Compiled script gives a different result: " + script);
+	}
+
+	@Benchmark
+	public Entry<String, String> applyThenEvaluate() {
+		return scrif.applyThenEvaluateOrGet(placeholders);
+	}
+
+	@Benchmark
+	public Entry<String, String> evaluateCompiled() {
+		return scrif.evaluateCompiledOrGet(placeholders);
+	}
+
+}